@@ -0,0 +1,89 @@
+package com.codes.tasktracker.demo.jmh;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Compares two JMH JSON result files and fails on regressions.
+ *
+ * <p>A benchmark regresses when its score is worse than the baseline by
+ * more than the threshold and by more than the two error margins
+ * combined, so run-to-run noise alone does not fail the check. For
+ * throughput higher is better; for every time-based mode lower is.</p>
+ *
+ * <p>Run with:
+ * {@code mvn -Pjmh test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.codes.tasktracker.demo.jmh.JmhRegressionCheck
+ * -Dexec.args="baseline.json target/jmh-result.json 10"}</p>
+ */
+public final class JmhRegressionCheck {
+
+    private JmhRegressionCheck() {
+    }
+
+    /**
+     * Runs the comparison; exits with status 1 on any regression.
+     *
+     * @param args The baseline file, the current file and an optional
+     *             threshold in percent (default 10).
+     * @throws IOException If a result file cannot be read.
+     */
+    public static void main(final String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("usage: JmhRegressionCheck <baseline.json> <current.json> [threshold%]");
+            System.exit(2);
+        }
+        double threshold = args.length > 2 ? Double.parseDouble(args[2]) / 100 : 0.10;
+        Map<String, JsonNode> baseline = read(new File(args[0]));
+        Map<String, JsonNode> current = read(new File(args[1]));
+
+        int regressions = 0;
+        for (Map.Entry<String, JsonNode> entry : current.entrySet()) {
+            JsonNode before = baseline.get(entry.getKey());
+            if (before == null) {
+                System.out.printf("NEW        %s%n", entry.getKey());
+                continue;
+            }
+            JsonNode after = entry.getValue();
+            double old = score(before);
+            double now = score(after);
+            boolean higherIsBetter = "thrpt".equals(after.path("mode").asText());
+            double worse = higherIsBetter ? old - now : now - old;
+            double noise = error(before) + error(after);
+            boolean regressed = worse > Math.abs(old) * threshold && worse > noise;
+            regressions += regressed ? 1 : 0;
+            System.out.printf("%-10s %s: %.3f -> %.3f %s (%+.1f%%)%n",
+                    regressed ? "REGRESSED" : "ok", entry.getKey(), old, now,
+                    after.path("primaryMetric").path("scoreUnit").asText(),
+                    old == 0 ? 0 : (now - old) / old * 100);
+        }
+        if (regressions > 0) {
+            System.out.printf("%d benchmark(s) regressed by more than %.0f%%%n",
+                    regressions, threshold * 100);
+            System.exit(1);
+        }
+    }
+
+    private static Map<String, JsonNode> read(final File file) throws IOException {
+        Map<String, JsonNode> results = new LinkedHashMap<>();
+        for (JsonNode result : new ObjectMapper().readTree(file)) {
+            String key = result.path("benchmark").asText() + result.path("params").toString();
+            results.put(key, result);
+        }
+        return results;
+    }
+
+    private static double score(final JsonNode result) {
+        return result.path("primaryMetric").path("score").asDouble();
+    }
+
+    private static double error(final JsonNode result) {
+        double error = result.path("primaryMetric").path("scoreError").asDouble();
+        return Double.isNaN(error) ? 0 : error;
+    }
+}
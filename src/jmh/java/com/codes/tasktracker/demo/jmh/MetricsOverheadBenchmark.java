@@ -0,0 +1,137 @@
+package com.codes.tasktracker.demo.jmh;
+
+import com.codes.tasktracker.demo.TaskTrackerApplication;
+import com.codes.tasktracker.demo.dto.TaskFilter;
+import com.codes.tasktracker.demo.dto.TaskPage;
+import com.codes.tasktracker.demo.dto.TaskView;
+import com.codes.tasktracker.demo.model.Task;
+import com.codes.tasktracker.demo.service.TaskService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of the application's metrics on the hottest paths, compared with
+ * them off: service timers, repository timers and Hibernate statistics
+ * on {@link TaskService} calls, plus the statement-count filter and the
+ * {@code http.server.requests} percentile histograms on HTTP requests.
+ *
+ * <p>A cached read is the most sensitive case: the timer is a large
+ * share of an operation that never reaches the database. The HTTP
+ * benchmarks go through a local server and include the loopback round
+ * trip, which is the same in both runs.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MetricsOverheadBenchmark {
+
+    /**
+     * Number of tasks loaded before measuring.
+     */
+    private static final int TASKS = 10000;
+
+    @Param({"true", "false"})
+    private boolean instrumented;
+
+    private ConfigurableApplicationContext context;
+
+    private TaskService service;
+
+    private List<UUID> ids;
+
+    private HttpClient http;
+
+    private String base;
+
+    @Setup
+    public void setUp() {
+        this.context = new SpringApplicationBuilder(TaskTrackerApplication.class)
+                .properties("server.port=0",
+                        "logging.level.root=WARN",
+                        "tasktracker.metrics.service-timers=" + this.instrumented,
+                        "tasktracker.metrics.statement-counts=" + this.instrumented,
+                        "management.metrics.distribution.percentiles-histogram.http.server.requests="
+                                + this.instrumented,
+                        "management.metrics.data.repository.autotime.enabled=" + this.instrumented,
+                        "spring.jpa.properties.hibernate.generate_statistics=" + this.instrumented)
+                .run();
+        this.service = this.context.getBean(TaskService.class);
+        int port = this.context.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+        this.base = "http://localhost:" + port + "/tasks";
+        this.http = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .build();
+        List<String> descriptions = new ArrayList<>(TASKS);
+        for (int i = 0; i < TASKS; i++) {
+            descriptions.add("Revisar factura " + i);
+        }
+        this.ids = this.service.createTasks(descriptions);
+        for (UUID id : this.ids) {
+            this.service.getTask(id);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        this.context.close();
+    }
+
+    @Benchmark
+    public Task getTaskCached() {
+        return this.service.getTask(randomId());
+    }
+
+    @Benchmark
+    public Task updateTask() {
+        return this.service.updateTask(randomId(), "Factura revisada", null);
+    }
+
+    @Benchmark
+    public TaskPage<TaskView> listTasksPage() {
+        return this.service.listTasks(TaskFilter.none(), null, TaskService.DEFAULT_PAGE_SIZE);
+    }
+
+    @Benchmark
+    public int getTaskHttp() throws IOException, InterruptedException {
+        return send(HttpRequest.newBuilder(URI.create(this.base + '/' + randomId())).GET().build());
+    }
+
+    @Benchmark
+    public int listTasksPageHttp() throws IOException, InterruptedException {
+        return send(HttpRequest.newBuilder(URI.create(this.base)).GET().build());
+    }
+
+    private int send(final HttpRequest request) throws IOException, InterruptedException {
+        return this.http.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    private UUID randomId() {
+        return this.ids.get(ThreadLocalRandom.current().nextInt(this.ids.size()));
+    }
+}
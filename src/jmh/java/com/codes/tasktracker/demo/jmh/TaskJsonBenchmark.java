@@ -0,0 +1,122 @@
+package com.codes.tasktracker.demo.jmh;
+
+import com.codes.tasktracker.demo.dto.TaskUpdateDto;
+import com.codes.tasktracker.demo.model.Task;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JSON serialization of tasks and deserialization plus validation of
+ * update requests, with the mapper configured as the application's.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TaskJsonBenchmark {
+
+    /**
+     * Number of tasks in the serialized list, as in a page of results.
+     */
+    @Param({"50"})
+    private int listSize;
+
+    private ObjectWriter taskWriter;
+
+    private ObjectWriter listWriter;
+
+    private ObjectReader updateReader;
+
+    private ValidatorFactory validatorFactory;
+
+    private Validator validator;
+
+    private Task task;
+
+    private List<Task> tasks;
+
+    private byte[] updateJson;
+
+    @Setup
+    public void setUp() {
+        // Spring Boot's defaults: ISO-8601 dates instead of timestamps.
+        ObjectMapper mapper = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        this.taskWriter = mapper.writerFor(Task.class);
+        this.listWriter = mapper.writerFor(mapper.getTypeFactory()
+                .constructCollectionType(List.class, Task.class));
+        this.updateReader = mapper.readerFor(TaskUpdateDto.class);
+        this.validatorFactory = Validation.buildDefaultValidatorFactory();
+        this.validator = this.validatorFactory.getValidator();
+
+        this.task = task(0);
+        this.tasks = new ArrayList<>(this.listSize);
+        for (int i = 0; i < this.listSize; i++) {
+            this.tasks.add(task(i));
+        }
+        this.updateJson = "{\"description\":\"Enviar informe\",\"completed\":true}".getBytes();
+    }
+
+    @TearDown
+    public void tearDown() {
+        this.validatorFactory.close();
+    }
+
+    @Benchmark
+    public byte[] serializeTask() throws JsonProcessingException {
+        return this.taskWriter.writeValueAsBytes(this.task);
+    }
+
+    @Benchmark
+    public byte[] serializeTaskList() throws JsonProcessingException {
+        return this.listWriter.writeValueAsBytes(this.tasks);
+    }
+
+    @Benchmark
+    public TaskUpdateDto deserializeUpdate() throws IOException {
+        return this.updateReader.readValue(this.updateJson);
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<TaskUpdateDto>> deserializeAndValidateUpdate()
+            throws IOException {
+        TaskUpdateDto dto = this.updateReader.readValue(this.updateJson);
+        return this.validator.validate(dto);
+    }
+
+    private static Task task(final int i) {
+        Task task = new Task("Revisar informe trimestral " + i);
+        task.setId(UUID.randomUUID());
+        return task;
+    }
+}
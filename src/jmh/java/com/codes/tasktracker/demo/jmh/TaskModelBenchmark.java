@@ -0,0 +1,54 @@
+package com.codes.tasktracker.demo.jmh;
+
+import com.codes.tasktracker.demo.dto.TaskView;
+import com.codes.tasktracker.demo.model.Task;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Construction and mutation of the {@link Task} entity outside of JPA.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TaskModelBenchmark {
+
+    private Task task;
+
+    @Setup
+    public void setUp() {
+        this.task = new Task("Revisar informe trimestral");
+        this.task.setId(UUID.randomUUID());
+    }
+
+    @Benchmark
+    public Task construct() {
+        return new Task("Revisar informe trimestral");
+    }
+
+    @Benchmark
+    public Task mutate() {
+        this.task.setDescription("Enviar informe trimestral");
+        this.task.markCompleted();
+        return this.task;
+    }
+
+    @Benchmark
+    public TaskView project() {
+        return TaskView.of(this.task);
+    }
+}
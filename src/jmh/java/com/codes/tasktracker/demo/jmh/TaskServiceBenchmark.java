@@ -0,0 +1,130 @@
+package com.codes.tasktracker.demo.jmh;
+
+import com.codes.tasktracker.demo.TaskTrackerApplication;
+import com.codes.tasktracker.demo.dto.TaskFilter;
+import com.codes.tasktracker.demo.dto.TaskPage;
+import com.codes.tasktracker.demo.dto.TaskView;
+import com.codes.tasktracker.demo.model.Task;
+import com.codes.tasktracker.demo.repository.InMemoryTaskStore;
+import com.codes.tasktracker.demo.repository.JournalTaskStore;
+import com.codes.tasktracker.demo.service.TaskService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link TaskService} operations through the full service stack (cache,
+ * search index, events) on each storage engine: JPA on the embedded
+ * in-memory H2 database, {@link InMemoryTaskStore}, or
+ * {@link JournalTaskStore} in a temporary directory.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TaskServiceBenchmark {
+
+    /**
+     * Number of tasks loaded before measuring.
+     */
+    @Param({"10000"})
+    private int tasks;
+
+    /**
+     * The storage engine: {@code jpa}, or the profile of an in-process
+     * store.
+     */
+    @Param({"jpa", InMemoryTaskStore.PROFILE, JournalTaskStore.PROFILE})
+    private String store;
+
+    private ConfigurableApplicationContext context;
+
+    private TaskService service;
+
+    private List<UUID> ids;
+
+    private Path journalDirectory;
+
+    @Setup
+    public void setUp() throws IOException {
+        SpringApplicationBuilder builder = new SpringApplicationBuilder(TaskTrackerApplication.class);
+        if (InMemoryTaskStore.PROFILE.equals(this.store)) {
+            builder.profiles(InMemoryTaskStore.PROFILE);
+        } else if (JournalTaskStore.PROFILE.equals(this.store)) {
+            this.journalDirectory = Files.createTempDirectory("task-journal");
+            builder.profiles(JournalTaskStore.PROFILE)
+                    .properties("tasktracker.journal.directory=" + this.journalDirectory);
+        }
+        this.context = builder
+                .web(WebApplicationType.NONE)
+                .properties("logging.level.root=WARN")
+                .run();
+        this.service = this.context.getBean(TaskService.class);
+        List<String> descriptions = new ArrayList<>(this.tasks);
+        for (int i = 0; i < this.tasks; i++) {
+            descriptions.add("Revisar factura " + i + " del cliente " + (i % 97));
+        }
+        this.ids = this.service.createTasks(descriptions);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        this.context.close();
+        if (this.journalDirectory != null) {
+            FileSystemUtils.deleteRecursively(this.journalDirectory);
+        }
+    }
+
+    @Benchmark
+    public Task createTask() {
+        return this.service.createTask("Nueva tarea");
+    }
+
+    @Benchmark
+    public Task getTask() {
+        return this.service.getTask(randomId());
+    }
+
+    @Benchmark
+    public Task updateTask() {
+        return this.service.updateTask(randomId(), "Factura revisada", null);
+    }
+
+    @Benchmark
+    public TaskPage<TaskView> listTasksPage() {
+        return this.service.listTasks(TaskFilter.none(), null, TaskService.DEFAULT_PAGE_SIZE);
+    }
+
+    @Benchmark
+    public List<TaskView> searchTasks() {
+        return this.service.searchTasks("factura cliente 42", TaskService.DEFAULT_SEARCH_LIMIT);
+    }
+
+    private UUID randomId() {
+        return this.ids.get(ThreadLocalRandom.current().nextInt(this.ids.size()));
+    }
+}
@@ -0,0 +1,109 @@
+package com.codes.tasktracker.demo.jmh;
+
+import com.codes.tasktracker.demo.controller.WireFormatConfig;
+import com.codes.tasktracker.demo.dto.TaskPage;
+import com.codes.tasktracker.demo.dto.TaskView;
+import com.codes.tasktracker.demo.model.Task;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Encoding and decoding a page of tasks in each wire format the API
+ * negotiates, with the mappers configured as the application's.
+ *
+ * <p>The encoded size is printed once per trial as bytes per task, next
+ * to the timings.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TaskWireFormatBenchmark {
+
+    @Param({"json", "cbor", "smile"})
+    private String format;
+
+    /**
+     * Number of tasks in the page.
+     */
+    @Param({"1", "50"})
+    private int pageSize;
+
+    private ObjectWriter pageWriter;
+
+    private ObjectReader pageReader;
+
+    private TaskPage<TaskView> page;
+
+    private byte[] encoded;
+
+    @Setup
+    public void setUp() throws JsonProcessingException {
+        ObjectMapper mapper = mapper(this.format);
+        JavaType type = mapper.getTypeFactory()
+                .constructParametricType(TaskPage.class, TaskView.class);
+        this.pageWriter = mapper.writerFor(type);
+        this.pageReader = mapper.readerFor(type);
+
+        List<TaskView> items = new ArrayList<>(this.pageSize);
+        for (int i = 0; i < this.pageSize; i++) {
+            Task task = new Task("Revisar informe trimestral " + i);
+            task.setId(UUID.randomUUID());
+            items.add(TaskView.of(task));
+        }
+        this.page = new TaskPage<>(items, null);
+        this.encoded = this.pageWriter.writeValueAsBytes(this.page);
+        System.out.printf("%n%s: %d bytes per page, %.1f bytes per task%n",
+                this.format, this.encoded.length, (double) this.encoded.length / this.pageSize);
+    }
+
+    @Benchmark
+    public byte[] encodePage() throws JsonProcessingException {
+        return this.pageWriter.writeValueAsBytes(this.page);
+    }
+
+    @Benchmark
+    public TaskPage<TaskView> decodePage() throws IOException {
+        return this.pageReader.readValue(this.encoded);
+    }
+
+    private static ObjectMapper mapper(final String format) {
+        return switch (format) {
+            // Spring Boot's defaults: ISO-8601 dates instead of timestamps.
+            case "json" -> Jackson2ObjectMapperBuilder.json()
+                    .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                    .build();
+            case "cbor" -> WireFormatConfig.binaryMapper(
+                    Jackson2ObjectMapperBuilder.json(), new CBORFactory());
+            case "smile" -> WireFormatConfig.binaryMapper(
+                    Jackson2ObjectMapperBuilder.json(), new SmileFactory());
+            default -> throw new IllegalArgumentException("Formato desconocido: " + format);
+        };
+    }
+}
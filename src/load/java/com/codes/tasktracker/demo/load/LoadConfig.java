@@ -0,0 +1,144 @@
+package com.codes.tasktracker.demo.load;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Settings of a load test run, parsed from {@code --name=value}
+ * arguments. Arguments starting with {@code --spring.},
+ * {@code --management.} or {@code --tasktracker.} are passed on to the
+ * application instead.
+ *
+ * @param mode        Open loop (fixed arrival rate) or closed loop.
+ * @param rate        Requests per second in open-loop mode.
+ * @param concurrency Clients in closed-loop mode; the cap on requests in
+ *                    flight in open-loop mode.
+ * @param warmup      Load applied before measuring.
+ * @param duration    Measured load.
+ * @param mix         Relative weight of each operation.
+ * @param seedTasks   Tasks created before the run starts.
+ * @param listLimit   Page size of list requests.
+ * @param output      Directory receiving the result files.
+ * @param appArgs     Arguments passed on to the application.
+ * @param variants    Server stacks to run against, one after the other.
+ */
+record LoadConfig(
+        Mode mode,
+        int rate,
+        int concurrency,
+        Duration warmup,
+        Duration duration,
+        Map<Operation, Integer> mix,
+        int seedTasks,
+        int listLimit,
+        Path output,
+        List<String> appArgs,
+        List<Variant> variants
+) {
+
+    /**
+     * How requests are issued.
+     */
+    enum Mode {
+        /**
+         * Requests start on a fixed schedule whatever the server does;
+         * latency is measured from the scheduled start, so a stalled
+         * server is charged for every request it delayed.
+         */
+        OPEN,
+        /**
+         * Each client sends its next request when the previous one
+         * returns; shows capacity but hides queueing delay.
+         */
+        CLOSED
+    }
+
+    /**
+     * Parses the command line.
+     *
+     * @param args The arguments.
+     * @return The configuration.
+     * @throws IllegalArgumentException If an argument is not recognized.
+     */
+    static LoadConfig parse(final String[] args) {
+        Mode mode = Mode.OPEN;
+        int rate = 500;
+        int concurrency = 256;
+        Duration warmup = Duration.ofSeconds(10);
+        Duration duration = Duration.ofSeconds(30);
+        Map<Operation, Integer> mix = parseMix("create:10,get:50,update:20,list:15,delete:5");
+        int seedTasks = 10_000;
+        int listLimit = 50;
+        Path output = Path.of("target", "load");
+        List<String> appArgs = new ArrayList<>();
+        List<Variant> variants = List.of(Variant.SERVLET);
+
+        for (String arg : args) {
+            if (arg.startsWith("--spring.") || arg.startsWith("--management.")
+                    || arg.startsWith("--tasktracker.")) {
+                appArgs.add(arg);
+                continue;
+            }
+            int eq = arg.indexOf('=');
+            if (!arg.startsWith("--") || eq < 0) {
+                throw new IllegalArgumentException("Expected --name=value: " + arg);
+            }
+            String value = arg.substring(eq + 1);
+            switch (arg.substring(2, eq)) {
+                case "mode" -> mode = Mode.valueOf(value.toUpperCase(Locale.ROOT));
+                case "rate" -> rate = Integer.parseInt(value);
+                case "concurrency" -> concurrency = Integer.parseInt(value);
+                case "warmup" -> warmup = Duration.parse("PT" + value.toUpperCase(Locale.ROOT));
+                case "duration" -> duration = Duration.parse("PT" + value.toUpperCase(Locale.ROOT));
+                case "mix" -> mix = parseMix(value);
+                case "seed-tasks" -> seedTasks = Integer.parseInt(value);
+                case "list-limit" -> listLimit = Integer.parseInt(value);
+                case "output" -> output = Path.of(value);
+                case "variant" -> variants = parseVariants(value);
+                default -> throw new IllegalArgumentException("Unknown option: " + arg);
+            }
+        }
+        return new LoadConfig(mode, rate, concurrency, warmup, duration, mix,
+                seedTasks, listLimit, output, List.copyOf(appArgs), variants);
+    }
+
+    /**
+     * Parses variants such as {@code servlet,reactive}.
+     */
+    private static List<Variant> parseVariants(final String spec) {
+        List<Variant> variants = new ArrayList<>();
+        for (String part : spec.split(",")) {
+            Variant variant = Variant.valueOf(part.trim().toUpperCase(Locale.ROOT));
+            if (!variants.contains(variant)) {
+                variants.add(variant);
+            }
+        }
+        return List.copyOf(variants);
+    }
+
+    /**
+     * Parses weights such as {@code get:80,update:20}.
+     */
+    private static Map<Operation, Integer> parseMix(final String spec) {
+        Map<Operation, Integer> mix = new EnumMap<>(Operation.class);
+        for (String part : spec.split(",")) {
+            String[] pair = part.split(":");
+            if (pair.length != 2) {
+                throw new IllegalArgumentException("Expected operation:weight: " + part);
+            }
+            int weight = Integer.parseInt(pair[1].trim());
+            if (weight > 0) {
+                mix.put(Operation.valueOf(pair[0].trim().toUpperCase(Locale.ROOT)), weight);
+            }
+        }
+        if (mix.isEmpty()) {
+            throw new IllegalArgumentException("Empty mix: " + spec);
+        }
+        return mix;
+    }
+}
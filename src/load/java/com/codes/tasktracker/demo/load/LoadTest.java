@@ -0,0 +1,403 @@
+package com.codes.tasktracker.demo.load;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Boots the application on H2 and drives a mixed HTTP workload against
+ * it, reporting throughput and latency percentiles per operation.
+ *
+ * <p>In open-loop mode requests are scheduled at a fixed rate and each
+ * latency is measured from the request's scheduled start, not from when
+ * it was actually sent. If the server stalls, the requests that should
+ * have been sent meanwhile are charged the wait, which avoids the
+ * coordinated omission of closed-loop tools. The time from send to
+ * response is recorded separately as service time.</p>
+ *
+ * <p>Database connections in use, heap, threads and requests in flight
+ * are sampled during the measured phase, see {@link ResourceSampler}.
+ * With {@code --variant=servlet,reactive} the same workload runs against
+ * the servlet and the reactive stack in turn, and the two are compared
+ * side by side.</p>
+ *
+ * <p>Run with:
+ * {@code mvn -Pload -DskipTests verify -Dload.args="--rate=2000 --duration=60s"},
+ * adding {@code -Preactive} for the reactive variant.
+ * Results go to {@code target/load/result.json}, plus one
+ * {@code .hgrm} percentile distribution per operation. When several
+ * variants run, each gets a subdirectory and the comparison goes to
+ * {@code target/load/comparison.json}.</p>
+ */
+public final class LoadTest {
+
+    /**
+     * Highest recordable latency, in microseconds.
+     */
+    private static final long MAX_LATENCY_MICROS = TimeUnit.MINUTES.toMicros(2);
+
+    private final LoadConfig config;
+
+    private final Variant variant;
+
+    private final TaskApiClient client;
+
+    /**
+     * Directory receiving this variant's result files.
+     */
+    private final Path output;
+
+    private final AtomicInteger requestsInFlight = new AtomicInteger();
+
+    private final ResourceSampler sampler;
+
+    /**
+     * Latency from scheduled start to response, per operation.
+     */
+    private final Map<Operation, Histogram> responseTimes = new EnumMap<>(Operation.class);
+
+    /**
+     * Latency from send to response, per operation.
+     */
+    private final Map<Operation, Histogram> serviceTimes = new EnumMap<>(Operation.class);
+
+    /**
+     * Responses other than 2xx, and failed requests, per operation.
+     */
+    private final Map<Operation, LongAdder> errors = new EnumMap<>(Operation.class);
+
+    /**
+     * Cumulative weights for picking operations.
+     */
+    private final Operation[] operations;
+
+    private final int[] cumulative;
+
+    private volatile long measureFrom;
+
+    private LoadTest(final LoadConfig config, final Variant variant,
+            final TaskApiClient client, final Path output, final MeterRegistry registry) {
+        this.config = config;
+        this.variant = variant;
+        this.client = client;
+        this.output = output;
+        this.sampler = new ResourceSampler(registry, variant.connectionGauge(), this.requestsInFlight::get);
+        this.operations = config.mix().keySet().toArray(new Operation[0]);
+        this.cumulative = new int[this.operations.length];
+        int sum = 0;
+        for (int i = 0; i < this.operations.length; i++) {
+            sum += config.mix().get(this.operations[i]);
+            this.cumulative[i] = sum;
+            this.responseTimes.put(this.operations[i], new ConcurrentHistogram(MAX_LATENCY_MICROS, 3));
+            this.serviceTimes.put(this.operations[i], new ConcurrentHistogram(MAX_LATENCY_MICROS, 3));
+            this.errors.put(this.operations[i], new LongAdder());
+        }
+    }
+
+    /**
+     * Runs the load test.
+     *
+     * @param args {@code --name=value} options, see {@link LoadConfig}.
+     * @throws Exception If the run fails.
+     */
+    public static void main(final String[] args) throws Exception {
+        LoadConfig config = LoadConfig.parse(args);
+        Map<Variant, Map<String, Object>> totals = new EnumMap<>(Variant.class);
+        for (Variant variant : config.variants()) {
+            Path output = config.variants().size() == 1
+                    ? config.output()
+                    : config.output().resolve(variant.name().toLowerCase(Locale.ROOT));
+            totals.put(variant, run(config, variant, output));
+        }
+        if (totals.size() > 1) {
+            compare(config, totals);
+        }
+    }
+
+    /**
+     * Boots one variant, seeds it, runs the workload and reports.
+     *
+     * @return The overall figures of the run.
+     */
+    private static Map<String, Object> run(
+            final LoadConfig config, final Variant variant, final Path output) throws Exception {
+        List<String> appArgs = new ArrayList<>(config.appArgs());
+        appArgs.add("--server.port=0");
+        appArgs.add("--logging.level.root=WARN");
+
+        try (ConfigurableApplicationContext ctx =
+                     variant.application().run(appArgs.toArray(new String[0]))) {
+            int port = ctx.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+            TaskApiClient client = new TaskApiClient(port, config.listLimit());
+            client.seed(config.seedTasks());
+
+            LoadTest test = new LoadTest(config, variant, client, output, ctx.getBean(MeterRegistry.class));
+            long elapsed = test.config.mode() == LoadConfig.Mode.OPEN ? test.runOpen() : test.runClosed();
+            return test.report(elapsed);
+        }
+    }
+
+    /**
+     * Issues requests on a fixed schedule until the run ends.
+     *
+     * @return The measured duration in nanoseconds.
+     */
+    private long runOpen() throws InterruptedException {
+        long period = TimeUnit.SECONDS.toNanos(1) / Math.max(1, this.config.rate());
+        long start = System.nanoTime();
+        this.measureFrom = start + this.config.warmup().toNanos();
+        long end = this.measureFrom + this.config.duration().toNanos();
+        Semaphore inFlight = new Semaphore(this.config.concurrency());
+        ExecutorService senders = Executors.newVirtualThreadPerTaskExecutor();
+        this.sampler.start(this.measureFrom, end);
+
+        for (long i = 0; ; i++) {
+            long intended = start + i * period;
+            if (intended >= end) {
+                break;
+            }
+            long wait = intended - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            // If the cap is reached the schedule slips, but latency is
+            // still counted from the intended start.
+            inFlight.acquire();
+            Operation operation = pick();
+            senders.execute(() -> {
+                try {
+                    call(operation, intended);
+                } finally {
+                    inFlight.release();
+                }
+            });
+        }
+        senders.shutdown();
+        senders.awaitTermination(1, TimeUnit.MINUTES);
+        this.sampler.stop();
+        return end - this.measureFrom;
+    }
+
+    /**
+     * Runs each client in a loop, sending its next request as soon as the
+     * previous one returns.
+     *
+     * @return The measured duration in nanoseconds.
+     */
+    private long runClosed() throws InterruptedException {
+        long start = System.nanoTime();
+        this.measureFrom = start + this.config.warmup().toNanos();
+        long end = this.measureFrom + this.config.duration().toNanos();
+        ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor();
+        this.sampler.start(this.measureFrom, end);
+        for (int c = 0; c < this.config.concurrency(); c++) {
+            clients.execute(() -> {
+                long now;
+                while ((now = System.nanoTime()) < end) {
+                    call(pick(), now);
+                }
+            });
+        }
+        clients.shutdown();
+        clients.awaitTermination(1, TimeUnit.MINUTES);
+        this.sampler.stop();
+        return end - this.measureFrom;
+    }
+
+    private void call(final Operation operation, final long intended) {
+        long sent = System.nanoTime();
+        boolean failed;
+        this.requestsInFlight.incrementAndGet();
+        try {
+            int status = this.client.execute(operation);
+            failed = status < 200 || status >= 300;
+        } catch (IOException e) {
+            failed = true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        } finally {
+            this.requestsInFlight.decrementAndGet();
+        }
+        long done = System.nanoTime();
+        if (intended < this.measureFrom) {
+            return;
+        }
+        if (failed) {
+            this.errors.get(operation).increment();
+        }
+        this.responseTimes.get(operation).recordValue(
+                Math.min(MAX_LATENCY_MICROS, TimeUnit.NANOSECONDS.toMicros(done - intended)));
+        this.serviceTimes.get(operation).recordValue(
+                Math.min(MAX_LATENCY_MICROS, TimeUnit.NANOSECONDS.toMicros(done - sent)));
+    }
+
+    private Operation pick() {
+        int roll = ThreadLocalRandom.current().nextInt(this.cumulative[this.cumulative.length - 1]);
+        for (int i = 0; i < this.cumulative.length; i++) {
+            if (roll < this.cumulative[i]) {
+                return this.operations[i];
+            }
+        }
+        return this.operations[this.operations.length - 1];
+    }
+
+    /**
+     * Prints and writes the results of this run.
+     *
+     * @return The overall latency and resource figures.
+     */
+    private Map<String, Object> report(final long elapsedNanos) throws IOException {
+        double seconds = elapsedNanos / 1e9;
+        Files.createDirectories(this.output);
+        Histogram total = new Histogram(MAX_LATENCY_MICROS, 3);
+        Histogram totalService = new Histogram(MAX_LATENCY_MICROS, 3);
+        long totalErrors = 0;
+        Map<String, Object> results = new LinkedHashMap<>();
+
+        System.out.printf("%n%s, %s loop, %s measured%n",
+                this.variant, this.config.mode(), this.config.duration());
+        System.out.printf("%-8s %9s %10s %7s %9s %9s %9s %9s %9s%n",
+                "op", "count", "req/s", "errors", "p50 ms", "p99 ms", "p999 ms", "max ms", "svc p99");
+        for (Operation operation : this.operations) {
+            Histogram response = this.responseTimes.get(operation);
+            Histogram service = this.serviceTimes.get(operation);
+            long errorCount = this.errors.get(operation).sum();
+            total.add(response);
+            totalService.add(service);
+            totalErrors += errorCount;
+            results.put(operation.name().toLowerCase(Locale.ROOT), summary(response, service, errorCount, seconds));
+            print(operation.name().toLowerCase(Locale.ROOT), response, service, errorCount, seconds);
+            try (PrintStream out = new PrintStream(Files.newOutputStream(
+                    this.output.resolve(operation.name().toLowerCase(Locale.ROOT) + ".hgrm")))) {
+                // Percentile distribution in milliseconds, for HdrHistogram plotters.
+                response.outputPercentileDistribution(out, 1000.0);
+            }
+        }
+        print("total", total, totalService, totalErrors, seconds);
+        Map<String, Object> overall = summary(total, totalService, totalErrors, seconds);
+        results.put("total", overall);
+        Map<String, Object> resources = this.sampler.summary(total.getTotalCount());
+        System.out.printf("db connections mean %s peak %s, in flight mean %.1f, "
+                        + "heap mean %.1f MB, ~%s KB heap per in-flight request, "
+                        + "%s KB allocated per request, %d threads peak%n",
+                format(resources.get("dbConnectionsMean")), format(resources.get("dbConnectionsPeak")),
+                (Double) resources.get("inFlightMean"), (Double) resources.get("heapMeanMb"),
+                format(resources.get("heapPerInFlightKb")), format(resources.get("allocatedPerRequestKb")),
+                (Integer) resources.get("threadsPeak"));
+
+        Map<String, Object> document = new LinkedHashMap<>();
+        document.put("variant", this.variant);
+        document.put("mode", this.config.mode());
+        document.put("rate", this.config.mode() == LoadConfig.Mode.OPEN ? this.config.rate() : null);
+        document.put("concurrency", this.config.concurrency());
+        document.put("durationSeconds", seconds);
+        document.put("mix", this.config.mix());
+        document.put("operations", results);
+        document.put("resources", resources);
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT)
+                .writeValue(this.output.resolve("result.json").toFile(), document);
+
+        Map<String, Object> figures = new LinkedHashMap<>(overall);
+        figures.putAll(resources);
+        return figures;
+    }
+
+    /**
+     * Prints the variants side by side and writes the comparison.
+     */
+    private static void compare(
+            final LoadConfig config, final Map<Variant, Map<String, Object>> totals) throws IOException {
+        String[][] rows = {
+                {"req/s", "throughput"},
+                {"p50 ms", "p50Ms"},
+                {"p99 ms", "p99Ms"},
+                {"errors", "errors"},
+                {"db conn mean", "dbConnectionsMean"},
+                {"db conn peak", "dbConnectionsPeak"},
+                {"in flight mean", "inFlightMean"},
+                {"threads peak", "threadsPeak"},
+                {"heap mean MB", "heapMeanMb"},
+                {"heap/in-flight KB", "heapPerInFlightKb"},
+                {"alloc/request KB", "allocatedPerRequestKb"},
+        };
+        System.out.printf("%n%-18s", "");
+        for (Variant variant : totals.keySet()) {
+            System.out.printf(" %12s", variant.name().toLowerCase(Locale.ROOT));
+        }
+        System.out.println();
+        for (String[] row : rows) {
+            System.out.printf("%-18s", row[0]);
+            for (Map<String, Object> figures : totals.values()) {
+                System.out.printf(" %12s", format(figures.get(row[1])));
+            }
+            System.out.println();
+        }
+
+        Map<String, Object> document = new LinkedHashMap<>();
+        document.put("mode", config.mode());
+        document.put("rate", config.mode() == LoadConfig.Mode.OPEN ? config.rate() : null);
+        document.put("concurrency", config.concurrency());
+        document.put("variants", totals);
+        Files.createDirectories(config.output());
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT)
+                .writeValue(config.output().resolve("comparison.json").toFile(), document);
+    }
+
+    private static String format(final Object value) {
+        if (value == null) {
+            return "n/a";
+        }
+        return value instanceof Double number
+                ? String.format(Locale.ROOT, "%,.1f", number)
+                : String.valueOf(value);
+    }
+
+    private static void print(final String name, final Histogram response,
+            final Histogram service, final long errorCount, final double seconds) {
+        System.out.printf("%-8s %,9d %,10.1f %,7d %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+                name, response.getTotalCount(), response.getTotalCount() / seconds, errorCount,
+                millis(response, 50), millis(response, 99), millis(response, 99.9),
+                response.getMaxValue() / 1000.0, millis(service, 99));
+    }
+
+    private static Map<String, Object> summary(final Histogram response,
+            final Histogram service, final long errorCount, final double seconds) {
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("count", response.getTotalCount());
+        summary.put("errors", errorCount);
+        summary.put("throughput", response.getTotalCount() / seconds);
+        summary.put("p50Ms", millis(response, 50));
+        summary.put("p99Ms", millis(response, 99));
+        summary.put("p999Ms", millis(response, 99.9));
+        summary.put("maxMs", response.getMaxValue() / 1000.0);
+        summary.put("serviceP99Ms", millis(service, 99));
+        return summary;
+    }
+
+    private static double millis(final Histogram histogram, final double percentile) {
+        return histogram.getValueAtPercentile(percentile) / 1000.0;
+    }
+}
@@ -0,0 +1,17 @@
+package com.codes.tasktracker.demo.load;
+
+/**
+ * Requests a load test can issue against the task API.
+ */
+enum Operation {
+    /** {@code POST /tasks}. */
+    CREATE,
+    /** {@code GET /tasks/{id}}. */
+    GET,
+    /** {@code PUT /tasks/{id}}. */
+    UPDATE,
+    /** {@code GET /tasks?limit=n}. */
+    LIST,
+    /** {@code DELETE /tasks/{id}}. */
+    DELETE
+}
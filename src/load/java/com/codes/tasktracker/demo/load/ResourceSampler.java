@@ -0,0 +1,176 @@
+package com.codes.tasktracker.demo.load;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.ThreadMXBean;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntSupplier;
+
+/**
+ * Samples what the server holds while the load runs: database
+ * connections checked out of the pool, heap, platform threads and
+ * requests in flight.
+ *
+ * <p>Client and server share the JVM, so heap, allocation and thread
+ * figures include the client's share. Every variant is driven by the
+ * same client, so differences between variants are the server's. Heap
+ * per in-flight request is the mean heap above the idle baseline divided
+ * by the mean number of requests in flight; it counts garbage not yet
+ * collected and is an upper bound, not an exact footprint.</p>
+ */
+final class ResourceSampler {
+
+    private static final long PERIOD_MILLIS = 100;
+
+    private static final double MB = 1024.0 * 1024.0;
+
+    private final MeterRegistry registry;
+
+    private final String connectionGauge;
+
+    private final IntSupplier inFlight;
+
+    private final MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+
+    private final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+
+    private final ScheduledExecutorService timer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "load-sampler");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * Heap used when idle, after a collection.
+     */
+    private final long baselineHeap;
+
+    // Written by the timer thread only, read after stop().
+    private long from;
+    private long to;
+    private long allocatedAtStart = -1;
+    private long allocated = -1;
+    private long samples;
+    private double connectionSum;
+    private double connectionPeak;
+    private boolean connectionsSeen;
+    private long heapSum;
+    private long heapPeak;
+    private long inFlightSum;
+    private int inFlightPeak;
+    private int threadPeak;
+
+    /**
+     * Creates a sampler and records the idle heap baseline.
+     *
+     * @param registry        The application's meter registry.
+     * @param connectionGauge The gauge of connections in use.
+     * @param inFlight        The number of requests in flight.
+     */
+    ResourceSampler(final MeterRegistry registry, final String connectionGauge,
+            final IntSupplier inFlight) {
+        this.registry = registry;
+        this.connectionGauge = connectionGauge;
+        this.inFlight = inFlight;
+        System.gc();
+        this.baselineHeap = this.memory.getHeapMemoryUsage().getUsed();
+    }
+
+    /**
+     * Samples periodically between two instants of {@link System#nanoTime()}.
+     *
+     * @param fromNanos Start of the measured window.
+     * @param toNanos   End of the measured window.
+     */
+    void start(final long fromNanos, final long toNanos) {
+        this.from = fromNanos;
+        this.to = toNanos;
+        this.timer.scheduleAtFixedRate(this::sample, 0, PERIOD_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Stops sampling.
+     *
+     * @throws InterruptedException If interrupted while waiting for the
+     *                              last sample.
+     */
+    void stop() throws InterruptedException {
+        this.timer.shutdown();
+        this.timer.awaitTermination(1, TimeUnit.SECONDS);
+    }
+
+    private void sample() {
+        long now = System.nanoTime();
+        if (now < this.from || now >= this.to) {
+            return;
+        }
+        long allocatedNow = allocatedBytes();
+        if (this.allocatedAtStart < 0) {
+            this.allocatedAtStart = allocatedNow;
+        }
+        this.allocated = allocatedNow;
+
+        double connections = 0;
+        for (Gauge gauge : this.registry.find(this.connectionGauge).gauges()) {
+            connections += gauge.value();
+            this.connectionsSeen = true;
+        }
+        long heap = this.memory.getHeapMemoryUsage().getUsed();
+        int requests = this.inFlight.getAsInt();
+
+        this.samples++;
+        this.connectionSum += connections;
+        this.connectionPeak = Math.max(this.connectionPeak, connections);
+        this.heapSum += heap;
+        this.heapPeak = Math.max(this.heapPeak, heap);
+        this.inFlightSum += requests;
+        this.inFlightPeak = Math.max(this.inFlightPeak, requests);
+        this.threadPeak = Math.max(this.threadPeak, this.threads.getThreadCount());
+    }
+
+    /**
+     * Bytes allocated so far by all live platform threads, which include
+     * the carriers of virtual threads; -1 if the JVM cannot tell.
+     */
+    private long allocatedBytes() {
+        return this.threads instanceof com.sun.management.ThreadMXBean hotspot
+                ? hotspot.getTotalThreadAllocatedBytes()
+                : -1;
+    }
+
+    /**
+     * Summarizes the samples.
+     *
+     * @param requests Requests completed in the measured window.
+     * @return The figures, keyed by name.
+     */
+    Map<String, Object> summary(final long requests) {
+        Map<String, Object> summary = new LinkedHashMap<>();
+        long n = Math.max(1, this.samples);
+        double meanInFlight = (double) this.inFlightSum / n;
+        double meanHeap = (double) this.heapSum / n;
+        summary.put("samples", this.samples);
+        summary.put("dbConnectionsMean", this.connectionsSeen ? this.connectionSum / n : null);
+        summary.put("dbConnectionsPeak", this.connectionsSeen ? this.connectionPeak : null);
+        summary.put("inFlightMean", meanInFlight);
+        summary.put("inFlightPeak", this.inFlightPeak);
+        summary.put("threadsPeak", this.threadPeak);
+        summary.put("heapBaselineMb", this.baselineHeap / MB);
+        summary.put("heapMeanMb", meanHeap / MB);
+        summary.put("heapPeakMb", this.heapPeak / MB);
+        summary.put("heapPerInFlightKb", meanInFlight > 0
+                ? Math.max(0, meanHeap - this.baselineHeap) / meanInFlight / 1024
+                : null);
+        summary.put("allocatedPerRequestKb", this.allocated >= 0 && requests > 0
+                ? (double) (this.allocated - this.allocatedAtStart) / requests / 1024
+                : null);
+        return summary;
+    }
+}
@@ -0,0 +1,166 @@
+package com.codes.tasktracker.demo.load;
+
+import com.codes.tasktracker.demo.service.TaskService;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Issues one operation against the task API, keeping track of the IDs
+ * of tasks that exist so reads, updates and deletes hit real rows.
+ */
+final class TaskApiClient {
+
+    private final HttpClient http = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .executor(Executors.newVirtualThreadPerTaskExecutor())
+            .build();
+
+    private final String base;
+
+    private final int listLimit;
+
+    /**
+     * IDs of live tasks; removal swaps with the last element.
+     */
+    private final List<UUID> ids = new ArrayList<>();
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    TaskApiClient(final int port, final int listLimit) {
+        this.base = "http://localhost:" + port + "/tasks";
+        this.listLimit = listLimit;
+    }
+
+    /**
+     * Creates tasks through {@code POST /tasks/batch}, so every variant
+     * is seeded the same way.
+     *
+     * @param tasks The number of tasks.
+     * @throws IOException          If a request fails.
+     * @throws InterruptedException If interrupted while waiting.
+     */
+    void seed(final int tasks) throws IOException, InterruptedException {
+        ObjectMapper mapper = new ObjectMapper();
+        for (int offset = 0; offset < tasks; offset += TaskService.MAX_BATCH_SIZE) {
+            int size = Math.min(TaskService.MAX_BATCH_SIZE, tasks - offset);
+            List<String> descriptions = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                descriptions.add("Tarea inicial " + (offset + i));
+            }
+            HttpResponse<String> response = this.http.send(HttpRequest.newBuilder(uri("/batch"))
+                            .header("Content-Type", "application/json")
+                            .POST(json(mapper.writeValueAsString(descriptions)))
+                            .build(),
+                    HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() != 201) {
+                throw new IOException("Seeding failed with status " + response.statusCode());
+            }
+            addIds(mapper.readValue(response.body(), new TypeReference<List<UUID>>() { }));
+        }
+    }
+
+    private void addIds(final Collection<UUID> seeded) {
+        this.lock.lock();
+        try {
+            this.ids.addAll(seeded);
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * Sends one request and waits for the response.
+     *
+     * @param operation The operation.
+     * @return The HTTP status code.
+     * @throws IOException          If the request fails.
+     * @throws InterruptedException If interrupted while waiting.
+     */
+    int execute(final Operation operation) throws IOException, InterruptedException {
+        return switch (operation) {
+            case CREATE -> create();
+            case GET -> send(HttpRequest.newBuilder(uri("/" + anyId())).GET().build());
+            case UPDATE -> send(HttpRequest.newBuilder(uri("/" + anyId()))
+                    .header("Content-Type", "application/json")
+                    .PUT(json("{\"description\":\"Actualizada " + System.nanoTime()
+                            + "\",\"completed\":" + ThreadLocalRandom.current().nextBoolean() + "}"))
+                    .build());
+            case LIST -> send(HttpRequest.newBuilder(uri("?limit=" + this.listLimit)).GET().build());
+            case DELETE -> delete();
+        };
+    }
+
+    private int create() throws IOException, InterruptedException {
+        HttpResponse<Void> response = this.http.send(HttpRequest.newBuilder(uri(""))
+                        .header("Content-Type", "application/json")
+                        .POST(json("{\"description\":\"Carga " + System.nanoTime() + "\"}"))
+                        .build(),
+                HttpResponse.BodyHandlers.discarding());
+        response.headers().firstValue("Location").ifPresent(location -> {
+            UUID id = UUID.fromString(location.substring(location.lastIndexOf('/') + 1));
+            this.lock.lock();
+            try {
+                this.ids.add(id);
+            } finally {
+                this.lock.unlock();
+            }
+        });
+        return response.statusCode();
+    }
+
+    private int delete() throws IOException, InterruptedException {
+        UUID id = null;
+        this.lock.lock();
+        try {
+            if (!this.ids.isEmpty()) {
+                int index = ThreadLocalRandom.current().nextInt(this.ids.size());
+                id = this.ids.get(index);
+                this.ids.set(index, this.ids.get(this.ids.size() - 1));
+                this.ids.remove(this.ids.size() - 1);
+            }
+        } finally {
+            this.lock.unlock();
+        }
+        if (id == null) {
+            return create();
+        }
+        return send(HttpRequest.newBuilder(uri("/" + id)).DELETE().build());
+    }
+
+    private UUID anyId() {
+        this.lock.lock();
+        try {
+            // A miss on an empty pool still exercises the 404 path.
+            return this.ids.isEmpty()
+                    ? new UUID(0, 0)
+                    : this.ids.get(ThreadLocalRandom.current().nextInt(this.ids.size()));
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    private int send(final HttpRequest request) throws IOException, InterruptedException {
+        return this.http.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    private URI uri(final String suffix) {
+        return URI.create(this.base + suffix);
+    }
+
+    private static HttpRequest.BodyPublisher json(final String body) {
+        return HttpRequest.BodyPublishers.ofString(body);
+    }
+}
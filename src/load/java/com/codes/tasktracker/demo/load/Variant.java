@@ -0,0 +1,69 @@
+package com.codes.tasktracker.demo.load;
+
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+
+/**
+ * Server stacks a load test can run against.
+ */
+enum Variant {
+    /** Spring MVC on Tomcat, JPA over JDBC and Hikari. */
+    SERVLET("com.codes.tasktracker.demo.TaskTrackerApplication",
+            WebApplicationType.SERVLET, null, "hikaricp.connections.active"),
+    /** WebFlux on Netty, R2DBC over r2dbc-pool; needs {@code -Preactive}. */
+    REACTIVE("com.codes.tasktracker.demo.reactive.ReactiveTaskTrackerApplication",
+            WebApplicationType.REACTIVE, "reactive", "r2dbc.pool.acquired");
+
+    /**
+     * The main class, loaded by name so this harness builds without the
+     * reactive sources.
+     */
+    private final String mainClass;
+
+    private final WebApplicationType webType;
+
+    /**
+     * The Spring profile to activate, or null.
+     */
+    private final String profile;
+
+    /**
+     * The gauge of database connections checked out of the pool.
+     */
+    private final String connectionGauge;
+
+    Variant(final String mainClass, final WebApplicationType webType,
+            final String profile, final String connectionGauge) {
+        this.mainClass = mainClass;
+        this.webType = webType;
+        this.profile = profile;
+        this.connectionGauge = connectionGauge;
+    }
+
+    /**
+     * Returns the name of the gauge of database connections in use.
+     *
+     * @return The meter name.
+     */
+    String connectionGauge() {
+        return this.connectionGauge;
+    }
+
+    /**
+     * Creates a builder for the variant's application.
+     *
+     * @return The application builder.
+     * @throws IllegalStateException If the variant was not compiled in.
+     */
+    SpringApplicationBuilder application() {
+        Class<?> type;
+        try {
+            type = Class.forName(this.mainClass);
+        } catch (ClassNotFoundException e) {
+            throw new IllegalStateException(
+                    "Variant " + this + " not built; add its Maven profile: " + this.mainClass, e);
+        }
+        SpringApplicationBuilder builder = new SpringApplicationBuilder(type).web(this.webType);
+        return this.profile == null ? builder : builder.profiles(this.profile);
+    }
+}
@@ -0,0 +1,194 @@
+package com.codes.tasktracker.demo.controller;
+
+import com.codes.tasktracker.demo.service.TaskWriteProperties;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Limits how many task requests run against the database at once.
+ *
+ * <p>With virtual threads Tomcat no longer caps concurrency through its
+ * worker pool, so thousands of requests could otherwise queue inside the
+ * connection pool and fail together when its timeout expires. Requests
+ * wait here instead, on a fair {@link Semaphore} sized to the pool, and
+ * are rejected with 503 and {@code Retry-After} once the admission
+ * timeout passes. Waiting parks a virtual thread without pinning it.</p>
+ *
+ * <p>Asynchronous requests, such as exports, keep their permit until
+ * they complete. The event stream never touches the database and is not
+ * limited, and neither are single creates and updates while the
+ * group-commit pipeline is enabled: its single writer already bounds
+ * their use of the database, and holding a permit while waiting for a
+ * batch would cap the batch size at the permit count.</p>
+ */
+@Component
+public class DbAdmissionFilter extends OncePerRequestFilter {
+
+    /**
+     * The admission configuration.
+     */
+    private final DbAdmissionProperties properties;
+
+    /**
+     * The write pipeline configuration.
+     */
+    private final TaskWriteProperties writeProperties;
+
+    /**
+     * Permits for concurrent requests.
+     */
+    private final Semaphore permits;
+
+    /**
+     * Number of requests rejected after waiting too long.
+     */
+    private final LongAdder rejected = new LongAdder();
+
+    /**
+     * Constructs a new DbAdmissionFilter with the write pipeline disabled.
+     *
+     * @param properties The admission configuration.
+     */
+    public DbAdmissionFilter(final DbAdmissionProperties properties) {
+        this(properties, TaskWriteProperties.defaults());
+    }
+
+    /**
+     * Constructs a new DbAdmissionFilter.
+     *
+     * @param properties      The admission configuration.
+     * @param writeProperties The write pipeline configuration.
+     */
+    @Autowired
+    public DbAdmissionFilter(
+            final DbAdmissionProperties properties,
+            final TaskWriteProperties writeProperties) {
+        this.properties = properties;
+        this.writeProperties = writeProperties;
+        this.permits = new Semaphore(Math.max(1, properties.maxConcurrent()), true);
+    }
+
+    /**
+     * Returns the number of requests rejected since startup.
+     *
+     * @return The rejected request count.
+     */
+    public long rejectedCount() {
+        return this.rejected.sum();
+    }
+
+    /**
+     * Returns the number of requests waiting for admission.
+     *
+     * @return The approximate queue length.
+     */
+    public int waitingCount() {
+        return this.permits.getQueueLength();
+    }
+
+    @Override
+    protected boolean shouldNotFilter(final HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return !this.properties.enabled()
+                || !path.startsWith("/tasks")
+                || path.equals("/tasks/stream")
+                || path.equals("/tasks/cache/stats")
+                || (this.writeProperties.enabled() && isSingleWrite(request.getMethod(), path));
+    }
+
+    private static boolean isSingleWrite(final String method, final String path) {
+        if (HttpMethod.POST.matches(method)) {
+            return path.equals("/tasks");
+        }
+        return HttpMethod.PUT.matches(method)
+                && path.startsWith("/tasks/")
+                && path.indexOf('/', "/tasks/".length()) < 0;
+    }
+
+    @Override
+    protected void doFilterInternal(
+            final HttpServletRequest request,
+            final HttpServletResponse response,
+            final FilterChain chain) throws ServletException, IOException {
+
+        if (!acquire()) {
+            this.rejected.increment();
+            response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+            response.sendError(HttpStatus.SERVICE_UNAVAILABLE.value(), "Servidor saturado");
+            return;
+        }
+        boolean async = false;
+        try {
+            chain.doFilter(request, response);
+            if (request.isAsyncStarted()) {
+                request.getAsyncContext().addListener(new ReleaseOnCompletion());
+                async = true;
+            }
+        } finally {
+            if (!async) {
+                this.permits.release();
+            }
+        }
+    }
+
+    private boolean acquire() {
+        try {
+            return this.permits.tryAcquire(
+                    this.properties.timeout().toNanos(), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /**
+     * Releases the permit of an asynchronous request exactly once.
+     */
+    private final class ReleaseOnCompletion implements AsyncListener {
+
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        @Override
+        public void onComplete(final AsyncEvent event) {
+            release();
+        }
+
+        @Override
+        public void onTimeout(final AsyncEvent event) {
+            release();
+        }
+
+        @Override
+        public void onError(final AsyncEvent event) {
+            release();
+        }
+
+        @Override
+        public void onStartAsync(final AsyncEvent event) {
+            // A re-dispatched request keeps the permit it already holds.
+            event.getAsyncContext().addListener(this);
+        }
+
+        private void release() {
+            if (this.released.compareAndSet(false, true)) {
+                permits.release();
+            }
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.codes.tasktracker.demo.controller;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Configuration of the database admission limit.
+ *
+ * @param enabled       Whether requests are admitted through the limit.
+ * @param maxConcurrent The number of requests allowed to run at once;
+ *                      normally the size of the connection pool.
+ * @param timeout       How long a request waits for admission before it
+ *                      is rejected with 503.
+ */
+@ConfigurationProperties(prefix = "tasktracker.db-admission")
+public record DbAdmissionProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("20") int maxConcurrent,
+        @DefaultValue("2s") Duration timeout
+) {
+
+    /**
+     * Returns the defaults used when nothing is configured.
+     *
+     * @return The default properties.
+     */
+    public static DbAdmissionProperties defaults() {
+        return new DbAdmissionProperties(true, 20, Duration.ofSeconds(2));
+    }
+}
@@ -0,0 +1,213 @@
+package com.codes.tasktracker.demo.controller;
+
+import com.codes.tasktracker.demo.dto.TaskView;
+import com.codes.tasktracker.demo.exception.PreconditionFailedException;
+import org.springframework.http.MediaType;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Builds strong entity tags for task responses.
+ *
+ * <p>Every change to a task increments its version, so a single task is
+ * tagged with its version and a list with a digest of the IDs and
+ * versions it contains. Neither needs the response body to be serialized
+ * first.</p>
+ *
+ * <p>The same task encodes to different bytes in JSON, CBOR and Smile, so
+ * the binary formats carry their name as a suffix, as in
+ * {@code "5-cbor"}, and a tag issued for one format never validates
+ * another. Likewise a gzip-encoded body is tagged {@code "5-gzip"}.</p>
+ */
+final class ETags {
+
+    /**
+     * Suffix of tags issued for CBOR bodies.
+     */
+    private static final String CBOR = "-cbor";
+
+    /**
+     * Suffix of tags issued for Smile bodies.
+     */
+    private static final String SMILE = "-smile";
+
+    /**
+     * Suffix of tags issued for gzip-encoded bodies.
+     */
+    private static final String GZIP = "-gzip";
+
+    /**
+     * Suffixes a tag may carry after the version, in
+     * {@link #expectedVersion(String)}.
+     */
+    private static final List<String> SUFFIXES = List.of(CBOR, SMILE, GZIP);
+
+    private ETags() {
+    }
+
+    /**
+     * Tags a single task.
+     *
+     * @param version The version of the task.
+     * @return The quoted entity tag.
+     */
+    static String ofVersion(final long version) {
+        return "\"" + version + "\"";
+    }
+
+    /**
+     * Tags a list of tasks.
+     *
+     * @param views The tasks, in response order.
+     * @param next  The cursor of the following page, or null.
+     * @return The quoted entity tag.
+     */
+    static String ofViews(final List<TaskView> views, final String next) {
+        MessageDigest digest = md5();
+        ByteBuffer buffer = ByteBuffer.allocate(3 * Long.BYTES);
+        for (TaskView view : views) {
+            buffer.clear();
+            buffer.putLong(view.id().getMostSignificantBits())
+                    .putLong(view.id().getLeastSignificantBits())
+                    .putLong(view.version());
+            digest.update(buffer.flip());
+        }
+        return tag(digest, next);
+    }
+
+    /**
+     * Tags a list of sparse task representations.
+     *
+     * @param items The selected fields of each task, in response order.
+     * @param next  The cursor of the following page, or null.
+     * @return The quoted entity tag.
+     */
+    static String ofFields(final List<Map<String, Object>> items, final String next) {
+        MessageDigest digest = md5();
+        for (Map<String, Object> item : items) {
+            for (Map.Entry<String, Object> entry : item.entrySet()) {
+                digest.update((entry.getKey() + '=' + entry.getValue() + '\n')
+                        .getBytes(StandardCharsets.UTF_8));
+            }
+            digest.update((byte) 0);
+        }
+        return tag(digest, next);
+    }
+
+    /**
+     * Adapts a tag to the wire format an {@code Accept} header
+     * negotiates. JSON tags are returned unchanged.
+     *
+     * @param tag    The quoted entity tag.
+     * @param accept The {@code Accept} header, or null.
+     * @return The quoted entity tag for the negotiated format.
+     */
+    static String forFormat(final String tag, final String accept) {
+        String format = binaryFormat(accept);
+        return format == null ? tag : tag.substring(0, tag.length() - 1) + format + '"';
+    }
+
+    /**
+     * Tags the gzip-encoded variant of a body.
+     *
+     * @param tag The quoted entity tag of the identity body.
+     * @return The quoted entity tag of the gzip-encoded body.
+     */
+    static String gzip(final String tag) {
+        return tag.substring(0, tag.length() - 1) + GZIP + '"';
+    }
+
+    /**
+     * Picks the tag to validate an {@code If-None-Match} header against.
+     * A client holding the gzip-encoded body sends its tag, which stands
+     * for the same version as the identity one.
+     *
+     * @param ifNoneMatch The header value.
+     * @param tag         The quoted entity tag of the identity body.
+     * @return The gzip tag if the header lists it, otherwise {@code tag}.
+     */
+    static String matching(final String ifNoneMatch, final String tag) {
+        String gzip = gzip(tag);
+        for (String candidate : ifNoneMatch.split(",")) {
+            String value = candidate.trim();
+            if (value.startsWith("W/")) {
+                value = value.substring(2);
+            }
+            if (value.equals(gzip)) {
+                return gzip;
+            }
+        }
+        return tag;
+    }
+
+    /**
+     * Reads the version a client expects from an {@code If-Match} header.
+     * Only a single strong tag issued by {@link #ofVersion(long)}, in any
+     * format, or {@code *}, is accepted; anything else cannot match.
+     *
+     * @param ifMatch The header value, or null.
+     * @return The expected version, or null if any version matches.
+     * @throws PreconditionFailedException If the value cannot match.
+     */
+    static Long expectedVersion(final String ifMatch) {
+        if (ifMatch == null || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String tag = ifMatch.trim();
+        if (tag.length() < 3 || tag.charAt(0) != '"' || tag.charAt(tag.length() - 1) != '"') {
+            throw new PreconditionFailedException("If-Match no coincide: " + ifMatch);
+        }
+        String value = tag.substring(1, tag.length() - 1);
+        for (String suffix : SUFFIXES) {
+            if (value.endsWith(suffix)) {
+                value = value.substring(0, value.length() - suffix.length());
+                break;
+            }
+        }
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            throw new PreconditionFailedException("If-Match no coincide: " + ifMatch);
+        }
+    }
+
+    /**
+     * Returns the suffix of the binary format an {@code Accept} header
+     * negotiates, as chosen by {@link WireFormatConfig#negotiate(String)}.
+     *
+     * @param accept The {@code Accept} header, or null.
+     * @return The suffix, or null for JSON or when no format is
+     *         negotiated.
+     */
+    private static String binaryFormat(final String accept) {
+        MediaType format = WireFormatConfig.negotiate(accept);
+        if (MediaType.APPLICATION_CBOR.equals(format)) {
+            return CBOR;
+        }
+        if (WireFormatConfig.APPLICATION_SMILE.equals(format)) {
+            return SMILE;
+        }
+        return null;
+    }
+
+    private static String tag(final MessageDigest digest, final String next) {
+        if (next != null) {
+            digest.update(next.getBytes(StandardCharsets.UTF_8));
+        }
+        return "\"" + HexFormat.of().formatHex(digest.digest()) + "\"";
+    }
+
+    private static MessageDigest md5() {
+        try {
+            return MessageDigest.getInstance("MD5");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("MD5 not available", e);
+        }
+    }
+}
@@ -1,8 +1,28 @@
 package com.codes.tasktracker.demo.controller;
 
+import com.codes.tasktracker.demo.dto.BulkCompleteDto;
+import com.codes.tasktracker.demo.dto.BulkResultDto;
+import com.codes.tasktracker.demo.dto.CacheStatsDto;
+import com.codes.tasktracker.demo.dto.TaskChanges;
+import com.codes.tasktracker.demo.dto.TaskField;
+import com.codes.tasktracker.demo.dto.TaskFilter;
+import com.codes.tasktracker.demo.dto.TaskPage;
+import com.codes.tasktracker.demo.dto.TaskSort;
+import com.codes.tasktracker.demo.dto.TaskStatsDto;
 import com.codes.tasktracker.demo.dto.TaskUpdateDto;
+import com.codes.tasktracker.demo.dto.TaskView;
 import com.codes.tasktracker.demo.model.Task;
+import com.codes.tasktracker.demo.service.TaskBulkOperations;
 import com.codes.tasktracker.demo.service.TaskService;
+import com.codes.tasktracker.demo.service.TaskWritePipeline;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -10,12 +30,21 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.net.URI;
+import java.time.Instant;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 
 /**
@@ -25,22 +54,70 @@ import java.util.UUID;
 @RequestMapping("/tasks")
 public final class TaskController {
 
+    /**
+     * Number of exported tasks written between explicit flushes.
+     */
+    private static final int EXPORT_FLUSH_INTERVAL = 1000;
+
     /**
      * The task service.
      */
     private final TaskService taskService;
 
+    /**
+     * The date-selected bulk changes, committed per batch.
+     */
+    private final TaskBulkOperations bulkOperations;
+
+    /**
+     * Writer producing one JSON document per line for exports.
+     */
+    private final ObjectWriter ndjsonWriter;
+
+    /**
+     * The push stream of committed task mutations.
+     */
+    private final TaskEventStream eventStream;
+
+    /**
+     * The group-commit pipeline for single creates and updates.
+     */
+    private final TaskWritePipeline writePipeline;
+
+    /**
+     * The cache of encoded task bodies.
+     */
+    private final TaskResponseCache responseCache;
+
     /**
      * Constructs a new TaskController with the given service.
      *
-     * @param taskService The task service.
+     * @param taskService    The task service.
+     * @param bulkOperations The date-selected bulk changes.
+     * @param objectMapper   The application's JSON mapper.
+     * @param eventStream    The push stream of task mutations.
+     * @param writePipeline  The group-commit write pipeline.
+     * @param responseCache  The cache of encoded task bodies.
      */
-    public TaskController(final TaskService taskService) {
+    public TaskController(
+            final TaskService taskService,
+            final TaskBulkOperations bulkOperations,
+            final ObjectMapper objectMapper,
+            final TaskEventStream eventStream,
+            final TaskWritePipeline writePipeline,
+            final TaskResponseCache responseCache) {
         this.taskService = taskService;
+        this.bulkOperations = bulkOperations;
+        this.eventStream = eventStream;
+        this.writePipeline = writePipeline;
+        this.responseCache = responseCache;
+        this.ndjsonWriter = objectMapper.writerFor(Task.class)
+                .withRootValueSeparator("\n")
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
     }
 
     /**
-     * Creates a new task.
+     * Creates a new task, through the write pipeline when it is enabled.
      *
      * @param body The request body containing the description.
      * @return The created task.
@@ -54,50 +131,386 @@ public final class TaskController {
             return ResponseEntity.badRequest().build();
         }
 
-        Task task = this.taskService.createTask(desc);
+        Task task = this.writePipeline.enabled()
+                ? this.writePipeline.createTask(desc)
+                : this.taskService.createTask(desc);
         return ResponseEntity
                 .created(URI.create("/tasks/" + task.getId()))
                 .body(task);
     }
 
+    /**
+     * Creates many tasks in one transaction.
+     *
+     * @param descriptions The descriptions of the tasks to create.
+     * @return The IDs of the created tasks, in request order.
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<List<UUID>> createTasks(
+            @RequestBody final List<String> descriptions) {
+
+        if (descriptions.isEmpty()
+                || descriptions.size() > TaskService.MAX_BATCH_SIZE) {
+            return ResponseEntity.badRequest().build();
+        }
+        for (String desc : descriptions) {
+            if (desc == null || desc.isBlank()) {
+                return ResponseEntity.badRequest().build();
+            }
+        }
+
+        List<UUID> ids = this.taskService.createTasks(descriptions);
+        return ResponseEntity.status(HttpStatus.CREATED).body(ids);
+    }
+
     /**
      * Retrieves a task by its ID.
      *
-     * @param id The ID of the task.
-     * @return The task.
+     * <p>Tagged with the task's version. A matching {@code If-None-Match}
+     * is answered with 304 after checking the version alone.</p>
+     *
+     * <p>When JSON is negotiated, the body comes from the
+     * {@link TaskResponseCache}: a hit writes the cached bytes, gzipped
+     * when the client accepts it, without running Jackson.</p>
+     *
+     * @param id      The ID of the task.
+     * @param request The current request.
+     * @return The task or its encoded body, or null when a 304 has been
+     *         sent.
      */
     @GetMapping("/{id}")
-    public ResponseEntity<Task> getTask(@PathVariable final UUID id) {
+    public ResponseEntity<?> getTask(
+            @PathVariable final UUID id,
+            final WebRequest request) {
+
+        if (notModified(id, request)) {
+            return null;
+        }
         Task task = this.taskService.getTask(id);
-        return ResponseEntity.ok(task);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .eTag(ETags.forFormat(ETags.ofVersion(task.getVersion()),
+                        request.getHeader(HttpHeaders.ACCEPT)));
+        if (!this.responseCache.serves(request.getHeader(HttpHeaders.ACCEPT))) {
+            return response.body(task);
+        }
+
+        TaskResponseCache.Encoded encoded = this.responseCache.get(task);
+        response.contentType(MediaType.APPLICATION_JSON);
+        if (this.responseCache.gzip()) {
+            response.varyBy(HttpHeaders.ACCEPT_ENCODING);
+        }
+        if (encoded.gzip() != null
+                && TaskResponseCache.acceptsGzip(request.getHeader(HttpHeaders.ACCEPT_ENCODING))) {
+            return response.eTag(ETags.gzip(ETags.ofVersion(task.getVersion())))
+                    .header(HttpHeaders.CONTENT_ENCODING, "gzip")
+                    .body(encoded.gzip());
+        }
+        return response.body(encoded.json());
     }
 
     /**
-     * Lists all tasks.
+     * Retrieves only the requested fields of a task.
      *
-     * @return A list of all tasks.
+     * @param id      The ID of the task.
+     * @param fields  Comma-separated fields to return, e.g.
+     *                {@code id,completed}.
+     * @param request The current request.
+     * @return The selected fields of the task, or null when a 304 has been
+     *         sent.
+     */
+    @GetMapping(value = "/{id}", params = "fields")
+    public ResponseEntity<Map<String, Object>> getTaskFields(
+            @PathVariable final UUID id,
+            @RequestParam final String fields,
+            final WebRequest request) {
+
+        Set<TaskField> selected = TaskField.parse(fields);
+        if (notModified(id, request)) {
+            return null;
+        }
+        TaskView task = TaskView.of(this.taskService.getTask(id));
+        return ResponseEntity.ok()
+                .eTag(ETags.forFormat(ETags.ofVersion(task.version()),
+                        request.getHeader(HttpHeaders.ACCEPT)))
+                .body(TaskField.select(task, selected));
+    }
+
+    /**
+     * Answers a conditional GET from the task's version, without loading
+     * the task. The tags of the identity and gzip bodies both match.
+     */
+    private boolean notModified(final UUID id, final WebRequest request) {
+        String ifNoneMatch = request.getHeader(HttpHeaders.IF_NONE_MATCH);
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        String tag = ETags.forFormat(ETags.ofVersion(this.taskService.getTaskVersion(id)),
+                request.getHeader(HttpHeaders.ACCEPT));
+        return request.checkNotModified(ETags.matching(ifNoneMatch, tag));
+    }
+
+    /**
+     * Returns the hit, miss and eviction counters of the task cache.
+     *
+     * @return The cache counters.
+     */
+    @GetMapping("/cache/stats")
+    public ResponseEntity<CacheStatsDto> cacheStats() {
+        return ResponseEntity.ok(this.taskService.cacheStats());
+    }
+
+    /**
+     * Returns the total, completed and pending task counts, with tasks
+     * created and completed per day. Served from counters kept in memory,
+     * without querying the database.
+     *
+     * @return The task counts.
+     */
+    @GetMapping("/stats")
+    public ResponseEntity<TaskStatsDto> taskStats() {
+        return ResponseEntity.ok(this.taskService.taskStats());
+    }
+
+    /**
+     * Searches task descriptions. Every word of the query must match a
+     * word of the description, either fully or as a prefix.
+     *
+     * @param q     The free-text query.
+     * @param limit The maximum number of results.
+     * @return The matching tasks, best match first.
+     */
+    @GetMapping("/search")
+    public ResponseEntity<List<TaskView>> searchTasks(
+            @RequestParam final String q,
+            @RequestParam(defaultValue = "" + TaskService.DEFAULT_SEARCH_LIMIT) final int limit) {
+
+        if (q.isBlank()) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(this.taskService.searchTasks(q, limit));
+    }
+
+    /**
+     * Lists the tasks created, updated or deleted since a change token.
+     * A client stores the returned token and passes it back to receive
+     * only what changed in between.
+     *
+     * @param since The token from the previous call; omit to start over.
+     * @param limit The maximum number of changes to return.
+     * @return The changed tasks, the IDs of deleted ones and the next
+     *         token; 410 if the token is too old to be served.
+     */
+    @GetMapping("/changes")
+    public TaskChanges listChanges(
+            @RequestParam(required = false) final String since,
+            @RequestParam(defaultValue = "" + TaskService.DEFAULT_PAGE_SIZE) final int limit) {
+
+        return this.taskService.listChanges(since, limit);
+    }
+
+    /**
+     * Streams task mutations as Server-Sent Events as they commit.
+     *
+     * @param lastEventId The last event received before reconnecting.
+     * @return The event stream.
+     */
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamTasks(
+            @RequestHeader(value = "Last-Event-ID", required = false) final String lastEventId) {
+
+        return this.eventStream.subscribe(lastEventId);
+    }
+
+    /**
+     * Lists one page of tasks, optionally filtered and sorted.
+     *
+     * @param completed   Only tasks with this completion status.
+     * @param createdFrom Only tasks created at or after this instant.
+     * @param createdTo   Only tasks created before this instant.
+     * @param updatedFrom Only tasks updated at or after this instant.
+     * @param updatedTo   Only tasks updated before this instant.
+     * @param sort        {@code createdAt} or {@code updatedAt}.
+     * @param direction   {@code asc} or {@code desc}.
+     * @param cursor      The cursor returned with the previous page.
+     * @param limit       The maximum number of tasks to return.
+     * @param fields      Comma-separated fields to return, e.g.
+     *                    {@code id,completed}; all fields when absent.
+     * @param accept      The {@code Accept} header, which selects the
+     *                    format the tag is issued for.
+     * @return The page of tasks and the cursor for the next one, tagged
+     *         with a digest of the IDs and versions on the page.
      */
     @GetMapping
-    public ResponseEntity<List<Task>> listTasks() {
-        List<Task> tasks = this.taskService.listAllTasks();
-        return ResponseEntity.ok(tasks);
+    public ResponseEntity<TaskPage<?>> listTasks(
+            @RequestParam(required = false) final Boolean completed,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+            final Instant createdFrom,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+            final Instant createdTo,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+            final Instant updatedFrom,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+            final Instant updatedTo,
+            @RequestParam(required = false) final String sort,
+            @RequestParam(required = false) final String direction,
+            @RequestParam(required = false) final String cursor,
+            @RequestParam(defaultValue = "" + TaskService.DEFAULT_PAGE_SIZE)
+            final int limit,
+            @RequestParam(required = false) final String fields,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) final String accept) {
+
+        TaskFilter filter = new TaskFilter(completed, createdFrom, createdTo,
+                updatedFrom, updatedTo, TaskSort.of(sort, direction));
+        // Spring answers a matching If-None-Match with 304 before the
+        // body is serialized.
+        if (fields == null) {
+            TaskPage<TaskView> page = this.taskService.listTasks(filter, cursor, limit);
+            return ResponseEntity.ok()
+                    .eTag(ETags.forFormat(ETags.ofViews(page.items(), page.next()), accept))
+                    .body(page);
+        }
+        TaskPage<Map<String, Object>> page = this.taskService
+                .listTaskFields(filter, cursor, limit, TaskField.parse(fields));
+        return ResponseEntity.ok()
+                .eTag(ETags.forFormat(ETags.ofFields(page.items(), page.next()), accept))
+                .body(page);
+    }
+
+    /**
+     * Lists all tasks in a single response.
+     *
+     * <p>Only served when the client opts in with {@code unpaged=true}.</p>
+     *
+     * @param accept The {@code Accept} header.
+     * @return A list of all tasks.
+     */
+    @GetMapping(params = "unpaged=true")
+    public ResponseEntity<List<TaskView>> listAllTasks(
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) final String accept) {
+        List<TaskView> tasks = this.taskService.listAllTasks();
+        return ResponseEntity.ok()
+                .eTag(ETags.forFormat(ETags.ofViews(tasks, null), accept))
+                .body(tasks);
+    }
+
+    /**
+     * Lists archived tasks with keyset pagination, oldest update first.
+     * Archived tasks are completed tasks the archival job moved out of
+     * the live set; they no longer appear in the other listings.
+     *
+     * @param cursor The cursor from the previous page; omit for the first.
+     * @param limit  The maximum number of tasks per page.
+     * @param accept The {@code Accept} header.
+     * @return The page of archived tasks and the cursor for the next one.
+     */
+    @GetMapping("/archive")
+    public ResponseEntity<TaskPage<TaskView>> listArchivedTasks(
+            @RequestParam(required = false) final String cursor,
+            @RequestParam(defaultValue = "" + TaskService.DEFAULT_PAGE_SIZE) final int limit,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) final String accept) {
+
+        TaskPage<TaskView> page = this.taskService.listArchivedTasks(cursor, limit);
+        return ResponseEntity.ok()
+                .eTag(ETags.forFormat(ETags.ofViews(page.items(), page.next()), accept))
+                .body(page);
+    }
+
+    /**
+     * Retrieves an archived task.
+     *
+     * @param id     The ID the task had before it was archived.
+     * @param accept The {@code Accept} header.
+     * @return The archived task.
+     */
+    @GetMapping("/archive/{id}")
+    public ResponseEntity<TaskView> getArchivedTask(
+            @PathVariable final UUID id,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) final String accept) {
+        TaskView task = this.taskService.getArchivedTask(id);
+        return ResponseEntity.ok()
+                .eTag(ETags.forFormat(ETags.ofVersion(task.version()), accept))
+                .body(task);
     }
 
     /**
-     * Updates a task.
+     * Streams all tasks as newline-delimited JSON.
+     *
+     * <p>Tasks are written as the database cursor advances, so the first
+     * lines reach the client before the query has finished and memory use
+     * does not depend on the table size.</p>
      *
-     * @param id  The ID of the task to update.
-     * @param dto The data transfer object with new values.
+     * @return The streaming response body.
+     */
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportTasks() {
+        StreamingResponseBody body = out -> {
+            try (SequenceWriter writer = this.ndjsonWriter.writeValues(out)) {
+                long[] pending = {0};
+                long written = this.taskService.exportTasks(task -> {
+                    try {
+                        writer.write(task);
+                        // Push the first line out at once, then in chunks.
+                        if (pending[0]++ % EXPORT_FLUSH_INTERVAL == 0) {
+                            writer.flush();
+                        }
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+                if (written > 0) {
+                    out.write('\n');
+                }
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
+    /**
+     * Updates a task, through the write pipeline when it is enabled.
+     *
+     * @param id      The ID of the task to update.
+     * @param dto     The data transfer object with new values.
+     * @param ifMatch The entity tag the client last saw; when present the
+     *                update only applies if the task still has it.
+     * @param accept  The {@code Accept} header.
      * @return The updated task.
      */
     @PutMapping("/{id}")
     public ResponseEntity<Task> updateTask(
             @PathVariable final UUID id,
-            @RequestBody final TaskUpdateDto dto) {
+            @RequestBody final TaskUpdateDto dto,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false)
+            final String ifMatch,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) final String accept) {
 
-        Task updated = this.taskService
-                .updateTask(id, dto.description(), dto.completed());
-        return ResponseEntity.ok(updated);
+        Long expectedVersion = ifMatch == null ? null : ETags.expectedVersion(ifMatch);
+        Task updated;
+        if (this.writePipeline.enabled()) {
+            updated = this.writePipeline.updateTask(
+                    id, dto.description(), dto.completed(), expectedVersion);
+        } else if (expectedVersion == null) {
+            updated = this.taskService.updateTask(id, dto.description(), dto.completed());
+        } else {
+            updated = this.taskService.updateTask(
+                    id, dto.description(), dto.completed(), expectedVersion);
+        }
+        return ResponseEntity.ok()
+                .eTag(ETags.forFormat(ETags.ofVersion(updated.getVersion()), accept))
+                .body(updated);
+    }
+
+    /**
+     * Marks a task as completed.
+     *
+     * @param id The ID of the task to complete.
+     * @return A no-content response.
+     */
+    @PostMapping("/{id}/complete")
+    public ResponseEntity<Void> completeTask(@PathVariable final UUID id) {
+        this.taskService.markTaskCompleted(id);
+        return ResponseEntity.noContent().build();
     }
 
     /**
@@ -111,4 +524,41 @@ public final class TaskController {
         this.taskService.deleteTask(id);
         return ResponseEntity.noContent().build();
     }
+
+    /**
+     * Completes many tasks with set-based updates.
+     *
+     * @param dto Either the IDs to complete or a creation-time bound.
+     * @return The number of tasks completed.
+     */
+    @PostMapping("/bulk/complete")
+    public ResponseEntity<BulkResultDto> completeTasks(
+            @RequestBody final BulkCompleteDto dto) {
+
+        boolean byIds = dto.ids() != null && !dto.ids().isEmpty();
+        boolean byDate = dto.createdBefore() != null;
+        if (byIds == byDate) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        int affected = byIds
+                ? this.taskService.completeTasks(dto.ids())
+                : this.bulkOperations.completeTasksCreatedBefore(dto.createdBefore());
+        return ResponseEntity.ok(new BulkResultDto(affected));
+    }
+
+    /**
+     * Deletes every completed task last updated before the given instant.
+     *
+     * @param before Exclusive upper bound on the last update time.
+     * @return The number of tasks deleted.
+     */
+    @DeleteMapping("/completed")
+    public ResponseEntity<BulkResultDto> deleteCompletedTasks(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+            final Instant before) {
+
+        int affected = this.bulkOperations.deleteCompletedTasksBefore(before);
+        return ResponseEntity.ok(new BulkResultDto(affected));
+    }
 }
@@ -0,0 +1,439 @@
+package com.codes.tasktracker.demo.controller;
+
+import com.codes.tasktracker.demo.dto.TaskEvent;
+import com.codes.tasktracker.demo.dto.TaskView;
+import com.codes.tasktracker.demo.service.TaskChangedEvent;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Pushes committed task mutations to Server-Sent Events subscribers.
+ *
+ * <p>Events arrive through {@link TaskChangedEvent}s delivered after
+ * commit, so rolled-back changes are never sent. Each event is rendered
+ * to JSON once; the committing thread only numbers it, stores it for
+ * replay and queues it for a single dispatcher, so its cost does not
+ * depend on the number of subscribers. The dispatcher appends the event
+ * to every subscriber's bounded queue, and a subscriber's queue is
+ * drained by a virtual thread only while it has events, so idle
+ * connections hold no thread at all.</p>
+ *
+ * <p>Event IDs are {@code <instance>-<sequence>}. The most recent events
+ * are kept for clients reconnecting with {@code Last-Event-ID}; if the
+ * events after that ID are no longer available, the client receives a
+ * {@code reset} event and should resync through {@code /tasks/changes}.</p>
+ */
+@Component
+public class TaskEventStream {
+
+    /**
+     * Name of the event telling a client that it missed events.
+     */
+    static final String RESET_EVENT = "reset";
+
+    /**
+     * Comment frame sent to idle connections.
+     */
+    private static final Frame HEARTBEAT = new Frame(0, null, null, null);
+
+    /**
+     * The stream configuration.
+     */
+    private final TaskStreamProperties properties;
+
+    /**
+     * Writer rendering event payloads.
+     */
+    private final ObjectWriter writer;
+
+    /**
+     * Runs the per-subscriber senders.
+     */
+    private final ExecutorService senders;
+
+    /**
+     * Distinguishes event IDs issued by this process from earlier ones.
+     */
+    private final String instance =
+            Long.toString(ThreadLocalRandom.current().nextLong() >>> 1, 36);
+
+    /**
+     * The connected subscribers.
+     */
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Orders appends to the replay buffer and the dispatch queue.
+     */
+    private final ReentrantLock lock = new ReentrantLock();
+
+    /**
+     * Events waiting to be fanned out, at most
+     * {@link TaskStreamProperties#replaySize()}; older ones could not be
+     * replayed anyway.
+     */
+    private final BlockingQueue<Frame> pending;
+
+    /**
+     * Whether the dispatcher is running or scheduled.
+     */
+    private final AtomicBoolean dispatching = new AtomicBoolean();
+
+    /**
+     * Whether an event was discarded because the dispatch queue was full.
+     */
+    private final AtomicBoolean overflowed = new AtomicBoolean();
+
+    /**
+     * The most recent events, indexed by sequence; guarded by the lock.
+     */
+    private final Frame[] replay;
+
+    /**
+     * The sequence of the last event; guarded by the lock.
+     */
+    private long sequence;
+
+    /**
+     * Number of events discarded for slow subscribers.
+     */
+    private final LongAdder dropped = new LongAdder();
+
+    /**
+     * Constructs a new TaskEventStream.
+     *
+     * @param properties   The stream configuration.
+     * @param objectMapper The application's JSON mapper.
+     */
+    @Autowired
+    public TaskEventStream(
+            final TaskStreamProperties properties,
+            final ObjectMapper objectMapper) {
+        this(properties, objectMapper, Executors.newVirtualThreadPerTaskExecutor());
+    }
+
+    TaskEventStream(
+            final TaskStreamProperties properties,
+            final ObjectMapper objectMapper,
+            final ExecutorService senders) {
+        this.properties = properties;
+        this.writer = objectMapper.writerFor(TaskEvent.class);
+        this.senders = senders;
+        this.replay = new Frame[Math.max(1, properties.replaySize())];
+        this.pending = new LinkedBlockingQueue<>(this.replay.length);
+    }
+
+    /**
+     * Opens a stream for a new subscriber.
+     *
+     * @param lastEventId The last event the client received before
+     *                    reconnecting, or null for a new client.
+     * @return The emitter to return from the handler.
+     */
+    public SseEmitter subscribe(final String lastEventId) {
+        return subscribe(lastEventId, new SseEmitter(this.properties.timeout().toMillis()));
+    }
+
+    SseEmitter subscribe(final String lastEventId, final SseEmitter emitter) {
+        Subscriber subscriber = new Subscriber(emitter, this.properties.bufferSize());
+        emitter.onCompletion(() -> this.subscribers.remove(subscriber));
+        emitter.onError(e -> this.subscribers.remove(subscriber));
+        emitter.onTimeout(subscriber::close);
+
+        this.lock.lock();
+        try {
+            if (lastEventId != null && !replayAfter(lastEventId, subscriber)) {
+                subscriber.queue.clear();
+                subscriber.queue.add(reset());
+            }
+            // Later events still reach it through the dispatcher.
+            subscriber.after = this.sequence;
+            this.subscribers.add(subscriber);
+        } finally {
+            this.lock.unlock();
+        }
+        subscriber.schedule();
+        return emitter;
+    }
+
+    /**
+     * Publishes a committed mutation to every subscriber. Takes constant
+     * time whatever the number of subscribers; when the dispatcher is
+     * too far behind, the event is dropped and every subscriber is
+     * treated as having overflowed.
+     *
+     * @param event The mutation.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskChanged(final TaskChangedEvent event) {
+        String data = render(event);
+        String name = event.type().name().toLowerCase(Locale.ROOT);
+        this.lock.lock();
+        try {
+            long seq = ++this.sequence;
+            Frame frame = new Frame(seq, eventId(seq), name, data);
+            this.replay[(int) (seq % this.replay.length)] = frame;
+            if (!this.pending.offer(frame)) {
+                this.dropped.increment();
+                this.overflowed.set(true);
+            }
+        } finally {
+            this.lock.unlock();
+        }
+        if (this.dispatching.compareAndSet(false, true)) {
+            this.senders.execute(this::dispatch);
+        }
+    }
+
+    /**
+     * Sends a comment to idle subscribers so proxies keep the connection
+     * open and dead connections are noticed.
+     */
+    @Scheduled(fixedDelayString = "${tasktracker.stream.heartbeat:PT15S}")
+    public void heartbeat() {
+        for (Subscriber subscriber : this.subscribers) {
+            if (subscriber.queue.isEmpty() && subscriber.queue.offer(HEARTBEAT)) {
+                subscriber.schedule();
+            }
+        }
+    }
+
+    /**
+     * Returns the number of connected subscribers.
+     *
+     * @return The subscriber count.
+     */
+    public int subscriberCount() {
+        return this.subscribers.size();
+    }
+
+    /**
+     * Returns the number of events discarded for slow subscribers.
+     *
+     * @return The dropped event count.
+     */
+    public long droppedCount() {
+        return this.dropped.sum();
+    }
+
+    /**
+     * Closes every stream on shutdown.
+     */
+    @PreDestroy
+    public void shutdown() {
+        for (Subscriber subscriber : this.subscribers) {
+            subscriber.close();
+        }
+        this.senders.shutdown();
+    }
+
+    /**
+     * Fans the queued events out to the subscribers, in sequence order.
+     * Runs on one sender at a time.
+     */
+    private void dispatch() {
+        do {
+            Frame frame;
+            while ((frame = this.pending.poll()) != null) {
+                boolean missed = this.overflowed.getAndSet(false);
+                for (Subscriber subscriber : this.subscribers) {
+                    if (missed) {
+                        subscriber.missed();
+                    }
+                    if (frame.seq() > subscriber.after) {
+                        subscriber.offer(frame);
+                    }
+                }
+            }
+            this.dispatching.set(false);
+        } while (!this.pending.isEmpty() && this.dispatching.compareAndSet(false, true));
+    }
+
+    /**
+     * Queues the retained events after an ID; must hold the lock.
+     *
+     * @return False if the events after the ID are not all available.
+     */
+    private boolean replayAfter(final String lastEventId, final Subscriber subscriber) {
+        int dash = lastEventId.lastIndexOf('-');
+        if (dash < 0 || !lastEventId.substring(0, dash).equals(this.instance)) {
+            return false;
+        }
+        long after;
+        try {
+            after = Long.parseLong(lastEventId.substring(dash + 1));
+        } catch (NumberFormatException e) {
+            return false;
+        }
+        if (after > this.sequence || this.sequence - after > this.replay.length) {
+            return false;
+        }
+        for (long seq = after + 1; seq <= this.sequence; seq++) {
+            if (!subscriber.queue.offer(this.replay[(int) (seq % this.replay.length)])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Creates a reset event positioned at the latest sequence; must hold
+     * the lock.
+     */
+    private Frame reset() {
+        return new Frame(this.sequence, eventId(this.sequence), RESET_EVENT, "{}");
+    }
+
+    private String eventId(final long seq) {
+        return this.instance + '-' + seq;
+    }
+
+    private String render(final TaskChangedEvent event) {
+        TaskView task = event.task() != null ? TaskView.of(event.task()) : null;
+        try {
+            return this.writer.writeValueAsString(
+                    new TaskEvent(event.type().name(), event.taskId(), task));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot render task event", e);
+        }
+    }
+
+    /**
+     * A rendered event; a frame without data is a heartbeat comment.
+     *
+     * @param seq  The sequence of the event, or the latest one for a
+     *             reset and 0 for a heartbeat.
+     * @param id   The event ID, or null.
+     * @param name The event name, or null for a heartbeat.
+     * @param data The JSON payload, or null for a heartbeat.
+     */
+    private record Frame(long seq, String id, String name, String data) {
+
+        SseEmitter.SseEventBuilder toEvent() {
+            if (this.data == null) {
+                return SseEmitter.event().comment("");
+            }
+            SseEmitter.SseEventBuilder event = SseEmitter.event().name(this.name);
+            if (this.id != null) {
+                event.id(this.id);
+            }
+            return event.data(this.data, MediaType.APPLICATION_JSON);
+        }
+    }
+
+    /**
+     * One connected client with its own bounded queue.
+     */
+    private final class Subscriber {
+
+        private final SseEmitter emitter;
+
+        private final BlockingQueue<Frame> queue;
+
+        /** Whether a sender is draining the queue. */
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+
+        /** Whether events were dropped since the last send. */
+        private final AtomicBoolean lost = new AtomicBoolean();
+
+        private volatile boolean closed;
+
+        /**
+         * The sequence of the last event queued when subscribing; the
+         * dispatcher skips events up to it.
+         */
+        private volatile long after;
+
+        Subscriber(final SseEmitter emitter, final int bufferSize) {
+            this.emitter = emitter;
+            this.queue = new LinkedBlockingQueue<>(Math.max(1, bufferSize));
+        }
+
+        /**
+         * Queues an event without blocking; applies the overflow policy
+         * when the queue is full.
+         */
+        void offer(final Frame frame) {
+            if (!this.queue.offer(frame)) {
+                dropped.increment();
+                if (properties.overflow() == TaskStreamProperties.OverflowPolicy.DISCONNECT) {
+                    close();
+                    return;
+                }
+                this.queue.poll();
+                this.lost.set(true);
+                this.queue.offer(frame);
+            }
+            schedule();
+        }
+
+        /**
+         * Applies the overflow policy for an event this subscriber never
+         * got.
+         */
+        void missed() {
+            if (properties.overflow() == TaskStreamProperties.OverflowPolicy.DISCONNECT) {
+                close();
+            } else {
+                this.lost.set(true);
+            }
+        }
+
+        void schedule() {
+            if (!this.queue.isEmpty() && this.scheduled.compareAndSet(false, true)) {
+                senders.execute(this::drain);
+            }
+        }
+
+        void close() {
+            if (!this.closed) {
+                this.closed = true;
+                subscribers.remove(this);
+                this.queue.clear();
+                senders.execute(this.emitter::complete);
+            }
+        }
+
+        private void drain() {
+            do {
+                Frame frame;
+                while (!this.closed && (frame = this.queue.poll()) != null) {
+                    try {
+                        if (this.lost.getAndSet(false)) {
+                            this.emitter.send(new Frame(0, null, RESET_EVENT, "{}").toEvent());
+                        }
+                        this.emitter.send(frame.toEvent());
+                    } catch (IOException | IllegalStateException e) {
+                        // The client went away; the emitter's callbacks clean up.
+                        this.closed = true;
+                        subscribers.remove(this);
+                        return;
+                    }
+                }
+                this.scheduled.set(false);
+            } while (!this.closed && !this.queue.isEmpty()
+                    && this.scheduled.compareAndSet(false, true));
+        }
+    }
+}
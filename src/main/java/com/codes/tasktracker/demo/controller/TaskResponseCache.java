@@ -0,0 +1,230 @@
+package com.codes.tasktracker.demo.controller;
+
+import com.codes.tasktracker.demo.dto.CacheStatsDto;
+import com.codes.tasktracker.demo.model.Task;
+import com.codes.tasktracker.demo.service.TaskChangedEvent;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.UUID;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Cache of the JSON bodies of single tasks, so that a hot task is
+ * serialized once per version instead of once per read.
+ *
+ * <p>Entries are keyed by task ID and hold the version they were encoded
+ * from. A hit requires that version to equal the one of the task being
+ * served, so a stale entry is never written, even when an encoding races
+ * with a mutation. Committed mutations remove entries as well, to give
+ * their memory back early. The cache is bounded by the total size of the
+ * bodies; Caffeine evicts by size and frequency once it is full.</p>
+ *
+ * <p>Bodies at least {@code gzip-min-size} long also keep a gzip copy,
+ * served as is to clients that accept gzip.</p>
+ */
+@Component
+public class TaskResponseCache {
+
+    /**
+     * Approximate bytes per entry besides the bodies: key, entry and
+     * array headers and the cache's own node.
+     */
+    private static final int ENTRY_OVERHEAD = 128;
+
+    /**
+     * The configuration.
+     */
+    private final TaskResponseCacheProperties properties;
+
+    /**
+     * Writer producing the same JSON as the message converter.
+     */
+    private final ObjectWriter writer;
+
+    /**
+     * The encoded bodies, by task ID.
+     */
+    private final Cache<UUID, Encoded> cache;
+
+    /**
+     * Number of reads served from a cached body.
+     */
+    private final LongAdder hits = new LongAdder();
+
+    /**
+     * Number of reads that had to encode the body.
+     */
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * Constructs a new TaskResponseCache.
+     *
+     * @param properties   The configuration.
+     * @param objectMapper The application's JSON mapper.
+     */
+    public TaskResponseCache(
+            final TaskResponseCacheProperties properties,
+            final ObjectMapper objectMapper) {
+        this.properties = properties;
+        this.writer = objectMapper.writerFor(Task.class);
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(properties.maxMemory().toBytes())
+                .weigher((UUID id, Encoded encoded) -> encoded.weight())
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Tells whether a response is served from the cache: caching is
+     * enabled and JSON is the format negotiated for the
+     * {@code Accept} header.
+     *
+     * @param accept The {@code Accept} header, or null.
+     * @return Whether to serve the cached body.
+     */
+    public boolean serves(final String accept) {
+        return this.properties.enabled()
+                && MediaType.APPLICATION_JSON.equals(WireFormatConfig.negotiate(accept));
+    }
+
+    /**
+     * Tells whether gzip copies are kept.
+     *
+     * @return Whether bodies may be served compressed.
+     */
+    public boolean gzip() {
+        return this.properties.gzip();
+    }
+
+    /**
+     * Returns the encoded body of a task, encoding it on a miss.
+     *
+     * @param task The task, as just read.
+     * @return The body for the task's current version.
+     */
+    public Encoded get(final Task task) {
+        Encoded cached = this.cache.getIfPresent(task.getId());
+        if (cached != null && cached.version() == task.getVersion()) {
+            this.hits.increment();
+            return cached;
+        }
+        this.misses.increment();
+        Encoded encoded = encode(task);
+        // Never replace a newer version encoded concurrently.
+        this.cache.asMap().merge(task.getId(), encoded,
+                (current, candidate) -> candidate.version() >= current.version() ? candidate : current);
+        return encoded;
+    }
+
+    /**
+     * Returns the cache counters.
+     *
+     * @return The hit, miss and eviction counters.
+     */
+    public CacheStatsDto stats() {
+        this.cache.cleanUp();
+        return new CacheStatsDto(this.hits.sum(), this.misses.sum(),
+                this.cache.stats().evictionCount(), this.cache.estimatedSize());
+    }
+
+    /**
+     * Returns the memory the cached bodies take, as weighed against the
+     * budget.
+     *
+     * @return The weighted size in bytes.
+     */
+    public long bytes() {
+        return this.cache.policy().eviction()
+                .map(eviction -> eviction.weightedSize().orElse(0))
+                .orElse(0L);
+    }
+
+    /**
+     * Drops the entries a committed mutation made stale.
+     *
+     * @param event The mutation.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskChanged(final TaskChangedEvent event) {
+        if (event.type() == TaskChangedEvent.Type.BULK) {
+            this.cache.invalidateAll();
+        } else {
+            this.cache.invalidate(event.taskId());
+        }
+    }
+
+    private Encoded encode(final Task task) {
+        byte[] json;
+        try {
+            json = this.writer.writeValueAsBytes(task);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+        byte[] gzip = null;
+        if (this.properties.gzip() && json.length >= this.properties.gzipMinSize().toBytes()) {
+            gzip = compress(json);
+            if (gzip.length >= json.length) {
+                gzip = null;
+            }
+        }
+        return new Encoded(task.getVersion(), json, gzip);
+    }
+
+    private static byte[] compress(final byte[] bytes) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(bytes.length / 2 + 32);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(bytes);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * Tells whether an {@code Accept-Encoding} header accepts gzip.
+     */
+    static boolean acceptsGzip(final String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.split(";");
+            String name = parts[0].trim();
+            if (!"gzip".equalsIgnoreCase(name) && !"*".equals(name)) {
+                continue;
+            }
+            boolean refused = false;
+            for (int i = 1; i < parts.length; i++) {
+                String param = parts[i].trim().replace(" ", "");
+                refused |= param.matches("[qQ]=0(\\.0*)?");
+            }
+            return !refused;
+        }
+        return false;
+    }
+
+    /**
+     * The encoded body of one version of a task.
+     *
+     * @param version The version it was encoded from.
+     * @param json    The JSON body.
+     * @param gzip    The gzip-compressed body, or null when not kept.
+     */
+    public record Encoded(long version, byte[] json, byte[] gzip) {
+
+        int weight() {
+            return ENTRY_OVERHEAD + this.json.length + (this.gzip == null ? 0 : this.gzip.length);
+        }
+    }
+}
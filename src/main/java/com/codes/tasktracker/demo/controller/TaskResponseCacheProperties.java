@@ -0,0 +1,34 @@
+package com.codes.tasktracker.demo.controller;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * Configuration of the cache of encoded task responses.
+ *
+ * @param enabled     Whether JSON responses of single tasks are cached.
+ * @param maxMemory   The memory budget: the total size of the cached
+ *                    bodies, plain and compressed.
+ * @param gzip        Whether a gzip copy is kept for clients that accept
+ *                    it.
+ * @param gzipMinSize The smallest body worth compressing.
+ */
+@ConfigurationProperties(prefix = "tasktracker.response-cache")
+public record TaskResponseCacheProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("32MB") DataSize maxMemory,
+        @DefaultValue("true") boolean gzip,
+        @DefaultValue("1KB") DataSize gzipMinSize
+) {
+
+    /**
+     * Returns the defaults used when nothing is configured.
+     *
+     * @return The default properties.
+     */
+    public static TaskResponseCacheProperties defaults() {
+        return new TaskResponseCacheProperties(true, DataSize.ofMegabytes(32),
+                true, DataSize.ofKilobytes(1));
+    }
+}
@@ -0,0 +1,46 @@
+package com.codes.tasktracker.demo.controller;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Configuration of the task event stream.
+ *
+ * @param bufferSize The maximum number of events queued for one
+ *                   subscriber that is not keeping up.
+ * @param overflow   What to do when a subscriber's buffer is full.
+ * @param replaySize The number of recent events kept for clients that
+ *                   reconnect with {@code Last-Event-ID}.
+ * @param timeout    How long a connection stays open before the client
+ *                   has to reconnect.
+ */
+@ConfigurationProperties(prefix = "tasktracker.stream")
+public record TaskStreamProperties(
+        @DefaultValue("256") int bufferSize,
+        @DefaultValue("DISCONNECT") OverflowPolicy overflow,
+        @DefaultValue("4096") int replaySize,
+        @DefaultValue("30m") Duration timeout
+) {
+
+    /**
+     * What happens to a subscriber whose buffer is full.
+     */
+    public enum OverflowPolicy {
+        /** Close the connection; the client resumes with Last-Event-ID. */
+        DISCONNECT,
+        /** Discard the oldest queued event and send a reset event. */
+        DROP_OLDEST
+    }
+
+    /**
+     * Returns the defaults used when nothing is configured.
+     *
+     * @return The default properties.
+     */
+    public static TaskStreamProperties defaults() {
+        return new TaskStreamProperties(256, OverflowPolicy.DISCONNECT,
+                4096, Duration.ofMinutes(30));
+    }
+}
@@ -0,0 +1,157 @@
+package com.codes.tasktracker.demo.controller;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.util.MimeTypeUtils;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+/**
+ * Binary wire formats for the task API, chosen by {@code Accept} and
+ * {@code Content-Type}: CBOR ({@code application/cbor}) and Smile
+ * ({@code application/x-jackson-smile}). JSON stays the default.
+ *
+ * <p>The binary mappers start from the application's Jackson settings
+ * and differ in two ways. UUIDs are written as 16 raw bytes, which
+ * Jackson does by itself for formats with native binary values.
+ * Timestamps are written as epoch milliseconds instead of ISO-8601
+ * strings, so they lose sub-millisecond precision.</p>
+ *
+ * <p>Responses under {@code /tasks} carry {@code Vary: Accept}, so that
+ * caches keep the formats apart. Entity tags name the binary format
+ * they were issued for; see {@link ETags}.</p>
+ */
+@Configuration(proxyBeanMethods = false)
+public class WireFormatConfig implements WebMvcConfigurer {
+
+    /**
+     * The Smile media type.
+     */
+    public static final MediaType APPLICATION_SMILE =
+            MediaType.valueOf("application/x-jackson-smile");
+
+    /**
+     * The application's mapper builder; a new builder on every call.
+     */
+    private final ObjectProvider<Jackson2ObjectMapperBuilder> builders;
+
+    /**
+     * Constructs a new WireFormatConfig.
+     *
+     * @param builders The application's mapper builders.
+     */
+    public WireFormatConfig(final ObjectProvider<Jackson2ObjectMapperBuilder> builders) {
+        this.builders = builders;
+    }
+
+    /**
+     * Picks the wire format content negotiation chooses for an
+     * {@code Accept} header. Mirrors the converter order: JSON is
+     * registered first and wins on wildcards.
+     *
+     * @param accept The {@code Accept} header, or null.
+     * @return {@link MediaType#APPLICATION_JSON},
+     *         {@link MediaType#APPLICATION_CBOR} or
+     *         {@link #APPLICATION_SMILE}; null when the header is
+     *         malformed or accepts none of them, and the regular path
+     *         answers the request.
+     */
+    static MediaType negotiate(final String accept) {
+        if (accept == null || accept.isBlank()) {
+            return MediaType.APPLICATION_JSON;
+        }
+        List<MediaType> accepted;
+        try {
+            accepted = MediaType.parseMediaTypes(accept);
+        } catch (InvalidMediaTypeException e) {
+            return null;
+        }
+        MimeTypeUtils.sortBySpecificity(accepted);
+        for (MediaType type : accepted) {
+            if (type.getQualityValue() == 0) {
+                continue;
+            }
+            if (type.includes(MediaType.APPLICATION_JSON)) {
+                return MediaType.APPLICATION_JSON;
+            }
+            if (type.includes(MediaType.APPLICATION_CBOR)) {
+                return MediaType.APPLICATION_CBOR;
+            }
+            if (type.includes(APPLICATION_SMILE)) {
+                return APPLICATION_SMILE;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Configures a mapper for a binary format.
+     *
+     * @param builder The builder with the application's Jackson settings.
+     * @param factory The factory of the binary format.
+     * @return The mapper.
+     */
+    public static ObjectMapper binaryMapper(
+            final Jackson2ObjectMapperBuilder builder, final JsonFactory factory) {
+        return builder.factory(factory)
+                .featuresToEnable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .featuresToDisable(
+                        SerializationFeature.WRITE_DATE_TIMESTAMPS_AS_NANOSECONDS,
+                        DeserializationFeature.READ_DATE_TIMESTAMPS_AS_NANOSECONDS)
+                .build();
+    }
+
+    /**
+     * Appends the binary converters after the JSON one, replacing the
+     * defaults Spring registers with stock mappers, so JSON is still
+     * chosen when the client accepts anything.
+     *
+     * @param converters The configured converters.
+     */
+    @Override
+    public void extendMessageConverters(final List<HttpMessageConverter<?>> converters) {
+        converters.removeIf(converter -> converter instanceof MappingJackson2CborHttpMessageConverter
+                || converter instanceof MappingJackson2SmileHttpMessageConverter);
+        converters.add(new MappingJackson2CborHttpMessageConverter(
+                binaryMapper(this.builders.getObject(), new CBORFactory())));
+        converters.add(new MappingJackson2SmileHttpMessageConverter(
+                binaryMapper(this.builders.getObject(), new SmileFactory())));
+    }
+
+    /**
+     * Adds {@code Vary: Accept} to the task API's responses.
+     *
+     * @param registry The interceptor registry.
+     */
+    @Override
+    public void addInterceptors(final InterceptorRegistry registry) {
+        registry.addInterceptor(new HandlerInterceptor() {
+            @Override
+            public boolean preHandle(
+                    final HttpServletRequest request,
+                    final HttpServletResponse response,
+                    final Object handler) {
+                response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+                return true;
+            }
+        }).addPathPatterns("/tasks", "/tasks/**");
+    }
+}
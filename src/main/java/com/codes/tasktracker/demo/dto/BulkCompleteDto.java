@@ -0,0 +1,19 @@
+package com.codes.tasktracker.demo.dto;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Data transfer object selecting the tasks of a bulk completion.
+ *
+ * <p>Exactly one of the fields must be set.</p>
+ *
+ * @param ids           The IDs of the tasks to complete.
+ * @param createdBefore Completes every task created before this instant.
+ */
+public record BulkCompleteDto(
+        List<UUID> ids,
+        Instant createdBefore
+) {
+}
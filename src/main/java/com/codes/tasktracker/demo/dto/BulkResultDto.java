@@ -0,0 +1,11 @@
+package com.codes.tasktracker.demo.dto;
+
+/**
+ * Data transfer object with the outcome of a bulk operation.
+ *
+ * @param affected The number of tasks changed or removed.
+ */
+public record BulkResultDto(
+        int affected
+) {
+}
@@ -0,0 +1,17 @@
+package com.codes.tasktracker.demo.dto;
+
+/**
+ * Data transfer object with cache counters.
+ *
+ * @param hits      The number of lookups served from the cache.
+ * @param misses    The number of lookups that went to the database.
+ * @param evictions The number of entries evicted for size.
+ * @param size      The approximate number of cached entries.
+ */
+public record CacheStatsDto(
+        long hits,
+        long misses,
+        long evictions,
+        long size
+) {
+}
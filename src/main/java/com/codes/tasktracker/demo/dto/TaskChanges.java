@@ -0,0 +1,20 @@
+package com.codes.tasktracker.demo.dto;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Tasks changed since a change-feed token.
+ *
+ * @param changed The tasks created or updated, oldest change first.
+ * @param deleted The IDs of the deleted tasks, oldest delete first.
+ * @param token   The token to pass as {@code since} on the next call.
+ * @param hasMore Whether more changes are waiting past this batch.
+ */
+public record TaskChanges(
+        List<TaskView> changed,
+        List<UUID> deleted,
+        String token,
+        boolean hasMore
+) {
+}
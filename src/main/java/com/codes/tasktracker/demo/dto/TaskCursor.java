@@ -0,0 +1,61 @@
+package com.codes.tasktracker.demo.dto;
+
+import com.codes.tasktracker.demo.exception.BadRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Keyset position of the last row returned in a page of tasks.
+ *
+ * <p>The cursor is handed to clients as an opaque URL-safe token so the
+ * ordering columns can change without breaking the API contract.</p>
+ *
+ * @param timestamp The ordering timestamp of the last row.
+ * @param id        The ID of the last row, used as tie-breaker.
+ */
+public record TaskCursor(Instant timestamp, UUID id) {
+
+    /**
+     * Separator between the encoded fields.
+     */
+    private static final String SEPARATOR = ":";
+
+    /**
+     * Encodes this cursor as an opaque token.
+     *
+     * @return The encoded cursor.
+     */
+    public String encode() {
+        String raw = this.timestamp.getEpochSecond() + SEPARATOR
+                + this.timestamp.getNano() + SEPARATOR + this.id;
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a token produced by {@link #encode()}.
+     *
+     * @param token The encoded cursor.
+     * @return The decoded cursor.
+     * @throws BadRequestException If the token is malformed.
+     */
+    public static TaskCursor decode(final String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token),
+                    StandardCharsets.UTF_8);
+            String[] parts = raw.split(SEPARATOR, 3);
+            if (parts.length != 3) {
+                throw new BadRequestException("Cursor inválido: " + token);
+            }
+            Instant timestamp = Instant.ofEpochSecond(
+                    Long.parseLong(parts[0]), Long.parseLong(parts[1]));
+            return new TaskCursor(timestamp, UUID.fromString(parts[2]));
+        } catch (IllegalArgumentException | DateTimeException e) {
+            throw new BadRequestException("Cursor inválido: " + token);
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.codes.tasktracker.demo.dto;
+
+import java.util.UUID;
+
+/**
+ * A committed task mutation pushed to stream subscribers.
+ *
+ * @param type   The kind of change: {@code CREATED}, {@code UPDATED},
+ *               {@code COMPLETED}, {@code DELETED} or {@code BULK}.
+ * @param taskId The ID of the changed task, or null for bulk changes.
+ * @param task   The task after the change, when it is known.
+ */
+public record TaskEvent(
+        String type,
+        UUID taskId,
+        TaskView task
+) {
+}
@@ -0,0 +1,104 @@
+package com.codes.tasktracker.demo.dto;
+
+import com.codes.tasktracker.demo.exception.BadRequestException;
+
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Task fields that can be requested through a sparse fieldset.
+ */
+public enum TaskField {
+
+    /** The task's ID. */
+    ID("id"),
+    /** The task's description. */
+    DESCRIPTION("description"),
+    /** Whether the task is completed. */
+    COMPLETED("completed"),
+    /** The creation timestamp. */
+    CREATED_AT("createdAt"),
+    /** The last update timestamp. */
+    UPDATED_AT("updatedAt"),
+    /** The version, changed by every update. */
+    VERSION("version");
+
+    /**
+     * The entity attribute and JSON property name.
+     */
+    private final String attribute;
+
+    TaskField(final String attribute) {
+        this.attribute = attribute;
+    }
+
+    /**
+     * Returns the entity attribute and JSON property name.
+     * @return The attribute name.
+     */
+    public String attribute() {
+        return this.attribute;
+    }
+
+    /**
+     * Parses a comma-separated list such as {@code id,completed}.
+     *
+     * @param fields The requested fields.
+     * @return The fields, in declaration order.
+     * @throws BadRequestException If a field is unknown or none is given.
+     */
+    public static Set<TaskField> parse(final String fields) {
+        Set<TaskField> result = EnumSet.noneOf(TaskField.class);
+        for (String name : fields.split(",")) {
+            String trimmed = name.trim();
+            if (trimmed.isEmpty()) {
+                continue;
+            }
+            result.add(byAttribute(trimmed));
+        }
+        if (result.isEmpty()) {
+            throw new BadRequestException("Campos vacíos: " + fields);
+        }
+        return result;
+    }
+
+    /**
+     * Returns the requested fields of a task.
+     *
+     * @param view   The task.
+     * @param fields The requested fields.
+     * @return The selected properties, keyed by JSON name.
+     */
+    public static Map<String, Object> select(final TaskView view, final Set<TaskField> fields) {
+        Map<String, Object> result = new LinkedHashMap<>();
+        for (TaskField field : fields) {
+            result.put(field.attribute, switch (field) {
+                case ID -> view.id();
+                case DESCRIPTION -> view.description();
+                case COMPLETED -> view.completed();
+                case CREATED_AT -> view.createdAt();
+                case UPDATED_AT -> view.updatedAt();
+                case VERSION -> view.version();
+            });
+        }
+        return result;
+    }
+
+    /**
+     * Resolves a field by its attribute name.
+     *
+     * @param attribute The attribute name.
+     * @return The field.
+     * @throws BadRequestException If no field has that name.
+     */
+    public static TaskField byAttribute(final String attribute) {
+        for (TaskField field : values()) {
+            if (field.attribute.equals(attribute)) {
+                return field;
+            }
+        }
+        throw new BadRequestException("Campo desconocido: " + attribute);
+    }
+}
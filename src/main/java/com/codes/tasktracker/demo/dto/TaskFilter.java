@@ -0,0 +1,44 @@
+package com.codes.tasktracker.demo.dto;
+
+import java.time.Instant;
+
+/**
+ * Server-side filter and ordering for task listings.
+ *
+ * <p>Lower bounds are inclusive and upper bounds exclusive; null fields
+ * do not filter.</p>
+ *
+ * @param completed   Only tasks with this completion status.
+ * @param createdFrom Only tasks created at or after this instant.
+ * @param createdTo   Only tasks created before this instant.
+ * @param updatedFrom Only tasks updated at or after this instant.
+ * @param updatedTo   Only tasks updated before this instant.
+ * @param sort        The ordering of the results.
+ */
+public record TaskFilter(
+        Boolean completed,
+        Instant createdFrom,
+        Instant createdTo,
+        Instant updatedFrom,
+        Instant updatedTo,
+        TaskSort sort
+) {
+
+    /**
+     * Creates a filter, defaulting the ordering to creation time.
+     */
+    public TaskFilter {
+        if (sort == null) {
+            sort = TaskSort.CREATED_AT_ASC;
+        }
+    }
+
+    /**
+     * Returns a filter that matches every task in creation order.
+     *
+     * @return The unfiltered listing.
+     */
+    public static TaskFilter none() {
+        return new TaskFilter(null, null, null, null, null, null);
+    }
+}
@@ -0,0 +1,16 @@
+package com.codes.tasktracker.demo.dto;
+
+import java.util.List;
+
+/**
+ * A page of results with the cursor for the following page.
+ *
+ * @param <T>   The item type.
+ * @param items The items of this page.
+ * @param next  The cursor for the next page, or null on the last page.
+ */
+public record TaskPage<T>(
+        List<T> items,
+        String next
+) {
+}
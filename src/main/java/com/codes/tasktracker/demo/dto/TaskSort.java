@@ -0,0 +1,93 @@
+package com.codes.tasktracker.demo.dto;
+
+import com.codes.tasktracker.demo.exception.BadRequestException;
+
+import java.time.Instant;
+
+/**
+ * Supported orderings for task listings. Each ordering uses the task ID
+ * as tie-breaker so it can be paged with a keyset cursor.
+ */
+public enum TaskSort {
+
+    /** Oldest created first. */
+    CREATED_AT_ASC("createdAt", true),
+    /** Newest created first. */
+    CREATED_AT_DESC("createdAt", false),
+    /** Least recently updated first. */
+    UPDATED_AT_ASC("updatedAt", true),
+    /** Most recently updated first. */
+    UPDATED_AT_DESC("updatedAt", false);
+
+    /**
+     * The entity attribute sorted on.
+     */
+    private final String attribute;
+
+    /**
+     * Whether the ordering is ascending.
+     */
+    private final boolean ascending;
+
+    TaskSort(final String attribute, final boolean ascending) {
+        this.attribute = attribute;
+        this.ascending = ascending;
+    }
+
+    /**
+     * Returns the entity attribute sorted on.
+     * @return The attribute name.
+     */
+    public String attribute() {
+        return this.attribute;
+    }
+
+    /**
+     * Checks if the ordering is ascending.
+     * @return True if ascending, false if descending.
+     */
+    public boolean ascending() {
+        return this.ascending;
+    }
+
+    /**
+     * Returns the field sorted on.
+     * @return The sort field.
+     */
+    public TaskField field() {
+        return TaskField.byAttribute(this.attribute);
+    }
+
+    /**
+     * Returns the sort key of a task under this ordering.
+     * @param task The task.
+     * @return The timestamp the task is ordered by.
+     */
+    public Instant keyOf(final TaskView task) {
+        return "createdAt".equals(this.attribute)
+                ? task.createdAt() : task.updatedAt();
+    }
+
+    /**
+     * Resolves the ordering requested through the API.
+     *
+     * @param field     {@code createdAt} or {@code updatedAt}; defaults to
+     *                  {@code createdAt}.
+     * @param direction {@code asc} or {@code desc}; defaults to {@code asc}.
+     * @return The ordering.
+     * @throws BadRequestException If either value is not supported.
+     */
+    public static TaskSort of(final String field, final String direction) {
+        String attr = field == null ? "createdAt" : field;
+        String dir = direction == null ? "asc" : direction.toLowerCase();
+        if (!"asc".equals(dir) && !"desc".equals(dir)) {
+            throw new BadRequestException("Dirección de orden inválida: " + direction);
+        }
+        for (TaskSort sort : values()) {
+            if (sort.attribute.equals(attr) && sort.ascending == "asc".equals(dir)) {
+                return sort;
+            }
+        }
+        throw new BadRequestException("Campo de orden inválido: " + field);
+    }
+}
@@ -0,0 +1,39 @@
+package com.codes.tasktracker.demo.dto;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Data transfer object with task counts.
+ *
+ * @param total        The number of tasks.
+ * @param completed    The number of completed tasks.
+ * @param pending      The number of pending tasks.
+ * @param reconciledAt When the counts were last recounted from the store,
+ *                     or null if not yet.
+ * @param days         Tasks created and completed per UTC day, oldest
+ *                     first, today included.
+ */
+public record TaskStatsDto(
+        long total,
+        long completed,
+        long pending,
+        Instant reconciledAt,
+        List<Day> days
+) {
+
+    /**
+     * Tasks created and completed on one day.
+     *
+     * @param date      The UTC date.
+     * @param created   The number of tasks created.
+     * @param completed The number of tasks completed.
+     */
+    public record Day(
+            LocalDate date,
+            long created,
+            long completed
+    ) {
+    }
+}
@@ -0,0 +1,41 @@
+package com.codes.tasktracker.demo.dto;
+
+import com.codes.tasktracker.demo.model.Task;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Read-only projection of a task.
+ *
+ * <p>Built directly from query results, so listing tasks creates no
+ * managed entities and no dirty-checking snapshots.</p>
+ *
+ * @param id          The task's ID.
+ * @param description The task's description.
+ * @param completed   Whether the task is completed.
+ * @param createdAt   The creation timestamp.
+ * @param updatedAt   The last update timestamp.
+ * @param version     The task's version.
+ */
+public record TaskView(
+        UUID id,
+        String description,
+        boolean completed,
+        Instant createdAt,
+        Instant updatedAt,
+        long version
+) {
+
+    /**
+     * Creates a projection of a task entity.
+     *
+     * @param task The task.
+     * @return The projection.
+     */
+    public static TaskView of(final Task task) {
+        return new TaskView(task.getId(), task.getDescription(),
+                task.isCompleted(), task.getCreatedAt(), task.getUpdatedAt(),
+                task.getVersion());
+    }
+}
@@ -0,0 +1,21 @@
+package com.codes.tasktracker.demo.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Exception thrown when a request carries invalid parameters.
+ */
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class BadRequestException extends RuntimeException {
+
+    /**
+     * Constructs a new BadRequestException with the specified
+     * detail message.
+     *
+     * @param message The detail message.
+     */
+    public BadRequestException(final String message) {
+        super(message);
+    }
+}
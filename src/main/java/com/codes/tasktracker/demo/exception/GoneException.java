@@ -0,0 +1,21 @@
+package com.codes.tasktracker.demo.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Exception thrown when a request refers to state that is no longer
+ * retained.
+ */
+@ResponseStatus(HttpStatus.GONE)
+public class GoneException extends RuntimeException {
+
+    /**
+     * Constructs a new GoneException with the specified detail message.
+     *
+     * @param message The detail message.
+     */
+    public GoneException(final String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,22 @@
+package com.codes.tasktracker.demo.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Exception thrown when a conditional request does not match the current
+ * version of a resource.
+ */
+@ResponseStatus(HttpStatus.PRECONDITION_FAILED)
+public class PreconditionFailedException extends RuntimeException {
+
+    /**
+     * Constructs a new PreconditionFailedException with the specified
+     * detail message.
+     *
+     * @param message The detail message.
+     */
+    public PreconditionFailedException(final String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,22 @@
+package com.codes.tasktracker.demo.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Exception thrown when the server is too busy to accept a request and
+ * the client should retry later.
+ */
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class ServiceUnavailableException extends RuntimeException {
+
+    /**
+     * Constructs a new ServiceUnavailableException with the specified
+     * detail message.
+     *
+     * @param message The detail message.
+     */
+    public ServiceUnavailableException(final String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,159 @@
+package com.codes.tasktracker.demo.metrics;
+
+import com.codes.tasktracker.demo.controller.DbAdmissionFilter;
+import com.codes.tasktracker.demo.controller.TaskEventStream;
+import com.codes.tasktracker.demo.controller.TaskResponseCache;
+import com.codes.tasktracker.demo.service.TaskArchiver;
+import com.codes.tasktracker.demo.service.TaskCache;
+import com.codes.tasktracker.demo.service.TaskSearchIndex;
+import com.codes.tasktracker.demo.service.TaskStats;
+import com.codes.tasktracker.demo.service.TaskWritePipeline;
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Metrics beyond what Actuator records on its own.
+ *
+ * <p>Actuator already times every HTTP endpoint
+ * ({@code http.server.requests}) and repository call
+ * ({@code spring.data.repository.invocations}), and exports HikariCP
+ * pool and Hibernate statistics. This adds the {@code @Timed} service
+ * timers, statements per request, the task counts and the state of the
+ * caches, search index, event stream, admission limit and archival
+ * job, whose rate is reported in rows per second.</p>
+ */
+@Configuration(proxyBeanMethods = false)
+public class MetricsConfig {
+
+    /**
+     * Times methods of classes annotated with {@code @Timed}.
+     *
+     * @param registry The meter registry; test slices may have none.
+     * @return The aspect.
+     */
+    @Bean
+    @ConditionalOnProperty(name = "tasktracker.metrics.service-timers", matchIfMissing = true)
+    public TimedAspect timedAspect(final ObjectProvider<MeterRegistry> registry) {
+        return new TimedAspect(registry.getIfAvailable(SimpleMeterRegistry::new));
+    }
+
+    /**
+     * Counts the statements of each request.
+     *
+     * @return The statement counter.
+     */
+    @Bean
+    @ConditionalOnProperty(name = "tasktracker.metrics.statement-counts", matchIfMissing = true)
+    public StatementCounter statementCounter() {
+        return new StatementCounter();
+    }
+
+    /**
+     * Registers the statement counter with Hibernate.
+     *
+     * @param counter The statement counter.
+     * @return The customizer.
+     */
+    @Bean
+    @ConditionalOnProperty(name = "tasktracker.metrics.statement-counts", matchIfMissing = true)
+    public HibernatePropertiesCustomizer statementCounting(final StatementCounter counter) {
+        return properties -> properties.put(
+                "hibernate.session_factory.statement_inspector", counter);
+    }
+
+    /**
+     * Records the statements of each request.
+     *
+     * @param registry The meter registry; test slices may have none.
+     * @return The filter.
+     */
+    @Bean
+    @ConditionalOnProperty(name = "tasktracker.metrics.statement-counts", matchIfMissing = true)
+    public StatementCountFilter statementCountFilter(final ObjectProvider<MeterRegistry> registry) {
+        return new StatementCountFilter(registry.getIfAvailable(SimpleMeterRegistry::new));
+    }
+
+    /**
+     * Exposes the in-process state of the task components. Values are
+     * read when the registry is scraped, never on the request path.
+     *
+     * @param cache         The task cache.
+     * @param responseCache The cache of encoded task bodies.
+     * @param stats         The task counts.
+     * @param searchIndex   The search index.
+     * @param eventStream   The event stream.
+     * @param admission     The database admission filter.
+     * @param writes        The group-commit write pipeline.
+     * @param archiver      The archival job.
+     * @return The binder.
+     */
+    @Bean
+    public MeterBinder taskComponentMetrics(
+            final TaskCache cache,
+            final TaskResponseCache responseCache,
+            final TaskStats stats,
+            final TaskSearchIndex searchIndex,
+            final TaskEventStream eventStream,
+            final DbAdmissionFilter admission,
+            final TaskWritePipeline writes,
+            final TaskArchiver archiver) {
+        return registry -> {
+            FunctionCounter.builder("tasktracker.cache.requests", cache, c -> c.stats().hits())
+                    .tags("result", "hit").register(registry);
+            FunctionCounter.builder("tasktracker.cache.requests", cache, c -> c.stats().misses())
+                    .tags("result", "miss").register(registry);
+            FunctionCounter.builder("tasktracker.cache.evictions", cache, c -> c.stats().evictions())
+                    .register(registry);
+            Gauge.builder("tasktracker.cache.size", cache, c -> c.stats().size())
+                    .register(registry);
+            FunctionCounter.builder("tasktracker.response.cache.requests", responseCache,
+                            c -> c.stats().hits())
+                    .tags("result", "hit").register(registry);
+            FunctionCounter.builder("tasktracker.response.cache.requests", responseCache,
+                            c -> c.stats().misses())
+                    .tags("result", "miss").register(registry);
+            Gauge.builder("tasktracker.response.cache.bytes", responseCache, TaskResponseCache::bytes)
+                    .baseUnit("bytes").register(registry);
+            Gauge.builder("tasktracker.tasks", stats, TaskStats::completed)
+                    .tags("status", "completed").register(registry);
+            Gauge.builder("tasktracker.tasks", stats, s -> s.total() - s.completed())
+                    .tags("status", "pending").register(registry);
+            Gauge.builder("tasktracker.tasks.drift", stats, TaskStats::lastDrift)
+                    .register(registry);
+            Gauge.builder("tasktracker.search.documents", searchIndex, TaskSearchIndex::size)
+                    .register(registry);
+            Gauge.builder("tasktracker.stream.subscribers", eventStream, TaskEventStream::subscriberCount)
+                    .register(registry);
+            FunctionCounter.builder("tasktracker.stream.dropped", eventStream, TaskEventStream::droppedCount)
+                    .register(registry);
+            Gauge.builder("tasktracker.db.admission.waiting", admission, DbAdmissionFilter::waitingCount)
+                    .register(registry);
+            FunctionCounter.builder("tasktracker.db.admission.rejected", admission,
+                            DbAdmissionFilter::rejectedCount)
+                    .register(registry);
+            Gauge.builder("tasktracker.writes.queued", writes, TaskWritePipeline::queuedCount)
+                    .register(registry);
+            FunctionCounter.builder("tasktracker.writes.batches", writes, TaskWritePipeline::batchCount)
+                    .register(registry);
+            FunctionCounter.builder("tasktracker.writes.applied", writes, TaskWritePipeline::writeCount)
+                    .register(registry);
+            FunctionCounter.builder("tasktracker.writes.rejected", writes, TaskWritePipeline::rejectedCount)
+                    .register(registry);
+            FunctionCounter.builder("tasktracker.archive.rows", archiver, TaskArchiver::rowCount)
+                    .register(registry);
+            FunctionCounter.builder("tasktracker.archive.batches", archiver, TaskArchiver::batchCount)
+                    .register(registry);
+            Gauge.builder("tasktracker.archive.rate", archiver, a -> a.lastRun().rowsPerSecond())
+                    .baseUnit("rows/s").register(registry);
+        };
+    }
+}
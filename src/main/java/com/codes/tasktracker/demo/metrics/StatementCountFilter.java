@@ -0,0 +1,81 @@
+package com.codes.tasktracker.demo.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Records how many SQL statements each task request issued, as the
+ * {@code tasktracker.http.statements} summary tagged with the method and
+ * the matched URI pattern.
+ *
+ * <p>A jump in statements per request is the usual sign of an N+1 query
+ * and shows up here long before it shows up in latency.</p>
+ */
+public class StatementCountFilter extends OncePerRequestFilter {
+
+    /**
+     * The name of the recorded summary.
+     */
+    static final String METRIC = "tasktracker.http.statements";
+
+    /**
+     * The registry receiving the summaries.
+     */
+    private final MeterRegistry registry;
+
+    /**
+     * Summaries by method and URI pattern, so the hot path skips the
+     * registry lookup.
+     */
+    private final Map<String, DistributionSummary> summaries = new ConcurrentHashMap<>();
+
+    /**
+     * Constructs a new StatementCountFilter.
+     *
+     * @param registry The meter registry.
+     */
+    public StatementCountFilter(final MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(final HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return !path.startsWith("/tasks");
+    }
+
+    @Override
+    protected void doFilterInternal(
+            final HttpServletRequest request,
+            final HttpServletResponse response,
+            final FilterChain chain) throws ServletException, IOException {
+
+        int[] count = StatementCounter.begin();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            StatementCounter.end();
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            summary(request.getMethod(), pattern != null ? pattern.toString() : "UNKNOWN")
+                    .record(count[0]);
+        }
+    }
+
+    private DistributionSummary summary(final String method, final String uri) {
+        return this.summaries.computeIfAbsent(method + ' ' + uri,
+                key -> DistributionSummary.builder(METRIC)
+                        .description("SQL statements prepared per request")
+                        .tags("method", method, "uri", uri)
+                        .register(this.registry));
+    }
+}
@@ -0,0 +1,46 @@
+package com.codes.tasktracker.demo.metrics;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Counts the SQL statements Hibernate prepares on the current thread.
+ *
+ * <p>Hibernate calls {@link #inspect(String)} once per prepared statement,
+ * including each JDBC batch. Counting only happens between
+ * {@link #begin()} and {@link #end()}, so statements outside a request
+ * cost a single thread-local read.</p>
+ */
+public final class StatementCounter implements StatementInspector {
+
+    /**
+     * The counter of the request running on this thread, if any.
+     */
+    private static final ThreadLocal<int[]> CURRENT = new ThreadLocal<>();
+
+    @Override
+    public String inspect(final String sql) {
+        int[] count = CURRENT.get();
+        if (count != null) {
+            count[0]++;
+        }
+        return sql;
+    }
+
+    /**
+     * Starts counting on the current thread.
+     *
+     * @return The counter, read after {@link #end()}.
+     */
+    static int[] begin() {
+        int[] count = new int[1];
+        CURRENT.set(count);
+        return count;
+    }
+
+    /**
+     * Stops counting on the current thread.
+     */
+    static void end() {
+        CURRENT.remove();
+    }
+}
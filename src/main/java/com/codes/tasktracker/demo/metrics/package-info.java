@@ -0,0 +1,4 @@
+/**
+ * This package contains the application's metrics instrumentation.
+ */
+package com.codes.tasktracker.demo.metrics;
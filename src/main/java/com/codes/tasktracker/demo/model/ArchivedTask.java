@@ -0,0 +1,110 @@
+package com.codes.tasktracker.demo.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * A completed task moved out of {@code tasks} by the archival job, so
+ * that scans and indexes of the hot table do not carry tasks nobody
+ * reads. Archived tasks are read-only and always completed.
+ */
+@Entity
+@Table(name = "tasks_archive", indexes = {
+        @Index(name = "idx_tasks_archive_updated_at_id", columnList = "updated_at, id")
+})
+public final class ArchivedTask {
+
+    /**
+     * The ID the task had in {@code tasks}.
+     */
+    @Id
+    private UUID id;
+
+    /**
+     * The task's description.
+     */
+    @Column(nullable = false)
+    private String description;
+
+    /**
+     * The timestamp of when the task was created.
+     */
+    @Column(nullable = false, updatable = false)
+    private Instant createdAt;
+
+    /**
+     * The timestamp of the task's last update, usually its completion.
+     */
+    @Column(nullable = false, updatable = false)
+    private Instant updatedAt;
+
+    /**
+     * The version the task had when it was archived.
+     */
+    @Column(nullable = false, updatable = false)
+    private long version;
+
+    /**
+     * The timestamp of when the task was archived.
+     */
+    @Column(nullable = false, updatable = false)
+    private Instant archivedAt;
+
+    /**
+     * Default constructor for JPA.
+     */
+    protected ArchivedTask() { }
+
+    /**
+     * Returns the task's ID.
+     * @return The ID.
+     */
+    public UUID getId() {
+        return this.id;
+    }
+
+    /**
+     * Returns the task's description.
+     * @return The description.
+     */
+    public String getDescription() {
+        return this.description;
+    }
+
+    /**
+     * Returns the creation timestamp.
+     * @return The creation timestamp.
+     */
+    public Instant getCreatedAt() {
+        return this.createdAt;
+    }
+
+    /**
+     * Returns the last update timestamp.
+     * @return The last update timestamp.
+     */
+    public Instant getUpdatedAt() {
+        return this.updatedAt;
+    }
+
+    /**
+     * Returns the version the task had when it was archived.
+     * @return The version.
+     */
+    public long getVersion() {
+        return this.version;
+    }
+
+    /**
+     * Returns the archival timestamp.
+     * @return The archival timestamp.
+     */
+    public Instant getArchivedAt() {
+        return this.archivedAt;
+    }
+}
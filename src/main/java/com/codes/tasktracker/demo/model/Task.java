@@ -2,24 +2,34 @@ package com.codes.tasktracker.demo.model;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
-import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import java.time.Instant;
+import java.time.temporal.ChronoUnit;
 import java.util.UUID;
 
 /**
  * Represents a task entity.
  */
 @Entity
-@Table(name = "tasks")
+@Table(name = "tasks", indexes = {
+        @Index(name = "idx_tasks_created_at_id", columnList = "created_at, id"),
+        @Index(name = "idx_tasks_updated_at_id", columnList = "updated_at, id"),
+        @Index(name = "idx_tasks_completed_created_at_id",
+                columnList = "completed, created_at, id"),
+        @Index(name = "idx_tasks_completed_updated_at_id",
+                columnList = "completed, updated_at, id")
+})
 public final class Task {
 
     /**
-     * The task's ID.
+     * The task's ID, a time-ordered UUIDv7 so inserts append to the right
+     * edge of the primary-key index instead of splitting random pages.
      */
     @Id
-    @GeneratedValue
+    @GeneratedUuidV7
     private UUID id;
 
     /**
@@ -37,12 +47,30 @@ public final class Task {
      * The timestamp of when the task was created.
      */
     @Column(nullable = false, updatable = false)
-    private Instant createdAt = Instant.now();
+    private Instant createdAt = now();
 
     /**
      * The timestamp of when the task was last updated.
      */
-    private Instant updatedAt = Instant.now();
+    private Instant updatedAt = now();
+
+    /**
+     * Incremented on every change, including set-based updates. Serves as
+     * optimistic-lock column and as the task's entity tag.
+     */
+    @Version
+    @Column(nullable = false)
+    private long version;
+
+    /**
+     * Returns the current time at the precision the database stores, so
+     * keyset cursors built from in-memory tasks match persisted rows.
+     * Bulk statements use it to stamp {@code updatedAt} the same way.
+     * @return The current instant truncated to microseconds.
+     */
+    public static Instant now() {
+        return Instant.now().truncatedTo(ChronoUnit.MICROS);
+    }
 
     /**
      * Default constructor for JPA.
@@ -57,6 +85,33 @@ public final class Task {
         this.description = description;
     }
 
+    /**
+     * Rebuilds a task from stored state, for stores that keep tasks
+     * outside JPA.
+     * @param id          The ID.
+     * @param description The description.
+     * @param completed   Whether the task is completed.
+     * @param createdAt   The creation timestamp.
+     * @param updatedAt   The last update timestamp.
+     * @param version     The version.
+     * @return A new, unmanaged task.
+     */
+    public static Task restore(
+            final UUID id,
+            final String description,
+            final boolean completed,
+            final Instant createdAt,
+            final Instant updatedAt,
+            final long version) {
+        Task task = new Task(description);
+        task.id = id;
+        task.completed = completed;
+        task.createdAt = createdAt;
+        task.updatedAt = updatedAt;
+        task.version = version;
+        return task;
+    }
+
     /**
      * Returns the task's ID.
      * @return The ID.
@@ -105,13 +160,21 @@ public final class Task {
         return this.updatedAt;
     }
 
+    /**
+     * Returns the version, incremented on every change.
+     * @return The version.
+     */
+    public long getVersion() {
+        return this.version;
+    }
+
     /**
      * Sets the task's description.
      * @param description The new description.
      */
     public void setDescription(final String description) {
         this.description = description;
-        this.updatedAt = Instant.now();
+        this.updatedAt = now();
     }
 
     /**
@@ -119,6 +182,6 @@ public final class Task {
      */
     public void markCompleted() {
         this.completed = true;
-        this.updatedAt = Instant.now();
+        this.updatedAt = now();
     }
 }
\ No newline at end of file
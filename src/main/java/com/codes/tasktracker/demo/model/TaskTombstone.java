@@ -0,0 +1,64 @@
+package com.codes.tasktracker.demo.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Record of a deleted task, kept so the change feed can report deletes.
+ * Tombstones are purged once they are older than the feed's retention.
+ */
+@Entity
+@Table(name = "task_tombstones", indexes = {
+        @Index(name = "idx_task_tombstones_deleted_at_task_id",
+                columnList = "deleted_at, task_id")
+})
+public final class TaskTombstone {
+
+    /**
+     * The ID of the deleted task.
+     */
+    @Id
+    private UUID taskId;
+
+    /**
+     * The timestamp of the deletion.
+     */
+    @Column(nullable = false, updatable = false)
+    private Instant deletedAt;
+
+    /**
+     * Default constructor for JPA.
+     */
+    protected TaskTombstone() { }
+
+    /**
+     * Creates a tombstone for a deleted task.
+     * @param taskId    The ID of the deleted task.
+     * @param deletedAt The timestamp of the deletion.
+     */
+    public TaskTombstone(final UUID taskId, final Instant deletedAt) {
+        this.taskId = taskId;
+        this.deletedAt = deletedAt;
+    }
+
+    /**
+     * Returns the ID of the deleted task.
+     * @return The task ID.
+     */
+    public UUID getTaskId() {
+        return this.taskId;
+    }
+
+    /**
+     * Returns the timestamp of the deletion.
+     * @return The deletion timestamp.
+     */
+    public Instant getDeletedAt() {
+        return this.deletedAt;
+    }
+}
@@ -0,0 +1,68 @@
+package com.codes.tasktracker.demo.model;
+
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Generates time-ordered version 7 UUIDs (RFC 9562).
+ *
+ * <p>The 48-bit Unix millisecond timestamp is followed by a 12-bit counter
+ * in {@code rand_a}, so IDs generated in the same millisecond keep
+ * increasing across threads; the remaining 62 bits are random. When the
+ * counter overflows, or the clock steps back, the timestamp field is
+ * advanced past the last issued value instead of repeating it.</p>
+ */
+public final class UuidV7 {
+
+    /**
+     * Bits of the counter stored in {@code rand_a}.
+     */
+    private static final int COUNTER_BITS = 12;
+
+    /**
+     * The last issued timestamp and counter, packed as
+     * {@code millis << 12 | counter}.
+     */
+    private static final AtomicLong LAST = new AtomicLong();
+
+    private UuidV7() {
+        // Utility class
+    }
+
+    /**
+     * Returns a new UUID that sorts after every UUID previously returned.
+     *
+     * @return A version 7 UUID.
+     */
+    public static UUID next() {
+        long now = System.currentTimeMillis();
+        long state;
+        while (true) {
+            long prev = LAST.get();
+            state = (now > prev >>> COUNTER_BITS)
+                    ? now << COUNTER_BITS
+                    : prev + 1;
+            if (LAST.compareAndSet(prev, state)) {
+                break;
+            }
+        }
+
+        long millis = state >>> COUNTER_BITS;
+        long counter = state & ((1L << COUNTER_BITS) - 1);
+        long msb = (millis << 16) | 0x7000L | counter;
+        long lsb = (ThreadLocalRandom.current().nextLong() & 0x3FFFFFFFFFFFFFFFL)
+                | 0x8000000000000000L;
+        return new UUID(msb, lsb);
+    }
+
+    /**
+     * Extracts the Unix millisecond timestamp of a version 7 UUID.
+     *
+     * @param uuid The UUID.
+     * @return The embedded timestamp in milliseconds.
+     */
+    public static long timestamp(final UUID uuid) {
+        return uuid.getMostSignificantBits() >>> 16;
+    }
+}
@@ -0,0 +1,31 @@
+package com.codes.tasktracker.demo.model;
+
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.generator.BeforeExecutionGenerator;
+import org.hibernate.generator.EventType;
+import org.hibernate.generator.EventTypeSets;
+
+import java.util.EnumSet;
+
+/**
+ * Hibernate generator assigning {@link UuidV7} identifiers on insert.
+ *
+ * <p>IDs are produced in memory, so inserts need no database round trip
+ * and can still be grouped into JDBC batches.</p>
+ */
+public class UuidV7Generator implements BeforeExecutionGenerator {
+
+    @Override
+    public Object generate(
+            final SharedSessionContractImplementor session,
+            final Object owner,
+            final Object currentValue,
+            final EventType eventType) {
+        return UuidV7.next();
+    }
+
+    @Override
+    public EnumSet<EventType> getEventTypes() {
+        return EventTypeSets.INSERT_ONLY;
+    }
+}
@@ -0,0 +1,70 @@
+package com.codes.tasktracker.demo.repository;
+
+import com.codes.tasktracker.demo.dto.TaskView;
+import com.codes.tasktracker.demo.model.ArchivedTask;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Repository for {@link ArchivedTask} entities.
+ */
+public interface ArchivedTaskRepository extends JpaRepository<ArchivedTask, UUID> {
+
+    /**
+     * Projects an archived task.
+     *
+     * @param id The ID of the task.
+     * @return The projection, or empty if no such task was archived.
+     */
+    @Query("SELECT new com.codes.tasktracker.demo.dto.TaskView("
+            + "a.id, a.description, true, a.createdAt, a.updatedAt, a.version)"
+            + " FROM ArchivedTask a WHERE a.id = :id")
+    Optional<TaskView> findViewById(@Param("id") UUID id);
+
+    /**
+     * Projects the archived tasks after a keyset position, in
+     * {@code (updatedAt, id)} order. Served by the
+     * {@code (updated_at, id)} index.
+     *
+     * @param timestamp The timestamp of the position.
+     * @param id        The ID of the position.
+     * @param limit     The maximum number of tasks.
+     * @return Projections of the archived tasks.
+     */
+    @Query("SELECT new com.codes.tasktracker.demo.dto.TaskView("
+            + "a.id, a.description, true, a.createdAt, a.updatedAt, a.version)"
+            + " FROM ArchivedTask a"
+            + " WHERE a.updatedAt >= :timestamp"
+            + " AND (a.updatedAt > :timestamp OR a.id > :id)"
+            + " ORDER BY a.updatedAt, a.id")
+    List<TaskView> findPageAfter(
+            @Param("timestamp") Instant timestamp,
+            @Param("id") UUID id,
+            Limit limit);
+
+    /**
+     * Copies tasks into the archive; a
+     * {@link TaskRepository#deleteByIdIn(Collection)} with the same IDs
+     * then removes them from {@code tasks}.
+     *
+     * @param ids The IDs of the tasks.
+     * @param now The timestamp written to {@code archivedAt}.
+     * @return The number of archived tasks.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("INSERT INTO ArchivedTask (id, description, createdAt, updatedAt, version, archivedAt)"
+            + " SELECT t.id, t.description, t.createdAt, t.updatedAt, t.version, :now"
+            + " FROM Task t WHERE t.id IN :ids")
+    int copyFromTasks(
+            @Param("ids") Collection<UUID> ids,
+            @Param("now") Instant now);
+}
@@ -0,0 +1,808 @@
+package com.codes.tasktracker.demo.repository;
+
+import com.codes.tasktracker.demo.dto.TaskCursor;
+import com.codes.tasktracker.demo.dto.TaskField;
+import com.codes.tasktracker.demo.dto.TaskFilter;
+import com.codes.tasktracker.demo.dto.TaskSort;
+import com.codes.tasktracker.demo.dto.TaskView;
+import com.codes.tasktracker.demo.model.Task;
+import com.codes.tasktracker.demo.model.TaskTombstone;
+import com.codes.tasktracker.demo.model.UuidV7;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.UnaryOperator;
+import java.util.stream.Stream;
+
+/**
+ * {@link TaskStore} kept in process, for edge deployments and tests.
+ * Enabled by the {@code memory} profile.
+ *
+ * <p>Tasks are stored as immutable {@link TaskView} rows in a
+ * {@link ConcurrentHashMap}, with {@code (createdAt, id)} and
+ * {@code (updatedAt, id)} indexes in skip lists, one per completion
+ * status. Reads never lock: lookups go to the map and listings walk the
+ * indexes, checking every hit against the current row so an entry left
+ * behind by a concurrent write is skipped. Writes to a task hold one of
+ * {@value #STRIPES} locks chosen by its ID, so writes to different tasks
+ * proceed in parallel.</p>
+ *
+ * <p>There are no transactions: each single-task write is atomic and
+ * visible at once, and set-based writes apply task by task. Nothing is
+ * rolled back when a later step of a service method fails.</p>
+ *
+ * <p>Every change is reported to a {@link ChangeLog} while its stripe lock
+ * is held, so a log sees the changes to each task in order;
+ * {@link JournalTaskStore} uses this to make the store durable.</p>
+ */
+@Repository
+@Profile(InMemoryTaskStore.PROFILE)
+public class InMemoryTaskStore implements TaskStore {
+
+    /**
+     * The profile selecting this store.
+     */
+    public static final String PROFILE = "memory";
+
+    /**
+     * Number of write locks; a power of two.
+     */
+    static final int STRIPES = 64;
+
+    /**
+     * Lowest ID, so {@code (t, MIN_ID)} sorts before every key at {@code t}.
+     */
+    private static final UUID MIN_ID = new UUID(Long.MIN_VALUE, Long.MIN_VALUE);
+
+    /**
+     * Order of index keys. Written out rather than composed from key
+     * extractors, as it runs on every index step.
+     */
+    private static final Comparator<TaskCursor> ORDER = (a, b) -> {
+        int byTime = a.timestamp().compareTo(b.timestamp());
+        return byTime != 0 ? byTime : a.id().compareTo(b.id());
+    };
+
+    /**
+     * The current row of every task.
+     */
+    private final Map<UUID, TaskView> rows = new ConcurrentHashMap<>();
+
+    private final NavigableSet<TaskCursor> pendingByCreated = new ConcurrentSkipListSet<>(ORDER);
+
+    private final NavigableSet<TaskCursor> completedByCreated = new ConcurrentSkipListSet<>(ORDER);
+
+    private final NavigableSet<TaskCursor> pendingByUpdated = new ConcurrentSkipListSet<>(ORDER);
+
+    private final NavigableSet<TaskCursor> completedByUpdated = new ConcurrentSkipListSet<>(ORDER);
+
+    /**
+     * Deleted tasks as {@code (deletedAt, taskId)}.
+     */
+    private final NavigableSet<TaskCursor> tombstones = new ConcurrentSkipListSet<>(ORDER);
+
+    /**
+     * Archived tasks, by ID.
+     */
+    private final Map<UUID, TaskView> archived = new ConcurrentHashMap<>();
+
+    /**
+     * Archived tasks as {@code (updatedAt, id)}.
+     */
+    private final NavigableSet<TaskCursor> archivedByUpdated = new ConcurrentSkipListSet<>(ORDER);
+
+    /**
+     * Write locks, by ID hash.
+     */
+    private final ReentrantLock[] stripes = new ReentrantLock[STRIPES];
+
+    /**
+     * Receives every change.
+     */
+    private final ChangeLog log;
+
+    /**
+     * Rows replayed from a log and not indexed yet, in replay order. Only
+     * touched before the store is used.
+     */
+    private List<TaskView> replayed = new ArrayList<>();
+
+    /**
+     * Constructs a new, empty InMemoryTaskStore.
+     */
+    public InMemoryTaskStore() {
+        this(ChangeLog.NONE);
+    }
+
+    /**
+     * Constructs a new, empty InMemoryTaskStore reporting its changes.
+     *
+     * @param log The log receiving every change.
+     */
+    InMemoryTaskStore(final ChangeLog log) {
+        this.log = log;
+        for (int i = 0; i < STRIPES; i++) {
+            this.stripes[i] = new ReentrantLock();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>Checks the version at once: a task saved with another version
+     * than the stored one fails immediately.</p>
+     */
+    @Override
+    public Task save(final Task task) {
+        Task stored = put(task);
+        this.log.sync();
+        return stored;
+    }
+
+    @Override
+    public boolean appliesWritesImmediately() {
+        return true;
+    }
+
+    @Override
+    public void insertAll(final List<Task> tasks) {
+        for (Task task : tasks) {
+            put(task);
+        }
+        this.log.sync();
+    }
+
+    private Task put(final Task task) {
+        if (task.getId() == null) {
+            task.setId(UuidV7.next());
+        }
+        UUID id = task.getId();
+        TaskView[] stored = new TaskView[1];
+        write(id, old -> {
+            if (old == null ? task.getVersion() != 0 : old.version() != task.getVersion()) {
+                throw new OptimisticLockingFailureException("La tarea ha cambiado: " + id);
+            }
+            stored[0] = new TaskView(id, task.getDescription(), task.isCompleted(),
+                    task.getCreatedAt(), task.getUpdatedAt(),
+                    old == null ? 0 : old.version() + 1);
+            return stored[0];
+        }, null);
+        return toTask(stored[0]);
+    }
+
+    @Override
+    public void flush() {
+        // Writes are applied immediately.
+    }
+
+    @Override
+    public Optional<Task> findById(final UUID id) {
+        TaskView row = this.rows.get(id);
+        return row == null ? Optional.empty() : Optional.of(toTask(row));
+    }
+
+    @Override
+    public boolean existsById(final UUID id) {
+        return this.rows.containsKey(id);
+    }
+
+    @Override
+    public Optional<Long> findVersionById(final UUID id) {
+        TaskView row = this.rows.get(id);
+        return row == null ? Optional.empty() : Optional.of(row.version());
+    }
+
+    @Override
+    public List<TaskView> findAllViews() {
+        return new ArrayList<>(this.rows.values());
+    }
+
+    @Override
+    public List<TaskView> findViewsByIdIn(final Collection<UUID> ids) {
+        List<TaskView> views = new ArrayList<>(ids.size());
+        for (UUID id : ids) {
+            TaskView row = this.rows.get(id);
+            if (row != null) {
+                views.add(row);
+            }
+        }
+        return views;
+    }
+
+    @Override
+    public long forEachTask(final Consumer<Task> sink) {
+        long count = 0;
+        for (TaskView row : this.rows.values()) {
+            sink.accept(toTask(row));
+            count++;
+        }
+        return count;
+    }
+
+    @Override
+    public List<TaskView> findPage(
+            final TaskFilter filter, final TaskCursor after, final int limit) {
+        return scan(filter, after, limit);
+    }
+
+    @Override
+    public List<Map<String, Object>> findPageFields(
+            final TaskFilter filter,
+            final TaskCursor after,
+            final int limit,
+            final Set<TaskField> fields) {
+
+        Set<TaskField> columns = EnumSet.copyOf(fields);
+        columns.add(TaskField.ID);
+        columns.add(filter.sort().field());
+        List<TaskView> views = scan(filter, after, limit);
+        List<Map<String, Object>> rows = new ArrayList<>(views.size());
+        for (TaskView view : views) {
+            rows.add(TaskField.select(view, columns));
+        }
+        return rows;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>Walks the created-at indexes, or the updated-at ones when only
+     * update times are bounded, over the filter's range.</p>
+     */
+    @Override
+    public long count(final TaskFilter filter) {
+        boolean byCreated = filter.updatedFrom() == null && filter.updatedTo() == null;
+        if (filter.completed() == null && byCreated
+                && filter.createdFrom() == null && filter.createdTo() == null) {
+            return this.rows.size();
+        }
+        long count = 0;
+        for (boolean completed : new boolean[] {false, true}) {
+            if (filter.completed() != null && filter.completed() != completed) {
+                continue;
+            }
+            NavigableSet<TaskCursor> keys = byCreated
+                    ? range(byCreated(completed), filter.createdFrom(), filter.createdTo(), null, true)
+                    : range(byUpdated(completed), filter.updatedFrom(), filter.updatedTo(), null, true);
+            for (TaskCursor key : keys) {
+                TaskView row = this.rows.get(key.id());
+                if (row != null
+                        && row.completed() == completed
+                        && key.timestamp().equals(byCreated ? row.createdAt() : row.updatedAt())
+                        && matches(filter, row)) {
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+
+    @Override
+    public List<TaskView> findChangedAfter(
+            final TaskCursor after, final Instant horizon, final int limit) {
+        TaskFilter filter = new TaskFilter(null, null, null, null, horizon, TaskSort.UPDATED_AT_ASC);
+        return scan(filter, after, limit);
+    }
+
+    @Override
+    public int markCompleted(final UUID id, final Instant now) {
+        int affected = complete(id, now);
+        this.log.sync();
+        return affected;
+    }
+
+    @Override
+    public int completeAllByIdIn(final Collection<UUID> ids, final Instant now) {
+        int affected = 0;
+        for (UUID id : ids) {
+            affected += complete(id, now);
+        }
+        this.log.sync();
+        return affected;
+    }
+
+    @Override
+    public Batch completePendingCreatedBefore(
+            final Instant before, final TaskCursor after, final int limit, final Instant now) {
+        int affected = 0;
+        int visited = 0;
+        TaskCursor last = null;
+        for (TaskCursor key : range(this.pendingByCreated, null, before, after, true)) {
+            if (visited >= limit) {
+                break;
+            }
+            affected += complete(key.id(), now);
+            visited++;
+            last = key;
+        }
+        this.log.sync();
+        return new Batch(affected, visited < limit ? null : last);
+    }
+
+    private int complete(final UUID id, final Instant now) {
+        return write(id, old -> old == null || old.completed() ? old : completed(old, now), null) ? 1 : 0;
+    }
+
+    @Override
+    public int removeById(final UUID id, final Instant now) {
+        int affected = write(id, old -> null, now) ? 1 : 0;
+        this.log.sync();
+        return affected;
+    }
+
+    @Override
+    public Batch deleteCompletedUpdatedBefore(
+            final Instant before, final TaskCursor after, final int limit, final Instant now) {
+        int affected = 0;
+        int visited = 0;
+        TaskCursor last = null;
+        for (TaskCursor key : range(this.completedByUpdated, null, before, after, true)) {
+            if (visited >= limit) {
+                break;
+            }
+            boolean removed = write(key.id(), old -> old != null && old.completed()
+                    && old.updatedAt().isBefore(before) ? null : old, now);
+            if (removed) {
+                affected++;
+            }
+            visited++;
+            last = key;
+        }
+        this.log.sync();
+        return new Batch(affected, visited < limit ? null : last);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>Each task is removed under its stripe lock and added to the
+     * archive right after, so a reader may briefly find it in neither.</p>
+     */
+    @Override
+    public List<TaskView> archiveCompletedUpdatedBefore(
+            final Instant before, final TaskCursor after, final int limit, final Instant now) {
+        List<TaskView> moved = new ArrayList<>(Math.min(limit, 256));
+        for (TaskCursor key : range(this.completedByUpdated, null, before, after, true)) {
+            if (moved.size() >= limit) {
+                break;
+            }
+            TaskView[] row = new TaskView[1];
+            boolean removed = write(key.id(), old -> {
+                if (old != null && old.completed() && old.updatedAt().equals(key.timestamp())) {
+                    row[0] = old;
+                    return null;
+                }
+                return old;
+            }, now);
+            if (removed) {
+                this.archived.put(key.id(), row[0]);
+                this.archivedByUpdated.add(key);
+                moved.add(row[0]);
+            }
+        }
+        this.log.sync();
+        return moved;
+    }
+
+    @Override
+    public Optional<TaskView> findArchivedById(final UUID id) {
+        return Optional.ofNullable(this.archived.get(id));
+    }
+
+    @Override
+    public List<TaskView> findArchivedPage(final TaskCursor after, final int limit) {
+        List<TaskView> page = new ArrayList<>(Math.min(limit, 256));
+        for (TaskCursor key : range(this.archivedByUpdated, null, null, after, true)) {
+            if (page.size() >= limit) {
+                break;
+            }
+            page.add(this.archived.get(key.id()));
+        }
+        return page;
+    }
+
+    @Override
+    public List<TaskTombstone> findDeletedAfter(
+            final TaskCursor after, final Instant horizon, final int limit) {
+        List<TaskTombstone> result = new ArrayList<>();
+        for (TaskCursor key : range(this.tombstones, null, horizon, after, true)) {
+            if (result.size() >= limit) {
+                break;
+            }
+            result.add(new TaskTombstone(key.id(), key.timestamp()));
+        }
+        return result;
+    }
+
+    @Override
+    public int purgeTombstonesBefore(final Instant before) {
+        this.log.purged(before);
+        int purged = purge(before);
+        this.log.sync();
+        return purged;
+    }
+
+    private int purge(final Instant before) {
+        int purged = 0;
+        Iterator<TaskCursor> expired =
+                this.tombstones.headSet(new TaskCursor(before, MIN_ID), false).iterator();
+        while (expired.hasNext()) {
+            expired.next();
+            expired.remove();
+            purged++;
+        }
+        return purged;
+    }
+
+    /**
+     * Applies a row read back from a log, without logging it again. Replay
+     * happens before the store is used and leaves the indexes out until
+     * {@link #indexReplayed()}.
+     *
+     * @param row The row.
+     */
+    void replayWritten(final TaskView row) {
+        this.rows.put(row.id(), row);
+        this.replayed.add(row);
+    }
+
+    /**
+     * Applies a delete read back from a log, without logging it again.
+     * The tombstone is recorded even if the task is already gone.
+     *
+     * @param id The ID of the task.
+     * @param at The time of the delete.
+     */
+    void replayRemoved(final UUID id, final Instant at) {
+        this.rows.remove(id);
+        this.tombstones.add(new TaskCursor(at, id));
+    }
+
+    /**
+     * Applies a tombstone purge read back from a log.
+     *
+     * @param before Exclusive upper bound on the deletion time.
+     */
+    void replayPurged(final Instant before) {
+        purge(before);
+    }
+
+    /**
+     * Builds the indexes of the replayed rows. Keys are sorted first and
+     * added in order, which is several times faster than adding them as
+     * rows arrive. Logs replay mostly in time order, so the sort mostly
+     * merges runs that are already sorted. The four indexes are built in
+     * parallel.
+     */
+    void indexReplayed() {
+        List<TaskCursor> pendingCreated = new ArrayList<>();
+        List<TaskCursor> completedCreated = new ArrayList<>();
+        List<TaskCursor> pendingUpdated = new ArrayList<>();
+        List<TaskCursor> completedUpdated = new ArrayList<>();
+        for (TaskView row : this.replayed) {
+            if (this.rows.get(row.id()) != row) {
+                continue;
+            }
+            (row.completed() ? completedCreated : pendingCreated).add(new TaskCursor(row.createdAt(), row.id()));
+            (row.completed() ? completedUpdated : pendingUpdated).add(new TaskCursor(row.updatedAt(), row.id()));
+        }
+        this.replayed = List.of();
+        Stream.of(
+                        Map.entry(this.pendingByCreated, pendingCreated),
+                        Map.entry(this.completedByCreated, completedCreated),
+                        Map.entry(this.pendingByUpdated, pendingUpdated),
+                        Map.entry(this.completedByUpdated, completedUpdated))
+                .parallel()
+                .forEach(index -> addSorted(index.getKey(), index.getValue()));
+    }
+
+    private static void addSorted(final NavigableSet<TaskCursor> index, final List<TaskCursor> keys) {
+        TaskCursor[] sorted = keys.toArray(new TaskCursor[0]);
+        Arrays.parallelSort(sorted, ORDER);
+        index.addAll(Arrays.asList(sorted));
+    }
+
+    /**
+     * Feeds every current row to an action, pending tasks first and each
+     * status in creation order, without locking. A row changed meanwhile
+     * may be fed in either version or skipped.
+     *
+     * @param action The action.
+     */
+    void forEachRowByCreation(final Consumer<TaskView> action) {
+        for (boolean completed : new boolean[] {false, true}) {
+            for (TaskCursor key : byCreated(completed)) {
+                TaskView row = this.rows.get(key.id());
+                if (row != null && row.completed() == completed && key.timestamp().equals(row.createdAt())) {
+                    action.accept(row);
+                }
+            }
+        }
+    }
+
+    /**
+     * Runs an action while every write lock is held, so no single-task
+     * write is in progress.
+     *
+     * @param action The action.
+     */
+    void quiesce(final Runnable action) {
+        for (ReentrantLock lock : this.stripes) {
+            lock.lock();
+        }
+        try {
+            action.run();
+        } finally {
+            for (int i = STRIPES - 1; i >= 0; i--) {
+                this.stripes[i].unlock();
+            }
+        }
+    }
+
+    /**
+     * Returns a live, unmodifiable view of the tombstones.
+     *
+     * @return The tombstones as {@code (deletedAt, taskId)}.
+     */
+    Set<TaskCursor> tombstones() {
+        return Collections.unmodifiableSet(this.tombstones);
+    }
+
+    private boolean write(final UUID id, final UnaryOperator<TaskView> change, final Instant deletedAt) {
+        return write(id, change, deletedAt, this.log);
+    }
+
+    /**
+     * Replaces the row of a task under its stripe lock and moves its index
+     * entries. New entries are added before the row changes and old ones
+     * removed after, so a concurrent listing finds the task under exactly
+     * one of them. The change is logged first, so a failing append leaves
+     * the store unchanged. The log is only forced by
+     * {@link ChangeLog#sync()} after the change is applied: when that
+     * fails, the caller gets the error but the change stays visible in
+     * memory, and whether it survives a restart is unknown.
+     *
+     * @param id        The ID of the task.
+     * @param change    Maps the current row, or null, to the new row, or
+     *                  null to delete; returning the same row changes
+     *                  nothing.
+     * @param deletedAt The time of a delete, recorded as a tombstone.
+     * @param changeLog The log to report the change to.
+     * @return Whether the row changed.
+     */
+    private boolean write(
+            final UUID id,
+            final UnaryOperator<TaskView> change,
+            final Instant deletedAt,
+            final ChangeLog changeLog) {
+
+        ReentrantLock lock = this.stripes[(id.hashCode() ^ (id.hashCode() >>> 16)) & (STRIPES - 1)];
+        lock.lock();
+        try {
+            TaskView old = this.rows.get(id);
+            TaskView next = change.apply(old);
+            if (next == old) {
+                return false;
+            }
+            if (next != null) {
+                changeLog.written(next);
+            } else if (deletedAt != null) {
+                changeLog.removed(id, deletedAt);
+                this.tombstones.add(new TaskCursor(deletedAt, id));
+            }
+            if (next != null) {
+                byCreated(next.completed()).add(new TaskCursor(next.createdAt(), id));
+                byUpdated(next.completed()).add(new TaskCursor(next.updatedAt(), id));
+                this.rows.put(id, next);
+            } else {
+                this.rows.remove(id);
+            }
+            if (old != null) {
+                if (next == null || next.completed() != old.completed()
+                        || !next.createdAt().equals(old.createdAt())) {
+                    byCreated(old.completed()).remove(new TaskCursor(old.createdAt(), id));
+                }
+                if (next == null || next.completed() != old.completed()
+                        || !next.updatedAt().equals(old.updatedAt())) {
+                    byUpdated(old.completed()).remove(new TaskCursor(old.updatedAt(), id));
+                }
+            }
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Lists the current rows matching a filter after a keyset position,
+     * merging the index of each completion status the filter allows.
+     */
+    private List<TaskView> scan(final TaskFilter filter, final TaskCursor after, final int limit) {
+        TaskSort sort = filter.sort();
+        boolean byCreated = sort.field() == TaskField.CREATED_AT;
+        Instant from = byCreated ? filter.createdFrom() : filter.updatedFrom();
+        Instant to = byCreated ? filter.createdTo() : filter.updatedTo();
+
+        List<Iterator<TaskCursor>> sources = new ArrayList<>(2);
+        List<Boolean> statuses = new ArrayList<>(2);
+        for (boolean completed : new boolean[] {false, true}) {
+            if (filter.completed() == null || filter.completed() == completed) {
+                NavigableSet<TaskCursor> index = byCreated ? byCreated(completed) : byUpdated(completed);
+                NavigableSet<TaskCursor> range = range(index, from, to, after, sort.ascending());
+                sources.add((sort.ascending() ? range : range.descendingSet()).iterator());
+                statuses.add(completed);
+            }
+        }
+
+        Comparator<TaskCursor> order = sort.ascending() ? ORDER : ORDER.reversed();
+        TaskCursor[] heads = new TaskCursor[sources.size()];
+        for (int i = 0; i < heads.length; i++) {
+            heads[i] = sources.get(i).hasNext() ? sources.get(i).next() : null;
+        }
+        List<TaskView> result = new ArrayList<>(Math.min(limit, 256));
+        while (result.size() < limit) {
+            int best = -1;
+            for (int i = 0; i < heads.length; i++) {
+                if (heads[i] != null && (best < 0 || order.compare(heads[i], heads[best]) < 0)) {
+                    best = i;
+                }
+            }
+            if (best < 0) {
+                break;
+            }
+            TaskCursor key = heads[best];
+            heads[best] = sources.get(best).hasNext() ? sources.get(best).next() : null;
+
+            TaskView row = this.rows.get(key.id());
+            if (row != null
+                    && row.completed() == statuses.get(best)
+                    && key.timestamp().equals(byCreated ? row.createdAt() : row.updatedAt())
+                    && matches(filter, row)) {
+                result.add(row);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Restricts an index to {@code [from, to)} on the timestamp and to the
+     * keys after a position in the given direction.
+     */
+    private static NavigableSet<TaskCursor> range(
+            final NavigableSet<TaskCursor> index,
+            final Instant from,
+            final Instant to,
+            final TaskCursor after,
+            final boolean ascending) {
+
+        TaskCursor lo = from == null ? null : new TaskCursor(from, MIN_ID);
+        boolean loInclusive = true;
+        TaskCursor hi = to == null ? null : new TaskCursor(to, MIN_ID);
+        boolean hiInclusive = false;
+        if (after != null) {
+            if (ascending && (lo == null || ORDER.compare(after, lo) >= 0)) {
+                lo = after;
+                loInclusive = false;
+            } else if (!ascending && (hi == null || ORDER.compare(after, hi) < 0)) {
+                hi = after;
+            }
+        }
+        if (lo != null && hi != null) {
+            return ORDER.compare(lo, hi) > 0
+                    ? Collections.emptyNavigableSet()
+                    : index.subSet(lo, loInclusive, hi, hiInclusive);
+        }
+        if (lo != null) {
+            return index.tailSet(lo, loInclusive);
+        }
+        return hi != null ? index.headSet(hi, hiInclusive) : index;
+    }
+
+    private static boolean matches(final TaskFilter filter, final TaskView row) {
+        return (filter.completed() == null || filter.completed() == row.completed())
+                && inRange(row.createdAt(), filter.createdFrom(), filter.createdTo())
+                && inRange(row.updatedAt(), filter.updatedFrom(), filter.updatedTo());
+    }
+
+    private static boolean inRange(final Instant value, final Instant from, final Instant to) {
+        return (from == null || !value.isBefore(from)) && (to == null || value.isBefore(to));
+    }
+
+    private NavigableSet<TaskCursor> byCreated(final boolean completed) {
+        return completed ? this.completedByCreated : this.pendingByCreated;
+    }
+
+    private NavigableSet<TaskCursor> byUpdated(final boolean completed) {
+        return completed ? this.completedByUpdated : this.pendingByUpdated;
+    }
+
+    private static TaskView completed(final TaskView row, final Instant now) {
+        return new TaskView(row.id(), row.description(), true,
+                row.createdAt(), now, row.version() + 1);
+    }
+
+    private static Task toTask(final TaskView row) {
+        return Task.restore(row.id(), row.description(), row.completed(),
+                row.createdAt(), row.updatedAt(), row.version());
+    }
+
+    /**
+     * Receives the changes of a store. {@link #written}, {@link #removed}
+     * and {@link #purged} are called as changes are made, under the
+     * task's stripe lock; {@link #sync()} once the store method is done,
+     * without locks.
+     */
+    interface ChangeLog {
+
+        /**
+         * A log that ignores every change.
+         */
+        ChangeLog NONE = new ChangeLog() {
+            @Override
+            public void written(final TaskView row) {
+                // Not logged.
+            }
+
+            @Override
+            public void removed(final UUID id, final Instant at) {
+                // Not logged.
+            }
+
+            @Override
+            public void purged(final Instant before) {
+                // Not logged.
+            }
+
+            @Override
+            public void sync() {
+                // Nothing to sync.
+            }
+        };
+
+        /**
+         * A task was inserted or updated.
+         *
+         * @param row The new row.
+         */
+        void written(TaskView row);
+
+        /**
+         * A task was deleted and a tombstone recorded.
+         *
+         * @param id The ID of the task.
+         * @param at The time of the delete.
+         */
+        void removed(UUID id, Instant at);
+
+        /**
+         * Tombstones are about to be purged.
+         *
+         * @param before Exclusive upper bound on the deletion time.
+         */
+        void purged(Instant before);
+
+        /**
+         * Returns once the changes logged so far are durable.
+         */
+        void sync();
+    }
+}
@@ -0,0 +1,53 @@
+package com.codes.tasktracker.demo.repository;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.AbstractPlatformTransactionManager;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Transaction manager of the {@link InMemoryTaskStore} and
+ * {@link JournalTaskStore} profiles.
+ *
+ * <p>The store has no transactions of its own, so begin, commit and
+ * rollback do nothing. The manager still drives transaction
+ * synchronization, which keeps {@code @Transactional} methods working
+ * and runs {@code @TransactionalEventListener}s after the service method
+ * returns, as they do on the database.</p>
+ */
+@Component("transactionManager")
+@Profile({InMemoryTaskStore.PROFILE, JournalTaskStore.PROFILE})
+public class InMemoryTransactionManager extends AbstractPlatformTransactionManager {
+
+    @Override
+    protected Object doGetTransaction() {
+        return new Object();
+    }
+
+    @Override
+    protected boolean isExistingTransaction(final Object transaction) {
+        return TransactionSynchronizationManager.isActualTransactionActive();
+    }
+
+    @Override
+    protected void doBegin(final Object transaction, final TransactionDefinition definition) {
+        // Nothing to begin.
+    }
+
+    @Override
+    protected void doCommit(final DefaultTransactionStatus status) {
+        // Writes were applied as they happened.
+    }
+
+    @Override
+    protected void doRollback(final DefaultTransactionStatus status) {
+        // Nothing to undo; see InMemoryTaskStore.
+    }
+
+    @Override
+    protected void doSetRollbackOnly(final DefaultTransactionStatus status) {
+        // A participating method failed; the outer rollback is a no-op too.
+    }
+}
@@ -0,0 +1,135 @@
+package com.codes.tasktracker.demo.repository;
+
+import com.codes.tasktracker.demo.dto.TaskCursor;
+import com.codes.tasktracker.demo.dto.TaskView;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Repository;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * {@link InMemoryTaskStore} made durable by a {@link TaskJournal}, for
+ * single-node installs without a database. Enabled by the
+ * {@code journal} profile.
+ *
+ * <p>Reads are served from memory as in the in-memory store. Every write
+ * is appended to a memory-mapped journal and returns once the journal has
+ * been forced to disk, with concurrent writers sharing one force. At
+ * startup the newest snapshot and the journal after it are replayed.</p>
+ *
+ * <p>A snapshot is taken when {@link TaskJournalProperties#snapshotInterval()}
+ * records have been written since the last one, and at shutdown. Taking
+ * one pauses writes only while the journal moves to a new segment; the
+ * rows are written out while writes continue.</p>
+ *
+ * <p>Archival is not journaled and is turned off: an archived task would
+ * be logged as a delete and lost at the next restart.</p>
+ */
+@Repository
+@Profile(JournalTaskStore.PROFILE)
+public class JournalTaskStore extends InMemoryTaskStore {
+
+    /**
+     * The profile selecting this store.
+     */
+    public static final String PROFILE = "journal";
+
+    /**
+     * The journal configuration.
+     */
+    private final TaskJournalProperties properties;
+
+    /**
+     * The journal.
+     */
+    private final TaskJournal journal;
+
+    /**
+     * Held while a snapshot is taken.
+     */
+    private final ReentrantLock snapshotLock = new ReentrantLock();
+
+    /**
+     * Constructs a new JournalTaskStore and recovers its contents.
+     *
+     * @param properties The journal configuration.
+     * @throws IOException If the journal cannot be read.
+     */
+    @Autowired
+    public JournalTaskStore(final TaskJournalProperties properties) throws IOException {
+        this(properties, new TaskJournal(properties.directory(),
+                (int) Math.min(Integer.MAX_VALUE, properties.segmentSize().toBytes())));
+    }
+
+    private JournalTaskStore(
+            final TaskJournalProperties properties,
+            final TaskJournal journal) throws IOException {
+        super(journal);
+        this.properties = properties;
+        this.journal = journal;
+        journal.recover(this);
+    }
+
+    /**
+     * Archives nothing; see the class comment.
+     *
+     * @return An empty list.
+     */
+    @Override
+    public List<TaskView> archiveCompletedUpdatedBefore(
+            final Instant before, final TaskCursor after, final int limit, final Instant now) {
+        return List.of();
+    }
+
+    /**
+     * Takes a snapshot when enough has been written since the last one.
+     *
+     * @throws IOException If the snapshot cannot be written.
+     */
+    @Scheduled(fixedDelayString = "${tasktracker.journal.snapshot-check:PT10S}")
+    public void snapshotIfDue() throws IOException {
+        if (this.journal.recordsSinceSnapshot() >= this.properties.snapshotInterval()) {
+            snapshot();
+        }
+    }
+
+    /**
+     * Writes a snapshot of the current state and deletes the journal
+     * segments it replaces.
+     *
+     * @throws IOException If the snapshot cannot be written.
+     */
+    public void snapshot() throws IOException {
+        this.snapshotLock.lock();
+        try {
+            long[] first = new long[1];
+            quiesce(() -> first[0] = this.journal.roll());
+            this.journal.writeSnapshot(first[0], this);
+        } finally {
+            this.snapshotLock.unlock();
+        }
+    }
+
+    /**
+     * Takes a final snapshot, so the next startup has nothing to replay,
+     * and closes the journal.
+     *
+     * @throws IOException If the snapshot cannot be written.
+     */
+    @PreDestroy
+    public void close() throws IOException {
+        try {
+            if (this.journal.recordsSinceSnapshot() > 0) {
+                snapshot();
+            }
+        } finally {
+            this.journal.close();
+        }
+    }
+}
@@ -0,0 +1,326 @@
+package com.codes.tasktracker.demo.repository;
+
+import com.codes.tasktracker.demo.dto.TaskCursor;
+import com.codes.tasktracker.demo.dto.TaskField;
+import com.codes.tasktracker.demo.dto.TaskFilter;
+import com.codes.tasktracker.demo.dto.TaskView;
+import com.codes.tasktracker.demo.model.Task;
+import com.codes.tasktracker.demo.model.TaskTombstone;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TupleElement;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * {@link TaskStore} on the database, through the Spring Data repositories.
+ *
+ * <p>Tasks returned by {@link #findById(UUID)} are managed entities:
+ * changes made to them inside the transaction are written on flush.</p>
+ */
+@Repository
+@Profile("!" + InMemoryTaskStore.PROFILE + " & !" + JournalTaskStore.PROFILE)
+public class JpaTaskStore implements TaskStore {
+
+    /**
+     * Rows persisted between flushes of a batch insert. A multiple of
+     * {@code hibernate.jdbc.batch_size} so every flush sends full batches.
+     */
+    static final int BATCH_FLUSH_INTERVAL = 1000;
+
+    /**
+     * Position before every task, in keyset order.
+     */
+    private static final TaskCursor KEYSET_START =
+            new TaskCursor(Instant.EPOCH, new UUID(0, 0));
+
+    /**
+     * The task repository.
+     */
+    private final TaskRepository taskRepository;
+
+    /**
+     * The repository of deleted-task records for the change feed.
+     */
+    private final TaskTombstoneRepository tombstoneRepository;
+
+    /**
+     * The repository of archived tasks.
+     */
+    private final ArchivedTaskRepository archiveRepository;
+
+    /**
+     * The entity manager, used for batch inserts and to detach streamed
+     * rows.
+     */
+    private final EntityManager entityManager;
+
+    /**
+     * Constructs a new JpaTaskStore.
+     *
+     * @param taskRepository      The task repository.
+     * @param tombstoneRepository The tombstone repository.
+     * @param archiveRepository   The archived task repository.
+     * @param entityManager       The entity manager.
+     */
+    public JpaTaskStore(
+            final TaskRepository taskRepository,
+            final TaskTombstoneRepository tombstoneRepository,
+            final ArchivedTaskRepository archiveRepository,
+            final EntityManager entityManager) {
+        this.taskRepository = taskRepository;
+        this.tombstoneRepository = tombstoneRepository;
+        this.archiveRepository = archiveRepository;
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public Task save(final Task task) {
+        return this.taskRepository.save(task);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>IDs are generated in memory, so Hibernate can group the inserts
+     * into JDBC batches. The persistence context is flushed and cleared
+     * periodically to keep large batches from accumulating entities.</p>
+     */
+    @Override
+    public void insertAll(final List<Task> tasks) {
+        for (int i = 0; i < tasks.size(); i++) {
+            this.taskRepository.save(tasks.get(i));
+            if ((i + 1) % BATCH_FLUSH_INTERVAL == 0) {
+                this.entityManager.flush();
+                this.entityManager.clear();
+            }
+        }
+    }
+
+    @Override
+    public void flush() {
+        this.taskRepository.flush();
+    }
+
+    @Override
+    public Optional<Task> findById(final UUID id) {
+        return this.taskRepository.findById(id);
+    }
+
+    @Override
+    public boolean existsById(final UUID id) {
+        return this.taskRepository.existsById(id);
+    }
+
+    @Override
+    public Optional<Long> findVersionById(final UUID id) {
+        return this.taskRepository.findVersionById(id);
+    }
+
+    @Override
+    public List<TaskView> findAllViews() {
+        return this.taskRepository.findAllViews();
+    }
+
+    @Override
+    public List<TaskView> findViewsByIdIn(final Collection<UUID> ids) {
+        return this.taskRepository.findViewsByIdIn(ids);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>Reads through a forward-only cursor and detaches each task once
+     * the sink has consumed it, so the persistence context stays empty and
+     * heap use does not grow with the number of rows. Must run inside a
+     * transaction.</p>
+     */
+    @Override
+    public long forEachTask(final Consumer<Task> sink) {
+        long count = 0;
+        try (Stream<Task> tasks = this.taskRepository.streamAll()) {
+            for (Task task : (Iterable<Task>) tasks::iterator) {
+                sink.accept(task);
+                this.entityManager.detach(task);
+                count++;
+            }
+        }
+        return count;
+    }
+
+    @Override
+    public List<TaskView> findPage(
+            final TaskFilter filter, final TaskCursor after, final int limit) {
+        return this.taskRepository.findPage(filter, after, limit);
+    }
+
+    @Override
+    public List<Map<String, Object>> findPageFields(
+            final TaskFilter filter,
+            final TaskCursor after,
+            final int limit,
+            final Set<TaskField> fields) {
+
+        List<Tuple> tuples = this.taskRepository.findPageFields(filter, after, limit, fields);
+        List<Map<String, Object>> rows = new ArrayList<>(tuples.size());
+        for (Tuple tuple : tuples) {
+            Map<String, Object> row = new LinkedHashMap<>();
+            for (TupleElement<?> element : tuple.getElements()) {
+                row.put(element.getAlias(), tuple.get(element));
+            }
+            rows.add(row);
+        }
+        return rows;
+    }
+
+    @Override
+    public long count(final TaskFilter filter) {
+        return this.taskRepository.countMatching(filter);
+    }
+
+    @Override
+    public List<TaskView> findChangedAfter(
+            final TaskCursor after, final Instant horizon, final int limit) {
+        return this.taskRepository.findChangedAfter(
+                after.timestamp(), after.id(), horizon, Limit.of(limit));
+    }
+
+    @Override
+    public int markCompleted(final UUID id, final Instant now) {
+        return this.taskRepository.markCompleted(id, now);
+    }
+
+    @Override
+    public int completeAllByIdIn(final Collection<UUID> ids, final Instant now) {
+        return this.taskRepository.completeAllByIdIn(ids, now);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>Reads the IDs of the batch from the {@code createdAt} index and
+     * completes them with one UPDATE by ID, in the caller's transaction.
+     * A task completed meanwhile is skipped by the UPDATE and not
+     * counted.</p>
+     */
+    @Override
+    public Batch completePendingCreatedBefore(
+            final Instant before, final TaskCursor after, final int limit, final Instant now) {
+        TaskCursor from = after == null ? KEYSET_START : after;
+        List<TaskCursor> pending = this.taskRepository.findPendingCreatedBefore(
+                before, from.timestamp(), from.id(), Limit.of(limit));
+        if (pending.isEmpty()) {
+            return new Batch(0, null);
+        }
+        List<UUID> ids = new ArrayList<>(pending.size());
+        for (TaskCursor task : pending) {
+            ids.add(task.id());
+        }
+        int completed = this.taskRepository.completeAllByIdIn(ids, now);
+        return new Batch(completed, pending.size() < limit ? null : pending.get(pending.size() - 1));
+    }
+
+    @Override
+    public int removeById(final UUID id, final Instant now) {
+        int removed = this.taskRepository.removeById(id);
+        if (removed > 0) {
+            this.entityManager.persist(new TaskTombstone(id, now));
+        }
+        return removed;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>Locks the batch, records its tombstones and deletes it by ID, in
+     * the caller's transaction. A task cannot be reopened between its
+     * tombstone and its delete, and a task reopened before the lock is
+     * neither deleted nor tombstoned.</p>
+     */
+    @Override
+    public Batch deleteCompletedUpdatedBefore(
+            final Instant before, final TaskCursor after, final int limit, final Instant now) {
+        TaskCursor from = after == null ? KEYSET_START : after;
+        List<Task> locked = this.taskRepository.lockCompletedUpdatedBefore(
+                before, from.timestamp(), from.id(), Limit.of(limit));
+        if (locked.isEmpty()) {
+            return new Batch(0, null);
+        }
+        List<UUID> ids = new ArrayList<>(locked.size());
+        for (Task task : locked) {
+            ids.add(task.getId());
+        }
+        this.tombstoneRepository.recordByIdIn(ids, now);
+        int deleted = this.taskRepository.deleteByIdIn(ids);
+        if (locked.size() < limit) {
+            return new Batch(deleted, null);
+        }
+        Task last = locked.get(locked.size() - 1);
+        return new Batch(deleted, new TaskCursor(last.getUpdatedAt(), last.getId()));
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>Locks the batch first, so a task cannot be reopened or edited
+     * between its copy and its delete, then copies it, records its
+     * tombstone and deletes it, in the caller's transaction. The locks
+     * are held only for that transaction, so batches should be small.</p>
+     */
+    @Override
+    public List<TaskView> archiveCompletedUpdatedBefore(
+            final Instant before, final TaskCursor after, final int limit, final Instant now) {
+        TaskCursor from = after == null ? KEYSET_START : after;
+        List<Task> locked = this.taskRepository.lockCompletedUpdatedBefore(
+                before, from.timestamp(), from.id(), Limit.of(limit));
+        if (locked.isEmpty()) {
+            return List.of();
+        }
+        List<TaskView> archived = new ArrayList<>(locked.size());
+        List<UUID> ids = new ArrayList<>(locked.size());
+        for (Task task : locked) {
+            archived.add(TaskView.of(task));
+            ids.add(task.getId());
+        }
+        this.archiveRepository.copyFromTasks(ids, now);
+        this.tombstoneRepository.recordByIdIn(ids, now);
+        this.taskRepository.deleteByIdIn(ids);
+        return archived;
+    }
+
+    @Override
+    public Optional<TaskView> findArchivedById(final UUID id) {
+        return this.archiveRepository.findViewById(id);
+    }
+
+    @Override
+    public List<TaskView> findArchivedPage(final TaskCursor after, final int limit) {
+        TaskCursor from = after == null ? KEYSET_START : after;
+        return this.archiveRepository.findPageAfter(from.timestamp(), from.id(), Limit.of(limit));
+    }
+
+    @Override
+    public List<TaskTombstone> findDeletedAfter(
+            final TaskCursor after, final Instant horizon, final int limit) {
+        return this.tombstoneRepository.findDeletedAfter(
+                after.timestamp(), after.id(), horizon, Limit.of(limit));
+    }
+
+    @Override
+    public int purgeTombstonesBefore(final Instant before) {
+        return this.tombstoneRepository.purgeDeletedBefore(before);
+    }
+}
@@ -0,0 +1,717 @@
+package com.codes.tasktracker.demo.repository;
+
+import com.codes.tasktracker.demo.dto.TaskCursor;
+import com.codes.tasktracker.demo.dto.TaskView;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * Append-only log of the changes of an {@link InMemoryTaskStore}, in
+ * memory-mapped segment files, with snapshots.
+ *
+ * <p>Each record is {@code [length][CRC-32C][payload]}; the payload holds
+ * the whole new row, a delete or a tombstone purge, so replaying a record
+ * twice gives the same state. The unused tail of a segment is zero, which
+ * reads as the end of the segment. On recovery a record with a bad
+ * checksum, left by a crash in the middle of a write, ends its segment.</p>
+ *
+ * <p>Writers append under one lock, into the mapped segment. Making the
+ * records durable is grouped: {@link #sync()} forces the segment once for
+ * every record appended so far, and callers arriving while a force is in
+ * progress wait for the next one to cover theirs.</p>
+ *
+ * <p>A snapshot {@code snapshot-N.snap} holds every row and tombstone as of
+ * the start of segment {@code N}: recovery loads the newest snapshot and
+ * replays segments from {@code N} on. Segments and snapshots older than
+ * the newest snapshot are deleted once it is written. A snapshot is a
+ * sequence of {@code [length][records]} blocks, so recovery reads and
+ * decodes its blocks in parallel and only applies them to the store in
+ * order.</p>
+ */
+final class TaskJournal implements InMemoryTaskStore.ChangeLog {
+
+    private static final byte WRITTEN = 1;
+
+    private static final byte REMOVED = 2;
+
+    private static final byte PURGED = 3;
+
+    /**
+     * Last record of a snapshot, with the number of rows.
+     */
+    private static final byte END = 4;
+
+    /**
+     * Length and checksum before each payload.
+     */
+    private static final int HEADER = 8;
+
+    private static final String SEGMENT_PREFIX = "journal-";
+
+    private static final String SEGMENT_SUFFIX = ".log";
+
+    private static final String SNAPSHOT_PREFIX = "snapshot-";
+
+    private static final String SNAPSHOT_SUFFIX = ".snap";
+
+    private static final String TEMP_SUFFIX = ".tmp";
+
+    /**
+     * Size of the blocks a snapshot is written in, each read and decoded
+     * on its own during recovery.
+     */
+    private static final int SNAPSHOT_BLOCK = 1 << 20;
+
+    private final Path directory;
+
+    private final int segmentSize;
+
+    /**
+     * Guards the current segment.
+     */
+    private final ReentrantLock appendLock = new ReentrantLock();
+
+    /**
+     * Held while forcing, so one force serves every waiting writer.
+     */
+    private final ReentrantLock syncLock = new ReentrantLock();
+
+    /**
+     * The segment being appended to, or null when closed.
+     */
+    private MappedByteBuffer segment;
+
+    private long segmentNumber;
+
+    /**
+     * Bytes appended since the journal was opened.
+     */
+    private volatile long appended;
+
+    /**
+     * Bytes known to be on disk.
+     */
+    private volatile long durable;
+
+    /**
+     * Records appended or replayed since the last snapshot.
+     */
+    private volatile long recordsSinceSnapshot;
+
+    /**
+     * Constructs a new TaskJournal. Nothing is read or written until
+     * {@link #recover(InMemoryTaskStore)}.
+     *
+     * @param directory   Where segments and snapshots are kept.
+     * @param segmentSize The size of each segment, in bytes.
+     */
+    TaskJournal(final Path directory, final int segmentSize) {
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+    }
+
+    /**
+     * Loads the newest snapshot and the segments after it into a store,
+     * then opens a new segment for appending.
+     *
+     * @param store The empty store to fill.
+     * @throws IOException If the directory cannot be read or a snapshot is
+     *                     damaged.
+     */
+    void recover(final InMemoryTaskStore store) throws IOException {
+        Files.createDirectories(this.directory);
+        for (Path temp : list(SNAPSHOT_PREFIX, TEMP_SUFFIX)) {
+            Files.delete(temp);
+        }
+        List<Path> snapshots = list(SNAPSHOT_PREFIX, SNAPSHOT_SUFFIX);
+        long first = 0;
+        if (!snapshots.isEmpty()) {
+            Path snapshot = snapshots.get(snapshots.size() - 1);
+            first = number(snapshot, SNAPSHOT_PREFIX, SNAPSHOT_SUFFIX);
+            readSnapshot(snapshot, store);
+        }
+        long next = first;
+        long records = 0;
+        for (Path path : list(SEGMENT_PREFIX, SEGMENT_SUFFIX)) {
+            long number = number(path, SEGMENT_PREFIX, SEGMENT_SUFFIX);
+            if (number < first) {
+                Files.delete(path);
+                continue;
+            }
+            records += replay(path, store);
+            next = number + 1;
+        }
+        store.indexReplayed();
+        this.appendLock.lock();
+        try {
+            this.recordsSinceSnapshot = records;
+            openSegment(next, 0);
+        } finally {
+            this.appendLock.unlock();
+        }
+    }
+
+    @Override
+    public void written(final TaskView row) {
+        append(encodeWritten(row));
+    }
+
+    @Override
+    public void removed(final UUID id, final Instant at) {
+        append(encodeRemoved(id, at));
+    }
+
+    @Override
+    public void purged(final Instant before) {
+        ByteBuffer record = allocate(12);
+        record.put(PURGED);
+        putInstant(record, before);
+        append(seal(record));
+    }
+
+    @Override
+    public void sync() {
+        long target = this.appended;
+        if (this.durable >= target) {
+            return;
+        }
+        this.syncLock.lock();
+        try {
+            if (this.durable >= target) {
+                return;
+            }
+            MappedByteBuffer current;
+            long upTo;
+            this.appendLock.lock();
+            try {
+                current = openSegment();
+                upTo = this.appended;
+            } finally {
+                this.appendLock.unlock();
+            }
+            // Earlier segments were forced when they were rolled.
+            current.force();
+            this.durable = upTo;
+        } finally {
+            this.syncLock.unlock();
+        }
+    }
+
+    /**
+     * Returns the number of records a recovery would replay after the
+     * newest snapshot.
+     *
+     * @return The record count.
+     */
+    long recordsSinceSnapshot() {
+        return this.recordsSinceSnapshot;
+    }
+
+    /**
+     * Closes the current segment and starts the next, which begins the
+     * changes a snapshot taken now must not include. The caller must make
+     * sure no change is half applied.
+     *
+     * @return The number of the new segment.
+     */
+    long roll() {
+        this.appendLock.lock();
+        try {
+            openSegment().force();
+            openSegment(this.segmentNumber + 1, 0);
+            this.recordsSinceSnapshot = 0;
+            return this.segmentNumber;
+        } finally {
+            this.appendLock.unlock();
+        }
+    }
+
+    /**
+     * Writes a snapshot of the state at the start of a segment, then
+     * deletes the snapshots and segments it replaces. The store may keep
+     * changing while it is written: every later change is also in the
+     * segment, and replaying it fixes the snapshot. Rows are written in
+     * creation order, so loading them needs little sorting.
+     *
+     * @param first The segment returned by {@link #roll()}.
+     * @param store The store.
+     * @throws IOException If the snapshot cannot be written.
+     */
+    void writeSnapshot(final long first, final InMemoryTaskStore store) throws IOException {
+        Path temp = this.directory.resolve(SNAPSHOT_PREFIX + name(first) + TEMP_SUFFIX);
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            DataOutputStream out = new DataOutputStream(
+                    new BufferedOutputStream(Channels.newOutputStream(channel)));
+            ByteBuffer block = ByteBuffer.allocate(SNAPSHOT_BLOCK);
+            long[] count = new long[1];
+            try {
+                store.forEachRowByCreation(row -> {
+                    try {
+                        write(out, block, encodeWritten(row));
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                    count[0]++;
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            for (TaskCursor tombstone : store.tombstones()) {
+                write(out, block, encodeRemoved(tombstone.id(), tombstone.timestamp()));
+            }
+            ByteBuffer end = allocate(8);
+            end.put(END);
+            end.putLong(count[0]);
+            write(out, block, seal(end));
+            writeBlock(out, block);
+            out.flush();
+            channel.force(true);
+        }
+        Files.move(temp, this.directory.resolve(SNAPSHOT_PREFIX + name(first) + SNAPSHOT_SUFFIX),
+                StandardCopyOption.ATOMIC_MOVE);
+        syncDirectory();
+
+        for (Path snapshot : list(SNAPSHOT_PREFIX, SNAPSHOT_SUFFIX)) {
+            if (number(snapshot, SNAPSHOT_PREFIX, SNAPSHOT_SUFFIX) < first) {
+                Files.delete(snapshot);
+            }
+        }
+        for (Path path : list(SEGMENT_PREFIX, SEGMENT_SUFFIX)) {
+            if (number(path, SEGMENT_PREFIX, SEGMENT_SUFFIX) < first) {
+                Files.delete(path);
+            }
+        }
+    }
+
+    /**
+     * Forces the current segment and stops accepting records.
+     */
+    void close() {
+        this.appendLock.lock();
+        try {
+            if (this.segment != null) {
+                this.segment.force();
+                this.segment = null;
+            }
+        } finally {
+            this.appendLock.unlock();
+        }
+    }
+
+    private void append(final ByteBuffer record) {
+        this.appendLock.lock();
+        try {
+            MappedByteBuffer current = openSegment();
+            if (current.remaining() < record.remaining()) {
+                current.force();
+                current = openSegment(this.segmentNumber + 1, record.remaining());
+            }
+            current.put(record);
+            this.appended += record.limit();
+            this.recordsSinceSnapshot++;
+        } finally {
+            this.appendLock.unlock();
+        }
+    }
+
+    private MappedByteBuffer openSegment() {
+        if (this.segment == null) {
+            throw new IllegalStateException("El diario de tareas está cerrado");
+        }
+        return this.segment;
+    }
+
+    /**
+     * Creates and maps a new segment; it is zero-filled, which reads as
+     * empty.
+     *
+     * @param number  The number of the segment.
+     * @param minSize The size of the record that must fit, or 0.
+     */
+    private MappedByteBuffer openSegment(final long number, final int minSize) {
+        Path path = this.directory.resolve(SEGMENT_PREFIX + name(number) + SEGMENT_SUFFIX);
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE_NEW,
+                StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            this.segment = channel.map(FileChannel.MapMode.READ_WRITE, 0,
+                    Math.max(this.segmentSize, minSize));
+            this.segmentNumber = number;
+            syncDirectory();
+            return this.segment;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Loads a snapshot into a store. Its blocks are read and decoded in
+     * parallel, then applied in file order.
+     */
+    private static void readSnapshot(final Path path, final InMemoryTaskStore store) throws IOException {
+        List<SnapshotBlock> blocks;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            List<Long> offsets = blockOffsets(channel, path);
+            try {
+                blocks = IntStream.range(0, offsets.size())
+                        .parallel()
+                        .mapToObj(i -> {
+                            try {
+                                return readBlock(channel, offsets.get(i), path);
+                            } catch (IOException e) {
+                                throw new UncheckedIOException(e);
+                            }
+                        })
+                        .toList();
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+        }
+        for (SnapshotBlock block : blocks) {
+            for (TaskView row : block.rows()) {
+                store.replayWritten(row);
+            }
+            for (TaskCursor tombstone : block.tombstones()) {
+                store.replayRemoved(tombstone.id(), tombstone.timestamp());
+            }
+            if (block.end()) {
+                return;
+            }
+        }
+        throw new IOException("Instantánea incompleta: " + path);
+    }
+
+    /**
+     * Walks the block headers of a snapshot.
+     *
+     * @return The offset of every block, in file order.
+     */
+    private static List<Long> blockOffsets(final FileChannel channel, final Path path) throws IOException {
+        List<Long> offsets = new ArrayList<>();
+        ByteBuffer header = ByteBuffer.allocate(4);
+        long size = channel.size();
+        long position = 0;
+        while (position < size) {
+            header.clear();
+            readFully(channel, header, position, path);
+            int length = header.getInt(0);
+            if (length <= 0 || length > size - position - 4) {
+                throw new IOException("Instantánea incompleta: " + path);
+            }
+            offsets.add(position);
+            position += 4 + length;
+        }
+        return offsets;
+    }
+
+    /**
+     * Reads and decodes one block of a snapshot.
+     */
+    private static SnapshotBlock readBlock(
+            final FileChannel channel,
+            final long offset,
+            final Path path) throws IOException {
+
+        ByteBuffer header = ByteBuffer.allocate(4);
+        readFully(channel, header, offset, path);
+        ByteBuffer block = ByteBuffer.allocate(header.getInt(0));
+        readFully(channel, block, offset + 4, path);
+        block.flip();
+        List<TaskView> rows = new ArrayList<>();
+        List<TaskCursor> tombstones = new ArrayList<>();
+        while (block.hasRemaining()) {
+            if (block.remaining() < HEADER) {
+                throw new IOException("Instantánea incompleta: " + path);
+            }
+            int length = block.getInt();
+            int checksum = block.getInt();
+            if (length <= 0 || length > block.remaining()) {
+                throw new IOException("Instantánea incompleta: " + path);
+            }
+            ByteBuffer record = block.slice(block.position(), length);
+            if (checksum(record) != checksum) {
+                throw new IOException("Instantánea dañada: " + path);
+            }
+            block.position(block.position() + length);
+            byte type = record.get();
+            switch (type) {
+                case WRITTEN -> rows.add(getWritten(record));
+                case REMOVED -> {
+                    UUID id = getUuid(record);
+                    tombstones.add(new TaskCursor(getInstant(record), id));
+                }
+                case END -> {
+                    return new SnapshotBlock(rows, tombstones, true);
+                }
+                default -> throw new IOException("Registro desconocido en la instantánea: " + type);
+            }
+        }
+        return new SnapshotBlock(rows, tombstones, false);
+    }
+
+    private static void readFully(
+            final FileChannel channel,
+            final ByteBuffer buffer,
+            final long position,
+            final Path path) throws IOException {
+
+        long at = position;
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, at);
+            if (read < 0) {
+                throw new IOException("Instantánea incompleta: " + path, new EOFException());
+            }
+            at += read;
+        }
+    }
+
+    /**
+     * Applies the records of a segment up to its end or its first damaged
+     * record.
+     *
+     * @return The number of records applied.
+     */
+    private static long replay(final Path path, final InMemoryTaskStore store) throws IOException {
+        ByteBuffer segment;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            segment = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        long count = 0;
+        while (segment.remaining() >= HEADER) {
+            int length = segment.getInt();
+            int checksum = segment.getInt();
+            if (length <= 0 || length > segment.remaining()) {
+                break;
+            }
+            ByteBuffer record = segment.slice(segment.position(), length);
+            if (checksum(record) != checksum) {
+                break;
+            }
+            segment.position(segment.position() + length);
+            apply(record, store);
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * Applies one record.
+     *
+     * @return False at the end of a snapshot.
+     */
+    private static boolean apply(final ByteBuffer record, final InMemoryTaskStore store) throws IOException {
+        byte type = record.get();
+        switch (type) {
+            case WRITTEN -> store.replayWritten(getWritten(record));
+            case REMOVED -> store.replayRemoved(getUuid(record), getInstant(record));
+            case PURGED -> store.replayPurged(getInstant(record));
+            case END -> {
+                return false;
+            }
+            default -> throw new IOException("Registro desconocido en el diario: " + type);
+        }
+        return true;
+    }
+
+    private static ByteBuffer encodeWritten(final TaskView row) {
+        byte[] description = row.description().getBytes(StandardCharsets.UTF_8);
+        ByteBuffer record = allocate(16 + 1 + 12 + 12 + 8 + 4 + description.length);
+        record.put(WRITTEN);
+        putUuid(record, row.id());
+        record.put((byte) (row.completed() ? 1 : 0));
+        putInstant(record, row.createdAt());
+        putInstant(record, row.updatedAt());
+        record.putLong(row.version());
+        record.putInt(description.length);
+        record.put(description);
+        return seal(record);
+    }
+
+    /**
+     * Decodes the row of a {@link #WRITTEN} record after its type. A
+     * task never updated shares one {@link Instant} for both timestamps,
+     * and a record backed by an array is decoded without copying the
+     * description, which keeps the garbage of a large recovery down.
+     */
+    private static TaskView getWritten(final ByteBuffer record) {
+        UUID id = getUuid(record);
+        boolean completed = record.get() != 0;
+        Instant createdAt = getInstant(record);
+        long seconds = record.getLong();
+        int nanos = record.getInt();
+        Instant updatedAt = seconds == createdAt.getEpochSecond() && nanos == createdAt.getNano()
+                ? createdAt
+                : Instant.ofEpochSecond(seconds, nanos);
+        long version = record.getLong();
+        int length = record.getInt();
+        String description;
+        if (record.hasArray()) {
+            description = new String(record.array(), record.arrayOffset() + record.position(),
+                    length, StandardCharsets.UTF_8);
+            record.position(record.position() + length);
+        } else {
+            byte[] bytes = new byte[length];
+            record.get(bytes);
+            description = new String(bytes, StandardCharsets.UTF_8);
+        }
+        return new TaskView(id, description, completed, createdAt, updatedAt, version);
+    }
+
+    private static ByteBuffer encodeRemoved(final UUID id, final Instant at) {
+        ByteBuffer record = allocate(16 + 12);
+        record.put(REMOVED);
+        putUuid(record, id);
+        putInstant(record, at);
+        return seal(record);
+    }
+
+    /**
+     * Allocates a record with room for the header, the type and a body.
+     */
+    private static ByteBuffer allocate(final int body) {
+        ByteBuffer record = ByteBuffer.allocate(HEADER + 1 + body);
+        record.position(HEADER);
+        return record;
+    }
+
+    /**
+     * Fills in the header of a record and flips it for writing.
+     */
+    private static ByteBuffer seal(final ByteBuffer record) {
+        int length = record.position() - HEADER;
+        record.putInt(0, length);
+        record.putInt(4, checksum(ByteBuffer.wrap(record.array(), HEADER, length)));
+        record.flip();
+        return record;
+    }
+
+    private static int checksum(final ByteBuffer payload) {
+        CRC32C crc = new CRC32C();
+        crc.update(payload.duplicate());
+        return (int) crc.getValue();
+    }
+
+    /**
+     * Adds a record to the current snapshot block, writing the block out
+     * first when the record does not fit. A record larger than a block
+     * gets a block of its own.
+     */
+    private static void write(
+            final DataOutputStream out,
+            final ByteBuffer block,
+            final ByteBuffer record) throws IOException {
+
+        if (record.remaining() > block.remaining()) {
+            writeBlock(out, block);
+        }
+        if (record.remaining() > block.capacity()) {
+            out.writeInt(record.remaining());
+            out.write(record.array(), 0, record.limit());
+            return;
+        }
+        block.put(record);
+    }
+
+    /**
+     * Writes out and empties the current snapshot block, if it holds
+     * anything.
+     */
+    private static void writeBlock(final DataOutputStream out, final ByteBuffer block) throws IOException {
+        if (block.position() == 0) {
+            return;
+        }
+        out.writeInt(block.position());
+        out.write(block.array(), 0, block.position());
+        block.clear();
+    }
+
+    private static void putUuid(final ByteBuffer buffer, final UUID id) {
+        buffer.putLong(id.getMostSignificantBits());
+        buffer.putLong(id.getLeastSignificantBits());
+    }
+
+    private static UUID getUuid(final ByteBuffer buffer) {
+        return new UUID(buffer.getLong(), buffer.getLong());
+    }
+
+    private static void putInstant(final ByteBuffer buffer, final Instant instant) {
+        buffer.putLong(instant.getEpochSecond());
+        buffer.putInt(instant.getNano());
+    }
+
+    private static Instant getInstant(final ByteBuffer buffer) {
+        return Instant.ofEpochSecond(buffer.getLong(), buffer.getInt());
+    }
+
+    /**
+     * Makes the creation, rename and deletion of files durable. Not every
+     * platform can force a directory; there the file system is trusted.
+     */
+    private void syncDirectory() {
+        try (FileChannel channel = FileChannel.open(this.directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException e) {
+            // Not supported here.
+        }
+    }
+
+    /**
+     * Lists the files with a prefix and suffix, in number order.
+     */
+    private List<Path> list(final String prefix, final String suffix) throws IOException {
+        try (Stream<Path> files = Files.list(this.directory)) {
+            return files
+                    .filter(path -> {
+                        String file = path.getFileName().toString();
+                        return file.startsWith(prefix) && file.endsWith(suffix);
+                    })
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    private static long number(final Path path, final String prefix, final String suffix) {
+        String file = path.getFileName().toString();
+        return Long.parseLong(file.substring(prefix.length(), file.length() - suffix.length()));
+    }
+
+    /**
+     * Formats a segment number so names sort in number order.
+     */
+    private static String name(final long number) {
+        return String.format("%020d", number);
+    }
+
+    /**
+     * The decoded contents of one snapshot block. Rows come before
+     * tombstones in a snapshot, so applying a block's rows and then its
+     * tombstones keeps the file order.
+     *
+     * @param rows       The rows, in file order.
+     * @param tombstones The tombstones, in file order.
+     * @param end        Whether the block holds the last record of the
+     *                   snapshot.
+     */
+    private record SnapshotBlock(List<TaskView> rows, List<TaskCursor> tombstones, boolean end) {
+    }
+}
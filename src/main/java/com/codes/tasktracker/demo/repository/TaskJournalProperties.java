@@ -0,0 +1,33 @@
+package com.codes.tasktracker.demo.repository;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+
+/**
+ * Configuration of the journal behind {@link JournalTaskStore}.
+ *
+ * @param directory        Where journal segments and snapshots are kept.
+ * @param segmentSize      The size of each memory-mapped journal segment.
+ * @param snapshotInterval The number of journal records after which a
+ *                         snapshot is taken and older segments deleted.
+ */
+@ConfigurationProperties(prefix = "tasktracker.journal")
+public record TaskJournalProperties(
+        @DefaultValue("data/journal") Path directory,
+        @DefaultValue("64MB") DataSize segmentSize,
+        @DefaultValue("1000000") long snapshotInterval
+) {
+
+    /**
+     * Returns the defaults used when nothing is configured.
+     *
+     * @return The default properties.
+     */
+    public static TaskJournalProperties defaults() {
+        return new TaskJournalProperties(Path.of("data/journal"),
+                DataSize.ofMegabytes(64), 1_000_000);
+    }
+}
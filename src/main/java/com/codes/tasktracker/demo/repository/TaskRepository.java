@@ -1,7 +1,194 @@
 package com.codes.tasktracker.demo.repository;
 
+import com.codes.tasktracker.demo.dto.TaskCursor;
+import com.codes.tasktracker.demo.dto.TaskView;
 import com.codes.tasktracker.demo.model.Task;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
+
+/**
+ * Repository for {@link Task} entities.
+ */
+public interface TaskRepository
+        extends JpaRepository<Task, UUID>, TaskRepositoryCustom {
+
+    /**
+     * Returns every task as a read-only projection.
+     *
+     * @return Projections of all tasks.
+     */
+    @Query("SELECT new com.codes.tasktracker.demo.dto.TaskView("
+            + "t.id, t.description, t.completed, t.createdAt, t.updatedAt, t.version)"
+            + " FROM Task t")
+    List<TaskView> findAllViews();
+
+    /**
+     * Projects the tasks with the given IDs, in no particular order.
+     *
+     * @param ids The IDs of the tasks.
+     * @return Projections of the tasks that exist.
+     */
+    @Query("SELECT new com.codes.tasktracker.demo.dto.TaskView("
+            + "t.id, t.description, t.completed, t.createdAt, t.updatedAt, t.version)"
+            + " FROM Task t WHERE t.id IN :ids")
+    List<TaskView> findViewsByIdIn(@Param("ids") Collection<UUID> ids);
+
+    /**
+     * Projects the tasks changed after a change-feed position, in
+     * {@code (updatedAt, id)} order. Served by the
+     * {@code (updated_at, id)} index.
+     *
+     * @param timestamp The timestamp of the position.
+     * @param id        The ID of the position.
+     * @param horizon   Exclusive upper bound on the update time.
+     * @param limit     The maximum number of tasks.
+     * @return Projections of the changed tasks.
+     */
+    @Query("SELECT new com.codes.tasktracker.demo.dto.TaskView("
+            + "t.id, t.description, t.completed, t.createdAt, t.updatedAt, t.version)"
+            + " FROM Task t"
+            + " WHERE t.updatedAt >= :timestamp AND t.updatedAt < :horizon"
+            + " AND (t.updatedAt > :timestamp OR t.id > :id)"
+            + " ORDER BY t.updatedAt, t.id")
+    List<TaskView> findChangedAfter(
+            @Param("timestamp") Instant timestamp,
+            @Param("id") UUID id,
+            @Param("horizon") Instant horizon,
+            Limit limit);
+
+    /**
+     * Returns the version of a task without loading it.
+     *
+     * @param id The ID of the task.
+     * @return The version, or empty if the task does not exist.
+     */
+    @Query("SELECT t.version FROM Task t WHERE t.id = :id")
+    Optional<Long> findVersionById(@Param("id") UUID id);
+
+    /**
+     * Streams every task through a forward-only cursor.
+     *
+     * <p>Rows are fetched from the driver in chunks of the configured fetch
+     * size and loaded read-only, so Hibernate keeps no dirty-checking
+     * snapshots. Must be consumed inside a transaction and closed.</p>
+     *
+     * @return A stream over all tasks.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")
+    })
+    @Query("SELECT t FROM Task t")
+    Stream<Task> streamAll();
+
+    /**
+     * Finds the next pending tasks created before the given instant,
+     * after a keyset position in {@code (createdAt, id)} order. Served by
+     * the {@code (completed, created_at, id)} index.
+     *
+     * @param before    Exclusive upper bound on the creation time.
+     * @param timestamp The timestamp of the position.
+     * @param id        The ID of the position.
+     * @param limit     The maximum number of tasks.
+     * @return The positions of the tasks, in keyset order.
+     */
+    @Query("SELECT new com.codes.tasktracker.demo.dto.TaskCursor(t.createdAt, t.id)"
+            + " FROM Task t"
+            + " WHERE t.completed = false AND t.createdAt < :before"
+            + " AND t.createdAt >= :timestamp"
+            + " AND (t.createdAt > :timestamp OR t.id > :id)"
+            + " ORDER BY t.createdAt, t.id")
+    List<TaskCursor> findPendingCreatedBefore(
+            @Param("before") Instant before,
+            @Param("timestamp") Instant timestamp,
+            @Param("id") UUID id,
+            Limit limit);
+
+    /**
+     * Completes the pending tasks among the given IDs.
+     *
+     * @param ids The IDs of the tasks to complete.
+     * @param now The timestamp written to {@code updatedAt}.
+     * @return The number of completed tasks.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Task t SET t.completed = true, t.updatedAt = :now,"
+            + " t.version = t.version + 1"
+            + " WHERE t.completed = false AND t.id IN :ids")
+    int completeAllByIdIn(
+            @Param("ids") Collection<UUID> ids,
+            @Param("now") Instant now);
+
+    /**
+     * Locks the next completed tasks last updated before the given
+     * instant, after a keyset position in {@code (updatedAt, id)} order,
+     * so they cannot change while they are archived or deleted. Served by the
+     * {@code (completed, updated_at, id)} index.
+     *
+     * @param before    Exclusive upper bound on the last update time.
+     * @param timestamp The timestamp of the position.
+     * @param id        The ID of the position.
+     * @param limit     The maximum number of tasks.
+     * @return The locked tasks.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT t FROM Task t"
+            + " WHERE t.completed = true AND t.updatedAt < :before"
+            + " AND t.updatedAt >= :timestamp"
+            + " AND (t.updatedAt > :timestamp OR t.id > :id)"
+            + " ORDER BY t.updatedAt, t.id")
+    List<Task> lockCompletedUpdatedBefore(
+            @Param("before") Instant before,
+            @Param("timestamp") Instant timestamp,
+            @Param("id") UUID id,
+            Limit limit);
+
+    /**
+     * Deletes the tasks with the given IDs.
+     *
+     * @param ids The IDs of the tasks.
+     * @return The number of deleted tasks.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM Task t WHERE t.id IN :ids")
+    int deleteByIdIn(@Param("ids") Collection<UUID> ids);
+
+    /**
+     * Completes a single pending task.
+     *
+     * @param id  The ID of the task.
+     * @param now The timestamp written to {@code updatedAt}.
+     * @return 1 if the task was pending, 0 if it is missing or already done.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Task t SET t.completed = true, t.updatedAt = :now,"
+            + " t.version = t.version + 1"
+            + " WHERE t.id = :id AND t.completed = false")
+    int markCompleted(@Param("id") UUID id, @Param("now") Instant now);
 
-public interface TaskRepository extends JpaRepository<Task, UUID> { }
+    /**
+     * Deletes a task without loading it first.
+     *
+     * @param id The ID of the task.
+     * @return 1 if the task existed, 0 otherwise.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM Task t WHERE t.id = :id")
+    int removeById(@Param("id") UUID id);
+}
@@ -0,0 +1,52 @@
+package com.codes.tasktracker.demo.repository;
+
+import com.codes.tasktracker.demo.dto.TaskCursor;
+import com.codes.tasktracker.demo.dto.TaskField;
+import com.codes.tasktracker.demo.dto.TaskFilter;
+import com.codes.tasktracker.demo.dto.TaskView;
+import jakarta.persistence.Tuple;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Criteria-based queries of {@link TaskRepository}.
+ */
+public interface TaskRepositoryCustom {
+
+    /**
+     * Returns the tasks matching a filter that follow a keyset position.
+     *
+     * @param filter The filter and ordering.
+     * @param after  The position of the last row already returned, or
+     *               null for the first page.
+     * @param limit  The maximum number of rows.
+     * @return Projections of the matching tasks in the filter's order.
+     */
+    List<TaskView> findPage(TaskFilter filter, TaskCursor after, int limit);
+
+    /**
+     * Like {@link #findPage}, but selects only the given columns.
+     *
+     * <p>The ID and the sort key are always selected, so the caller can
+     * build the next cursor. Tuple elements are aliased by attribute
+     * name.</p>
+     *
+     * @param filter The filter and ordering.
+     * @param after  The position of the last row already returned, or
+     *               null for the first page.
+     * @param limit  The maximum number of rows.
+     * @param fields The requested columns.
+     * @return The selected columns of the matching tasks.
+     */
+    List<Tuple> findPageFields(
+            TaskFilter filter, TaskCursor after, int limit, Set<TaskField> fields);
+
+    /**
+     * Counts the tasks matching a filter; its ordering is ignored.
+     *
+     * @param filter The filter.
+     * @return The number of matching tasks.
+     */
+    long countMatching(TaskFilter filter);
+}
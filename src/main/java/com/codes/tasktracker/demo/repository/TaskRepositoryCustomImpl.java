@@ -0,0 +1,202 @@
+package com.codes.tasktracker.demo.repository;
+
+import com.codes.tasktracker.demo.dto.TaskCursor;
+import com.codes.tasktracker.demo.dto.TaskField;
+import com.codes.tasktracker.demo.dto.TaskFilter;
+import com.codes.tasktracker.demo.dto.TaskSort;
+import com.codes.tasktracker.demo.dto.TaskView;
+import com.codes.tasktracker.demo.model.Task;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Criteria API implementation of {@link TaskRepositoryCustom}.
+ *
+ * <p>Filters translate to plain equality and range predicates, so a
+ * filter on {@code completed} plus a time range is served by a range scan
+ * on the matching composite index declared on {@link Task}. Results are
+ * projected straight into DTOs or tuples; no entities are loaded.</p>
+ */
+class TaskRepositoryCustomImpl implements TaskRepositoryCustom {
+
+    /**
+     * The entity manager.
+     */
+    private final EntityManager entityManager;
+
+    /**
+     * Constructs a new TaskRepositoryCustomImpl.
+     *
+     * @param entityManager The entity manager.
+     */
+    TaskRepositoryCustomImpl(final EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public List<TaskView> findPage(
+            final TaskFilter filter,
+            final TaskCursor after,
+            final int limit) {
+
+        CriteriaBuilder cb = this.entityManager.getCriteriaBuilder();
+        CriteriaQuery<TaskView> query = cb.createQuery(TaskView.class);
+        Root<Task> task = query.from(Task.class);
+
+        query.select(cb.construct(TaskView.class,
+                task.get("id"), task.get("description"), task.get("completed"),
+                task.get("createdAt"), task.get("updatedAt"), task.get("version")));
+        return page(query, task, filter, after, limit);
+    }
+
+    @Override
+    public List<Tuple> findPageFields(
+            final TaskFilter filter,
+            final TaskCursor after,
+            final int limit,
+            final Set<TaskField> fields) {
+
+        CriteriaBuilder cb = this.entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Task> task = query.from(Task.class);
+
+        Set<TaskField> columns = EnumSet.copyOf(fields);
+        columns.add(TaskField.ID);
+        columns.add(filter.sort().field());
+        List<Selection<?>> selections = new ArrayList<>();
+        for (TaskField column : columns) {
+            selections.add(task.get(column.attribute()).alias(column.attribute()));
+        }
+        query.multiselect(selections);
+        return page(query, task, filter, after, limit);
+    }
+
+    @Override
+    public long countMatching(final TaskFilter filter) {
+        CriteriaBuilder cb = this.entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<Task> task = query.from(Task.class);
+
+        query.select(cb.count(task))
+                .where(filters(cb, task, filter).toArray(Predicate[]::new));
+        return this.entityManager.createQuery(query).getSingleResult();
+    }
+
+    /**
+     * Applies the filter, keyset position, ordering and limit to a query.
+     *
+     * @param <T>    The result type.
+     * @param query  The query with its selection set.
+     * @param task   The query root.
+     * @param filter The filter and ordering.
+     * @param after  The keyset position, or null.
+     * @param limit  The maximum number of rows.
+     * @return The results.
+     */
+    private <T> List<T> page(
+            final CriteriaQuery<T> query,
+            final Root<Task> task,
+            final TaskFilter filter,
+            final TaskCursor after,
+            final int limit) {
+
+        CriteriaBuilder cb = this.entityManager.getCriteriaBuilder();
+        TaskSort sort = filter.sort();
+        Path<Instant> key = task.get(sort.attribute());
+        Path<UUID> id = task.get("id");
+
+        List<Predicate> where = filters(cb, task, filter);
+        if (after != null) {
+            where.add(seek(cb, key, id, after, sort.ascending()));
+        }
+
+        query.where(where.toArray(Predicate[]::new))
+                .orderBy(sort.ascending()
+                        ? List.of(cb.asc(key), cb.asc(id))
+                        : List.of(cb.desc(key), cb.desc(id)));
+
+        return this.entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    /**
+     * Builds the predicates of a filter.
+     *
+     * @param cb     The criteria builder.
+     * @param task   The query root.
+     * @param filter The filter.
+     * @return A mutable list of predicates.
+     */
+    static List<Predicate> filters(
+            final CriteriaBuilder cb,
+            final Root<Task> task,
+            final TaskFilter filter) {
+
+        List<Predicate> where = new ArrayList<>();
+        if (filter.completed() != null) {
+            where.add(cb.equal(task.get("completed"), filter.completed()));
+        }
+        Path<Instant> createdAt = task.get("createdAt");
+        if (filter.createdFrom() != null) {
+            where.add(cb.greaterThanOrEqualTo(createdAt, filter.createdFrom()));
+        }
+        if (filter.createdTo() != null) {
+            where.add(cb.lessThan(createdAt, filter.createdTo()));
+        }
+        Path<Instant> updatedAt = task.get("updatedAt");
+        if (filter.updatedFrom() != null) {
+            where.add(cb.greaterThanOrEqualTo(updatedAt, filter.updatedFrom()));
+        }
+        if (filter.updatedTo() != null) {
+            where.add(cb.lessThan(updatedAt, filter.updatedTo()));
+        }
+        return where;
+    }
+
+    /**
+     * Builds the keyset predicate positioning a query after a cursor.
+     *
+     * <p>The redundant bound on the sort key lets the database start an
+     * index range scan at the cursor instead of evaluating the OR for
+     * every row, so deep pages cost the same as the first one.</p>
+     *
+     * @param cb        The criteria builder.
+     * @param key       The sort key.
+     * @param id        The ID tie-breaker.
+     * @param after     The cursor.
+     * @param ascending Whether the ordering is ascending.
+     * @return The keyset predicate.
+     */
+    static Predicate seek(
+            final CriteriaBuilder cb,
+            final Path<Instant> key,
+            final Path<UUID> id,
+            final TaskCursor after,
+            final boolean ascending) {
+
+        if (ascending) {
+            return cb.and(
+                    cb.greaterThanOrEqualTo(key, after.timestamp()),
+                    cb.or(cb.greaterThan(key, after.timestamp()),
+                            cb.greaterThan(id, after.id())));
+        }
+        return cb.and(
+                cb.lessThanOrEqualTo(key, after.timestamp()),
+                cb.or(cb.lessThan(key, after.timestamp()),
+                        cb.lessThan(id, after.id())));
+    }
+}
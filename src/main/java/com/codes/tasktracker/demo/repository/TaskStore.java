@@ -0,0 +1,280 @@
+package com.codes.tasktracker.demo.repository;
+
+import com.codes.tasktracker.demo.dto.TaskCursor;
+import com.codes.tasktracker.demo.dto.TaskField;
+import com.codes.tasktracker.demo.dto.TaskFilter;
+import com.codes.tasktracker.demo.dto.TaskView;
+import com.codes.tasktracker.demo.model.Task;
+import com.codes.tasktracker.demo.model.TaskTombstone;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * Storage engine behind {@code TaskService}.
+ *
+ * <p>{@link JpaTaskStore} keeps tasks in the database and is the default.
+ * {@link InMemoryTaskStore}, enabled by the {@code memory} profile, keeps
+ * them in process for edge deployments and tests.
+ * {@link JournalTaskStore}, enabled by the {@code journal} profile, keeps
+ * them in process too and journals every change to disk.</p>
+ *
+ * <p>Completed tasks that are no longer read can be moved to an archive,
+ * where they stay readable by ID and in {@code (updatedAt, id)} order but
+ * no longer weigh on the queries over live tasks.</p>
+ *
+ * <p>Keyset queries order by {@code (timestamp, id)} and take the position
+ * of the last row already returned, exclusive.</p>
+ */
+public interface TaskStore {
+
+    /**
+     * Inserts a new task or writes the changes made to a loaded one.
+     *
+     * @param task The task.
+     * @return The stored task, which callers should use from then on.
+     * @throws org.springframework.dao.OptimisticLockingFailureException If
+     *         the task changed since it was loaded; may be raised on
+     *         {@link #flush()} or at commit instead.
+     */
+    Task save(Task task);
+
+    /**
+     * Tells whether writes take effect as they are made, so a rollback of
+     * the caller's transaction does not undo them.
+     *
+     * @return True for stores without transactions of their own.
+     */
+    default boolean appliesWritesImmediately() {
+        return false;
+    }
+
+    /**
+     * Inserts many new tasks.
+     *
+     * @param tasks The new tasks; their IDs are assigned in place.
+     */
+    void insertAll(List<Task> tasks);
+
+    /**
+     * Writes pending changes now, so conflicts surface before commit.
+     */
+    void flush();
+
+    /**
+     * Loads a task for reading or updating.
+     *
+     * @param id The ID of the task.
+     * @return The task, or empty if it does not exist.
+     */
+    Optional<Task> findById(UUID id);
+
+    /**
+     * Checks whether a task exists.
+     *
+     * @param id The ID of the task.
+     * @return True if the task exists.
+     */
+    boolean existsById(UUID id);
+
+    /**
+     * Returns the version of a task without loading it.
+     *
+     * @param id The ID of the task.
+     * @return The version, or empty if the task does not exist.
+     */
+    Optional<Long> findVersionById(UUID id);
+
+    /**
+     * Returns every task as a read-only projection.
+     *
+     * @return Projections of all tasks.
+     */
+    List<TaskView> findAllViews();
+
+    /**
+     * Projects the tasks with the given IDs, in no particular order.
+     *
+     * @param ids The IDs of the tasks.
+     * @return Projections of the tasks that exist.
+     */
+    List<TaskView> findViewsByIdIn(Collection<UUID> ids);
+
+    /**
+     * Feeds every task to a sink without holding them all in memory.
+     *
+     * @param sink The consumer receiving each task.
+     * @return The number of tasks fed.
+     */
+    long forEachTask(Consumer<Task> sink);
+
+    /**
+     * Returns the tasks matching a filter that follow a keyset position.
+     *
+     * @param filter The filter and ordering.
+     * @param after  The position of the last row already returned, or
+     *               null for the first page.
+     * @param limit  The maximum number of rows.
+     * @return Projections of the matching tasks in the filter's order.
+     */
+    List<TaskView> findPage(TaskFilter filter, TaskCursor after, int limit);
+
+    /**
+     * Like {@link #findPage}, but returns only the given fields, keyed by
+     * attribute name. The ID and the sort key are always included.
+     *
+     * @param filter The filter and ordering.
+     * @param after  The position of the last row already returned, or
+     *               null for the first page.
+     * @param limit  The maximum number of rows.
+     * @param fields The requested fields.
+     * @return The selected fields of the matching tasks.
+     */
+    List<Map<String, Object>> findPageFields(
+            TaskFilter filter, TaskCursor after, int limit, Set<TaskField> fields);
+
+    /**
+     * Counts the tasks matching a filter; its ordering is ignored.
+     *
+     * @param filter The filter.
+     * @return The number of matching tasks.
+     */
+    long count(TaskFilter filter);
+
+    /**
+     * Projects the tasks changed after a change-feed position, in
+     * {@code (updatedAt, id)} order.
+     *
+     * @param after   The position.
+     * @param horizon Exclusive upper bound on the update time.
+     * @param limit   The maximum number of tasks.
+     * @return Projections of the changed tasks.
+     */
+    List<TaskView> findChangedAfter(TaskCursor after, Instant horizon, int limit);
+
+    /**
+     * Completes a single pending task.
+     *
+     * @param id  The ID of the task.
+     * @param now The timestamp written to {@code updatedAt}.
+     * @return 1 if the task was pending, 0 if it is missing or already done.
+     */
+    int markCompleted(UUID id, Instant now);
+
+    /**
+     * Completes the pending tasks among the given IDs.
+     *
+     * @param ids The IDs of the tasks to complete.
+     * @param now The timestamp written to {@code updatedAt}.
+     * @return The number of completed tasks.
+     */
+    int completeAllByIdIn(Collection<UUID> ids, Instant now);
+
+    /**
+     * Completes the next pending tasks created before the given instant,
+     * in {@code (createdAt, id)} order.
+     *
+     * @param before Exclusive upper bound on the creation time.
+     * @param after  The position of the last task visited by the
+     *               previous batch, or null to start from the oldest.
+     * @param limit  The maximum number of tasks to visit.
+     * @param now    The timestamp written to {@code updatedAt}.
+     * @return The number of completed tasks and where the next batch
+     *         starts.
+     */
+    Batch completePendingCreatedBefore(Instant before, TaskCursor after, int limit, Instant now);
+
+    /**
+     * Deletes a task and leaves a tombstone for the change feed.
+     *
+     * @param id  The ID of the task.
+     * @param now The timestamp of the tombstone.
+     * @return 1 if the task existed, 0 otherwise.
+     */
+    int removeById(UUID id, Instant now);
+
+    /**
+     * Deletes the next completed tasks last updated before the given
+     * instant, in {@code (updatedAt, id)} order, leaving a tombstone for
+     * each one.
+     *
+     * @param before Exclusive upper bound on the last update time.
+     * @param after  The position of the last task visited by the
+     *               previous batch, or null to start from the oldest.
+     * @param limit  The maximum number of tasks to visit.
+     * @param now    The timestamp of the tombstones.
+     * @return The number of deleted tasks and where the next batch
+     *         starts.
+     */
+    Batch deleteCompletedUpdatedBefore(Instant before, TaskCursor after, int limit, Instant now);
+
+    /**
+     * Moves the next completed tasks last updated before the given
+     * instant to the archive, in {@code (updatedAt, id)} order, leaving a
+     * tombstone for each one.
+     *
+     * @param before Exclusive upper bound on the last update time.
+     * @param after  The position of the last task already archived by
+     *               this run, or null to start from the oldest.
+     * @param limit  The maximum number of tasks to move.
+     * @param now    The timestamp of the archival and of the tombstones.
+     * @return Projections of the archived tasks, in order.
+     */
+    List<TaskView> archiveCompletedUpdatedBefore(
+            Instant before, TaskCursor after, int limit, Instant now);
+
+    /**
+     * Projects an archived task.
+     *
+     * @param id The ID of the task.
+     * @return The projection, or empty if no such task was archived.
+     */
+    Optional<TaskView> findArchivedById(UUID id);
+
+    /**
+     * Projects the archived tasks after a keyset position, in
+     * {@code (updatedAt, id)} order.
+     *
+     * @param after The position of the last task already returned, or
+     *              null for the first page.
+     * @param limit The maximum number of tasks.
+     * @return Projections of the archived tasks.
+     */
+    List<TaskView> findArchivedPage(TaskCursor after, int limit);
+
+    /**
+     * Returns the tombstones after a change-feed position, in
+     * {@code (deletedAt, taskId)} order.
+     *
+     * @param after   The position.
+     * @param horizon Exclusive upper bound on the deletion time.
+     * @param limit   The maximum number of tombstones.
+     * @return The tombstones.
+     */
+    List<TaskTombstone> findDeletedAfter(TaskCursor after, Instant horizon, int limit);
+
+    /**
+     * Deletes the tombstones recorded before the given instant.
+     *
+     * @param before Exclusive upper bound on the deletion time.
+     * @return The number of purged tombstones.
+     */
+    int purgeTombstonesBefore(Instant before);
+
+    /**
+     * Outcome of one batch of a bulk change.
+     *
+     * @param affected The number of tasks changed by the batch.
+     * @param next     The position of the last task visited, to pass to
+     *                 the next batch; null once fewer than the limit were
+     *                 visited and nothing is left.
+     */
+    record Batch(int affected, TaskCursor next) {
+    }
+}
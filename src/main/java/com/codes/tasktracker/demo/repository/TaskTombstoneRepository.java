@@ -0,0 +1,64 @@
+package com.codes.tasktracker.demo.repository;
+
+import com.codes.tasktracker.demo.model.TaskTombstone;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Repository for {@link TaskTombstone} entities.
+ */
+public interface TaskTombstoneRepository extends JpaRepository<TaskTombstone, UUID> {
+
+    /**
+     * Returns the tombstones after a change-feed position, in
+     * {@code (deletedAt, taskId)} order.
+     *
+     * @param timestamp The timestamp of the position.
+     * @param id        The task ID of the position.
+     * @param horizon   Exclusive upper bound on the deletion time.
+     * @param limit     The maximum number of tombstones.
+     * @return The tombstones.
+     */
+    @Query("SELECT t FROM TaskTombstone t"
+            + " WHERE t.deletedAt >= :timestamp AND t.deletedAt < :horizon"
+            + " AND (t.deletedAt > :timestamp OR t.taskId > :id)"
+            + " ORDER BY t.deletedAt, t.taskId")
+    List<TaskTombstone> findDeletedAfter(
+            @Param("timestamp") Instant timestamp,
+            @Param("id") UUID id,
+            @Param("horizon") Instant horizon,
+            Limit limit);
+
+    /**
+     * Records tombstones for the tasks with the given IDs that still
+     * exist, before they are deleted.
+     *
+     * @param ids The IDs of the tasks.
+     * @param now The timestamp written to {@code deletedAt}.
+     * @return The number of recorded tombstones.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("INSERT INTO TaskTombstone (taskId, deletedAt)"
+            + " SELECT t.id, :now FROM Task t WHERE t.id IN :ids")
+    int recordByIdIn(
+            @Param("ids") Collection<UUID> ids,
+            @Param("now") Instant now);
+
+    /**
+     * Deletes the tombstones recorded before the given instant.
+     *
+     * @param before Exclusive upper bound on the deletion time.
+     * @return The number of purged tombstones.
+     */
+    @Modifying
+    @Query("DELETE FROM TaskTombstone t WHERE t.deletedAt < :before")
+    int purgeDeletedBefore(@Param("before") Instant before);
+}
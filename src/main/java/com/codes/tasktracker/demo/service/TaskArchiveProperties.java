@@ -0,0 +1,34 @@
+package com.codes.tasktracker.demo.service;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Configuration of the archival job.
+ *
+ * @param enabled   Whether the scheduled job runs.
+ * @param minAge    How long a task must have been completed, by its
+ *                  last update, before it is archived.
+ * @param batchSize The most tasks moved in one transaction.
+ * @param pause     How long the job waits between batches, leaving the
+ *                  connection pool and the row locks to requests.
+ */
+@ConfigurationProperties(prefix = "tasktracker.archive")
+public record TaskArchiveProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("30d") Duration minAge,
+        @DefaultValue("500") int batchSize,
+        @DefaultValue("100ms") Duration pause
+) {
+
+    /**
+     * Returns the defaults used when nothing is configured.
+     *
+     * @return The default properties.
+     */
+    public static TaskArchiveProperties defaults() {
+        return new TaskArchiveProperties(true, Duration.ofDays(30), 500, Duration.ofMillis(100));
+    }
+}
@@ -0,0 +1,185 @@
+package com.codes.tasktracker.demo.service;
+
+import com.codes.tasktracker.demo.dto.TaskCursor;
+import com.codes.tasktracker.demo.dto.TaskView;
+import com.codes.tasktracker.demo.model.Task;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Scheduled job moving completed tasks older than
+ * {@link TaskArchiveProperties#minAge()} to the archive.
+ *
+ * <p>A run walks the completed tasks in {@code (updatedAt, id)} order
+ * and moves them in batches of {@link TaskArchiveProperties#batchSize()},
+ * one transaction each through
+ * {@link TaskService#archiveCompletedTasks(Instant, TaskCursor, int)}.
+ * The next batch starts after the last task of the previous one, so no
+ * batch rescans what was already moved. Between batches the job sleeps
+ * {@link TaskArchiveProperties#pause()}: it holds one connection and the
+ * locks of one batch at a time, and gives both back to requests in
+ * between.</p>
+ *
+ * <p>The age bound is fixed when a run starts; tasks reaching it during
+ * the run wait for the next one.</p>
+ */
+@Component
+public class TaskArchiver {
+
+    /**
+     * The archival configuration.
+     */
+    private final TaskArchiveProperties properties;
+
+    /**
+     * The service moving each batch.
+     */
+    private final TaskService taskService;
+
+    /**
+     * Keeps runs from overlapping.
+     */
+    private final ReentrantLock runLock = new ReentrantLock();
+
+    /**
+     * Number of archived tasks.
+     */
+    private final LongAdder rows = new LongAdder();
+
+    /**
+     * Number of committed batches.
+     */
+    private final LongAdder batches = new LongAdder();
+
+    private volatile Run lastRun = new Run(0, 0, Duration.ZERO);
+
+    /**
+     * Constructs a new TaskArchiver.
+     *
+     * @param properties  The archival configuration.
+     * @param taskService The task service.
+     */
+    public TaskArchiver(
+            final TaskArchiveProperties properties,
+            final TaskService taskService) {
+        this.properties = properties;
+        this.taskService = taskService;
+    }
+
+    /**
+     * Runs the job when it is enabled.
+     */
+    @Scheduled(initialDelayString = "${tasktracker.archive.interval:PT1H}",
+            fixedDelayString = "${tasktracker.archive.interval:PT1H}")
+    public void archiveIfEnabled() {
+        if (this.properties.enabled()) {
+            archive();
+        }
+    }
+
+    /**
+     * Archives every completed task older than the configured age.
+     *
+     * @return The outcome of the run; empty if another run is in
+     *         progress.
+     */
+    public Run archive() {
+        if (!this.runLock.tryLock()) {
+            return new Run(0, 0, Duration.ZERO);
+        }
+        try {
+            int batchSize = Math.max(1, this.properties.batchSize());
+            Instant before = Task.now().minus(this.properties.minAge());
+            long start = System.nanoTime();
+            long moved = 0;
+            int committed = 0;
+            TaskCursor after = null;
+            while (true) {
+                List<TaskView> batch = this.taskService.archiveCompletedTasks(before, after, batchSize);
+                moved += batch.size();
+                committed++;
+                this.rows.add(batch.size());
+                this.batches.increment();
+                if (batch.size() < batchSize || !pause()) {
+                    break;
+                }
+                TaskView last = batch.get(batch.size() - 1);
+                after = new TaskCursor(last.updatedAt(), last.id());
+            }
+            Run run = new Run(moved, committed, Duration.ofNanos(System.nanoTime() - start));
+            this.lastRun = run;
+            return run;
+        } finally {
+            this.runLock.unlock();
+        }
+    }
+
+    /**
+     * Returns the outcome of the last completed run.
+     *
+     * @return The last run.
+     */
+    public Run lastRun() {
+        return this.lastRun;
+    }
+
+    /**
+     * Returns the number of tasks archived since startup.
+     *
+     * @return The archived task count.
+     */
+    public long rowCount() {
+        return this.rows.sum();
+    }
+
+    /**
+     * Returns the number of batches committed since startup.
+     *
+     * @return The batch count.
+     */
+    public long batchCount() {
+        return this.batches.sum();
+    }
+
+    /**
+     * Sleeps between batches.
+     *
+     * @return False if interrupted, to end the run.
+     */
+    private boolean pause() {
+        try {
+            TimeUnit.NANOSECONDS.sleep(this.properties.pause().toNanos());
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /**
+     * Outcome of one run of the job.
+     *
+     * @param rows    The number of archived tasks.
+     * @param batches The number of committed batches, the last one
+     *                possibly empty.
+     * @param elapsed The duration of the run, pauses included.
+     */
+    public record Run(long rows, int batches, Duration elapsed) {
+
+        /**
+         * Returns the archival rate over the whole run, pauses included.
+         *
+         * @return Tasks archived per second.
+         */
+        public double rowsPerSecond() {
+            return this.elapsed.isZero() ? 0 : this.rows * 1e9 / this.elapsed.toNanos();
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.codes.tasktracker.demo.service;
+
+import com.codes.tasktracker.demo.dto.TaskCursor;
+import com.codes.tasktracker.demo.repository.TaskStore;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+
+/**
+ * Bulk changes selected by date, committed one batch at a time.
+ *
+ * <p>Each operation walks the matching tasks in keyset order and changes
+ * them in batches of {@link #BATCH_SIZE}, one transaction each through
+ * {@link TaskService#completeTasksCreatedBefore(Instant, TaskCursor, int)}
+ * or {@link TaskService#deleteCompletedTasksBefore(Instant, TaskCursor, int)}.
+ * The next batch starts after the last task of the previous one, so no
+ * batch rescans what was already changed, and no transaction holds more
+ * than one batch of row locks or undo.</p>
+ *
+ * <p>An operation is not atomic: if a batch fails, the batches before it
+ * stay committed and the request can be repeated.</p>
+ */
+@Component
+public class TaskBulkOperations {
+
+    /**
+     * Tasks visited per batch, and per transaction.
+     */
+    static final int BATCH_SIZE = 1000;
+
+    /**
+     * The service changing each batch.
+     */
+    private final TaskService taskService;
+
+    /**
+     * Constructs a new TaskBulkOperations.
+     *
+     * @param taskService The task service.
+     */
+    public TaskBulkOperations(final TaskService taskService) {
+        this.taskService = taskService;
+    }
+
+    /**
+     * Completes every pending task created before the given instant.
+     *
+     * @param before Exclusive upper bound on the creation time.
+     * @return The number of completed tasks.
+     */
+    public int completeTasksCreatedBefore(final Instant before) {
+        int affected = 0;
+        TaskCursor after = null;
+        do {
+            TaskStore.Batch batch = this.taskService.completeTasksCreatedBefore(before, after, BATCH_SIZE);
+            affected += batch.affected();
+            after = batch.next();
+        } while (after != null);
+        return affected;
+    }
+
+    /**
+     * Deletes every completed task last updated before the given instant,
+     * leaving a tombstone for each one.
+     *
+     * @param before Exclusive upper bound on the last update time.
+     * @return The number of deleted tasks.
+     */
+    public int deleteCompletedTasksBefore(final Instant before) {
+        int affected = 0;
+        TaskCursor after = null;
+        do {
+            TaskStore.Batch batch = this.taskService.deleteCompletedTasksBefore(before, after, BATCH_SIZE);
+            affected += batch.affected();
+            after = batch.next();
+        } while (after != null);
+        return affected;
+    }
+}
@@ -0,0 +1,413 @@
+package com.codes.tasktracker.demo.service;
+
+import com.codes.tasktracker.demo.dto.CacheStatsDto;
+import com.codes.tasktracker.demo.model.Task;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+/**
+ * Bounded read-through cache in front of single-task lookups.
+ *
+ * <p>Entries expire after a TTL; missing IDs are cached as empty results
+ * with a shorter TTL. The cache is kept in step with writes through
+ * {@link TaskChangedEvent}s delivered after commit. Events may arrive
+ * out of order, so an update never replaces a newer cached version.</p>
+ */
+@Component
+public class TaskCache {
+
+    /**
+     * The backing store for the configured policy.
+     */
+    private final Store store;
+
+    /**
+     * Constructs a new TaskCache with the given configuration.
+     *
+     * @param properties The cache configuration.
+     */
+    public TaskCache(final TaskCacheProperties properties) {
+        if (!properties.enabled()) {
+            this.store = new PassThroughStore();
+        } else if (properties.policy() == TaskCacheProperties.EvictionPolicy.LRU) {
+            this.store = new LruStore(properties);
+        } else {
+            this.store = new CaffeineStore(properties);
+        }
+    }
+
+    /**
+     * Returns the cached lookup for an ID, loading it on a miss.
+     *
+     * @param id     The ID of the task.
+     * @param loader Loads the task from the database.
+     * @return The task, or empty if it does not exist.
+     */
+    public Optional<Task> get(final UUID id, final Function<UUID, Optional<Task>> loader) {
+        return this.store.get(id, loader);
+    }
+
+    /**
+     * Returns the cached task for an ID without loading it on a miss.
+     *
+     * @param id The ID of the task.
+     * @return The cached task, or null if it is not cached.
+     */
+    public Task peek(final UUID id) {
+        return this.store.peek(id);
+    }
+
+    /**
+     * Stores the state of a task, unless a newer version is cached.
+     *
+     * @param task The task.
+     */
+    public void put(final Task task) {
+        this.store.update(task);
+    }
+
+    /**
+     * Removes the entry for an ID.
+     *
+     * @param id The ID of the task.
+     */
+    public void invalidate(final UUID id) {
+        this.store.invalidate(id);
+    }
+
+    /**
+     * Removes every entry.
+     */
+    public void invalidateAll() {
+        this.store.invalidateAll();
+    }
+
+    /**
+     * Returns the cache counters.
+     *
+     * @return The hit, miss and eviction counters.
+     */
+    public CacheStatsDto stats() {
+        return this.store.stats();
+    }
+
+    /**
+     * Applies a committed mutation to the cache.
+     *
+     * @param event The mutation.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskChanged(final TaskChangedEvent event) {
+        switch (event.type()) {
+            case UPDATED -> {
+                if (event.task() != null) {
+                    put(event.task());
+                } else {
+                    invalidate(event.taskId());
+                }
+            }
+            case CREATED, COMPLETED, DELETED -> invalidate(event.taskId());
+            case BULK -> invalidateAll();
+            default -> throw new IllegalStateException("Unknown event: " + event.type());
+        }
+    }
+
+    /**
+     * Tells whether a cached lookup holds a newer version than a task.
+     */
+    private static boolean isNewer(final Optional<Task> cached, final Task task) {
+        return cached.isPresent() && cached.get().getVersion() > task.getVersion();
+    }
+
+    /**
+     * Storage strategy behind the cache.
+     */
+    private interface Store {
+
+        Optional<Task> get(UUID id, Function<UUID, Optional<Task>> loader);
+
+        Task peek(UUID id);
+
+        void update(Task task);
+
+        void invalidate(UUID id);
+
+        void invalidateAll();
+
+        CacheStatsDto stats();
+    }
+
+    /**
+     * Store used when caching is disabled.
+     */
+    private static final class PassThroughStore implements Store {
+
+        private final LongAdder misses = new LongAdder();
+
+        @Override
+        public Optional<Task> get(final UUID id, final Function<UUID, Optional<Task>> loader) {
+            this.misses.increment();
+            return loader.apply(id);
+        }
+
+        @Override
+        public Task peek(final UUID id) {
+            return null;
+        }
+
+        @Override
+        public void update(final Task task) { }
+
+        @Override
+        public void invalidate(final UUID id) { }
+
+        @Override
+        public void invalidateAll() { }
+
+        @Override
+        public CacheStatsDto stats() {
+            return new CacheStatsDto(0, this.misses.sum(), 0, 0);
+        }
+    }
+
+    /**
+     * W-TinyLFU store backed by Caffeine.
+     *
+     * <p>Caffeine computes a missing entry atomically per key, so an
+     * invalidation that races with a load waits for the load and then
+     * removes its possibly stale result.</p>
+     */
+    private static final class CaffeineStore implements Store {
+
+        private final Cache<UUID, Optional<Task>> cache;
+
+        CaffeineStore(final TaskCacheProperties properties) {
+            long ttl = properties.ttl().toNanos();
+            long negativeTtl = properties.negativeTtl().toNanos();
+            this.cache = Caffeine.newBuilder()
+                    .maximumSize(properties.maximumSize())
+                    .expireAfter(new Expiry<UUID, Optional<Task>>() {
+                        @Override
+                        public long expireAfterCreate(
+                                final UUID key, final Optional<Task> value, final long now) {
+                            return value.isPresent() ? ttl : negativeTtl;
+                        }
+
+                        @Override
+                        public long expireAfterUpdate(
+                                final UUID key, final Optional<Task> value,
+                                final long now, final long current) {
+                            return value.isPresent() ? ttl : negativeTtl;
+                        }
+
+                        @Override
+                        public long expireAfterRead(
+                                final UUID key, final Optional<Task> value,
+                                final long now, final long current) {
+                            return current;
+                        }
+                    })
+                    .recordStats()
+                    .build();
+        }
+
+        @Override
+        public Optional<Task> get(final UUID id, final Function<UUID, Optional<Task>> loader) {
+            return this.cache.get(id, loader);
+        }
+
+        @Override
+        public Task peek(final UUID id) {
+            Optional<Task> cached = this.cache.getIfPresent(id);
+            return cached == null ? null : cached.orElse(null);
+        }
+
+        @Override
+        public void update(final Task task) {
+            this.cache.asMap().merge(task.getId(), Optional.of(task),
+                    (cached, updated) -> isNewer(cached, task) ? cached : updated);
+        }
+
+        @Override
+        public void invalidate(final UUID id) {
+            this.cache.invalidate(id);
+        }
+
+        @Override
+        public void invalidateAll() {
+            this.cache.invalidateAll();
+        }
+
+        @Override
+        public CacheStatsDto stats() {
+            // Run pending maintenance so evictions are reflected.
+            this.cache.cleanUp();
+            CacheStats stats = this.cache.stats();
+            return new CacheStatsDto(stats.hitCount(), stats.missCount(),
+                    stats.evictionCount(), this.cache.estimatedSize());
+        }
+    }
+
+    /**
+     * Least-recently-used store over an access-ordered map.
+     *
+     * <p>Loads run outside the lock. Every invalidation and update bumps
+     * a generation counter, and a load stores its result only if the
+     * generation has not moved since the load started, so a result read
+     * before a concurrent write never replaces it.</p>
+     */
+    private static final class LruStore implements Store {
+
+        private final ReentrantLock lock = new ReentrantLock();
+
+        private final LinkedHashMap<UUID, Entry> entries;
+
+        private final long ttl;
+
+        private final long negativeTtl;
+
+        private final LongAdder hits = new LongAdder();
+
+        private final LongAdder misses = new LongAdder();
+
+        private final LongAdder evictions = new LongAdder();
+
+        /**
+         * Number of invalidations and updates, guarded by the lock.
+         */
+        private long generation;
+
+        LruStore(final TaskCacheProperties properties) {
+            long maximumSize = properties.maximumSize();
+            this.ttl = properties.ttl().toNanos();
+            this.negativeTtl = properties.negativeTtl().toNanos();
+            this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(final Map.Entry<UUID, Entry> eldest) {
+                    boolean evict = size() > maximumSize;
+                    if (evict) {
+                        LruStore.this.evictions.increment();
+                    }
+                    return evict;
+                }
+            };
+        }
+
+        @Override
+        public Optional<Task> get(final UUID id, final Function<UUID, Optional<Task>> loader) {
+            long now = System.nanoTime();
+            long loadedAt;
+            this.lock.lock();
+            try {
+                Entry entry = this.entries.get(id);
+                if (entry != null && entry.expiresAt() - now > 0) {
+                    this.hits.increment();
+                    return entry.value();
+                }
+                if (entry != null) {
+                    this.entries.remove(id);
+                }
+                loadedAt = this.generation;
+            } finally {
+                this.lock.unlock();
+            }
+
+            this.misses.increment();
+            Optional<Task> loaded = loader.apply(id);
+            long expiresAt = System.nanoTime() + (loaded.isPresent() ? this.ttl : this.negativeTtl);
+            this.lock.lock();
+            try {
+                if (this.generation == loadedAt) {
+                    this.entries.put(id, new Entry(loaded, expiresAt));
+                }
+            } finally {
+                this.lock.unlock();
+            }
+            return loaded;
+        }
+
+        @Override
+        public Task peek(final UUID id) {
+            long now = System.nanoTime();
+            this.lock.lock();
+            try {
+                Entry entry = this.entries.get(id);
+                if (entry == null || entry.expiresAt() - now <= 0) {
+                    return null;
+                }
+                this.hits.increment();
+                return entry.value().orElse(null);
+            } finally {
+                this.lock.unlock();
+            }
+        }
+
+        @Override
+        public void update(final Task task) {
+            long expiresAt = System.nanoTime() + this.ttl;
+            this.lock.lock();
+            try {
+                this.generation++;
+                Entry entry = this.entries.get(task.getId());
+                if (entry == null || !isNewer(entry.value(), task)) {
+                    this.entries.put(task.getId(), new Entry(Optional.of(task), expiresAt));
+                }
+            } finally {
+                this.lock.unlock();
+            }
+        }
+
+        @Override
+        public void invalidate(final UUID id) {
+            this.lock.lock();
+            try {
+                this.generation++;
+                this.entries.remove(id);
+            } finally {
+                this.lock.unlock();
+            }
+        }
+
+        @Override
+        public void invalidateAll() {
+            this.lock.lock();
+            try {
+                this.generation++;
+                this.entries.clear();
+            } finally {
+                this.lock.unlock();
+            }
+        }
+
+        @Override
+        public CacheStatsDto stats() {
+            this.lock.lock();
+            try {
+                return new CacheStatsDto(this.hits.sum(), this.misses.sum(),
+                        this.evictions.sum(), this.entries.size());
+            } finally {
+                this.lock.unlock();
+            }
+        }
+
+        /**
+         * A cached lookup and its expiry deadline.
+         *
+         * @param value     The cached lookup.
+         * @param expiresAt The {@link System#nanoTime()} deadline.
+         */
+        private record Entry(Optional<Task> value, long expiresAt) { }
+    }
+}
@@ -0,0 +1,45 @@
+package com.codes.tasktracker.demo.service;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Configuration of the task read-through cache.
+ *
+ * @param enabled     Whether lookups are cached at all.
+ * @param policy      The eviction policy once the cache is full.
+ * @param maximumSize The maximum number of cached entries.
+ * @param ttl         How long a found task stays cached.
+ * @param negativeTtl How long a missing ID stays cached.
+ */
+@ConfigurationProperties(prefix = "tasktracker.cache")
+public record TaskCacheProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("W_TINY_LFU") EvictionPolicy policy,
+        @DefaultValue("10000") long maximumSize,
+        @DefaultValue("60s") Duration ttl,
+        @DefaultValue("2s") Duration negativeTtl
+) {
+
+    /**
+     * Supported eviction policies.
+     */
+    public enum EvictionPolicy {
+        /** Caffeine's frequency-aware W-TinyLFU. */
+        W_TINY_LFU,
+        /** Plain least-recently-used. */
+        LRU
+    }
+
+    /**
+     * Returns the defaults used when nothing is configured.
+     *
+     * @return The default properties.
+     */
+    public static TaskCacheProperties defaults() {
+        return new TaskCacheProperties(true, EvictionPolicy.W_TINY_LFU,
+                10_000, Duration.ofSeconds(60), Duration.ofSeconds(2));
+    }
+}
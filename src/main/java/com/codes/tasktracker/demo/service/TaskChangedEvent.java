@@ -0,0 +1,38 @@
+package com.codes.tasktracker.demo.service;
+
+import com.codes.tasktracker.demo.model.Task;
+
+import java.util.UUID;
+
+/**
+ * Event published by {@link TaskService} for every committed mutation.
+ *
+ * <p>Listeners should use {@code @TransactionalEventListener} so they only
+ * observe changes whose transaction committed.</p>
+ *
+ * @param type   The kind of change.
+ * @param taskId The ID of the changed task, or null for bulk changes.
+ * @param task   The task state after the change, when it was loaded.
+ */
+public record TaskChangedEvent(
+        Type type,
+        UUID taskId,
+        Task task
+) {
+
+    /**
+     * Kinds of task mutations.
+     */
+    public enum Type {
+        /** A task was created. */
+        CREATED,
+        /** A task's description or status was updated. */
+        UPDATED,
+        /** A task was marked as completed. */
+        COMPLETED,
+        /** A task was deleted. */
+        DELETED,
+        /** Several tasks changed through a set-based statement. */
+        BULK
+    }
+}
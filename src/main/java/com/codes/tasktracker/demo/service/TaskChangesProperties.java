@@ -0,0 +1,31 @@
+package com.codes.tasktracker.demo.service;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Configuration of the change feed.
+ *
+ * @param settleLag          How far behind the clock the feed stays, so
+ *                           transactions stamped earlier but committed
+ *                           later are not skipped.
+ * @param tombstoneRetention How long deletes are remembered; older tokens
+ *                           require a full resync.
+ */
+@ConfigurationProperties(prefix = "tasktracker.changes")
+public record TaskChangesProperties(
+        @DefaultValue("5s") Duration settleLag,
+        @DefaultValue("7d") Duration tombstoneRetention
+) {
+
+    /**
+     * Returns the defaults used when nothing is configured.
+     *
+     * @return The default properties.
+     */
+    public static TaskChangesProperties defaults() {
+        return new TaskChangesProperties(Duration.ofSeconds(5), Duration.ofDays(7));
+    }
+}
@@ -0,0 +1,49 @@
+package com.codes.tasktracker.demo.service;
+
+/**
+ * Event published by {@link TaskService} with the effect of a mutation on
+ * the task counts, for {@link TaskStats} to apply after commit.
+ *
+ * @param created          The number of tasks created.
+ * @param completed        The number of pending tasks that were completed.
+ * @param deleted          The number of tasks deleted.
+ * @param deletedCompleted How many of the deleted tasks were completed.
+ */
+public record TaskCountsChangedEvent(
+        long created,
+        long completed,
+        long deleted,
+        long deletedCompleted
+) {
+
+    /**
+     * Returns the effect of creating tasks.
+     *
+     * @param count The number of tasks created.
+     * @return The event.
+     */
+    public static TaskCountsChangedEvent created(final long count) {
+        return new TaskCountsChangedEvent(count, 0, 0, 0);
+    }
+
+    /**
+     * Returns the effect of completing pending tasks.
+     *
+     * @param count The number of tasks completed.
+     * @return The event.
+     */
+    public static TaskCountsChangedEvent completed(final long count) {
+        return new TaskCountsChangedEvent(0, count, 0, 0);
+    }
+
+    /**
+     * Returns the effect of deleting tasks.
+     *
+     * @param count          The number of tasks deleted.
+     * @param completedCount How many of them were completed.
+     * @return The event.
+     */
+    public static TaskCountsChangedEvent deleted(final long count, final long completedCount) {
+        return new TaskCountsChangedEvent(0, 0, count, completedCount);
+    }
+}
@@ -0,0 +1,519 @@
+package com.codes.tasktracker.demo.service;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * In-process inverted index over task descriptions.
+ *
+ * <p>Descriptions are split into lower-cased, accent-folded tokens. Each
+ * task gets a dense document number and every term keeps a sorted
+ * {@code int[]} posting list of those numbers, so the index costs a few
+ * bytes per occurrence instead of a UUID. Every query token must match a
+ * term, either exactly or as a prefix; results are ranked by the inverse
+ * document frequency of the matched terms, normalised by description
+ * length.</p>
+ *
+ * <p>The index is filled by {@link TaskService#buildSearchIndex()} at
+ * startup and kept in step with writes through {@link TaskChangedEvent}s
+ * delivered after commit. Each document keeps the version it was indexed
+ * from, so neither the startup build nor a late event replaces a newer
+ * description with an older one. Bulk deletes are not replayed: IDs whose
+ * task no longer exists are dropped when a search runs into them.</p>
+ *
+ * <p>Document numbers of removed tasks are reused, so the per-document
+ * arrays are bounded by the largest number of tasks indexed at once.</p>
+ */
+@Component
+public class TaskSearchIndex {
+
+    /**
+     * Weight of a term reached through prefix expansion, relative to an
+     * exact match.
+     */
+    private static final double PREFIX_WEIGHT = 0.5;
+
+    /**
+     * Shortest query token that is expanded as a prefix; shorter tokens
+     * only match exactly, since their expansions cover most of the index.
+     */
+    private static final int MIN_PREFIX_LENGTH = 2;
+
+    /**
+     * Largest number of terms a single prefix expands to.
+     */
+    private static final int MAX_PREFIX_TERMS = 64;
+
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    /**
+     * Guards all state below; searches share the read lock.
+     */
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * Sorted term dictionary, so prefixes resolve to a contiguous range.
+     */
+    private final NavigableMap<String, Postings> terms = new TreeMap<>();
+
+    /**
+     * Document number of each indexed task.
+     */
+    private final Map<UUID, Integer> docs = new HashMap<>();
+
+    /**
+     * Task ID by document number; null for removed documents.
+     */
+    private UUID[] ids = new UUID[1024];
+
+    /**
+     * Distinct terms by document number, needed to unindex a document.
+     */
+    private String[][] docTerms = new String[1024][];
+
+    /**
+     * Length normalisation by document number, kept dense so ranking does
+     * not chase a pointer per candidate.
+     */
+    private float[] norms = new float[1024];
+
+    /**
+     * Task version by document number.
+     */
+    private long[] versions = new long[1024];
+
+    /**
+     * Document numbers of removed tasks, reused before new ones.
+     */
+    private int[] freeDocs = new int[16];
+
+    /**
+     * Number of entries in {@link #freeDocs}.
+     */
+    private int freeCount;
+
+    /**
+     * The next document number never handed out.
+     */
+    private int nextDoc;
+
+    /**
+     * Adds a task to the index, or replaces its terms if already indexed
+     * from the same or an older version.
+     *
+     * @param id          The ID of the task.
+     * @param description The description of the task.
+     * @param version     The version of the task the description is from.
+     */
+    public void index(final UUID id, final String description, final long version) {
+        String[] tokens = tokenize(description).toArray(String[]::new);
+        this.lock.writeLock().lock();
+        try {
+            Integer existing = this.docs.get(id);
+            int doc;
+            if (existing != null) {
+                doc = existing;
+                if (this.versions[doc] > version) {
+                    return;
+                }
+                unindex(doc);
+            } else {
+                doc = this.freeCount > 0 ? this.freeDocs[--this.freeCount] : this.nextDoc++;
+                ensureCapacity(doc + 1);
+                this.docs.put(id, doc);
+                this.ids[doc] = id;
+            }
+            this.docTerms[doc] = tokens;
+            this.versions[doc] = version;
+            this.norms[doc] = (float) (1.0 / Math.sqrt(Math.max(1, tokens.length)));
+            for (String token : tokens) {
+                this.terms.computeIfAbsent(token, t -> new Postings()).add(doc);
+            }
+        } finally {
+            this.lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes a task from the index.
+     *
+     * @param id The ID of the task.
+     */
+    public void remove(final UUID id) {
+        this.lock.writeLock().lock();
+        try {
+            Integer doc = this.docs.remove(id);
+            if (doc != null) {
+                unindex(doc);
+                this.ids[doc] = null;
+                this.docTerms[doc] = null;
+                if (this.freeCount == this.freeDocs.length) {
+                    this.freeDocs = Arrays.copyOf(this.freeDocs, this.freeCount * 2);
+                }
+                this.freeDocs[this.freeCount++] = doc;
+            }
+        } finally {
+            this.lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes every task from the index.
+     */
+    public void clear() {
+        this.lock.writeLock().lock();
+        try {
+            this.terms.clear();
+            this.docs.clear();
+            this.ids = new UUID[1024];
+            this.docTerms = new String[1024][];
+            this.norms = new float[1024];
+            this.versions = new long[1024];
+            this.freeDocs = new int[16];
+            this.freeCount = 0;
+            this.nextDoc = 0;
+        } finally {
+            this.lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the number of indexed tasks.
+     *
+     * @return The number of indexed tasks.
+     */
+    public int size() {
+        this.lock.readLock().lock();
+        try {
+            return this.docs.size();
+        } finally {
+            this.lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the number of document numbers handed out, including the
+     * free ones waiting for reuse.
+     *
+     * @return The number of document slots.
+     */
+    int slots() {
+        this.lock.readLock().lock();
+        try {
+            return this.nextDoc;
+        } finally {
+            this.lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Finds the tasks whose description matches every token of a query.
+     *
+     * @param query The free-text query.
+     * @param limit The maximum number of results.
+     * @return The IDs of the best matches, best first.
+     */
+    public List<UUID> search(final String query, final int limit) {
+        Set<String> tokens = tokenize(query);
+        if (tokens.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+
+        this.lock.readLock().lock();
+        try {
+            List<Hits> perToken = new ArrayList<>(tokens.size());
+            for (String token : tokens) {
+                Hits hits = match(token);
+                if (hits.size == 0) {
+                    return List.of();
+                }
+                perToken.add(hits);
+            }
+            // Intersect the rarest tokens first to shrink the work early.
+            perToken.sort(Comparator.comparingInt(h -> h.size));
+            Hits hits = perToken.get(0);
+            for (int i = 1; i < perToken.size() && hits.size > 0; i++) {
+                hits = hits.intersect(perToken.get(i));
+            }
+            return top(hits, limit);
+        } finally {
+            this.lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Applies a committed mutation to the index.
+     *
+     * @param event The mutation.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskChanged(final TaskChangedEvent event) {
+        switch (event.type()) {
+            case CREATED, UPDATED -> {
+                if (event.task() != null) {
+                    index(event.taskId(), event.task().getDescription(), event.task().getVersion());
+                }
+            }
+            case DELETED -> remove(event.taskId());
+            case COMPLETED, BULK -> {
+                // Descriptions are unchanged; deleted IDs are purged lazily.
+            }
+            default -> throw new IllegalStateException("Unknown event: " + event.type());
+        }
+    }
+
+    /**
+     * Splits text into distinct lower-case tokens without diacritics.
+     *
+     * @param text The text to tokenize.
+     * @return The tokens, in order of first appearance.
+     */
+    static Set<String> tokenize(final String text) {
+        Set<String> tokens = new LinkedHashSet<>();
+        if (text == null) {
+            return tokens;
+        }
+        String folded = DIACRITICS
+                .matcher(Normalizer.normalize(text, Normalizer.Form.NFD))
+                .replaceAll("")
+                .toLowerCase(Locale.ROOT);
+        for (String token : SEPARATORS.split(folded)) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    /**
+     * Scores the documents matching one query token. A document scores its
+     * best-matching term.
+     */
+    private Hits match(final String token) {
+        Map<String, Postings> matched;
+        if (token.length() < MIN_PREFIX_LENGTH) {
+            Postings exact = this.terms.get(token);
+            matched = exact == null ? Map.of() : Map.of(token, exact);
+        } else {
+            matched = this.terms.subMap(token, true, token + Character.MAX_VALUE, true);
+        }
+
+        Hits hits = Hits.EMPTY;
+        int expanded = 0;
+        for (Map.Entry<String, Postings> entry : matched.entrySet()) {
+            if (expanded++ == MAX_PREFIX_TERMS) {
+                break;
+            }
+            Postings postings = entry.getValue();
+            double weight = Math.log(1.0 + (double) this.docs.size() / postings.size);
+            if (entry.getKey().length() != token.length()) {
+                weight *= PREFIX_WEIGHT;
+            }
+            Hits term = new Hits(postings.docs, null, weight, postings.size);
+            hits = hits.size == 0 ? term : hits.union(term);
+        }
+        return hits;
+    }
+
+    /**
+     * Selects the highest-scoring documents. Ties go to the higher document
+     * number, usually the more recently indexed task.
+     */
+    private List<UUID> top(final Hits hits, final int limit) {
+        // Min-heap of {doc, score}, so the weakest kept hit is at the head.
+        PriorityQueue<double[]> best = new PriorityQueue<>(limit + 1,
+                Comparator.<double[]>comparingDouble(e -> e[1]).thenComparingDouble(e -> e[0]));
+        // Newest first, so a later equal score never displaces a kept hit.
+        for (int i = hits.size - 1; i >= 0; i--) {
+            int doc = hits.docs[i];
+            double score = hits.score(i) * this.norms[doc];
+            if (best.size() < limit) {
+                best.add(new double[] {doc, score});
+            } else if (score > best.peek()[1]) {
+                best.poll();
+                best.add(new double[] {doc, score});
+            }
+        }
+
+        List<UUID> result = new ArrayList<>(best.size());
+        while (!best.isEmpty()) {
+            result.add(this.ids[(int) best.poll()[0]]);
+        }
+        Collections.reverse(result);
+        return result;
+    }
+
+    private void unindex(final int doc) {
+        for (String token : this.docTerms[doc]) {
+            Postings postings = this.terms.get(token);
+            if (postings != null && postings.remove(doc) && postings.size == 0) {
+                this.terms.remove(token);
+            }
+        }
+    }
+
+    private void ensureCapacity(final int capacity) {
+        if (capacity > this.ids.length) {
+            int length = Math.max(capacity, this.ids.length * 2);
+            this.ids = Arrays.copyOf(this.ids, length);
+            this.docTerms = Arrays.copyOf(this.docTerms, length);
+            this.norms = Arrays.copyOf(this.norms, length);
+            this.versions = Arrays.copyOf(this.versions, length);
+        }
+    }
+
+    /**
+     * Scored documents in ascending document order. A posting list is used
+     * as-is with one weight for every document until it is combined.
+     */
+    private static final class Hits {
+
+        static final Hits EMPTY = new Hits(new int[0], null, 0, 0);
+
+        /**
+         * Size ratio above which intersecting by binary search beats a
+         * linear merge.
+         */
+        static final int SKEWED_RATIO = 32;
+
+        final int[] docs;
+
+        final double[] scores;
+
+        final double weight;
+
+        final int size;
+
+        Hits(final int[] docs, final double[] scores, final double weight, final int size) {
+            this.docs = docs;
+            this.scores = scores;
+            this.weight = weight;
+            this.size = size;
+        }
+
+        double score(final int i) {
+            return this.scores == null ? this.weight : this.scores[i];
+        }
+
+        /**
+         * Documents in either set, keeping the higher score.
+         */
+        Hits union(final Hits other) {
+            int[] mergedDocs = new int[this.size + other.size];
+            double[] mergedScores = new double[mergedDocs.length];
+            int i = 0;
+            int j = 0;
+            int n = 0;
+            while (i < this.size || j < other.size) {
+                if (j == other.size || (i < this.size && this.docs[i] < other.docs[j])) {
+                    mergedDocs[n] = this.docs[i];
+                    mergedScores[n++] = score(i++);
+                } else if (i == this.size || other.docs[j] < this.docs[i]) {
+                    mergedDocs[n] = other.docs[j];
+                    mergedScores[n++] = other.score(j++);
+                } else {
+                    mergedDocs[n] = this.docs[i];
+                    mergedScores[n++] = Math.max(score(i++), other.score(j++));
+                }
+            }
+            return new Hits(mergedDocs, mergedScores, 0, n);
+        }
+
+        /**
+         * Documents in both sets, adding their scores.
+         */
+        Hits intersect(final Hits other) {
+            int[] mergedDocs = new int[Math.min(this.size, other.size)];
+            double[] mergedScores = new double[mergedDocs.length];
+            int i = 0;
+            int j = 0;
+            int n = 0;
+            if ((long) this.size * SKEWED_RATIO < other.size) {
+                // Much smaller side: binary-search its documents in the other.
+                for (; i < this.size && j < other.size; i++) {
+                    int at = Arrays.binarySearch(other.docs, j, other.size, this.docs[i]);
+                    if (at >= 0) {
+                        mergedDocs[n] = this.docs[i];
+                        mergedScores[n++] = score(i) + other.score(at);
+                        j = at + 1;
+                    } else {
+                        j = -at - 1;
+                    }
+                }
+                return new Hits(mergedDocs, mergedScores, 0, n);
+            }
+            while (i < this.size && j < other.size) {
+                int left = this.docs[i];
+                int right = other.docs[j];
+                if (left == right) {
+                    mergedDocs[n] = left;
+                    mergedScores[n++] = score(i++) + other.score(j++);
+                } else {
+                    // Advance the lower side without a hard-to-predict branch.
+                    i += left < right ? 1 : 0;
+                    j += left > right ? 1 : 0;
+                }
+            }
+            return new Hits(mergedDocs, mergedScores, 0, n);
+        }
+    }
+
+    /**
+     * Sorted, growable list of document numbers for one term. New tasks
+     * usually get the highest document number, so inserts are mostly
+     * appends.
+     */
+    private static final class Postings {
+
+        private int[] docs = new int[2];
+
+        private int size;
+
+        void add(final int doc) {
+            int at = this.size;
+            if (at > 0 && this.docs[at - 1] >= doc) {
+                at = Arrays.binarySearch(this.docs, 0, this.size, doc);
+                if (at >= 0) {
+                    return;
+                }
+                at = -at - 1;
+            }
+            if (this.size == this.docs.length) {
+                this.docs = Arrays.copyOf(this.docs, this.size * 2);
+            }
+            System.arraycopy(this.docs, at, this.docs, at + 1, this.size - at);
+            this.docs[at] = doc;
+            this.size++;
+        }
+
+        boolean remove(final int doc) {
+            int at = Arrays.binarySearch(this.docs, 0, this.size, doc);
+            if (at < 0) {
+                return false;
+            }
+            System.arraycopy(this.docs, at + 1, this.docs, at, this.size - at - 1);
+            this.size--;
+            return true;
+        }
+    }
+}
@@ -1,32 +1,149 @@
 package com.codes.tasktracker.demo.service;
 
+import com.codes.tasktracker.demo.dto.CacheStatsDto;
+import com.codes.tasktracker.demo.dto.TaskChanges;
+import com.codes.tasktracker.demo.dto.TaskCursor;
+import com.codes.tasktracker.demo.dto.TaskField;
+import com.codes.tasktracker.demo.dto.TaskFilter;
+import com.codes.tasktracker.demo.dto.TaskPage;
+import com.codes.tasktracker.demo.dto.TaskStatsDto;
+import com.codes.tasktracker.demo.dto.TaskView;
+import com.codes.tasktracker.demo.exception.GoneException;
+import com.codes.tasktracker.demo.exception.PreconditionFailedException;
 import com.codes.tasktracker.demo.exception.ResourceNotFoundException;
 import com.codes.tasktracker.demo.model.Task;
-import com.codes.tasktracker.demo.repository.TaskRepository;
+import com.codes.tasktracker.demo.model.TaskTombstone;
+import com.codes.tasktracker.demo.repository.TaskStore;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Consumer;
 
 /**
  * Service for task-related operations.
+ *
+ * <p>Every public method is timed as {@code tasktracker.service}, tagged
+ * with the class and method names.</p>
  */
 @Service
-public final class TaskService {
+@Timed("tasktracker.service")
+public class TaskService {
 
     /**
-     * The task repository.
+     * Page size used when the client does not ask for one.
      */
-    private final TaskRepository taskRepository;
+    public static final int DEFAULT_PAGE_SIZE = 50;
 
     /**
-     * Constructs a new TaskService with the given repository.
+     * Largest page size a client may request.
+     */
+    public static final int MAX_PAGE_SIZE = 500;
+
+    /**
+     * Largest number of tasks accepted by a single batch create.
+     */
+    public static final int MAX_BATCH_SIZE = 5000;
+
+    /**
+     * Largest number of IDs bound into a single bulk statement, keeping
+     * IN lists well under driver and planner limits.
+     */
+    public static final int BULK_ID_CHUNK_SIZE = 1000;
+
+    /**
+     * Number of search results returned when the client does not ask for
+     * a limit.
+     */
+    public static final int DEFAULT_SEARCH_LIMIT = 20;
+
+    /**
+     * Largest number of search results a client may request.
+     */
+    public static final int MAX_SEARCH_LIMIT = 100;
+
+    /**
+     * Position before every change, used when a client has no token yet.
+     */
+    private static final TaskCursor FEED_START =
+            new TaskCursor(Instant.EPOCH, new UUID(0, 0));
+
+    /**
+     * Order of change-feed positions, matching the queries' ORDER BY.
+     */
+    private static final Comparator<TaskCursor> FEED_ORDER =
+            Comparator.comparing(TaskCursor::timestamp).thenComparing(TaskCursor::id);
+
+    /**
+     * The storage engine.
+     */
+    private final TaskStore store;
+
+    /**
+     * The read-through cache for single-task lookups.
+     */
+    private final TaskCache taskCache;
+
+    /**
+     * The full-text index over task descriptions.
+     */
+    private final TaskSearchIndex searchIndex;
+
+    /**
+     * The change feed configuration.
+     */
+    private final TaskChangesProperties changesProperties;
+
+    /**
+     * The task counts, kept up to date after commit.
+     */
+    private final TaskStats stats;
+
+    /**
+     * Publishes a {@link TaskChangedEvent} for every mutation.
+     */
+    private final ApplicationEventPublisher events;
+
+    /**
+     * Constructs a new TaskService on the given store.
      *
-     * @param taskRepository The task repository.
+     * @param store             The storage engine.
+     * @param taskCache         The task cache.
+     * @param searchIndex       The search index.
+     * @param changesProperties The change feed configuration.
+     * @param stats             The task counts.
+     * @param events            The event publisher.
      */
-    public TaskService(final TaskRepository taskRepository) {
-        this.taskRepository = taskRepository;
+    public TaskService(
+            final TaskStore store,
+            final TaskCache taskCache,
+            final TaskSearchIndex searchIndex,
+            final TaskChangesProperties changesProperties,
+            final TaskStats stats,
+            final ApplicationEventPublisher events) {
+        this.store = store;
+        this.taskCache = taskCache;
+        this.searchIndex = searchIndex;
+        this.changesProperties = changesProperties;
+        this.stats = stats;
+        this.events = events;
     }
 
     /**
@@ -37,40 +154,397 @@ public final class TaskService {
      */
     @Transactional
     public Task createTask(final String description) {
-        Task task = new Task(description);
-        return this.taskRepository.save(task);
+        Task task = this.store.save(new Task(description));
+        publish(TaskChangedEvent.Type.CREATED, task.getId(), task);
+        this.events.publishEvent(TaskCountsChangedEvent.created(1));
+        return task;
+    }
+
+    /**
+     * Creates many tasks in a single transaction, through the store's
+     * batch insert.
+     *
+     * @param descriptions The descriptions of the tasks.
+     * @return The IDs of the created tasks, in input order.
+     */
+    @Transactional
+    public List<UUID> createTasks(final List<String> descriptions) {
+        List<Task> tasks = new ArrayList<>(descriptions.size());
+        for (String description : descriptions) {
+            tasks.add(new Task(description));
+        }
+        this.store.insertAll(tasks);
+        List<UUID> ids = new ArrayList<>(tasks.size());
+        for (Task task : tasks) {
+            ids.add(task.getId());
+            publish(TaskChangedEvent.Type.CREATED, task.getId(), task);
+        }
+        this.events.publishEvent(TaskCountsChangedEvent.created(tasks.size()));
+        return ids;
     }
 
     /**
      * Retrieves a task by its ID.
      *
+     * <p>Served from the task cache when possible; unknown IDs are cached
+     * briefly as well. Misses load through the store's {@code findById}.</p>
+     *
      * @param id The ID of the task.
      * @return The task.
      */
     public Task getTask(final UUID id) {
-        return this.taskRepository.findById(id).orElseThrow(() ->
-                new ResourceNotFoundException("Tarea no encontrada: " + id));
+        return this.taskCache.get(id, this.store::findById)
+                .orElseThrow(() -> notFound(id));
+    }
+
+    /**
+     * Returns the current version of a task.
+     *
+     * <p>Selects the version column alone, so validating a conditional
+     * request never loads the entity. The task cache is not consulted: it
+     * may lag behind a commit, and a stale version would answer 304 for a
+     * changed task.</p>
+     *
+     * @param id The ID of the task.
+     * @return The version of the task.
+     */
+    public long getTaskVersion(final UUID id) {
+        return this.store.findVersionById(id)
+                .orElseThrow(() -> notFound(id));
+    }
+
+    /**
+     * Returns the counters of the task cache.
+     *
+     * @return The cache counters.
+     */
+    public CacheStatsDto cacheStats() {
+        return this.taskCache.stats();
+    }
+
+    /**
+     * Returns the task counts, read from memory.
+     *
+     * @return The total, completed and pending counts and the per-day
+     *         histograms.
+     */
+    public TaskStatsDto taskStats() {
+        return this.stats.snapshot();
     }
 
     /**
      * Marks a task as completed.
      *
+     * <p>Issues a single conditional UPDATE. Only when no row changed does
+     * it check whether the task exists, to tell a missing task apart from
+     * one that was already completed.</p>
+     *
      * @param id The ID of the task to mark as completed.
      */
     @Transactional
     public void markTaskCompleted(final UUID id) {
-        Task task = getTask(id);
-        task.markCompleted();
-        this.taskRepository.save(task);
+        int updated = this.store.markCompleted(id, Task.now());
+        if (updated == 0 && !this.store.existsById(id)) {
+            throw notFound(id);
+        }
+        if (updated > 0) {
+            publish(TaskChangedEvent.Type.COMPLETED, id, null);
+            this.events.publishEvent(TaskCountsChangedEvent.completed(1));
+        }
+    }
+
+    /**
+     * Completes the given tasks with one UPDATE per chunk of IDs.
+     *
+     * @param ids The IDs of the tasks to complete; duplicates are ignored.
+     * @return The number of tasks that were pending and are now completed.
+     */
+    @Transactional
+    public int completeTasks(final Collection<UUID> ids) {
+        List<UUID> distinct = new ArrayList<>(new LinkedHashSet<>(ids));
+        Instant now = Task.now();
+        int affected = 0;
+        for (int from = 0; from < distinct.size(); from += BULK_ID_CHUNK_SIZE) {
+            int to = Math.min(from + BULK_ID_CHUNK_SIZE, distinct.size());
+            affected += this.store
+                    .completeAllByIdIn(distinct.subList(from, to), now);
+        }
+        publishBulk(affected, TaskCountsChangedEvent.completed(affected));
+        return affected;
+    }
+
+    /**
+     * Completes one batch of pending tasks created before the given
+     * instant, in one transaction.
+     *
+     * @param before Exclusive upper bound on the creation time.
+     * @param after  The position returned by the previous batch, or null
+     *               for the first batch.
+     * @param limit  The maximum number of tasks to visit.
+     * @return The number of completed tasks and where the next batch
+     *         starts.
+     */
+    @Transactional
+    public TaskStore.Batch completeTasksCreatedBefore(
+            final Instant before, final TaskCursor after, final int limit) {
+        TaskStore.Batch batch = this.store
+                .completePendingCreatedBefore(before, after, limit, Task.now());
+        publishBulk(batch.affected(), TaskCountsChangedEvent.completed(batch.affected()));
+        return batch;
+    }
+
+    /**
+     * Deletes one batch of completed tasks last updated before the given
+     * instant, leaving a tombstone for each one in the same transaction.
+     *
+     * @param before Exclusive upper bound on the last update time.
+     * @param after  The position returned by the previous batch, or null
+     *               for the first batch.
+     * @param limit  The maximum number of tasks to visit.
+     * @return The number of deleted tasks and where the next batch
+     *         starts.
+     */
+    @Transactional
+    public TaskStore.Batch deleteCompletedTasksBefore(
+            final Instant before, final TaskCursor after, final int limit) {
+        TaskStore.Batch batch = this.store
+                .deleteCompletedUpdatedBefore(before, after, limit, Task.now());
+        publishBulk(batch.affected(), TaskCountsChangedEvent.deleted(batch.affected(), batch.affected()));
+        return batch;
+    }
+
+    /**
+     * Returns the tasks created, updated or deleted after a change token.
+     *
+     * <p>Changes are read in {@code (timestamp, id)} order from the
+     * {@code updatedAt} index and the tombstones, up to a horizon that
+     * trails the clock by {@link TaskChangesProperties#settleLag()}, so a
+     * transaction that stamped its rows before the horizon has committed
+     * before they are reported. Once caught up, the token moves to the
+     * horizon.</p>
+     *
+     * @param since The token returned by the previous call, or null to
+     *              start from the beginning.
+     * @param limit The maximum number of changes, clamped to
+     *              {@link #MAX_PAGE_SIZE}.
+     * @return The changes and the token for the next call.
+     * @throws GoneException If the token is older than the tombstone
+     *                       retention and deletes may have been missed.
+     */
+    @Transactional(readOnly = true)
+    public TaskChanges listChanges(final String since, final int limit) {
+        Instant now = Task.now();
+        TaskCursor after = decodeCursor(since);
+        if (after == null) {
+            after = FEED_START;
+        } else if (after.timestamp().isBefore(
+                now.minus(this.changesProperties.tombstoneRetention()))) {
+            throw new GoneException("Token de cambios expirado: " + since);
+        }
+        Instant horizon = now.minus(this.changesProperties.settleLag());
+        if (!after.timestamp().isBefore(horizon)) {
+            return new TaskChanges(List.of(), List.of(), after.encode(), false);
+        }
+
+        int size = pageSize(limit);
+        List<TaskView> tasks = this.store.findChangedAfter(after, horizon, size + 1);
+        List<TaskTombstone> tombstones = this.store.findDeletedAfter(after, horizon, size + 1);
+
+        // Merge both streams in (timestamp, id) order up to the page size.
+        List<TaskView> changed = new ArrayList<>();
+        List<UUID> deleted = new ArrayList<>();
+        TaskCursor last = after;
+        int t = 0;
+        int d = 0;
+        while (changed.size() + deleted.size() < size
+                && (t < tasks.size() || d < tombstones.size())) {
+            TaskCursor task = t < tasks.size()
+                    ? new TaskCursor(tasks.get(t).updatedAt(), tasks.get(t).id()) : null;
+            TaskCursor tombstone = d < tombstones.size()
+                    ? new TaskCursor(tombstones.get(d).getDeletedAt(),
+                            tombstones.get(d).getTaskId()) : null;
+            if (tombstone == null || (task != null && FEED_ORDER.compare(task, tombstone) < 0)) {
+                changed.add(tasks.get(t++));
+                last = task;
+            } else {
+                deleted.add(tombstones.get(d++).getTaskId());
+                last = tombstone;
+            }
+        }
+
+        boolean hasMore = t < tasks.size() || d < tombstones.size();
+        TaskCursor next = hasMore ? last : new TaskCursor(horizon, FEED_START.id());
+        return new TaskChanges(changed, deleted, next.encode(), hasMore);
+    }
+
+    /**
+     * Purges tombstones older than the change feed's retention.
+     *
+     * @return The number of purged tombstones.
+     */
+    @Scheduled(fixedDelayString = "${tasktracker.changes.purge-interval:PT1H}")
+    @Transactional
+    public int purgeTombstones() {
+        return this.store.purgeTombstonesBefore(
+                Task.now().minus(this.changesProperties.tombstoneRetention()));
     }
 
     /**
-     * Lists all tasks.
+     * Lists all tasks without paging.
+     *
+     * <p>Loads the whole table; only reachable through an explicit opt-in
+     * on the API. Prefer {@link #listTasks(TaskFilter, String, int)}.</p>
      *
      * @return A list of all tasks.
      */
-    public List<Task> listAllTasks() {
-        return this.taskRepository.findAll();
+    @Transactional(readOnly = true)
+    public List<TaskView> listAllTasks() {
+        return this.store.findAllViews();
+    }
+
+    /**
+     * Feeds every task to the given sink while the query is still running,
+     * without holding them all in memory.
+     *
+     * @param sink The consumer receiving each task.
+     * @return The number of exported tasks.
+     */
+    @Transactional(readOnly = true)
+    public long exportTasks(final Consumer<Task> sink) {
+        return this.store.forEachTask(sink);
+    }
+
+    /**
+     * Searches task descriptions.
+     *
+     * <p>Candidates come from the in-memory {@link TaskSearchIndex}; only
+     * the ranked hits are read from the database. Hits whose task no longer
+     * exists are dropped from the index.</p>
+     *
+     * @param query The free-text query.
+     * @param limit The requested number of results, clamped to
+     *              {@link #MAX_SEARCH_LIMIT}.
+     * @return The matching tasks, best match first.
+     */
+    @Transactional(readOnly = true)
+    public List<TaskView> searchTasks(final String query, final int limit) {
+        int size = Math.max(1, Math.min(limit, MAX_SEARCH_LIMIT));
+        List<UUID> ids = this.searchIndex.search(query, size);
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+
+        Map<UUID, TaskView> views = new HashMap<>();
+        for (TaskView view : this.store.findViewsByIdIn(ids)) {
+            views.put(view.id(), view);
+        }
+        List<TaskView> result = new ArrayList<>(ids.size());
+        for (UUID id : ids) {
+            TaskView view = views.get(id);
+            if (view != null) {
+                result.add(view);
+            } else {
+                this.searchIndex.remove(id);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Fills the search index from the database once the application is
+     * ready. Writes committed meanwhile are applied by the index itself.
+     *
+     * @return The number of indexed tasks.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public long buildSearchIndex() {
+        return exportTasks(task -> this.searchIndex.index(
+                task.getId(), task.getDescription(), task.getVersion()));
+    }
+
+    /**
+     * Lists one page of the tasks matching a filter.
+     *
+     * <p>Runs in a read-only transaction and projects rows straight into
+     * {@link TaskView}s, so no entities are managed.</p>
+     *
+     * @param filter The filter and ordering.
+     * @param cursor The cursor returned with the previous page, or null
+     *               for the first page.
+     * @param limit  The requested page size, clamped to
+     *               [1, {@value #MAX_PAGE_SIZE}].
+     * @return The page and the cursor for the next one.
+     */
+    @Transactional(readOnly = true)
+    public TaskPage<TaskView> listTasks(
+            final TaskFilter filter,
+            final String cursor,
+            final int limit) {
+
+        int size = pageSize(limit);
+        // Fetch one extra row to learn whether a next page exists.
+        List<TaskView> rows = this.store
+                .findPage(filter, decodeCursor(cursor), size + 1);
+
+        if (rows.size() <= size) {
+            return new TaskPage<>(rows, null);
+        }
+        List<TaskView> items = rows.subList(0, size);
+        TaskView last = items.get(size - 1);
+        String next = new TaskCursor(filter.sort().keyOf(last), last.id()).encode();
+        return new TaskPage<>(List.copyOf(items), next);
+    }
+
+    /**
+     * Lists one page of the tasks matching a filter, selecting only the
+     * requested fields.
+     *
+     * @param filter The filter and ordering.
+     * @param cursor The cursor returned with the previous page, or null
+     *               for the first page.
+     * @param limit  The requested page size, clamped to
+     *               [1, {@value #MAX_PAGE_SIZE}].
+     * @param fields The fields to return.
+     * @return The page of partial tasks and the cursor for the next one.
+     */
+    @Transactional(readOnly = true)
+    public TaskPage<Map<String, Object>> listTaskFields(
+            final TaskFilter filter,
+            final String cursor,
+            final int limit,
+            final Set<TaskField> fields) {
+
+        int size = pageSize(limit);
+        List<Map<String, Object>> rows = this.store
+                .findPageFields(filter, decodeCursor(cursor), size + 1, fields);
+
+        int count = Math.min(rows.size(), size);
+        List<Map<String, Object>> items = new ArrayList<>(count);
+        for (Map<String, Object> row : rows.subList(0, count)) {
+            Map<String, Object> item = new LinkedHashMap<>();
+            for (TaskField field : fields) {
+                item.put(field.attribute(), row.get(field.attribute()));
+            }
+            items.add(item);
+        }
+
+        String next = null;
+        if (rows.size() > size) {
+            Map<String, Object> last = rows.get(size - 1);
+            next = new TaskCursor(
+                    (Instant) last.get(filter.sort().attribute()),
+                    (UUID) last.get(TaskField.ID.attribute())).encode();
+        }
+        return new TaskPage<>(items, next);
+    }
+
+    private static int pageSize(final int limit) {
+        return Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+    }
+
+    private static TaskCursor decodeCursor(final String cursor) {
+        return cursor == null || cursor.isBlank() ? null : TaskCursor.decode(cursor);
     }
 
     /**
@@ -86,13 +560,196 @@ public final class TaskService {
             final UUID id,
             final String description,
             final Boolean completed) {
+        return updateTask(id, description, completed, null);
+    }
+
+    /**
+     * Updates a task only if it still has the version the client saw.
+     *
+     * @param id              The ID of the task to update.
+     * @param description     The new description.
+     * @param completed       The new completion status.
+     * @param expectedVersion The version the client last saw, or null to
+     *                        update unconditionally.
+     * @return The updated task.
+     * @throws PreconditionFailedException If the task has another version.
+     */
+    @Transactional
+    public Task updateTask(
+            final UUID id,
+            final String description,
+            final Boolean completed,
+            final Long expectedVersion) {
+
+        // Load the managed entity directly: cached instances are shared
+        // between readers and must not be mutated.
+        Task task = this.store.findById(id)
+                .orElseThrow(() -> notFound(id));
+        if (expectedVersion != null && task.getVersion() != expectedVersion) {
+            throw versionMismatch(id);
+        }
+        boolean wasCompleted = task.isCompleted();
+        applyChanges(task, description, completed);
+        Task saved = this.store.save(task);
+        if (expectedVersion != null) {
+            // Flush now so a write committed since the load surfaces as a
+            // failed precondition rather than at commit.
+            try {
+                this.store.flush();
+            } catch (OptimisticLockingFailureException e) {
+                throw versionMismatch(id);
+            }
+        }
+        publish(TaskChangedEvent.Type.UPDATED, id, saved);
+        if (!wasCompleted && saved.isCompleted()) {
+            this.events.publishEvent(TaskCountsChangedEvent.completed(1));
+        }
+        return saved;
+    }
+
+    /**
+     * Applies queued creates and updates in one transaction, so the whole
+     * group pays for a single commit.
+     *
+     * <p>A write naming a missing task or a stale version is rejected on
+     * its own and the rest still apply. A second write to the same task
+     * flushes the earlier ones first, so its version check sees them.
+     * Outcomes are recorded on each {@link TaskWrite}; the caller
+     * publishes them once this method has returned and committed.</p>
+     *
+     * <p>On a store that applies writes immediately, a failed write is
+     * recorded as rejected instead of failing the batch, since the writes
+     * before it cannot be rolled back.</p>
+     *
+     * @param writes The writes, applied in order.
+     */
+    @Transactional
+    public void applyWrites(final List<TaskWrite> writes) {
+        boolean immediate = this.store.appliesWritesImmediately();
+        Set<UUID> touched = new HashSet<>();
+        long created = 0;
+        long completed = 0;
+        for (TaskWrite write : writes) {
+            try {
+                UUID id = write.taskId();
+                if (id == null) {
+                    Task task = this.store.save(new Task(write.description()));
+                    publish(TaskChangedEvent.Type.CREATED, task.getId(), task);
+                    write.applied(task);
+                    created++;
+                    continue;
+                }
+                if (!touched.add(id)) {
+                    this.store.flush();
+                    touched.clear();
+                    touched.add(id);
+                }
+                Task task = this.store.findById(id).orElse(null);
+                if (task == null) {
+                    write.rejected(notFound(id));
+                } else if (write.expectedVersion() != null
+                        && task.getVersion() != write.expectedVersion()) {
+                    write.rejected(versionMismatch(id));
+                } else {
+                    boolean wasCompleted = task.isCompleted();
+                    applyChanges(task, write.description(), write.completed());
+                    Task saved = this.store.save(task);
+                    publish(TaskChangedEvent.Type.UPDATED, id, saved);
+                    write.applied(saved);
+                    if (!wasCompleted && saved.isCompleted()) {
+                        completed++;
+                    }
+                }
+            } catch (RuntimeException e) {
+                if (!immediate) {
+                    throw e;
+                }
+                write.rejected(e);
+            }
+        }
+        if (created > 0 || completed > 0) {
+            this.events.publishEvent(new TaskCountsChangedEvent(created, completed, 0, 0));
+        }
+    }
 
-        Task task = getTask(id);
+    /**
+     * Tells whether writes take effect as they are made, so that a failed
+     * batch may have applied some of its writes.
+     *
+     * @return True if the store has no transactions of its own.
+     */
+    public boolean appliesWritesImmediately() {
+        return this.store.appliesWritesImmediately();
+    }
+
+    private static void applyChanges(
+            final Task task, final String description, final Boolean completed) {
         task.setDescription(description);
         if (completed != null && completed && !task.isCompleted()) {
             task.markCompleted();
         }
-        return this.taskRepository.save(task);
+    }
+
+    /**
+     * Moves one batch of completed tasks last updated before the given
+     * instant to the archive, in one transaction. Each archived task
+     * leaves a tombstone and is reported as deleted.
+     *
+     * @param before Exclusive upper bound on the last update time.
+     * @param after  The position of the last task archived by the
+     *               previous batch, or null for the first batch.
+     * @param limit  The maximum number of tasks to move.
+     * @return Projections of the archived tasks, in
+     *         {@code (updatedAt, id)} order.
+     */
+    @Transactional
+    public List<TaskView> archiveCompletedTasks(
+            final Instant before, final TaskCursor after, final int limit) {
+        List<TaskView> archived = this.store
+                .archiveCompletedUpdatedBefore(before, after, limit, Task.now());
+        for (TaskView task : archived) {
+            publish(TaskChangedEvent.Type.DELETED, task.id(), null);
+        }
+        if (!archived.isEmpty()) {
+            this.events.publishEvent(
+                    TaskCountsChangedEvent.deleted(archived.size(), archived.size()));
+        }
+        return archived;
+    }
+
+    /**
+     * Retrieves an archived task.
+     *
+     * @param id The ID of the task.
+     * @return The archived task.
+     */
+    @Transactional(readOnly = true)
+    public TaskView getArchivedTask(final UUID id) {
+        return this.store.findArchivedById(id)
+                .orElseThrow(() -> new ResourceNotFoundException(
+                        "Tarea archivada no encontrada: " + id));
+    }
+
+    /**
+     * Lists one page of archived tasks, oldest update first.
+     *
+     * @param cursor The cursor returned with the previous page, or null
+     *               for the first page.
+     * @param limit  The requested page size, clamped to
+     *               [1, {@value #MAX_PAGE_SIZE}].
+     * @return The page and the cursor for the next one.
+     */
+    @Transactional(readOnly = true)
+    public TaskPage<TaskView> listArchivedTasks(final String cursor, final int limit) {
+        int size = pageSize(limit);
+        List<TaskView> rows = this.store.findArchivedPage(decodeCursor(cursor), size + 1);
+        if (rows.size() <= size) {
+            return new TaskPage<>(rows, null);
+        }
+        List<TaskView> items = rows.subList(0, size);
+        TaskView last = items.get(size - 1);
+        String next = new TaskCursor(last.updatedAt(), last.id()).encode();
+        return new TaskPage<>(List.copyOf(items), next);
     }
 
     /**
@@ -102,8 +759,35 @@ public final class TaskService {
      */
     @Transactional
     public void deleteTask(final UUID id) {
-        Task task = this.taskRepository.findById(id).orElseThrow(() ->
-                new ResourceNotFoundException("Tarea no encontrada: " + id));
-        this.taskRepository.delete(task);
+        // One DELETE by ID. The statistics take the status of the
+        // deleted task from the cache; a task that is not cached counts
+        // as pending until the next recount.
+        Task cached = this.taskCache.peek(id);
+        boolean completed = cached != null && cached.isCompleted();
+        if (this.store.removeById(id, Task.now()) == 0) {
+            throw notFound(id);
+        }
+        publish(TaskChangedEvent.Type.DELETED, id, null);
+        this.events.publishEvent(TaskCountsChangedEvent.deleted(1, completed ? 1 : 0));
+    }
+
+    private void publish(
+            final TaskChangedEvent.Type type, final UUID id, final Task task) {
+        this.events.publishEvent(new TaskChangedEvent(type, id, task));
+    }
+
+    private void publishBulk(final int affected, final TaskCountsChangedEvent counts) {
+        if (affected > 0) {
+            publish(TaskChangedEvent.Type.BULK, null, null);
+            this.events.publishEvent(counts);
+        }
+    }
+
+    private static ResourceNotFoundException notFound(final UUID id) {
+        return new ResourceNotFoundException("Tarea no encontrada: " + id);
+    }
+
+    private static PreconditionFailedException versionMismatch(final UUID id) {
+        return new PreconditionFailedException("La tarea ha cambiado: " + id);
     }
 }
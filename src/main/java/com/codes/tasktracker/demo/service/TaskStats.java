@@ -0,0 +1,301 @@
+package com.codes.tasktracker.demo.service;
+
+import com.codes.tasktracker.demo.dto.TaskFilter;
+import com.codes.tasktracker.demo.dto.TaskStatsDto;
+import com.codes.tasktracker.demo.model.Task;
+import com.codes.tasktracker.demo.repository.TaskStore;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Task counts kept in memory, so that reading them costs no query.
+ *
+ * <p>{@link TaskService} publishes the effect of every mutation on the
+ * counts as a {@link TaskCountsChangedEvent}, applied here after commit
+ * to {@link LongAdder}s, so concurrent writers never contend. The counts
+ * are seeded from the store once the application is ready and recounted
+ * every {@code reconcile-interval}, which corrects the drift left by
+ * deletes of tasks whose status was not cached, deletes racing with
+ * completions and commits whose event was applied while a recount
+ * ran.</p>
+ *
+ * <p>The per-day histograms count tasks created and completed on each
+ * UTC day, over the last {@code history-days} days. They are seeded from
+ * the tasks that exist at startup, by creation time and, for completed
+ * tasks, by last update; later on they count events, so a deleted task
+ * stays counted on the days it was created and completed.</p>
+ */
+@Component
+public class TaskStats {
+
+    /**
+     * Matches the completed tasks.
+     */
+    private static final TaskFilter COMPLETED = new TaskFilter(true, null, null, null, null, null);
+
+    /**
+     * The storage engine.
+     */
+    private final TaskStore store;
+
+    /**
+     * The configuration.
+     */
+    private final TaskStatsProperties properties;
+
+    /**
+     * Number of tasks.
+     */
+    private final Counter total = new Counter();
+
+    /**
+     * Number of completed tasks.
+     */
+    private final Counter completed = new Counter();
+
+    /**
+     * Tasks created on each UTC day of the window.
+     */
+    private final Map<LocalDate, Counter> createdPerDay = new ConcurrentHashMap<>();
+
+    /**
+     * Tasks completed on each UTC day of the window.
+     */
+    private final Map<LocalDate, Counter> completedPerDay = new ConcurrentHashMap<>();
+
+    /**
+     * Serializes recounts.
+     */
+    private final ReentrantLock reconcileLock = new ReentrantLock();
+
+    /**
+     * When the counts were last recounted; null before seeding.
+     */
+    private volatile Instant reconciledAt;
+
+    /**
+     * Absolute drift corrected by the last scheduled recount.
+     */
+    private volatile long lastDrift;
+
+    /**
+     * Constructs a new TaskStats.
+     *
+     * @param store      The storage engine.
+     * @param properties The configuration.
+     */
+    public TaskStats(final TaskStore store, final TaskStatsProperties properties) {
+        this.store = store;
+        this.properties = properties;
+    }
+
+    /**
+     * Returns the current counts.
+     *
+     * @return The counts and the per-day histograms.
+     */
+    public TaskStatsDto snapshot() {
+        long tasks = this.total.get();
+        long done = this.completed.get();
+        LocalDate today = today();
+        List<TaskStatsDto.Day> days = new ArrayList<>(this.properties.historyDays());
+        for (LocalDate day = firstDay(today); !day.isAfter(today); day = day.plusDays(1)) {
+            days.add(new TaskStatsDto.Day(day,
+                    sum(this.createdPerDay, day), sum(this.completedPerDay, day)));
+        }
+        return new TaskStatsDto(tasks, done, tasks - done, this.reconciledAt, days);
+    }
+
+    /**
+     * Returns the number of tasks.
+     *
+     * @return The total count.
+     */
+    public long total() {
+        return this.total.get();
+    }
+
+    /**
+     * Returns the number of completed tasks.
+     *
+     * @return The completed count.
+     */
+    public long completed() {
+        return this.completed.get();
+    }
+
+    /**
+     * Returns how far the counts were off at the last scheduled recount,
+     * summed over total and completed.
+     *
+     * @return The absolute drift corrected by the last recount.
+     */
+    public long lastDrift() {
+        return this.lastDrift;
+    }
+
+    /**
+     * Applies a committed mutation to the counts.
+     *
+     * @param event The effect of the mutation.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCountsChanged(final TaskCountsChangedEvent event) {
+        long tasks = event.created() - event.deleted();
+        long done = event.completed() - event.deletedCompleted();
+        if (tasks != 0) {
+            this.total.add(tasks);
+        }
+        if (done != 0) {
+            this.completed.add(done);
+        }
+        LocalDate today = today();
+        if (event.created() > 0) {
+            this.createdPerDay.computeIfAbsent(today, day -> new Counter()).add(event.created());
+        }
+        if (event.completed() > 0) {
+            this.completedPerDay.computeIfAbsent(today, day -> new Counter()).add(event.completed());
+        }
+    }
+
+    /**
+     * Seeds the counts and the histograms from the store once the
+     * application is ready. Runs one count per day of history on the
+     * time indexes, plus the two totals.
+     *
+     * <p>Requests are served before the application is ready, so the
+     * days are seeded like the totals are recounted: events applied
+     * before a day is counted are replaced by the count, which already
+     * includes their tasks, and the ones applied after are kept.</p>
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void seed() {
+        LocalDate today = today();
+        for (LocalDate day = firstDay(today); !day.isAfter(today); day = day.plusDays(1)) {
+            Instant from = day.atStartOfDay(ZoneOffset.UTC).toInstant();
+            Instant to = day.plusDays(1).atStartOfDay(ZoneOffset.UTC).toInstant();
+            Counter created = this.createdPerDay.computeIfAbsent(day, d -> new Counter());
+            Counter done = this.completedPerDay.computeIfAbsent(day, d -> new Counter());
+            long createdMark = created.mark();
+            long doneMark = done.mark();
+            created.reset(this.store.count(new TaskFilter(null, from, to, null, null, null)), createdMark);
+            done.reset(this.store.count(new TaskFilter(true, null, null, from, to, null)), doneMark);
+        }
+        reconcileCounts();
+    }
+
+    /**
+     * Recounts the tasks in the store and drops histogram days that left
+     * the window.
+     */
+    @Scheduled(initialDelayString = "${tasktracker.stats.reconcile-interval:PT5M}",
+            fixedDelayString = "${tasktracker.stats.reconcile-interval:PT5M}")
+    public void reconcile() {
+        LocalDate first = firstDay(today());
+        this.createdPerDay.keySet().removeIf(day -> day.isBefore(first));
+        this.completedPerDay.keySet().removeIf(day -> day.isBefore(first));
+        this.lastDrift = reconcileCounts();
+    }
+
+    /**
+     * Recounts total and completed tasks.
+     *
+     * @return The absolute drift corrected, summed over both counts.
+     */
+    private long reconcileCounts() {
+        this.reconcileLock.lock();
+        try {
+            // Increments applied from here on are kept on top of the
+            // recount, so none is lost.
+            long totalMark = this.total.mark();
+            long completedMark = this.completed.mark();
+            long tasks = this.store.count(TaskFilter.none());
+            long done = this.store.count(COMPLETED);
+            long drift = Math.abs(this.total.reset(tasks, totalMark))
+                    + Math.abs(this.completed.reset(done, completedMark));
+            this.reconciledAt = Task.now();
+            return drift;
+        } finally {
+            this.reconcileLock.unlock();
+        }
+    }
+
+    private LocalDate firstDay(final LocalDate today) {
+        return today.minusDays(Math.max(1, this.properties.historyDays()) - 1L);
+    }
+
+    private static LocalDate today() {
+        return LocalDate.ofInstant(Task.now(), ZoneOffset.UTC);
+    }
+
+    private static long sum(final Map<LocalDate, Counter> histogram, final LocalDate day) {
+        Counter count = histogram.get(day);
+        return count == null ? 0 : count.get();
+    }
+
+    /**
+     * A count updated without contention and reset by recounts.
+     *
+     * <p>The value is a base, moved by recounts, plus the increments
+     * applied since startup. A recount never touches the increments, so
+     * one applied while the store is being counted is not lost.</p>
+     */
+    private static final class Counter {
+
+        /**
+         * Sum of the deltas applied since startup.
+         */
+        private final LongAdder increments = new LongAdder();
+
+        /**
+         * Offset set by the last recount.
+         */
+        private volatile long base;
+
+        /**
+         * Applies a delta.
+         */
+        void add(final long delta) {
+            this.increments.add(delta);
+        }
+
+        /**
+         * Returns the current count.
+         */
+        long get() {
+            return this.base + this.increments.sum();
+        }
+
+        /**
+         * Returns the increments so far, before a recount starts.
+         */
+        long mark() {
+            return this.increments.sum();
+        }
+
+        /**
+         * Sets the count from a recount, keeping the increments applied
+         * after the mark.
+         *
+         * @return How far the count was off at the mark.
+         */
+        long reset(final long actual, final long mark) {
+            long drift = this.base + mark - actual;
+            this.base = actual - mark;
+            return drift;
+        }
+    }
+}
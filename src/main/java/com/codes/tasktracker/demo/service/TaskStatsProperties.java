@@ -0,0 +1,30 @@
+package com.codes.tasktracker.demo.service;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Configuration of the task statistics.
+ *
+ * @param reconcileInterval How often the counters are recounted from the
+ *                          store to correct drift.
+ * @param historyDays       The number of days, today included, kept in
+ *                          the per-day histograms.
+ */
+@ConfigurationProperties(prefix = "tasktracker.stats")
+public record TaskStatsProperties(
+        @DefaultValue("PT5M") Duration reconcileInterval,
+        @DefaultValue("30") int historyDays
+) {
+
+    /**
+     * Returns the defaults used when nothing is configured.
+     *
+     * @return The default properties.
+     */
+    public static TaskStatsProperties defaults() {
+        return new TaskStatsProperties(Duration.ofMinutes(5), 30);
+    }
+}
@@ -0,0 +1,179 @@
+package com.codes.tasktracker.demo.service;
+
+import com.codes.tasktracker.demo.model.Task;
+
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * A create or update waiting in the {@link TaskWritePipeline}.
+ *
+ * <p>{@link TaskService#applyWrites(java.util.List)} records the outcome
+ * of each write inside the batch transaction; the pipeline completes the
+ * {@link #result()} only once that transaction has committed.</p>
+ */
+public final class TaskWrite {
+
+    /**
+     * The ID of the task to update; null for a create.
+     */
+    private final UUID taskId;
+
+    /**
+     * The description to write.
+     */
+    private final String description;
+
+    /**
+     * The completion status to write; null to leave it.
+     */
+    private final Boolean completed;
+
+    /**
+     * The version the update is conditional on; null for none.
+     */
+    private final Long expectedVersion;
+
+    /**
+     * Completed with the outcome once the batch has committed.
+     */
+    private final CompletableFuture<Task> result = new CompletableFuture<>();
+
+    /**
+     * The task as written, pending commit.
+     */
+    private Task task;
+
+    /**
+     * Why the write was skipped, pending commit.
+     */
+    private RuntimeException failure;
+
+    private TaskWrite(
+            final UUID taskId,
+            final String description,
+            final Boolean completed,
+            final Long expectedVersion) {
+        this.taskId = taskId;
+        this.description = description;
+        this.completed = completed;
+        this.expectedVersion = expectedVersion;
+    }
+
+    /**
+     * Creates a write adding a new task.
+     *
+     * @param description The description of the task.
+     * @return The write.
+     */
+    public static TaskWrite create(final String description) {
+        return new TaskWrite(null, description, null, null);
+    }
+
+    /**
+     * Creates a write updating a task.
+     *
+     * @param id              The ID of the task.
+     * @param description     The new description.
+     * @param completed       The new completion status.
+     * @param expectedVersion The version the client last saw, or null to
+     *                        update unconditionally.
+     * @return The write.
+     */
+    public static TaskWrite update(
+            final UUID id,
+            final String description,
+            final Boolean completed,
+            final Long expectedVersion) {
+        return new TaskWrite(id, description, completed, expectedVersion);
+    }
+
+    /**
+     * Returns the ID of the task to update, or null for a create.
+     *
+     * @return The task ID.
+     */
+    public UUID taskId() {
+        return this.taskId;
+    }
+
+    /**
+     * Returns the description to write.
+     *
+     * @return The description.
+     */
+    public String description() {
+        return this.description;
+    }
+
+    /**
+     * Returns the completion status to write, or null to leave it.
+     *
+     * @return The completion status.
+     */
+    public Boolean completed() {
+        return this.completed;
+    }
+
+    /**
+     * Returns the version the update is conditional on, or null.
+     *
+     * @return The expected version.
+     */
+    public Long expectedVersion() {
+        return this.expectedVersion;
+    }
+
+    /**
+     * Returns the future completed once the write has committed, or
+     * failed.
+     *
+     * @return The result.
+     */
+    public CompletableFuture<Task> result() {
+        return this.result;
+    }
+
+    /**
+     * Records the task as written by the batch.
+     */
+    void applied(final Task written) {
+        this.task = written;
+        this.failure = null;
+    }
+
+    /**
+     * Records why the batch skipped the write.
+     */
+    void rejected(final RuntimeException cause) {
+        this.task = null;
+        this.failure = cause;
+    }
+
+    /**
+     * Tells whether an outcome was recorded, applied or rejected.
+     */
+    boolean recorded() {
+        return this.task != null || this.failure != null;
+    }
+
+    /**
+     * Applies the write alone, through the regular transactional methods.
+     */
+    Task applyAlone(final TaskService service) {
+        return this.taskId == null
+                ? service.createTask(this.description)
+                : service.updateTask(this.taskId, this.description, this.completed, this.expectedVersion);
+    }
+
+    /**
+     * Publishes the recorded outcome; called after commit.
+     */
+    void complete() {
+        if (this.failure != null) {
+            this.result.completeExceptionally(this.failure);
+        } else {
+            this.result.complete(this.task);
+        }
+    }
+}
@@ -0,0 +1,303 @@
+package com.codes.tasktracker.demo.service;
+
+import com.codes.tasktracker.demo.exception.ServiceUnavailableException;
+import com.codes.tasktracker.demo.model.Task;
+import jakarta.annotation.PreDestroy;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Group-commit pipeline for single-task creates and updates.
+ *
+ * <p>Callers queue {@link TaskWrite}s and one writer thread applies them
+ * in batches through {@link TaskService#applyWrites(List)}, one
+ * transaction per batch. A batch closes when it reaches
+ * {@link TaskWriteProperties#maxBatchSize()} writes or when
+ * {@link TaskWriteProperties#maxLinger()} has passed since its first
+ * write, so under load many writes share a commit at the price of a few
+ * milliseconds of latency. Each caller's future completes only after the
+ * batch has committed.</p>
+ *
+ * <p>The queue is bounded: when it is full, callers wait up to
+ * {@link TaskWriteProperties#enqueueTimeout()} and are then rejected with
+ * 503. If a batch fails as a whole, for example on a conflict with a
+ * write made outside the pipeline, its writes are retried one by one so
+ * only the offending write fails.</p>
+ */
+@Component
+public class TaskWritePipeline {
+
+    /**
+     * How often an idle writer checks for shutdown, in milliseconds.
+     */
+    private static final long IDLE_POLL_MILLIS = 100;
+
+    /**
+     * The pipeline configuration.
+     */
+    private final TaskWriteProperties properties;
+
+    /**
+     * The service applying each batch.
+     */
+    private final TaskService taskService;
+
+    /**
+     * Writes waiting for the writer.
+     */
+    private final BlockingQueue<TaskWrite> queue;
+
+    /**
+     * The writer, or null when the pipeline is disabled.
+     */
+    private final Thread writer;
+
+    /**
+     * Number of committed batches.
+     */
+    private final LongAdder batches = new LongAdder();
+
+    /**
+     * Number of writes taken from the queue.
+     */
+    private final LongAdder writes = new LongAdder();
+
+    /**
+     * Number of writes rejected because the queue stayed full.
+     */
+    private final LongAdder rejected = new LongAdder();
+
+    private volatile boolean running;
+
+    /**
+     * Constructs a new TaskWritePipeline and starts its writer when the
+     * pipeline is enabled.
+     *
+     * @param properties  The pipeline configuration.
+     * @param taskService The task service.
+     */
+    public TaskWritePipeline(
+            final TaskWriteProperties properties,
+            final TaskService taskService) {
+        this.properties = properties;
+        this.taskService = taskService;
+        this.queue = new ArrayBlockingQueue<>(Math.max(1, properties.queueCapacity()));
+        if (properties.enabled()) {
+            this.running = true;
+            this.writer = new Thread(this::run, "task-writer");
+            this.writer.setDaemon(true);
+            this.writer.start();
+        } else {
+            this.writer = null;
+        }
+    }
+
+    /**
+     * Returns whether writes should go through the pipeline.
+     *
+     * @return True if the pipeline is enabled.
+     */
+    public boolean enabled() {
+        return this.properties.enabled();
+    }
+
+    /**
+     * Creates a task and waits until it has been committed.
+     *
+     * @param description The description of the task.
+     * @return The created task.
+     */
+    public Task createTask(final String description) {
+        return await(submit(TaskWrite.create(description)));
+    }
+
+    /**
+     * Updates a task and waits until the update has been committed.
+     *
+     * @param id              The ID of the task to update.
+     * @param description     The new description.
+     * @param completed       The new completion status.
+     * @param expectedVersion The version the client last saw, or null to
+     *                        update unconditionally.
+     * @return The updated task.
+     */
+    public Task updateTask(
+            final UUID id,
+            final String description,
+            final Boolean completed,
+            final Long expectedVersion) {
+        return await(submit(TaskWrite.update(id, description, completed, expectedVersion)));
+    }
+
+    /**
+     * Queues a write, waiting while the queue is full.
+     *
+     * @param write The write.
+     * @return The future completed once the write has committed.
+     * @throws ServiceUnavailableException If the pipeline is not running or
+     *                                     the queue stayed full.
+     */
+    public CompletableFuture<Task> submit(final TaskWrite write) {
+        if (!this.running) {
+            throw new ServiceUnavailableException("La cola de escrituras no está activa");
+        }
+        boolean queued;
+        try {
+            queued = this.queue.offer(write,
+                    this.properties.enqueueTimeout().toNanos(), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            queued = false;
+        }
+        if (!queued) {
+            this.rejected.increment();
+            throw new ServiceUnavailableException("Cola de escrituras llena");
+        }
+        return write.result();
+    }
+
+    /**
+     * Returns the number of writes waiting for the writer.
+     *
+     * @return The queue length.
+     */
+    public int queuedCount() {
+        return this.queue.size();
+    }
+
+    /**
+     * Returns the number of batches committed since startup.
+     *
+     * @return The batch count.
+     */
+    public long batchCount() {
+        return this.batches.sum();
+    }
+
+    /**
+     * Returns the number of writes processed since startup.
+     *
+     * @return The write count.
+     */
+    public long writeCount() {
+        return this.writes.sum();
+    }
+
+    /**
+     * Returns the number of writes rejected because the queue was full.
+     *
+     * @return The rejected write count.
+     */
+    public long rejectedCount() {
+        return this.rejected.sum();
+    }
+
+    /**
+     * Stops accepting writes and commits the ones already queued.
+     *
+     * @throws InterruptedException If interrupted while waiting for the
+     *                              writer.
+     */
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        this.running = false;
+        if (this.writer != null) {
+            this.writer.join(TimeUnit.SECONDS.toMillis(30));
+        }
+        TaskWrite write;
+        while ((write = this.queue.poll()) != null) {
+            write.result().completeExceptionally(
+                    new ServiceUnavailableException("La cola de escrituras no está activa"));
+        }
+    }
+
+    private void run() {
+        List<TaskWrite> batch = new ArrayList<>(Math.max(1, this.properties.maxBatchSize()));
+        try {
+            while (this.running || !this.queue.isEmpty()) {
+                if (collect(batch)) {
+                    flush(batch);
+                    batch.clear();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Waits for a first write, then gathers more until the batch is full
+     * or the linger time is up.
+     *
+     * @return False if no write arrived.
+     */
+    private boolean collect(final List<TaskWrite> batch) throws InterruptedException {
+        TaskWrite first = this.queue.poll(IDLE_POLL_MILLIS, TimeUnit.MILLISECONDS);
+        if (first == null) {
+            return false;
+        }
+        batch.add(first);
+        int max = Math.max(1, this.properties.maxBatchSize());
+        long deadline = System.nanoTime() + this.properties.maxLinger().toNanos();
+        while (batch.size() < max) {
+            this.queue.drainTo(batch, max - batch.size());
+            long wait = deadline - System.nanoTime();
+            if (batch.size() >= max || wait <= 0) {
+                break;
+            }
+            TaskWrite next = this.queue.poll(wait, TimeUnit.NANOSECONDS);
+            if (next == null) {
+                break;
+            }
+            batch.add(next);
+        }
+        return true;
+    }
+
+    private void flush(final List<TaskWrite> batch) {
+        this.writes.add(batch.size());
+        try {
+            this.taskService.applyWrites(batch);
+            this.batches.increment();
+            batch.forEach(TaskWrite::complete);
+            return;
+        } catch (RuntimeException e) {
+            // Nothing was committed; retry each write in its own
+            // transaction so the failure reaches only its caller. A store
+            // without transactions keeps the writes recorded before the
+            // failure, and those must not be applied twice.
+        }
+        boolean immediate = this.taskService.appliesWritesImmediately();
+        for (TaskWrite write : batch) {
+            if (immediate && write.recorded()) {
+                write.complete();
+                continue;
+            }
+            try {
+                write.result().complete(write.applyAlone(this.taskService));
+            } catch (RuntimeException e) {
+                write.result().completeExceptionally(e);
+            }
+        }
+    }
+
+    private static Task await(final CompletableFuture<Task> result) {
+        try {
+            return result.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.codes.tasktracker.demo.service;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Configuration of the group-commit write pipeline.
+ *
+ * @param enabled        Whether single creates and updates go through the
+ *                       pipeline instead of a transaction each.
+ * @param queueCapacity  The number of writes that may wait for the
+ *                       writer before callers are held back.
+ * @param maxBatchSize   The most writes committed in one transaction.
+ * @param maxLinger      How long the writer waits for more writes after
+ *                       the first one of a batch arrives.
+ * @param enqueueTimeout How long a caller waits for room in a full queue
+ *                       before it is rejected with 503.
+ */
+@ConfigurationProperties(prefix = "tasktracker.writes")
+public record TaskWriteProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("10000") int queueCapacity,
+        @DefaultValue("256") int maxBatchSize,
+        @DefaultValue("2ms") Duration maxLinger,
+        @DefaultValue("1s") Duration enqueueTimeout
+) {
+
+    /**
+     * Returns the defaults used when nothing is configured.
+     *
+     * @return The default properties.
+     */
+    public static TaskWriteProperties defaults() {
+        return new TaskWriteProperties(false, 10000, 256,
+                Duration.ofMillis(2), Duration.ofSeconds(1));
+    }
+}
@@ -0,0 +1,270 @@
+package com.codes.tasktracker.demo.reactive;
+
+import com.codes.tasktracker.demo.dto.TaskPage;
+import com.codes.tasktracker.demo.dto.TaskUpdateDto;
+import com.codes.tasktracker.demo.dto.TaskView;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(classes = ReactiveTaskTrackerApplication.class,
+        webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {
+                "spring.main.web-application-type=reactive",
+                "server.error.include-message=always"})
+@ActiveProfiles(ReactiveTaskTrackerApplication.PROFILE)
+@AutoConfigureWebTestClient
+class ReactiveTaskControllerTest {
+
+    private static final ParameterizedTypeReference<TaskPage<TaskView>> PAGE =
+            new ParameterizedTypeReference<>() {
+            };
+
+    @Autowired
+    private WebTestClient client;
+
+    @Autowired
+    private ReactiveTaskRepository repository;
+
+    @BeforeEach
+    void clearTasks() {
+        repository.deleteAll().block();
+    }
+
+    private TaskView create(final String description) {
+        return client.post().uri("/tasks")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(Map.of("description", description))
+                .exchange()
+                .expectStatus().isCreated()
+                .expectBody(TaskView.class)
+                .returnResult()
+                .getResponseBody();
+    }
+
+    private WebTestClient.ResponseSpec get(final UUID id) {
+        return client.get().uri("/tasks/{id}", id).exchange();
+    }
+
+    @Test
+    void createTaskReturnsCreatedTaskAndLocation() {
+        client.post().uri("/tasks")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(Map.of("description", "Comprar pan"))
+                .exchange()
+                .expectStatus().isCreated()
+                .expectHeader().value("Location", location -> assertThat(location).startsWith("/tasks/"))
+                .expectBody()
+                .jsonPath("$.description").isEqualTo("Comprar pan")
+                .jsonPath("$.completed").isEqualTo(false);
+    }
+
+    @Test
+    void createTaskRejectsBlankDescription() {
+        client.post().uri("/tasks")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(Map.of("description", " "))
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+
+    @Test
+    void createTasksReturnsIdsInRequestOrder() {
+        List<UUID> ids = client.post().uri("/tasks/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(List.of("Uno", "Dos"))
+                .exchange()
+                .expectStatus().isCreated()
+                .expectBodyList(UUID.class)
+                .returnResult()
+                .getResponseBody();
+
+        assertThat(ids).hasSize(2);
+        get(ids.get(0)).expectBody().jsonPath("$.description").isEqualTo("Uno");
+        get(ids.get(1)).expectBody().jsonPath("$.description").isEqualTo("Dos");
+    }
+
+    @Test
+    void createTasksRejectsEmptyBatch() {
+        client.post().uri("/tasks/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(List.of())
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+
+    @Test
+    void getTaskReturnsTask() {
+        TaskView task = create("Leer");
+
+        get(task.id())
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.id").isEqualTo(task.id().toString())
+                .jsonPath("$.description").isEqualTo("Leer");
+    }
+
+    @Test
+    void getTaskReturns404WhenNotFound() {
+        UUID id = UUID.randomUUID();
+
+        get(id)
+                .expectStatus().isNotFound()
+                .expectBody()
+                .jsonPath("$.message").isEqualTo("Tarea no encontrada: " + id);
+    }
+
+    @Test
+    void listTasksFollowsCursorToTheLastPage() {
+        TaskView first = create("Uno");
+        TaskView second = create("Dos");
+        TaskView third = create("Tres");
+
+        TaskPage<TaskView> page = client.get().uri("/tasks?limit=2")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(PAGE)
+                .returnResult()
+                .getResponseBody();
+
+        assertThat(page.items()).extracting(TaskView::id).containsExactly(first.id(), second.id());
+        assertThat(page.next()).isNotNull();
+
+        TaskPage<TaskView> last = client.get()
+                .uri(uri -> uri.path("/tasks")
+                        .queryParam("limit", 2)
+                        .queryParam("cursor", page.next())
+                        .build())
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(PAGE)
+                .returnResult()
+                .getResponseBody();
+
+        assertThat(last.items()).extracting(TaskView::id).containsExactly(third.id());
+        assertThat(last.next()).isNull();
+    }
+
+    @Test
+    void updateTaskChangesDescriptionAndStatus() {
+        TaskView task = create("Antes");
+
+        client.put().uri("/tasks/{id}", task.id())
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new TaskUpdateDto("Después", true))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.description").isEqualTo("Después")
+                .jsonPath("$.completed").isEqualTo(true)
+                .jsonPath("$.version").isEqualTo(task.version() + 1);
+    }
+
+    @Test
+    void updateTaskReturns404WhenNotFound() {
+        client.put().uri("/tasks/{id}", UUID.randomUUID())
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new TaskUpdateDto("Nada", null))
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+
+    @Test
+    void completeTaskMarksTaskCompleted() {
+        TaskView task = create("Terminar");
+
+        client.post().uri("/tasks/{id}/complete", task.id())
+                .exchange()
+                .expectStatus().isNoContent();
+        client.post().uri("/tasks/{id}/complete", task.id())
+                .exchange()
+                .expectStatus().isNoContent();
+
+        get(task.id()).expectBody()
+                .jsonPath("$.completed").isEqualTo(true)
+                .jsonPath("$.version").isEqualTo(task.version() + 1);
+    }
+
+    @Test
+    void completeTaskReturns404WhenNotFound() {
+        client.post().uri("/tasks/{id}/complete", UUID.randomUUID())
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+
+    @Test
+    void deleteTaskRemovesTask() {
+        TaskView task = create("Borrar");
+
+        client.delete().uri("/tasks/{id}", task.id())
+                .exchange()
+                .expectStatus().isNoContent();
+
+        get(task.id()).expectStatus().isNotFound();
+        client.delete().uri("/tasks/{id}", task.id())
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+
+    @Test
+    void unpagedListReturnsAllTasksInCreationOrder() {
+        TaskView first = create("Uno");
+        TaskView second = create("Dos");
+
+        client.get().uri("/tasks?unpaged=true")
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBodyList(TaskView.class)
+                .value(tasks -> assertThat(tasks).extracting(TaskView::id)
+                        .containsExactly(first.id(), second.id()));
+    }
+
+    @Test
+    void unpagedListStreamsNdjsonWhenAccepted() {
+        TaskView first = create("Uno");
+        TaskView second = create("Dos");
+
+        List<TaskView> tasks = client.get().uri("/tasks?unpaged=true")
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .returnResult(TaskView.class)
+                .getResponseBody()
+                .collectList()
+                .block();
+
+        assertThat(tasks).extracting(TaskView::id).containsExactly(first.id(), second.id());
+    }
+
+    @Test
+    void exportStreamsAllTasksAsNdjson() {
+        TaskView first = create("Uno");
+        TaskView second = create("Dos");
+
+        List<TaskView> tasks = client.get().uri("/tasks/export")
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .returnResult(TaskView.class)
+                .getResponseBody()
+                .collectList()
+                .block();
+
+        assertThat(tasks).extracting(TaskView::id).containsExactly(first.id(), second.id());
+    }
+}
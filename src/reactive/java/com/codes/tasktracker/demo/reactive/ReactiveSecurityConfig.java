@@ -0,0 +1,31 @@
+package com.codes.tasktracker.demo.reactive;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.security.config.annotation.web.reactive.EnableWebFluxSecurity;
+import org.springframework.security.config.web.server.ServerHttpSecurity;
+import org.springframework.security.web.server.SecurityWebFilterChain;
+
+/**
+ * Security configuration of the reactive variant, matching the servlet
+ * one.
+ */
+@Configuration
+@EnableWebFluxSecurity
+@Profile(ReactiveTaskTrackerApplication.PROFILE)
+public class ReactiveSecurityConfig {
+
+    /**
+     * Configures the security filter chain.
+     *
+     * @param http The ServerHttpSecurity to configure.
+     * @return The configured SecurityWebFilterChain.
+     */
+    @Bean
+    public SecurityWebFilterChain filterChain(final ServerHttpSecurity http) {
+        return http.csrf(ServerHttpSecurity.CsrfSpec::disable)
+                .authorizeExchange(exchange -> exchange.anyExchange().permitAll())
+                .build();
+    }
+}
@@ -0,0 +1,214 @@
+package com.codes.tasktracker.demo.reactive;
+
+import com.codes.tasktracker.demo.dto.TaskFilter;
+import com.codes.tasktracker.demo.dto.TaskPage;
+import com.codes.tasktracker.demo.dto.TaskSort;
+import com.codes.tasktracker.demo.dto.TaskUpdateDto;
+import com.codes.tasktracker.demo.dto.TaskView;
+import com.codes.tasktracker.demo.service.TaskService;
+import org.springframework.context.annotation.Profile;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * WebFlux controller serving the core of the servlet variant's
+ * {@code /tasks} API: create, read, list, update, complete and delete.
+ *
+ * <p>Handlers return publishers and never block the event loop. Listing
+ * every task returns a {@link Flux} that is written as the rows arrive;
+ * the network's demand is passed back to the query, so a slow client
+ * slows the read down instead of filling the heap.</p>
+ */
+@RestController
+@RequestMapping("/tasks")
+@Profile(ReactiveTaskTrackerApplication.PROFILE)
+public class ReactiveTaskController {
+
+    /**
+     * The task service.
+     */
+    private final ReactiveTaskService taskService;
+
+    /**
+     * Constructs a new ReactiveTaskController with the given service.
+     *
+     * @param taskService The task service.
+     */
+    public ReactiveTaskController(final ReactiveTaskService taskService) {
+        this.taskService = taskService;
+    }
+
+    /**
+     * Creates a new task.
+     *
+     * @param body The request body containing the description.
+     * @return The created task.
+     */
+    @PostMapping
+    public Mono<ResponseEntity<TaskView>> createTask(
+            @RequestBody final Map<String, String> body) {
+
+        String desc = body.get("description");
+        if (desc == null || desc.isBlank()) {
+            return Mono.just(ResponseEntity.badRequest().build());
+        }
+        return this.taskService.createTask(desc)
+                .map(task -> ResponseEntity
+                        .created(URI.create("/tasks/" + task.id()))
+                        .body(task.toView()));
+    }
+
+    /**
+     * Creates many tasks in one transaction.
+     *
+     * @param descriptions The descriptions of the tasks to create.
+     * @return The IDs of the created tasks, in request order.
+     */
+    @PostMapping("/batch")
+    public Mono<ResponseEntity<List<UUID>>> createTasks(
+            @RequestBody final List<String> descriptions) {
+
+        if (descriptions.isEmpty()
+                || descriptions.size() > TaskService.MAX_BATCH_SIZE) {
+            return Mono.just(ResponseEntity.badRequest().build());
+        }
+        for (String desc : descriptions) {
+            if (desc == null || desc.isBlank()) {
+                return Mono.just(ResponseEntity.badRequest().build());
+            }
+        }
+        return this.taskService.createTasks(descriptions)
+                .map(ids -> ResponseEntity.status(HttpStatus.CREATED).body(ids));
+    }
+
+    /**
+     * Retrieves a task by its ID.
+     *
+     * @param id The ID of the task.
+     * @return The task.
+     */
+    @GetMapping("/{id}")
+    public Mono<TaskView> getTask(@PathVariable final UUID id) {
+        return this.taskService.getTask(id).map(TaskRow::toView);
+    }
+
+    /**
+     * Lists one page of tasks, optionally filtered and sorted.
+     *
+     * @param completed   Only tasks with this completion status.
+     * @param createdFrom Only tasks created at or after this instant.
+     * @param createdTo   Only tasks created before this instant.
+     * @param updatedFrom Only tasks updated at or after this instant.
+     * @param updatedTo   Only tasks updated before this instant.
+     * @param sort        {@code createdAt} or {@code updatedAt}.
+     * @param direction   {@code asc} or {@code desc}.
+     * @param cursor      The cursor returned with the previous page.
+     * @param limit       The maximum number of tasks to return.
+     * @return The page of tasks and the cursor for the next one.
+     */
+    @GetMapping
+    public Mono<TaskPage<TaskView>> listTasks(
+            @RequestParam(required = false) final Boolean completed,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+            final Instant createdFrom,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+            final Instant createdTo,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+            final Instant updatedFrom,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+            final Instant updatedTo,
+            @RequestParam(required = false) final String sort,
+            @RequestParam(required = false) final String direction,
+            @RequestParam(required = false) final String cursor,
+            @RequestParam(defaultValue = "" + TaskService.DEFAULT_PAGE_SIZE)
+            final int limit) {
+
+        TaskFilter filter = new TaskFilter(completed, createdFrom, createdTo,
+                updatedFrom, updatedTo, TaskSort.of(sort, direction));
+        return this.taskService.listTasks(filter, cursor, limit);
+    }
+
+    /**
+     * Streams all tasks in a single response.
+     *
+     * <p>Only served when the client opts in with {@code unpaged=true}.
+     * Written as a JSON array, or one task per line when the client
+     * accepts {@code application/x-ndjson}.</p>
+     *
+     * @return All tasks, in creation order.
+     */
+    @GetMapping(params = "unpaged=true",
+            produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public Flux<TaskView> listAllTasks() {
+        return this.taskService.streamTasks();
+    }
+
+    /**
+     * Streams all tasks as newline-delimited JSON.
+     *
+     * @return All tasks, in creation order.
+     */
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<TaskView> exportTasks() {
+        return this.taskService.streamTasks();
+    }
+
+    /**
+     * Updates a task.
+     *
+     * @param id  The ID of the task to update.
+     * @param dto The data transfer object with new values.
+     * @return The updated task.
+     */
+    @PutMapping("/{id}")
+    public Mono<TaskView> updateTask(
+            @PathVariable final UUID id,
+            @RequestBody final TaskUpdateDto dto) {
+
+        return this.taskService.updateTask(id, dto.description(), dto.completed())
+                .map(TaskRow::toView);
+    }
+
+    /**
+     * Marks a task as completed.
+     *
+     * @param id The ID of the task to complete.
+     * @return A no-content response.
+     */
+    @PostMapping("/{id}/complete")
+    public Mono<ResponseEntity<Void>> completeTask(@PathVariable final UUID id) {
+        return this.taskService.markTaskCompleted(id)
+                .then(Mono.just(ResponseEntity.noContent().build()));
+    }
+
+    /**
+     * Deletes a task.
+     *
+     * @param id The ID of the task to delete.
+     * @return A no-content response.
+     */
+    @DeleteMapping("/{id}")
+    public Mono<ResponseEntity<Void>> deleteTask(@PathVariable final UUID id) {
+        return this.taskService.deleteTask(id)
+                .then(Mono.just(ResponseEntity.noContent().build()));
+    }
+}
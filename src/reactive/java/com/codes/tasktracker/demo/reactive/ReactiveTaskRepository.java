@@ -0,0 +1,51 @@
+package com.codes.tasktracker.demo.reactive;
+
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Reactive repository for {@link TaskRow}s.
+ *
+ * <p>Rows are read as the subscriber requests them, so a slow client
+ * slows the query down instead of buffering the result.</p>
+ */
+public interface ReactiveTaskRepository
+        extends ReactiveCrudRepository<TaskRow, UUID>, ReactiveTaskRepositoryCustom {
+
+    /**
+     * Streams every task in creation order.
+     *
+     * @return The tasks.
+     */
+    @Query("SELECT * FROM tasks ORDER BY created_at, id")
+    Flux<TaskRow> streamAll();
+
+    /**
+     * Completes a single pending task.
+     *
+     * @param id  The ID of the task.
+     * @param now The timestamp written to {@code updated_at}.
+     * @return 1 if the task was pending, 0 if it is missing or already done.
+     */
+    @Modifying
+    @Query("UPDATE tasks SET completed = TRUE, updated_at = :now, version = version + 1"
+            + " WHERE id = :id AND completed = FALSE")
+    Mono<Integer> markCompleted(@Param("id") UUID id, @Param("now") Instant now);
+
+    /**
+     * Deletes a task.
+     *
+     * @param id The ID of the task.
+     * @return 1 if the task existed, 0 otherwise.
+     */
+    @Modifying
+    @Query("DELETE FROM tasks WHERE id = :id")
+    Mono<Integer> removeById(@Param("id") UUID id);
+}
@@ -0,0 +1,23 @@
+package com.codes.tasktracker.demo.reactive;
+
+import com.codes.tasktracker.demo.dto.TaskCursor;
+import com.codes.tasktracker.demo.dto.TaskFilter;
+import com.codes.tasktracker.demo.dto.TaskView;
+import reactor.core.publisher.Flux;
+
+/**
+ * Criteria-based queries of {@link ReactiveTaskRepository}.
+ */
+public interface ReactiveTaskRepositoryCustom {
+
+    /**
+     * Returns the tasks matching a filter that follow a keyset position.
+     *
+     * @param filter The filter and ordering.
+     * @param after  The position of the last row already returned, or
+     *               null for the first page.
+     * @param limit  The maximum number of rows.
+     * @return Projections of the matching tasks in the filter's order.
+     */
+    Flux<TaskView> findPage(TaskFilter filter, TaskCursor after, int limit);
+}
@@ -0,0 +1,98 @@
+package com.codes.tasktracker.demo.reactive;
+
+import com.codes.tasktracker.demo.dto.TaskCursor;
+import com.codes.tasktracker.demo.dto.TaskFilter;
+import com.codes.tasktracker.demo.dto.TaskSort;
+import com.codes.tasktracker.demo.dto.TaskView;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.r2dbc.core.R2dbcEntityOperations;
+import org.springframework.data.relational.core.query.Criteria;
+import org.springframework.data.relational.core.query.Query;
+import reactor.core.publisher.Flux;
+
+/**
+ * Criteria implementation of {@link ReactiveTaskRepositoryCustom}, with
+ * the same predicates as the servlet variant's
+ * {@code TaskRepositoryCustomImpl}, so both use the same indexes.
+ */
+class ReactiveTaskRepositoryCustomImpl implements ReactiveTaskRepositoryCustom {
+
+    /**
+     * The R2DBC entity operations.
+     */
+    private final R2dbcEntityOperations operations;
+
+    /**
+     * Constructs a new ReactiveTaskRepositoryCustomImpl.
+     *
+     * @param operations The R2DBC entity operations.
+     */
+    ReactiveTaskRepositoryCustomImpl(final R2dbcEntityOperations operations) {
+        this.operations = operations;
+    }
+
+    @Override
+    public Flux<TaskView> findPage(
+            final TaskFilter filter,
+            final TaskCursor after,
+            final int limit) {
+
+        TaskSort sort = filter.sort();
+        Criteria where = filters(filter);
+        if (after != null) {
+            where = where.and(seek(sort.attribute(), after, sort.ascending()));
+        }
+        Sort.Direction direction = sort.ascending() ? Sort.Direction.ASC : Sort.Direction.DESC;
+        Query query = Query.query(where)
+                .sort(Sort.by(direction, sort.attribute(), "id"))
+                .limit(limit);
+        return this.operations.select(query, TaskRow.class).map(TaskRow::toView);
+    }
+
+    /**
+     * Builds the criteria of a filter.
+     *
+     * @param filter The filter.
+     * @return The criteria; empty when nothing is filtered.
+     */
+    static Criteria filters(final TaskFilter filter) {
+        Criteria where = Criteria.empty();
+        if (filter.completed() != null) {
+            where = where.and("completed").is(filter.completed());
+        }
+        if (filter.createdFrom() != null) {
+            where = where.and("createdAt").greaterThanOrEquals(filter.createdFrom());
+        }
+        if (filter.createdTo() != null) {
+            where = where.and("createdAt").lessThan(filter.createdTo());
+        }
+        if (filter.updatedFrom() != null) {
+            where = where.and("updatedAt").greaterThanOrEquals(filter.updatedFrom());
+        }
+        if (filter.updatedTo() != null) {
+            where = where.and("updatedAt").lessThan(filter.updatedTo());
+        }
+        return where;
+    }
+
+    /**
+     * Builds the keyset criteria positioning a query after a cursor, with
+     * the redundant bound on the sort key that lets the database start a
+     * range scan at the cursor.
+     *
+     * @param key       The sort key.
+     * @param after     The cursor.
+     * @param ascending Whether the ordering is ascending.
+     * @return The keyset criteria.
+     */
+    static Criteria seek(final String key, final TaskCursor after, final boolean ascending) {
+        if (ascending) {
+            return Criteria.where(key).greaterThanOrEquals(after.timestamp())
+                    .and(Criteria.where(key).greaterThan(after.timestamp())
+                            .or("id").greaterThan(after.id()));
+        }
+        return Criteria.where(key).lessThanOrEquals(after.timestamp())
+                .and(Criteria.where(key).lessThan(after.timestamp())
+                        .or("id").lessThan(after.id()));
+    }
+}
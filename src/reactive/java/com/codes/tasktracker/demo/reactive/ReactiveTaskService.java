@@ -0,0 +1,180 @@
+package com.codes.tasktracker.demo.reactive;
+
+import com.codes.tasktracker.demo.dto.TaskCursor;
+import com.codes.tasktracker.demo.dto.TaskFilter;
+import com.codes.tasktracker.demo.dto.TaskPage;
+import com.codes.tasktracker.demo.dto.TaskView;
+import com.codes.tasktracker.demo.exception.ResourceNotFoundException;
+import com.codes.tasktracker.demo.model.Task;
+import com.codes.tasktracker.demo.service.TaskService;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Non-blocking counterpart of {@link TaskService}, with the same limits
+ * and error messages.
+ *
+ * <p>No method blocks a thread: each returns a publisher that runs its
+ * statements on the R2DBC driver when subscribed. A connection is held
+ * only while a statement or transaction is in progress.</p>
+ */
+@Service
+@Profile(ReactiveTaskTrackerApplication.PROFILE)
+public class ReactiveTaskService {
+
+    /**
+     * The task repository.
+     */
+    private final ReactiveTaskRepository repository;
+
+    /**
+     * Constructs a new ReactiveTaskService.
+     *
+     * @param repository The task repository.
+     */
+    public ReactiveTaskService(final ReactiveTaskRepository repository) {
+        this.repository = repository;
+    }
+
+    /**
+     * Creates a new task.
+     *
+     * @param description The description of the task.
+     * @return The created task.
+     */
+    @Transactional
+    public Mono<TaskRow> createTask(final String description) {
+        return this.repository.save(TaskRow.create(description));
+    }
+
+    /**
+     * Creates many tasks in a single transaction.
+     *
+     * @param descriptions The descriptions of the tasks.
+     * @return The IDs of the created tasks, in input order.
+     */
+    @Transactional
+    public Mono<List<UUID>> createTasks(final List<String> descriptions) {
+        return this.repository
+                .saveAll(Flux.fromIterable(descriptions).map(TaskRow::create))
+                .map(TaskRow::id)
+                .collectList();
+    }
+
+    /**
+     * Retrieves a task by its ID.
+     *
+     * @param id The ID of the task.
+     * @return The task, or a {@link ResourceNotFoundException}.
+     */
+    @Transactional(readOnly = true)
+    public Mono<TaskRow> getTask(final UUID id) {
+        return this.repository.findById(id)
+                .switchIfEmpty(Mono.error(() -> notFound(id)));
+    }
+
+    /**
+     * Lists one page of the tasks matching a filter.
+     *
+     * @param filter The filter and ordering.
+     * @param cursor The cursor returned with the previous page, or null
+     *               for the first page.
+     * @param limit  The requested page size, clamped to
+     *               [1, {@value TaskService#MAX_PAGE_SIZE}].
+     * @return The page and the cursor for the next one.
+     */
+    @Transactional(readOnly = true)
+    public Mono<TaskPage<TaskView>> listTasks(
+            final TaskFilter filter,
+            final String cursor,
+            final int limit) {
+
+        int size = Math.max(1, Math.min(limit, TaskService.MAX_PAGE_SIZE));
+        TaskCursor after = cursor == null || cursor.isBlank() ? null : TaskCursor.decode(cursor);
+        // Fetch one extra row to learn whether a next page exists.
+        return this.repository.findPage(filter, after, size + 1)
+                .collectList()
+                .map(rows -> {
+                    if (rows.size() <= size) {
+                        return new TaskPage<>(rows, null);
+                    }
+                    List<TaskView> items = List.copyOf(rows.subList(0, size));
+                    TaskView last = items.get(size - 1);
+                    return new TaskPage<>(items,
+                            new TaskCursor(filter.sort().keyOf(last), last.id()).encode());
+                });
+    }
+
+    /**
+     * Streams all tasks in creation order.
+     *
+     * <p>Not transactional: the rows are read on one connection as the
+     * subscriber requests them, and the connection goes back to the pool
+     * when the stream completes or is cancelled.</p>
+     *
+     * @return The tasks.
+     */
+    public Flux<TaskView> streamTasks() {
+        return this.repository.streamAll().map(TaskRow::toView);
+    }
+
+    /**
+     * Updates a task.
+     *
+     * @param id          The ID of the task to update.
+     * @param description The new description.
+     * @param completed   The new completion status.
+     * @return The updated task.
+     */
+    @Transactional
+    public Mono<TaskRow> updateTask(
+            final UUID id,
+            final String description,
+            final Boolean completed) {
+
+        return getTask(id)
+                .flatMap(task -> this.repository.save(task.update(description, completed)));
+    }
+
+    /**
+     * Marks a task as completed.
+     *
+     * <p>Issues a single conditional UPDATE. Only when no row changed does
+     * it check whether the task exists, to tell a missing task apart from
+     * one that was already completed.</p>
+     *
+     * @param id The ID of the task to mark as completed.
+     * @return Completes when done.
+     */
+    @Transactional
+    public Mono<Void> markTaskCompleted(final UUID id) {
+        return this.repository.markCompleted(id, Task.now())
+                .filter(updated -> updated == 0)
+                .flatMap(updated -> this.repository.existsById(id))
+                .filter(exists -> !exists)
+                .flatMap(missing -> Mono.<Void>error(notFound(id)));
+    }
+
+    /**
+     * Deletes a task.
+     *
+     * @param id The ID of the task to delete.
+     * @return Completes when done.
+     */
+    @Transactional
+    public Mono<Void> deleteTask(final UUID id) {
+        return this.repository.removeById(id)
+                .filter(removed -> removed == 0)
+                .flatMap(removed -> Mono.<Void>error(notFound(id)));
+    }
+
+    private static ResourceNotFoundException notFound(final UUID id) {
+        return new ResourceNotFoundException("Tarea no encontrada: " + id);
+    }
+}
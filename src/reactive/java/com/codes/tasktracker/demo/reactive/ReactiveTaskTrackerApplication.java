@@ -0,0 +1,56 @@
+package com.codes.tasktracker.demo.reactive;
+
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.data.jpa.JpaRepositoriesAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceTransactionManagerAutoConfiguration;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernateJpaAutoConfiguration;
+import org.springframework.boot.autoconfigure.security.reactive.ReactiveUserDetailsServiceAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.annotation.Profile;
+
+/**
+ * Main class of the reactive variant: the task API on WebFlux and R2DBC,
+ * built with the {@code reactive} Maven profile.
+ *
+ * <p>Only this package is scanned, so none of the servlet components are
+ * loaded. Every component here is limited to the {@code reactive} Spring
+ * profile, which keeps them out of the servlet application when both
+ * variants share a classpath.</p>
+ */
+@SpringBootApplication(exclude = {
+        DataSourceAutoConfiguration.class,
+        DataSourceTransactionManagerAutoConfiguration.class,
+        HibernateJpaAutoConfiguration.class,
+        JpaRepositoriesAutoConfiguration.class,
+        ReactiveUserDetailsServiceAutoConfiguration.class})
+@Profile(ReactiveTaskTrackerApplication.PROFILE)
+public class ReactiveTaskTrackerApplication {
+
+    /**
+     * The profile of the reactive variant.
+     */
+    public static final String PROFILE = "reactive";
+
+    /**
+     * Creates a builder for the reactive application, with the
+     * {@code reactive} profile active.
+     *
+     * @return The application builder.
+     */
+    public static SpringApplicationBuilder builder() {
+        return new SpringApplicationBuilder(ReactiveTaskTrackerApplication.class)
+                .web(WebApplicationType.REACTIVE)
+                .profiles(PROFILE);
+    }
+
+    /**
+     * Main method.
+     *
+     * @param args The command line arguments.
+     */
+    public static void main(final String[] args) {
+        builder().run(args);
+    }
+}
@@ -0,0 +1,83 @@
+package com.codes.tasktracker.demo.reactive;
+
+import com.codes.tasktracker.demo.dto.TaskView;
+import com.codes.tasktracker.demo.model.Task;
+import com.codes.tasktracker.demo.model.UuidV7;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * A row of the {@code tasks} table as mapped by Spring Data R2DBC.
+ *
+ * <p>Immutable: changes produce a new row, and the repository returns
+ * the row it wrote with the incremented version.</p>
+ *
+ * @param id          The task's ID, a time-ordered UUIDv7.
+ * @param description The task's description.
+ * @param completed   Whether the task is completed.
+ * @param createdAt   The creation timestamp.
+ * @param updatedAt   The last update timestamp.
+ * @param version     Incremented on every change; 0 until inserted.
+ */
+@Table("tasks")
+public record TaskRow(
+        @Id UUID id,
+        String description,
+        boolean completed,
+        Instant createdAt,
+        Instant updatedAt,
+        @Version long version
+) {
+
+    /**
+     * Creates a row for a new task.
+     *
+     * @param description The task description.
+     * @return The row, not yet inserted.
+     */
+    public static TaskRow create(final String description) {
+        Instant now = Task.now();
+        return new TaskRow(UuidV7.next(), description, false, now, now, 0);
+    }
+
+    /**
+     * Applies an update, with the servlet variant's semantics: the
+     * description is replaced and a task can be completed but not
+     * reopened.
+     *
+     * @param newDescription The new description.
+     * @param complete       The new completion status, or null to keep it.
+     * @return The updated row.
+     */
+    public TaskRow update(final String newDescription, final Boolean complete) {
+        boolean done = this.completed || (complete != null && complete);
+        return new TaskRow(this.id, newDescription, done,
+                this.createdAt, Task.now(), this.version);
+    }
+
+    /**
+     * Returns a copy with another version; used by Spring Data to set the
+     * version after a write.
+     *
+     * @param newVersion The version.
+     * @return The copy.
+     */
+    public TaskRow withVersion(final long newVersion) {
+        return new TaskRow(this.id, this.description, this.completed,
+                this.createdAt, this.updatedAt, newVersion);
+    }
+
+    /**
+     * Converts this row to the API's read-only projection.
+     *
+     * @return The projection.
+     */
+    public TaskView toView() {
+        return new TaskView(this.id, this.description, this.completed,
+                this.createdAt, this.updatedAt, this.version);
+    }
+}
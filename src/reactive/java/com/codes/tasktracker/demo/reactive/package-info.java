@@ -0,0 +1,5 @@
+/**
+ * This package contains the reactive variant of the application: the
+ * task API on WebFlux and R2DBC.
+ */
+package com.codes.tasktracker.demo.reactive;
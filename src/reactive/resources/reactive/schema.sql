@@ -0,0 +1,13 @@
+-- Same table and indexes as the JPA mapping of Task.
+CREATE TABLE IF NOT EXISTS tasks (
+    id UUID PRIMARY KEY,
+    description VARCHAR(255) NOT NULL,
+    completed BOOLEAN NOT NULL DEFAULT FALSE,
+    created_at TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    updated_at TIMESTAMP(6) WITH TIME ZONE,
+    version BIGINT NOT NULL
+);
+CREATE INDEX IF NOT EXISTS idx_tasks_created_at_id ON tasks (created_at, id);
+CREATE INDEX IF NOT EXISTS idx_tasks_updated_at_id ON tasks (updated_at, id);
+CREATE INDEX IF NOT EXISTS idx_tasks_completed_created_at_id ON tasks (completed, created_at, id);
+CREATE INDEX IF NOT EXISTS idx_tasks_completed_updated_at_id ON tasks (completed, updated_at, id);
@@ -1,24 +1,63 @@
 package com.codes.tasktracker.demo;
 
+import com.codes.tasktracker.demo.dto.TaskChanges;
+import com.codes.tasktracker.demo.dto.TaskCursor;
+import com.codes.tasktracker.demo.dto.TaskField;
+import com.codes.tasktracker.demo.dto.TaskFilter;
+import com.codes.tasktracker.demo.dto.TaskPage;
+import com.codes.tasktracker.demo.dto.TaskSort;
+import com.codes.tasktracker.demo.dto.TaskView;
+import com.codes.tasktracker.demo.exception.BadRequestException;
+import com.codes.tasktracker.demo.exception.GoneException;
+import com.codes.tasktracker.demo.exception.PreconditionFailedException;
 import com.codes.tasktracker.demo.exception.ResourceNotFoundException;
 import com.codes.tasktracker.demo.model.Task;
-import com.codes.tasktracker.demo.repository.TaskRepository;
+import com.codes.tasktracker.demo.model.TaskTombstone;
+import com.codes.tasktracker.demo.repository.TaskStore;
+import com.codes.tasktracker.demo.service.TaskCache;
+import com.codes.tasktracker.demo.service.TaskCacheProperties;
+import com.codes.tasktracker.demo.service.TaskSearchIndex;
+import com.codes.tasktracker.demo.service.TaskChangedEvent;
+import com.codes.tasktracker.demo.service.TaskChangesProperties;
+import com.codes.tasktracker.demo.service.TaskCountsChangedEvent;
 import com.codes.tasktracker.demo.service.TaskService;
+import com.codes.tasktracker.demo.service.TaskStats;
+import com.codes.tasktracker.demo.service.TaskStatsProperties;
+import com.codes.tasktracker.demo.service.TaskWrite;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Captor;
-import org.mockito.InjectMocks;
+import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Consumer;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -26,31 +65,54 @@ import static org.mockito.Mockito.when;
 class TaskServiceTest {
 
     /**
-     * Mock for the task repository.
+     * Mock for the storage engine.
      */
     @Mock
-    private TaskRepository repository;
+    private TaskStore store;
+
+    /**
+     * Mock for the event publisher.
+     */
+    @Mock
+    private ApplicationEventPublisher events;
 
     /**
      * The service under test.
      */
-    @InjectMocks
     private TaskService service;
 
+    /**
+     * The real search index behind the service.
+     */
+    private TaskSearchIndex searchIndex;
+
     /**
      * Captor for task arguments.
      */
     @Captor
     private ArgumentCaptor<Task> taskCaptor;
 
+    @BeforeEach
+    void setUp() {
+        TaskCache cache = new TaskCache(TaskCacheProperties.defaults());
+        searchIndex = new TaskSearchIndex();
+        service = new TaskService(store, cache, searchIndex, TaskChangesProperties.defaults(),
+                new TaskStats(store, TaskStatsProperties.defaults()), events);
+    }
+
+    private static TaskView view(final String description) {
+        Instant now = Task.now();
+        return new TaskView(UUID.randomUUID(), description, false, now, now, 0);
+    }
+
     @Test
     void createTaskCreatesAndSavesWithDefaults() {
-        when(repository.save(any(Task.class)))
+        when(store.save(any(Task.class)))
                 .thenAnswer(inv -> inv.getArgument(0));
 
         Task result = service.createTask("Primera tarea");
 
-        verify(repository).save(taskCaptor.capture());
+        verify(store).save(taskCaptor.capture());
         Task saved = taskCaptor.getValue();
 
         assertThat(saved.getDescription()).isEqualTo("Primera tarea");
@@ -62,45 +124,53 @@ class TaskServiceTest {
     @Test
     void getTaskThrowsWhenNotFound() {
         UUID fakeId = UUID.randomUUID();
-        when(repository.findById(fakeId)).thenReturn(Optional.empty());
+        when(store.findById(fakeId)).thenReturn(Optional.empty());
 
         Exception ex = assertThrows(ResourceNotFoundException.class, () -> {
             service.getTask(fakeId);
         });
 
         assertThat(ex.getMessage()).contains("Tarea no encontrada");
-        verify(repository).findById(fakeId);
+        verify(store).findById(fakeId);
     }
 
     @Test
-    void markTaskCompletedMarksAndSaves() {
+    void markTaskCompletedIssuesSingleUpdate() {
         UUID taskId = UUID.randomUUID();
-        Task existing = new Task("Tarea pendiente"); // completed=false
+        when(store.markCompleted(eq(taskId), any(Instant.class))).thenReturn(1);
 
-        when(repository.findById(taskId)).thenReturn(Optional.of(existing));
-        when(repository.save(any(Task.class)))
-                .thenAnswer(inv -> inv.getArgument(0));
+        service.markTaskCompleted(taskId);
+
+        verify(store).markCompleted(eq(taskId), any(Instant.class));
+        verify(store, never()).findById(any());
+        verify(store, never()).existsById(any());
+    }
+
+    @Test
+    void markTaskCompletedIsNoOpWhenAlreadyCompleted() {
+        UUID taskId = UUID.randomUUID();
+        when(store.markCompleted(eq(taskId), any(Instant.class))).thenReturn(0);
+        when(store.existsById(taskId)).thenReturn(true);
 
         service.markTaskCompleted(taskId);
 
-        assertThat(existing.isCompleted()).isTrue();
-        verify(repository).save(existing);
+        verify(store).existsById(taskId);
     }
 
     @Test
     void listAllTasksReturnsAllTasks() {
-        List<Task> mockTasks = List.of(
-                new Task("Tarea 1"),
-                new Task("Tarea 2")
+        List<TaskView> mockTasks = List.of(
+                view("Tarea 1"),
+                view("Tarea 2")
         );
-        when(repository.findAll()).thenReturn(mockTasks);
+        when(store.findAllViews()).thenReturn(mockTasks);
 
-        List<Task> result = service.listAllTasks();
+        List<TaskView> result = service.listAllTasks();
 
         assertThat(result).hasSize(2);
-        assertThat(result).extracting(Task::getDescription)
+        assertThat(result).extracting(TaskView::description)
                 .containsExactly("Tarea 1", "Tarea 2");
-        verify(repository).findAll();
+        verify(store).findAllViews();
     }
 
     @Test
@@ -108,53 +178,53 @@ class TaskServiceTest {
         UUID id = UUID.randomUUID();
         Task existing = new Task("Vieja descripcion");
 
-        when(repository.findById(id)).thenReturn(Optional.of(existing));
-        when(repository.save(any(Task.class)))
+        when(store.findById(id)).thenReturn(Optional.of(existing));
+        when(store.save(any(Task.class)))
                 .thenAnswer(inv -> inv.getArgument(0));
 
         Task result = service.updateTask(id, "Nueva descripcion", true);
 
         assertThat(result.getDescription()).isEqualTo("Nueva descripcion");
         assertThat(result.isCompleted()).isTrue();
-        verify(repository).save(existing);
+        verify(store).save(existing);
     }
 
     @Test
     void updateTaskThrowsWhenTaskNotFound() {
         UUID id = UUID.randomUUID();
-        when(repository.findById(id)).thenReturn(Optional.empty());
+        when(store.findById(id)).thenReturn(Optional.empty());
 
         Exception ex = assertThrows(ResourceNotFoundException.class, () -> {
             service.updateTask(id, "Nueva desc", true);
         });
 
         assertThat(ex.getMessage()).contains("Tarea no encontrada");
-        verify(repository).findById(id);
+        verify(store).findById(id);
     }
 
     @Test
     void deleteTaskDeletesById() {
         UUID id = UUID.randomUUID();
-        Task existing = new Task("Para eliminar");
-
-        when(repository.findById(id)).thenReturn(Optional.of(existing));
+        when(store.removeById(eq(id), any(Instant.class))).thenReturn(1);
 
         service.deleteTask(id);
 
-        verify(repository).delete(existing);
+        verify(store, times(1)).removeById(eq(id), any(Instant.class));
+        verify(store, never()).findById(any());
+        verify(store, never()).findVersionById(any());
     }
 
     @Test
     void deleteTaskThrowsWhenTaskNotFound() {
         UUID id = UUID.randomUUID();
-        when(repository.findById(id)).thenReturn(Optional.empty());
+        when(store.removeById(eq(id), any(Instant.class))).thenReturn(0);
 
         Exception ex = assertThrows(ResourceNotFoundException.class, () -> {
             service.deleteTask(id);
         });
 
         assertThat(ex.getMessage()).contains("Tarea no encontrada");
-        verify(repository).findById(id);
+        verify(events, never()).publishEvent(any());
     }
 
     @Test
@@ -162,27 +232,27 @@ class TaskServiceTest {
         UUID id = UUID.randomUUID();
         Task existing = new Task("Descripcion inicial");
 
-        when(repository.findById(id)).thenReturn(Optional.of(existing));
-        when(repository.save(any(Task.class)))
+        when(store.findById(id)).thenReturn(Optional.of(existing));
+        when(store.save(any(Task.class)))
                 .thenAnswer(inv -> inv.getArgument(0));
 
         Task result = service.updateTask(id, "Nueva descripcion", false);
 
         assertThat(result.getDescription()).isEqualTo("Nueva descripcion");
         assertThat(result.isCompleted()).isFalse();
-        verify(repository).save(existing);
+        verify(store).save(existing);
     }
 
     @Test
     void getTaskReturnsTaskWhenFound() {
         UUID id = UUID.randomUUID();
         Task task = new Task("Tarea existente");
-        when(repository.findById(id)).thenReturn(Optional.of(task));
+        when(store.findById(id)).thenReturn(Optional.of(task));
 
         Task result = service.getTask(id);
 
         assertThat(result).isEqualTo(task);
-        verify(repository).findById(id);
+        verify(store).findById(id);
     }
 
     @Test
@@ -191,36 +261,496 @@ class TaskServiceTest {
         Task existing = new Task("Descripcion inicial");
         existing.markCompleted(); // Start with completed = true
 
-        when(repository.findById(id)).thenReturn(Optional.of(existing));
-        when(repository.save(any(Task.class))).thenAnswer(inv -> inv.getArgument(0));
+        when(store.findById(id)).thenReturn(Optional.of(existing));
+        when(store.save(any(Task.class))).thenAnswer(inv -> inv.getArgument(0));
 
         Task result = service.updateTask(id, "Nueva descripcion", null);
 
         assertThat(result.getDescription()).isEqualTo("Nueva descripcion");
         assertThat(result.isCompleted()).isTrue(); // Should remain completed
-        verify(repository).save(existing);
+        verify(store).save(existing);
     }
 
     @Test
     void listAllTasksReturnsEmptyListWhenNoTasks() {
-        when(repository.findAll()).thenReturn(List.of());
+        when(store.findAllViews()).thenReturn(List.of());
 
-        List<Task> result = service.listAllTasks();
+        List<TaskView> result = service.listAllTasks();
 
         assertThat(result).isNotNull();
         assertThat(result).isEmpty();
-        verify(repository).findAll();
+        verify(store).findAllViews();
     }
 
     @Test
     void markTaskCompletedThrowsWhenNotFound() {
         UUID id = UUID.randomUUID();
-        when(repository.findById(id)).thenReturn(Optional.empty());
+        when(store.markCompleted(eq(id), any(Instant.class))).thenReturn(0);
+        when(store.existsById(id)).thenReturn(false);
 
         assertThrows(ResourceNotFoundException.class, () -> {
             service.markTaskCompleted(id);
         });
 
-        verify(repository).findById(id);
+        verify(store).existsById(id);
+    }
+
+    @Test
+    void listTasksReturnsFirstPageWithoutNextWhenShort() {
+        List<TaskView> rows = List.of(view("Tarea 1"), view("Tarea 2"));
+        when(store.findPage(TaskFilter.none(), null, 11)).thenReturn(rows);
+
+        TaskPage<TaskView> page = service.listTasks(TaskFilter.none(), null, 10);
+
+        assertThat(page.items()).hasSize(2);
+        assertThat(page.next()).isNull();
+    }
+
+    @Test
+    void listTasksReturnsCursorOfLastItemWhenMoreRowsExist() {
+        TaskView first = view("Tarea 1");
+        TaskView second = view("Tarea 2");
+        TaskView extra = view("Tarea 3");
+        when(store.findPage(TaskFilter.none(), null, 3))
+                .thenReturn(List.of(first, second, extra));
+
+        TaskPage<TaskView> page = service.listTasks(TaskFilter.none(), "", 2);
+
+        assertThat(page.items()).containsExactly(first, second);
+        TaskCursor next = TaskCursor.decode(page.next());
+        assertThat(next.id()).isEqualTo(second.id());
+        assertThat(next.timestamp()).isEqualTo(second.createdAt());
+    }
+
+    @Test
+    void listTasksBuildsCursorFromSortKey() {
+        TaskFilter filter = new TaskFilter(false, null, null, null, null, TaskSort.UPDATED_AT_DESC);
+        TaskView first = new TaskView(UUID.randomUUID(), "Tarea 1", false,
+                Instant.parse("2024-01-01T00:00:00Z"), Instant.parse("2024-01-05T00:00:00Z"), 0);
+        when(store.findPage(filter, null, 2)).thenReturn(List.of(first, view("Tarea 2")));
+
+        TaskPage<TaskView> page = service.listTasks(filter, null, 1);
+
+        assertThat(TaskCursor.decode(page.next()).timestamp()).isEqualTo(first.updatedAt());
+    }
+
+    @Test
+    void listTasksSeeksPastCursor() {
+        UUID lastId = UUID.randomUUID();
+        Instant lastCreated = Instant.parse("2024-01-01T10:15:30.123456Z");
+        TaskCursor after = new TaskCursor(lastCreated, lastId);
+        when(store.findPage(TaskFilter.none(), after, 6)).thenReturn(List.of());
+
+        TaskPage<TaskView> page = service.listTasks(TaskFilter.none(), after.encode(), 5);
+
+        assertThat(page.items()).isEmpty();
+        verify(store).findPage(TaskFilter.none(), after, 6);
+    }
+
+    @Test
+    void listTasksClampsLimit() {
+        when(store.findPage(any(), any(), anyInt())).thenReturn(List.of());
+
+        service.listTasks(TaskFilter.none(), null, 100_000);
+        service.listTasks(TaskFilter.none(), null, 0);
+
+        verify(store).findPage(TaskFilter.none(), null, TaskService.MAX_PAGE_SIZE + 1);
+        verify(store).findPage(TaskFilter.none(), null, 2);
+    }
+
+    @Test
+    void listTasksRejectsMalformedCursor() {
+        assertThrows(BadRequestException.class,
+                () -> service.listTasks(TaskFilter.none(), "%%%", 10));
+    }
+
+    @Test
+    void exportTasksFeedsEveryTask() {
+        Task first = new Task("Tarea 1");
+        Task second = new Task("Tarea 2");
+        when(store.forEachTask(any())).thenAnswer(inv -> {
+            Consumer<Task> sink = inv.getArgument(0);
+            sink.accept(first);
+            sink.accept(second);
+            return 2L;
+        });
+
+        List<Task> exported = new ArrayList<>();
+        long count = service.exportTasks(exported::add);
+
+        assertThat(count).isEqualTo(2);
+        assertThat(exported).containsExactly(first, second);
+    }
+
+    @Test
+    void createTasksInsertsAllAndReturnsIdsInOrder() {
+        List<Task> inserted = new ArrayList<>();
+        doAnswer(inv -> {
+            List<Task> tasks = inv.getArgument(0);
+            tasks.forEach(task -> task.setId(UUID.randomUUID()));
+            inserted.addAll(tasks);
+            return null;
+        }).when(store).insertAll(anyList());
+
+        List<UUID> ids = service.createTasks(List.of("Tarea 1", "Tarea 2", "Tarea 3"));
+
+        assertThat(inserted).extracting(Task::getDescription)
+                .containsExactly("Tarea 1", "Tarea 2", "Tarea 3");
+        assertThat(ids).containsExactlyElementsOf(inserted.stream().map(Task::getId).toList());
+    }
+
+    @Test
+    void completeTasksChunksDistinctIds() {
+        List<UUID> ids = new ArrayList<>();
+        for (int i = 0; i < TaskService.BULK_ID_CHUNK_SIZE + 10; i++) {
+            ids.add(UUID.randomUUID());
+        }
+        ids.add(ids.get(0));
+        when(store.completeAllByIdIn(any(), any(Instant.class)))
+                .thenAnswer(inv -> ((List<?>) inv.getArgument(0)).size());
+
+        int affected = service.completeTasks(ids);
+
+        assertThat(affected).isEqualTo(TaskService.BULK_ID_CHUNK_SIZE + 10);
+        verify(store, times(2)).completeAllByIdIn(any(), any(Instant.class));
+    }
+
+    @Test
+    void completeTasksCreatedBeforeReturnsTheBatchOfTheStore() {
+        Instant before = Instant.parse("2024-01-01T00:00:00Z");
+        TaskCursor after = new TaskCursor(before.minusSeconds(60), UUID.randomUUID());
+        TaskStore.Batch batch = new TaskStore.Batch(7, new TaskCursor(before.minusSeconds(1), UUID.randomUUID()));
+        when(store.completePendingCreatedBefore(eq(before), eq(after), eq(10), any(Instant.class)))
+                .thenReturn(batch);
+
+        assertThat(service.completeTasksCreatedBefore(before, after, 10)).isEqualTo(batch);
+    }
+
+    @Test
+    void deleteCompletedTasksBeforeReturnsTheBatchOfTheStore() {
+        Instant before = Instant.parse("2024-01-01T00:00:00Z");
+        TaskStore.Batch batch = new TaskStore.Batch(3, null);
+        when(store.deleteCompletedUpdatedBefore(eq(before), isNull(), eq(10), any(Instant.class)))
+                .thenReturn(batch);
+
+        assertThat(service.deleteCompletedTasksBefore(before, null, 10)).isEqualTo(batch);
+    }
+
+    @Test
+    void archiveCompletedTasksReportsEachTaskAsDeleted() {
+        Instant before = Instant.parse("2024-01-01T00:00:00Z");
+        TaskView first = new TaskView(UUID.randomUUID(), "Uno", true, before, before, 1);
+        TaskView second = new TaskView(UUID.randomUUID(), "Dos", true, before, before, 1);
+        when(store.archiveCompletedUpdatedBefore(eq(before), isNull(), eq(2), any(Instant.class)))
+                .thenReturn(List.of(first, second));
+
+        assertThat(service.archiveCompletedTasks(before, null, 2)).containsExactly(first, second);
+
+        verify(events).publishEvent(new TaskChangedEvent(TaskChangedEvent.Type.DELETED, first.id(), null));
+        verify(events).publishEvent(new TaskChangedEvent(TaskChangedEvent.Type.DELETED, second.id(), null));
+        verify(events).publishEvent(TaskCountsChangedEvent.deleted(2, 2));
+    }
+
+    @Test
+    void listArchivedTasksReturnsCursorOfLastItemWhenMoreRowsExist() {
+        Instant t = Instant.parse("2024-01-01T00:00:00Z");
+        TaskView first = new TaskView(UUID.randomUUID(), "Uno", true, t, t, 1);
+        TaskView second = new TaskView(UUID.randomUUID(), "Dos", true, t, t.plusSeconds(1), 1);
+        when(store.findArchivedPage(null, 2)).thenReturn(List.of(first, second));
+
+        TaskPage<TaskView> page = service.listArchivedTasks(null, 1);
+
+        assertThat(page.items()).containsExactly(first);
+        assertThat(TaskCursor.decode(page.next())).isEqualTo(new TaskCursor(t, first.id()));
+    }
+
+    @Test
+    void getArchivedTaskThrowsWhenNotArchived() {
+        UUID id = UUID.randomUUID();
+        when(store.findArchivedById(id)).thenReturn(Optional.empty());
+
+        assertThrows(ResourceNotFoundException.class, () -> service.getArchivedTask(id));
+    }
+
+    @Test
+    void listChangesMergesUpdatesAndDeletesInOrder() {
+        Instant t1 = Task.now().minusSeconds(60);
+        Instant t2 = t1.plusSeconds(1);
+        Instant t3 = t2.plusSeconds(1);
+        TaskView first = new TaskView(UUID.randomUUID(), "Uno", false, t1, t1, 0);
+        TaskView third = new TaskView(UUID.randomUUID(), "Tres", true, t1, t3, 1);
+        UUID deleted = UUID.randomUUID();
+        when(store.findChangedAfter(any(), any(), anyInt()))
+                .thenReturn(List.of(first, third));
+        when(store.findDeletedAfter(any(), any(), anyInt()))
+                .thenReturn(List.of(new TaskTombstone(deleted, t2)));
+
+        TaskChanges page = service.listChanges(null, 2);
+
+        assertThat(page.changed()).containsExactly(first);
+        assertThat(page.deleted()).containsExactly(deleted);
+        assertThat(page.hasMore()).isTrue();
+        assertThat(TaskCursor.decode(page.token())).isEqualTo(new TaskCursor(t2, deleted));
+    }
+
+    @Test
+    void listChangesMovesTokenToHorizonWhenCaughtUp() {
+        when(store.findChangedAfter(any(), any(), anyInt())).thenReturn(List.of());
+        when(store.findDeletedAfter(any(), any(), anyInt())).thenReturn(List.of());
+        Instant since = Task.now().minusSeconds(3600);
+
+        TaskChanges page = service.listChanges(
+                new TaskCursor(since, UUID.randomUUID()).encode(), 10);
+
+        assertThat(page.changed()).isEmpty();
+        assertThat(page.deleted()).isEmpty();
+        assertThat(page.hasMore()).isFalse();
+        Instant token = TaskCursor.decode(page.token()).timestamp();
+        assertThat(token.isAfter(since)).isTrue();
+        assertThat(token.isAfter(Task.now().minus(TaskChangesProperties.defaults().settleLag()))).isFalse();
+    }
+
+    @Test
+    void listChangesRejectsExpiredTokens() {
+        String since = new TaskCursor(Task.now().minus(Duration.ofDays(8)), UUID.randomUUID()).encode();
+
+        assertThrows(GoneException.class, () -> service.listChanges(since, 10));
+        verify(store, never()).findChangedAfter(any(), any(), anyInt());
+    }
+
+    @Test
+    void getTaskServesRepeatedLookupsFromCache() {
+        UUID id = UUID.randomUUID();
+        Task task = new Task("Tarea caliente");
+        when(store.findById(id)).thenReturn(Optional.of(task));
+
+        service.getTask(id);
+        service.getTask(id);
+
+        verify(store, times(1)).findById(id);
+        assertThat(service.cacheStats().hits()).isEqualTo(1);
+        assertThat(service.cacheStats().misses()).isEqualTo(1);
+    }
+
+    @Test
+    void getTaskCachesMissingIds() {
+        UUID id = UUID.randomUUID();
+        when(store.findById(id)).thenReturn(Optional.empty());
+
+        assertThrows(ResourceNotFoundException.class, () -> service.getTask(id));
+        assertThrows(ResourceNotFoundException.class, () -> service.getTask(id));
+
+        verify(store, times(1)).findById(id);
+    }
+
+    @Test
+    void mutationsPublishChangeEvents() {
+        UUID id = UUID.randomUUID();
+        when(store.removeById(eq(id), any(Instant.class))).thenReturn(1);
+
+        service.deleteTask(id);
+
+        verify(events).publishEvent(new TaskChangedEvent(TaskChangedEvent.Type.DELETED, id, null));
+    }
+
+    @Test
+    void deleteTaskTakesStatusOfTheDeletedTaskFromTheCache() {
+        Task done = new Task("Hecha");
+        done.setId(UUID.randomUUID());
+        done.markCompleted();
+        when(store.findById(done.getId())).thenReturn(Optional.of(done));
+        when(store.removeById(eq(done.getId()), any(Instant.class))).thenReturn(1);
+        service.getTask(done.getId());
+
+        service.deleteTask(done.getId());
+
+        verify(events).publishEvent(TaskCountsChangedEvent.deleted(1, 1));
+        verify(store, times(1)).removeById(eq(done.getId()), any(Instant.class));
+    }
+
+    @Test
+    void deleteTaskCountsAnUncachedTaskAsPending() {
+        UUID id = UUID.randomUUID();
+        when(store.removeById(eq(id), any(Instant.class))).thenReturn(1);
+
+        service.deleteTask(id);
+
+        verify(events).publishEvent(TaskCountsChangedEvent.deleted(1, 0));
+    }
+
+    @Test
+    void updateTaskPublishesCompletionOnlyWhenItCompletesTheTask() {
+        UUID id = UUID.randomUUID();
+        Task existing = new Task("Pendiente");
+        when(store.findById(id)).thenReturn(Optional.of(existing));
+        when(store.save(any(Task.class))).thenAnswer(inv -> inv.getArgument(0));
+
+        service.updateTask(id, "Hecha", true);
+        service.updateTask(id, "Hecha otra vez", true);
+
+        verify(events, times(1)).publishEvent(TaskCountsChangedEvent.completed(1));
+    }
+
+    @Test
+    void applyWritesSkipsRejectedWritesAndAppliesTheRest() {
+        UUID missing = UUID.randomUUID();
+        UUID stale = UUID.randomUUID();
+        UUID existing = UUID.randomUUID();
+        Task staleTask = new Task("Vieja");
+        Task existingTask = new Task("Actual");
+        when(store.findById(missing)).thenReturn(Optional.empty());
+        when(store.findById(stale)).thenReturn(Optional.of(staleTask));
+        when(store.findById(existing)).thenReturn(Optional.of(existingTask));
+        when(store.save(any(Task.class))).thenAnswer(inv -> inv.getArgument(0));
+
+        service.applyWrites(List.of(
+                TaskWrite.create("Nueva"),
+                TaskWrite.update(missing, "Nada", null, null),
+                TaskWrite.update(stale, "Nada", null, staleTask.getVersion() + 1),
+                TaskWrite.update(existing, "Cambiada", true, null)));
+
+        verify(store, times(2)).save(taskCaptor.capture());
+        assertThat(taskCaptor.getAllValues().get(0).getDescription()).isEqualTo("Nueva");
+        assertThat(taskCaptor.getAllValues().get(1)).isSameAs(existingTask);
+        assertThat(existingTask.isCompleted()).isTrue();
+        assertThat(staleTask.getDescription()).isEqualTo("Vieja");
+        verify(events, times(2)).publishEvent(any(TaskChangedEvent.class));
+        verify(store, never()).flush();
+    }
+
+    @Test
+    void applyWritesFlushesBeforeWritingTheSameTaskAgain() {
+        UUID id = UUID.randomUUID();
+        Task task = new Task("Original");
+        when(store.findById(id)).thenReturn(Optional.of(task));
+        when(store.save(any(Task.class))).thenAnswer(inv -> inv.getArgument(0));
+
+        service.applyWrites(List.of(
+                TaskWrite.update(id, "Primera", null, null),
+                TaskWrite.update(id, "Segunda", null, null)));
+
+        InOrder order = inOrder(store);
+        order.verify(store).save(task);
+        order.verify(store).flush();
+        order.verify(store).save(task);
+        assertThat(task.getDescription()).isEqualTo("Segunda");
+    }
+
+    @Test
+    void listTaskFieldsReturnsOnlyRequestedFields() {
+        UUID firstId = UUID.randomUUID();
+        UUID secondId = UUID.randomUUID();
+        Instant created = Instant.parse("2024-01-01T00:00:00Z");
+        Map<String, Object> first = Map.of("id", firstId, "completed", false, "createdAt", created);
+        Map<String, Object> second =
+                Map.of("id", secondId, "completed", false, "createdAt", created.plusSeconds(1));
+        Set<TaskField> fields = EnumSet.of(TaskField.ID, TaskField.COMPLETED);
+        when(store.findPageFields(TaskFilter.none(), null, 2, fields))
+                .thenReturn(List.of(first, second));
+
+        TaskPage<Map<String, Object>> page =
+                service.listTaskFields(TaskFilter.none(), null, 1, fields);
+
+        assertThat(page.items()).containsExactly(Map.of("id", firstId, "completed", false));
+        TaskCursor next = TaskCursor.decode(page.next());
+        assertThat(next.id()).isEqualTo(firstId);
+        assertThat(next.timestamp()).isEqualTo(created);
+    }
+
+    @Test
+    void searchTasksReturnsViewsInRankOrder() {
+        TaskView exact = view("Comprar pan");
+        TaskView prefix = view("Comprobar panadería");
+        searchIndex.index(exact.id(), exact.description(), 0);
+        searchIndex.index(prefix.id(), prefix.description(), 0);
+        when(store.findViewsByIdIn(anyList())).thenReturn(List.of(prefix, exact));
+
+        List<TaskView> result = service.searchTasks("compr pan", 10);
+
+        assertThat(result).containsExactly(exact, prefix);
+    }
+
+    @Test
+    void searchTasksDropsHitsThatNoLongerExist() {
+        TaskView live = view("Tarea viva");
+        UUID deleted = UUID.randomUUID();
+        searchIndex.index(live.id(), live.description(), 0);
+        searchIndex.index(deleted, "Tarea borrada", 0);
+        when(store.findViewsByIdIn(anyList())).thenReturn(List.of(live));
+
+        assertThat(service.searchTasks("tarea", 10)).containsExactly(live);
+        assertThat(searchIndex.size()).isEqualTo(1);
+    }
+
+    @Test
+    void searchTasksSkipsDatabaseWhenNothingMatches() {
+        assertThat(service.searchTasks("nada", 10)).isEmpty();
+        verify(store, never()).findViewsByIdIn(anyList());
+    }
+
+    @Test
+    void getTaskVersionReadsOnlyTheVersionColumn() {
+        UUID id = UUID.randomUUID();
+        when(store.findVersionById(id)).thenReturn(Optional.of(3L));
+
+        assertThat(service.getTaskVersion(id)).isEqualTo(3L);
+        verify(store, never()).findById(any());
+    }
+
+    @Test
+    void getTaskVersionIgnoresCachedTask() {
+        UUID id = UUID.randomUUID();
+        Task task = new Task("Tarea");
+        task.setId(id);
+        when(store.findById(id)).thenReturn(Optional.of(task));
+        service.getTask(id);
+        when(store.findVersionById(id)).thenReturn(Optional.of(4L));
+
+        assertThat(service.getTaskVersion(id)).isEqualTo(4L);
+    }
+
+    @Test
+    void getTaskVersionThrowsWhenTaskNotFound() {
+        UUID id = UUID.randomUUID();
+        when(store.findVersionById(id)).thenReturn(Optional.empty());
+
+        assertThrows(ResourceNotFoundException.class, () -> service.getTaskVersion(id));
+    }
+
+    @Test
+    void updateTaskWithExpectedVersionFlushesToDetectConflicts() {
+        UUID id = UUID.randomUUID();
+        Task existing = new Task("Vieja descripcion");
+        when(store.findById(id)).thenReturn(Optional.of(existing));
+        when(store.save(any(Task.class))).thenAnswer(inv -> inv.getArgument(0));
+
+        service.updateTask(id, "Nueva descripcion", null, existing.getVersion());
+
+        verify(store).flush();
+    }
+
+    @Test
+    void updateTaskRejectsStaleVersion() {
+        UUID id = UUID.randomUUID();
+        Task existing = new Task("Vieja descripcion");
+        when(store.findById(id)).thenReturn(Optional.of(existing));
+
+        assertThrows(PreconditionFailedException.class,
+                () -> service.updateTask(id, "Nueva descripcion", null, existing.getVersion() + 1));
+        verify(store, never()).save(any());
+        verify(events, never()).publishEvent(any());
+    }
+
+    @Test
+    void updateTaskTurnsConcurrentWriteIntoFailedPrecondition() {
+        UUID id = UUID.randomUUID();
+        Task existing = new Task("Vieja descripcion");
+        when(store.findById(id)).thenReturn(Optional.of(existing));
+        when(store.save(any(Task.class))).thenAnswer(inv -> inv.getArgument(0));
+        doThrow(new ObjectOptimisticLockingFailureException(Task.class, id))
+                .when(store).flush();
+
+        assertThrows(PreconditionFailedException.class,
+                () -> service.updateTask(id, "Nueva descripcion", null, existing.getVersion()));
     }
 }
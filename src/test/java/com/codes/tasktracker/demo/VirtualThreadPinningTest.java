@@ -0,0 +1,174 @@
+package com.codes.tasktracker.demo;
+
+import com.codes.tasktracker.demo.model.Task;
+import com.codes.tasktracker.demo.repository.InMemoryTaskStore;
+import com.codes.tasktracker.demo.service.TaskCache;
+import com.codes.tasktracker.demo.service.TaskCacheProperties;
+import com.codes.tasktracker.demo.service.TaskChangesProperties;
+import com.codes.tasktracker.demo.service.TaskSearchIndex;
+import com.codes.tasktracker.demo.service.TaskService;
+import com.codes.tasktracker.demo.service.TaskStats;
+import com.codes.tasktracker.demo.service.TaskStatsProperties;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.dao.OptimisticLockingFailureException;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Guards the virtual-thread mode against carrier pinning.
+ *
+ * <p>On Java 21 a virtual thread that blocks while holding a monitor pins
+ * its carrier thread, so application code guards shared state with
+ * {@code java.util.concurrent.locks} instead of {@code synchronized}.
+ * Besides checking the sources for the keyword, the service is driven
+ * from contending virtual threads under a JFR recording, which catches
+ * pinning in library code the application calls into as well.</p>
+ */
+class VirtualThreadPinningTest {
+
+    /**
+     * Comments, character and string literals, which may mention the
+     * keyword or contain quotes.
+     */
+    private static final Pattern COMMENTS_AND_STRINGS = Pattern.compile(
+            "/\\*.*?\\*/|//[^\\n]*|'(?:\\\\.|[^'\\\\])'|\"(?:\\\\.|[^\"\\\\])*\"",
+            Pattern.DOTALL);
+
+    private static final Pattern SYNCHRONIZED = Pattern.compile("\\bsynchronized\\b");
+
+    /**
+     * Package whose frames make a pinning event count.
+     */
+    private static final String APPLICATION_PACKAGE = "com.codes.tasktracker.";
+
+    /**
+     * Virtual threads driving the service at once.
+     */
+    private static final int THREADS = 200;
+
+    /**
+     * Tasks shared by all threads, so that they contend on them.
+     */
+    private static final int SHARED_TASKS = 8;
+
+    @Test
+    void mainSourcesDoNotUseSynchronized() throws IOException {
+        List<Path> offenders;
+        try (Stream<Path> sources = Files.walk(Path.of("src/main/java"))) {
+            offenders = sources
+                    .filter(path -> path.toString().endsWith(".java"))
+                    .filter(VirtualThreadPinningTest::usesSynchronized)
+                    .toList();
+        }
+
+        assertThat(offenders).isEmpty();
+    }
+
+    @Test
+    void serviceCallsDoNotPinCarrierThreads(@TempDir final Path dir) throws Exception {
+        InMemoryTaskStore store = new InMemoryTaskStore();
+        TaskService service = new TaskService(store, new TaskCache(TaskCacheProperties.defaults()),
+                new TaskSearchIndex(), TaskChangesProperties.defaults(),
+                new TaskStats(store, TaskStatsProperties.defaults()), event -> { });
+        List<UUID> shared = new ArrayList<>(SHARED_TASKS);
+        for (int i = 0; i < SHARED_TASKS; i++) {
+            shared.add(service.createTask("Compartida " + i).getId());
+        }
+
+        Path dump = dir.resolve("pinning.jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable("jdk.VirtualThreadPinned").withThreshold(Duration.ZERO).withStackTrace();
+            recording.start();
+            exercise(service, shared);
+            recording.stop();
+            recording.dump(dump);
+        }
+
+        List<String> pinned = RecordingFile.readAllEvents(dump).stream()
+                .filter(event -> event.getEventType().getName().equals("jdk.VirtualThreadPinned"))
+                .filter(VirtualThreadPinningTest::inApplicationCode)
+                .map(RecordedEvent::toString)
+                .toList();
+        assertThat(pinned).isEmpty();
+    }
+
+    /**
+     * Creates, reads, updates and deletes tasks from many virtual threads,
+     * half of the calls on the shared tasks.
+     */
+    private static void exercise(final TaskService service, final List<UUID> shared) throws Exception {
+        ExecutorService threads = Executors.newVirtualThreadPerTaskExecutor();
+        List<Future<?>> calls = new ArrayList<>(THREADS);
+        for (int i = 0; i < THREADS; i++) {
+            int n = i;
+            calls.add(threads.submit(() -> {
+                UUID target = shared.get(ThreadLocalRandom.current().nextInt(shared.size()));
+                service.getTask(target);
+                try {
+                    service.updateTask(target, "Revisada " + n, null);
+                } catch (OptimisticLockingFailureException e) {
+                    // Another thread updated the task since it was read.
+                }
+                Task own = service.createTask("Propia " + n);
+                service.getTask(own.getId());
+                service.updateTask(own.getId(), "Propia revisada " + n, true);
+                service.deleteTask(own.getId());
+                return null;
+            }));
+        }
+        threads.shutdown();
+        assertThat(threads.awaitTermination(30, TimeUnit.SECONDS)).isTrue();
+        for (Future<?> call : calls) {
+            call.get();
+        }
+    }
+
+    /**
+     * Tells whether a pinning event happened under application code,
+     * leaving out the frames of this test.
+     */
+    private static boolean inApplicationCode(final RecordedEvent event) {
+        RecordedStackTrace stack = event.getStackTrace();
+        if (stack == null) {
+            return false;
+        }
+        for (RecordedFrame frame : stack.getFrames()) {
+            String type = frame.getMethod().getType().getName();
+            if (type.startsWith(APPLICATION_PACKAGE)
+                    && !type.startsWith(VirtualThreadPinningTest.class.getName())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean usesSynchronized(final Path source) {
+        try {
+            String code = COMMENTS_AND_STRINGS.matcher(Files.readString(source)).replaceAll(" ");
+            return SYNCHRONIZED.matcher(code).find();
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot read " + source, e);
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.codes.tasktracker.demo.benchmark;
+
+import com.codes.tasktracker.demo.TaskTrackerApplication;
+import com.codes.tasktracker.demo.service.TaskService;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Compares insert throughput of single creates against batch creates on
+ * the embedded H2 database.
+ *
+ * <p>Run with:
+ * {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.codes.tasktracker.demo.benchmark.BatchInsertBenchmark
+ * -Dexec.args="20000"}</p>
+ */
+public final class BatchInsertBenchmark {
+
+    /**
+     * Tasks per batch request, the size importers are expected to send.
+     */
+    private static final int BATCH_SIZE = 1000;
+
+    private BatchInsertBenchmark() {
+    }
+
+    /**
+     * Runs the comparison.
+     *
+     * @param args Optional number of rows per measured phase.
+     */
+    public static void main(final String[] args) {
+        int rows = args.length > 0 ? Integer.parseInt(args[0]) : 20_000;
+
+        try (ConfigurableApplicationContext ctx =
+                     new SpringApplicationBuilder(TaskTrackerApplication.class)
+                             .properties("server.port=0")
+                             .run()) {
+            TaskService service = ctx.getBean(TaskService.class);
+
+            // Warm up both paths before measuring.
+            single(service, rows / 10);
+            batched(service, rows / 10);
+
+            double singleRate = rate(rows, single(service, rows));
+            double batchRate = rate(rows, batched(service, rows));
+
+            System.out.printf("single create: %,.0f rows/s%n", singleRate);
+            System.out.printf("batch create:  %,.0f rows/s (batch=%d)%n",
+                    batchRate, BATCH_SIZE);
+            System.out.printf("speed-up:      %.1fx%n", batchRate / singleRate);
+        }
+    }
+
+    private static long single(final TaskService service, final int rows) {
+        long start = System.nanoTime();
+        for (int i = 0; i < rows; i++) {
+            service.createTask("single " + i);
+        }
+        return System.nanoTime() - start;
+    }
+
+    private static long batched(final TaskService service, final int rows) {
+        long start = System.nanoTime();
+        for (int offset = 0; offset < rows; offset += BATCH_SIZE) {
+            int size = Math.min(BATCH_SIZE, rows - offset);
+            List<String> descriptions = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                descriptions.add("batch " + (offset + i));
+            }
+            service.createTasks(descriptions);
+        }
+        return System.nanoTime() - start;
+    }
+
+    private static double rate(final int rows, final long nanos) {
+        return rows / (nanos / 1_000_000_000.0);
+    }
+}
@@ -0,0 +1,71 @@
+package com.codes.tasktracker.demo.benchmark;
+
+import com.codes.tasktracker.demo.service.TaskSearchIndex;
+
+import java.util.Random;
+import java.util.UUID;
+
+/**
+ * Measures build time and query latency of the in-memory search index
+ * over synthetic descriptions.
+ *
+ * <p>Run with:
+ * {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.codes.tasktracker.demo.benchmark.SearchIndexBenchmark
+ * -Dexec.args="1000000"}</p>
+ */
+public final class SearchIndexBenchmark {
+
+    private static final String[] WORDS = {
+        "revisar", "preparar", "enviar", "llamar", "pagar", "comprar",
+        "factura", "informe", "cliente", "proveedor", "reunion", "presupuesto",
+        "contrato", "pedido", "entrega", "soporte", "servidor", "despliegue",
+        "trimestral", "mensual", "urgente", "pendiente", "equipo", "ventas",
+    };
+
+    private static final String[] QUERIES = {
+        "factura", "pagar factura", "inf", "cliente urgente", "prov pedido",
+        "tema4242", "tema4242 factura", "tema42",
+    };
+
+    private SearchIndexBenchmark() {
+    }
+
+    /**
+     * Runs the measurement.
+     *
+     * @param args Optional number of indexed tasks.
+     */
+    public static void main(final String[] args) {
+        int tasks = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        Random random = new Random(42);
+        TaskSearchIndex index = new TaskSearchIndex();
+
+        long start = System.nanoTime();
+        for (int i = 0; i < tasks; i++) {
+            StringBuilder description = new StringBuilder();
+            for (int w = 0; w < 4; w++) {
+                description.append(WORDS[random.nextInt(WORDS.length)]).append(' ');
+            }
+            // A long tail of rare terms, as real descriptions have.
+            description.append("tema").append(random.nextInt(50_000));
+            index.index(UUID.randomUUID(), description.toString(), 0);
+        }
+        System.out.printf("indexed %,d tasks in %,d ms%n",
+                tasks, (System.nanoTime() - start) / 1_000_000);
+
+        for (String query : QUERIES) {
+            // Warm up before measuring.
+            for (int i = 0; i < 200; i++) {
+                index.search(query, 20);
+            }
+            int runs = 200;
+            long begin = System.nanoTime();
+            for (int i = 0; i < runs; i++) {
+                index.search(query, 20);
+            }
+            System.out.printf("%-18s %,8.1f us/query%n",
+                    "\"" + query + "\"", (System.nanoTime() - begin) / 1_000.0 / runs);
+        }
+    }
+}
@@ -0,0 +1,167 @@
+package com.codes.tasktracker.demo.benchmark;
+
+import com.codes.tasktracker.demo.TaskTrackerApplication;
+import com.codes.tasktracker.demo.service.TaskService;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Compares throughput and tail latency of the platform-thread and
+ * virtual-thread request modes under many concurrent clients.
+ *
+ * <p>Each mode boots the application on a random port with the cache
+ * disabled, so every request blocks on JPA, and runs the same closed
+ * loop of reads and updates. Against the embedded H2 database the work
+ * is CPU-bound; pass {@code --spring.datasource.url=...} (and
+ * credentials) to measure against PostgreSQL, where requests block on
+ * the network.</p>
+ *
+ * <p>Run with:
+ * {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.codes.tasktracker.demo.benchmark.ThreadModeBenchmark
+ * -Dexec.args="2000 20"}</p>
+ */
+public final class ThreadModeBenchmark {
+
+    /**
+     * Tasks the clients read and update.
+     */
+    private static final int TASKS = 1000;
+
+    /**
+     * Seconds of load discarded before measuring.
+     */
+    private static final int WARMUP_SECONDS = 5;
+
+    private ThreadModeBenchmark() {
+    }
+
+    /**
+     * Runs the comparison.
+     *
+     * @param args Optional number of concurrent clients, measured seconds
+     *             and extra {@code --property=value} arguments.
+     */
+    public static void main(final String[] args) throws Exception {
+        int clients = args.length > 0 ? Integer.parseInt(args[0]) : 2000;
+        int seconds = args.length > 1 ? Integer.parseInt(args[1]) : 20;
+        String[] extra = args.length > 2 ? Arrays.copyOfRange(args, 2, args.length) : new String[0];
+
+        System.out.printf("%-9s %10s %9s %9s %9s%n", "mode", "req/s", "p50 ms", "p99 ms", "503s");
+        for (boolean virtual : new boolean[] {false, true}) {
+            try (ConfigurableApplicationContext ctx =
+                         new SpringApplicationBuilder(TaskTrackerApplication.class)
+                                 .properties("server.port=0",
+                                         "spring.threads.virtual.enabled=" + virtual,
+                                         "tasktracker.cache.enabled=false",
+                                         "logging.level.root=WARN")
+                                 .run(extra)) {
+                int port = ctx.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+                List<String> descriptions = new ArrayList<>(TASKS);
+                for (int i = 0; i < TASKS; i++) {
+                    descriptions.add("Tarea " + i);
+                }
+                List<UUID> ids = ctx.getBean(TaskService.class).createTasks(descriptions);
+
+                Result result = load(port, ids, clients, seconds);
+                System.out.printf("%-9s %,10.0f %9.1f %9.1f %,9d%n",
+                        virtual ? "virtual" : "platform", result.throughput(),
+                        result.percentile(0.50), result.percentile(0.99), result.rejected());
+            }
+        }
+    }
+
+    private static Result load(final int port, final List<UUID> ids,
+            final int clients, final int seconds) throws InterruptedException {
+        HttpClient http = HttpClient.newBuilder()
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+        String base = "http://localhost:" + port + "/tasks/";
+        long start = System.nanoTime();
+        long measureFrom = start + WARMUP_SECONDS * 1_000_000_000L;
+        long end = measureFrom + seconds * 1_000_000_000L;
+        List<long[]> samples = new ArrayList<>(clients);
+        int[] counts = new int[clients];
+        LongAdder completed = new LongAdder();
+        LongAdder rejected = new LongAdder();
+
+        ExecutorService pool = Executors.newVirtualThreadPerTaskExecutor();
+        for (int c = 0; c < clients; c++) {
+            long[] latencies = new long[1 << 12];
+            samples.add(latencies);
+            int client = c;
+            pool.execute(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                long now;
+                while ((now = System.nanoTime()) < end) {
+                    UUID id = ids.get(random.nextInt(ids.size()));
+                    HttpRequest request = random.nextInt(5) == 0
+                            ? HttpRequest.newBuilder(URI.create(base + id))
+                                    .header("Content-Type", "application/json")
+                                    .PUT(HttpRequest.BodyPublishers.ofString(
+                                            "{\"description\":\"Tarea " + now + "\"}"))
+                                    .build()
+                            : HttpRequest.newBuilder(URI.create(base + id)).GET().build();
+                    int status;
+                    try {
+                        status = http.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+                    } catch (Exception e) {
+                        status = -1;
+                    }
+                    long done = System.nanoTime();
+                    if (now >= measureFrom && done < end) {
+                        if (status == 503) {
+                            rejected.increment();
+                            continue;
+                        }
+                        completed.increment();
+                        if (counts[client] < latencies.length) {
+                            latencies[counts[client]++] = done - now;
+                        }
+                    }
+                }
+            });
+        }
+        pool.shutdown();
+        pool.awaitTermination(WARMUP_SECONDS + seconds + 60L, TimeUnit.SECONDS);
+
+        int total = Arrays.stream(counts).sum();
+        long[] all = new long[total];
+        int offset = 0;
+        for (int c = 0; c < clients; c++) {
+            System.arraycopy(samples.get(c), 0, all, offset, counts[c]);
+            offset += counts[c];
+        }
+        Arrays.sort(all);
+        return new Result(all, completed.sum() / (double) seconds, rejected.sum());
+    }
+
+    /**
+     * Sorted latency samples in nanoseconds, completed requests per
+     * second and the number of requests rejected with 503.
+     */
+    private record Result(long[] sorted, double throughput, long rejected) {
+
+        double percentile(final double p) {
+            if (this.sorted.length == 0) {
+                return 0;
+            }
+            int index = (int) Math.ceil(p * this.sorted.length) - 1;
+            return this.sorted[Math.max(0, index)] / 1_000_000.0;
+        }
+    }
+}
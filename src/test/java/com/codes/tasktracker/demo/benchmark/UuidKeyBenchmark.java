@@ -0,0 +1,121 @@
+package com.codes.tasktracker.demo.benchmark;
+
+import com.codes.tasktracker.demo.model.UuidV7;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * Compares random (v4) and time-ordered (v7) primary keys: insert
+ * throughput and the space used by the table and its primary-key index.
+ *
+ * <p>Runs against a fresh file-based H2 database by default. Pass a
+ * PostgreSQL JDBC URL, user and password to measure the real B-tree with
+ * {@code pg_relation_size}:</p>
+ *
+ * <p>{@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.codes.tasktracker.demo.benchmark.UuidKeyBenchmark
+ * -Dexec.args="1000000 jdbc:postgresql://localhost/tasks postgres secret"}</p>
+ */
+public final class UuidKeyBenchmark {
+
+    /**
+     * Rows per JDBC batch, matching {@code hibernate.jdbc.batch_size}.
+     */
+    private static final int BATCH_SIZE = 50;
+
+    /**
+     * Rows per committed transaction.
+     */
+    private static final int COMMIT_SIZE = 5_000;
+
+    private UuidKeyBenchmark() {
+    }
+
+    /**
+     * Runs the comparison.
+     *
+     * @param args Optional row count, JDBC URL, user and password.
+     * @throws Exception If the database cannot be used.
+     */
+    public static void main(final String[] args) throws Exception {
+        int rows = args.length > 0 ? Integer.parseInt(args[0]) : 500_000;
+        String url = args.length > 1 ? args[1] : null;
+        String user = args.length > 2 ? args[2] : "sa";
+        String password = args.length > 3 ? args[3] : "";
+
+        Path dir = null;
+        if (url == null) {
+            dir = Files.createTempDirectory("uuid-bench");
+            url = "jdbc:h2:file:" + dir.resolve("bench") + ";MODE=PostgreSQL";
+        }
+
+        try (Connection conn = DriverManager.getConnection(url, user, password)) {
+            conn.setAutoCommit(false);
+            run(conn, "bench_v4", rows, UUID::randomUUID);
+            run(conn, "bench_v7", rows, UuidV7::next);
+        }
+    }
+
+    private static void run(
+            final Connection conn,
+            final String table,
+            final int rows,
+            final Supplier<UUID> ids) throws SQLException {
+
+        try (Statement st = conn.createStatement()) {
+            st.execute("DROP TABLE IF EXISTS " + table);
+            st.execute("CREATE TABLE " + table + " (id UUID PRIMARY KEY,"
+                    + " description VARCHAR(255) NOT NULL,"
+                    + " completed BOOLEAN NOT NULL,"
+                    + " created_at TIMESTAMP WITH TIME ZONE NOT NULL)");
+            conn.commit();
+        }
+
+        long start = System.nanoTime();
+        try (PreparedStatement ps = conn.prepareStatement("INSERT INTO " + table
+                + " (id, description, completed, created_at) VALUES (?, ?, false, ?)")) {
+            for (int i = 1; i <= rows; i++) {
+                ps.setObject(1, ids.get());
+                ps.setString(2, "Tarea " + i);
+                ps.setTimestamp(3, Timestamp.from(Instant.now()));
+                ps.addBatch();
+                if (i % BATCH_SIZE == 0) {
+                    ps.executeBatch();
+                }
+                if (i % COMMIT_SIZE == 0) {
+                    conn.commit();
+                }
+            }
+            ps.executeBatch();
+            conn.commit();
+        }
+        double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+
+        System.out.printf("%s: %,.0f rows/s, %s%n",
+                table, rows / seconds, size(conn, table));
+    }
+
+    private static String size(final Connection conn, final String table) throws SQLException {
+        String product = conn.getMetaData().getDatabaseProductName();
+        String sql = product.startsWith("PostgreSQL")
+                ? "SELECT pg_relation_size('" + table + "_pkey')"
+                : "SELECT DISK_SPACE_USED('" + table.toUpperCase() + "')";
+        String label = product.startsWith("PostgreSQL")
+                ? "primary-key index" : "table + indexes";
+        try (Statement st = conn.createStatement(); ResultSet rs = st.executeQuery(sql)) {
+            rs.next();
+            return String.format("%s %,d KiB", label, rs.getLong(1) / 1024);
+        }
+    }
+}
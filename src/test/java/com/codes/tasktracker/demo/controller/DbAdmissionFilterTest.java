@@ -0,0 +1,91 @@
+package com.codes.tasktracker.demo.controller;
+
+import com.codes.tasktracker.demo.service.TaskWriteProperties;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DbAdmissionFilterTest {
+
+    private final DbAdmissionFilter filter =
+            new DbAdmissionFilter(new DbAdmissionProperties(true, 1, Duration.ofMillis(10)));
+
+    private MockHttpServletResponse perform(final String uri, final FilterChain chain)
+            throws IOException, ServletException {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest("GET", uri), response, chain);
+        return response;
+    }
+
+    @Test
+    void admittedRequestsReleaseTheirPermit() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+
+        perform("/tasks/1", (req, res) -> calls.incrementAndGet());
+        perform("/tasks/2", (req, res) -> calls.incrementAndGet());
+
+        assertThat(calls.get()).isEqualTo(2);
+        assertThat(filter.rejectedCount()).isZero();
+    }
+
+    @Test
+    void requestsBeyondTheLimitAreRejectedAfterTimeout() throws Exception {
+        MockHttpServletResponse[] inner = new MockHttpServletResponse[1];
+
+        perform("/tasks/1", (req, res) -> inner[0] = perform("/tasks/2", (r, s) -> { }));
+
+        assertThat(inner[0].getStatus()).isEqualTo(503);
+        assertThat(inner[0].getHeader(HttpHeaders.RETRY_AFTER)).isEqualTo("1");
+        assertThat(filter.rejectedCount()).isEqualTo(1);
+    }
+
+    @Test
+    void eventStreamIsNotLimited() throws Exception {
+        MockHttpServletResponse[] inner = new MockHttpServletResponse[1];
+
+        perform("/tasks/1", (req, res) -> inner[0] = perform("/tasks/stream", (r, s) -> { }));
+
+        assertThat(inner[0].getStatus()).isEqualTo(200);
+    }
+
+    @Test
+    void singleWritesBypassTheLimitWhenPipelined() throws Exception {
+        DbAdmissionFilter pipelined = new DbAdmissionFilter(
+                new DbAdmissionProperties(true, 1, Duration.ofMillis(10)),
+                new TaskWriteProperties(true, 100, 10, Duration.ZERO, Duration.ofSeconds(1)));
+        MockHttpServletResponse[] inner = new MockHttpServletResponse[2];
+
+        pipelined.doFilter(new MockHttpServletRequest("GET", "/tasks/1"), new MockHttpServletResponse(),
+                (req, res) -> {
+                    inner[0] = new MockHttpServletResponse();
+                    pipelined.doFilter(new MockHttpServletRequest("PUT", "/tasks/2"), inner[0], (r, s) -> { });
+                    inner[1] = new MockHttpServletResponse();
+                    pipelined.doFilter(new MockHttpServletRequest("PUT", "/tasks/2/x"), inner[1], (r, s) -> { });
+                });
+
+        assertThat(inner[0].getStatus()).isEqualTo(200);
+        assertThat(inner[1].getStatus()).isEqualTo(503);
+    }
+
+    @Test
+    void asyncRequestsHoldTheirPermitUntilComplete() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/tasks/export");
+        request.setAsyncSupported(true);
+        filter.doFilter(request, new MockHttpServletResponse(), (req, res) -> req.startAsync());
+
+        assertThat(perform("/tasks/1", (req, res) -> { }).getStatus()).isEqualTo(503);
+
+        request.getAsyncContext().complete();
+
+        assertThat(perform("/tasks/1", (req, res) -> { }).getStatus()).isEqualTo(200);
+    }
+}
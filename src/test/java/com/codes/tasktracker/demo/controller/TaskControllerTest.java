@@ -1,31 +1,67 @@
 package com.codes.tasktracker.demo.controller;
 
+import com.codes.tasktracker.demo.dto.TaskChanges;
+import com.codes.tasktracker.demo.dto.TaskField;
+import com.codes.tasktracker.demo.dto.TaskFilter;
+import com.codes.tasktracker.demo.dto.TaskPage;
+import com.codes.tasktracker.demo.dto.TaskSort;
+import com.codes.tasktracker.demo.dto.TaskStatsDto;
 import com.codes.tasktracker.demo.dto.TaskUpdateDto;
+import com.codes.tasktracker.demo.dto.TaskView;
+import com.codes.tasktracker.demo.exception.BadRequestException;
+import com.codes.tasktracker.demo.exception.GoneException;
+import com.codes.tasktracker.demo.exception.PreconditionFailedException;
 import com.codes.tasktracker.demo.exception.ResourceNotFoundException;
 import com.codes.tasktracker.demo.model.Task;
+import com.codes.tasktracker.demo.repository.TaskStore;
+import com.codes.tasktracker.demo.service.TaskBulkOperations;
 import com.codes.tasktracker.demo.service.TaskService;
+import com.codes.tasktracker.demo.service.TaskWritePipeline;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.io.ByteArrayInputStream;
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.zip.GZIPInputStream;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(TaskController.class)
@@ -40,6 +76,21 @@ class TaskControllerTest {
     @MockBean
     private TaskService taskService;
 
+    @MockBean
+    private TaskBulkOperations bulkOperations;
+
+    @MockBean
+    private TaskEventStream eventStream;
+
+    @MockBean
+    private TaskWritePipeline writePipeline;
+
+    @MockBean
+    private TaskStore store;
+
+    @Autowired
+    private TaskResponseCache responseCache;
+
     @Test
     void createTaskReturns201WhenCreated() throws Exception {
         UUID id = UUID.randomUUID();
@@ -57,6 +108,22 @@ class TaskControllerTest {
                 .andExpect(jsonPath("$.completed").value(false));
     }
 
+    @Test
+    void createTaskGoesThroughWritePipelineWhenEnabled() throws Exception {
+        Task task = new Task("Agrupada");
+        task.setId(UUID.randomUUID());
+        when(writePipeline.enabled()).thenReturn(true);
+        when(writePipeline.createTask("Agrupada")).thenReturn(task);
+
+        mockMvc.perform(post("/tasks")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"description\": \"Agrupada\"}"))
+                .andExpect(status().isCreated())
+                .andExpect(header().string("Location", "/tasks/" + task.getId()));
+
+        verify(taskService, never()).createTask(anyString());
+    }
+
     @Test
     void createTaskReturns400WhenDescriptionIsBlank() throws Exception {
         mockMvc.perform(post("/tasks")
@@ -65,6 +132,37 @@ class TaskControllerTest {
                 .andExpect(status().isBadRequest());
     }
 
+    @Test
+    void createTasksReturns201WithIds() throws Exception {
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        when(taskService.createTasks(List.of("A", "B"))).thenReturn(List.of(first, second));
+
+        mockMvc.perform(post("/tasks/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[\"A\", \"B\"]"))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.size()").value(2))
+                .andExpect(jsonPath("$[0]").value(first.toString()))
+                .andExpect(jsonPath("$[1]").value(second.toString()));
+    }
+
+    @Test
+    void createTasksReturns400WhenAnyDescriptionIsBlank() throws Exception {
+        mockMvc.perform(post("/tasks/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[\"A\", \" \"]"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void createTasksReturns400WhenEmpty() throws Exception {
+        mockMvc.perform(post("/tasks/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[]"))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     void getTaskReturns200WhenFound() throws Exception {
         UUID id = UUID.randomUUID();
@@ -78,6 +176,42 @@ class TaskControllerTest {
                 .andExpect(jsonPath("$.description").value("Existing Task"));
     }
 
+    @Test
+    void getTaskSendsVersionAsETag() throws Exception {
+        UUID id = UUID.randomUUID();
+        Task task = new Task("Existing Task");
+        task.setId(id);
+        when(taskService.getTask(id)).thenReturn(task);
+
+        mockMvc.perform(get("/tasks/{id}", id))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"0\""));
+    }
+
+    @Test
+    void getTaskReturns304WithoutLoadingWhenVersionMatches() throws Exception {
+        UUID id = UUID.randomUUID();
+        when(taskService.getTaskVersion(id)).thenReturn(4L);
+
+        mockMvc.perform(get("/tasks/{id}", id).header("If-None-Match", "\"4\""))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+        verify(taskService, never()).getTask(any());
+    }
+
+    @Test
+    void getTaskReturnsBodyWhenVersionChanged() throws Exception {
+        UUID id = UUID.randomUUID();
+        Task task = new Task("Existing Task");
+        task.setId(id);
+        when(taskService.getTaskVersion(id)).thenReturn(0L);
+        when(taskService.getTask(id)).thenReturn(task);
+
+        mockMvc.perform(get("/tasks/{id}", id).header("If-None-Match", "\"3\""))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.description").value("Existing Task"));
+    }
+
     @Test
     void getTaskReturns404WhenNotFound() throws Exception {
         UUID id = UUID.randomUUID();
@@ -87,6 +221,155 @@ class TaskControllerTest {
                 .andExpect(status().isNotFound());
     }
 
+    @Test
+    void getTaskServesRepeatReadsFromResponseCache() throws Exception {
+        UUID id = UUID.randomUUID();
+        Task task = new Task("Existing Task");
+        task.setId(id);
+        when(taskService.getTask(id)).thenReturn(task);
+        long hits = responseCache.stats().hits();
+
+        String first = mockMvc.perform(get("/tasks/{id}", id))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        mockMvc.perform(get("/tasks/{id}", id))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(header().string("ETag", "\"0\""))
+                .andExpect(content().json(first))
+                .andExpect(jsonPath("$.description").value("Existing Task"));
+
+        assertThat(responseCache.stats().hits()).isEqualTo(hits + 1);
+    }
+
+    @Test
+    void getTaskServesPrecompressedBodyWhenGzipIsAccepted() throws Exception {
+        UUID id = UUID.randomUUID();
+        Task task = new Task("informe ".repeat(500));
+        task.setId(id);
+        when(taskService.getTask(id)).thenReturn(task);
+
+        MvcResult result = mockMvc.perform(get("/tasks/{id}", id).header("Accept-Encoding", "gzip"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Encoding", "gzip"))
+                .andExpect(header().string("ETag", "\"0-gzip\""))
+                .andReturn();
+
+        try (GZIPInputStream in = new GZIPInputStream(
+                new ByteArrayInputStream(result.getResponse().getContentAsByteArray()))) {
+            assertThat(objectMapper.readTree(in).get("id").asText()).isEqualTo(id.toString());
+        }
+        assertThat(result.getResponse().getHeaders("Vary")).contains("Accept-Encoding");
+    }
+
+    @Test
+    void getTaskReturns304ForTheTagOfTheGzipBody() throws Exception {
+        UUID id = UUID.randomUUID();
+        when(taskService.getTaskVersion(id)).thenReturn(4L);
+
+        mockMvc.perform(get("/tasks/{id}", id)
+                        .header("Accept-Encoding", "gzip")
+                        .header("If-None-Match", "\"4-gzip\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", "\"4-gzip\""));
+        verify(taskService, never()).getTask(any());
+    }
+
+    @Test
+    void getTaskNegotiatesCborWithBinaryIdAndEpochMillis() throws Exception {
+        UUID id = UUID.randomUUID();
+        Task task = new Task("Existing Task");
+        task.setId(id);
+        when(taskService.getTask(id)).thenReturn(task);
+
+        MvcResult result = mockMvc.perform(get("/tasks/{id}", id).accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_CBOR))
+                .andExpect(header().string("ETag", "\"0-cbor\""))
+                .andReturn();
+
+        JsonNode body = new ObjectMapper(new CBORFactory())
+                .readTree(result.getResponse().getContentAsByteArray());
+        assertThat(body.get("id").isBinary()).isTrue();
+        assertThat(body.get("id").binaryValue()).isEqualTo(bytesOf(id));
+        assertThat(body.get("description").asText()).isEqualTo("Existing Task");
+        assertThat(body.get("createdAt").isIntegralNumber()).isTrue();
+        assertThat(body.get("createdAt").asLong()).isEqualTo(task.getCreatedAt().toEpochMilli());
+        assertThat(result.getResponse().getHeaders("Vary")).contains("Accept");
+    }
+
+    @Test
+    void jsonTagDoesNotValidateABinaryRepresentation() throws Exception {
+        UUID id = UUID.randomUUID();
+        Task task = new Task("Existing Task");
+        task.setId(id);
+        when(taskService.getTaskVersion(id)).thenReturn(0L);
+        when(taskService.getTask(id)).thenReturn(task);
+
+        mockMvc.perform(get("/tasks/{id}", id)
+                        .accept(MediaType.APPLICATION_CBOR)
+                        .header("If-None-Match", "\"0\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"0-cbor\""));
+        mockMvc.perform(get("/tasks/{id}", id)
+                        .accept(MediaType.APPLICATION_CBOR)
+                        .header("If-None-Match", "\"0-cbor\""))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void getTaskDefaultsToJson() throws Exception {
+        UUID id = UUID.randomUUID();
+        Task task = new Task("Existing Task");
+        task.setId(id);
+        when(taskService.getTask(id)).thenReturn(task);
+
+        mockMvc.perform(get("/tasks/{id}", id).accept(MediaType.ALL))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.id").value(id.toString()));
+    }
+
+    @Test
+    void listTasksNegotiatesSmile() throws Exception {
+        Task task = new Task("Task 1");
+        task.setId(UUID.randomUUID());
+
+        when(taskService.listTasks(eq(TaskFilter.none()), isNull(), eq(TaskService.DEFAULT_PAGE_SIZE)))
+                .thenReturn(new TaskPage<>(List.of(TaskView.of(task)), "abc"));
+
+        MvcResult result = mockMvc.perform(get("/tasks").accept(WireFormatConfig.APPLICATION_SMILE))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(WireFormatConfig.APPLICATION_SMILE))
+                .andReturn();
+
+        assertThat(result.getResponse().getHeader("ETag")).endsWith("-smile\"");
+
+        JsonNode body = new ObjectMapper(new SmileFactory())
+                .readTree(result.getResponse().getContentAsByteArray());
+        assertThat(body.get("items").size()).isEqualTo(1);
+        assertThat(body.get("items").get(0).get("id").binaryValue()).isEqualTo(bytesOf(task.getId()));
+        assertThat(body.get("next").asText()).isEqualTo("abc");
+    }
+
+    @Test
+    void updateTaskAcceptsCborBody() throws Exception {
+        UUID id = UUID.randomUUID();
+        Task updatedTask = new Task("Updated description");
+        updatedTask.setId(id);
+        updatedTask.markCompleted();
+
+        when(taskService.updateTask(id, "Updated description", true)).thenReturn(updatedTask);
+
+        byte[] body = new ObjectMapper(new CBORFactory())
+                .writeValueAsBytes(new TaskUpdateDto("Updated description", true));
+        mockMvc.perform(put("/tasks/{id}", id)
+                        .contentType(MediaType.APPLICATION_CBOR)
+                        .content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.completed").value(true));
+    }
+
     @Test
     void listTasksReturns200WithListOfTasks() throws Exception {
         Task task1 = new Task("Task 1");
@@ -94,14 +377,218 @@ class TaskControllerTest {
         Task task2 = new Task("Task 2");
         task2.setId(UUID.randomUUID());
 
-        when(taskService.listAllTasks()).thenReturn(List.of(task1, task2));
+        when(taskService.listAllTasks()).thenReturn(List.of(TaskView.of(task1), TaskView.of(task2)));
 
-        mockMvc.perform(get("/tasks"))
+        mockMvc.perform(get("/tasks").param("unpaged", "true"))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.size()").value(2))
                 .andExpect(jsonPath("$[0].description").value("Task 1"));
     }
 
+    @Test
+    void listTasksReturnsFirstPageByDefault() throws Exception {
+        Task task = new Task("Task 1");
+        task.setId(UUID.randomUUID());
+
+        when(taskService.listTasks(eq(TaskFilter.none()), isNull(), eq(TaskService.DEFAULT_PAGE_SIZE)))
+                .thenReturn(new TaskPage<>(List.of(TaskView.of(task)), "abc"));
+
+        mockMvc.perform(get("/tasks"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.size()").value(1))
+                .andExpect(jsonPath("$.items[0].description").value("Task 1"))
+                .andExpect(jsonPath("$.next").value("abc"));
+    }
+
+    @Test
+    void listTasksReturns304WhenPageIsUnchanged() throws Exception {
+        Task task = new Task("Task 1");
+        task.setId(UUID.randomUUID());
+        when(taskService.listTasks(eq(TaskFilter.none()), isNull(), eq(TaskService.DEFAULT_PAGE_SIZE)))
+                .thenReturn(new TaskPage<>(List.of(TaskView.of(task)), "abc"));
+
+        String etag = mockMvc.perform(get("/tasks"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+
+        assertThat(etag).startsWith("\"");
+        mockMvc.perform(get("/tasks").header("If-None-Match", etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    void listTasksPassesCursorAndLimit() throws Exception {
+        when(taskService.listTasks(TaskFilter.none(), "abc", 10))
+                .thenReturn(new TaskPage<>(List.of(), null));
+
+        mockMvc.perform(get("/tasks").param("cursor", "abc").param("limit", "10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.size()").value(0))
+                .andExpect(jsonPath("$.next").doesNotExist());
+    }
+
+    @Test
+    void listTasksPassesFiltersAndSort() throws Exception {
+        TaskFilter filter = new TaskFilter(false,
+                Instant.parse("2024-01-01T00:00:00Z"), Instant.parse("2024-01-08T00:00:00Z"),
+                null, null, TaskSort.UPDATED_AT_DESC);
+        when(taskService.listTasks(eq(filter), isNull(), eq(TaskService.DEFAULT_PAGE_SIZE)))
+                .thenReturn(new TaskPage<>(List.of(), null));
+
+        mockMvc.perform(get("/tasks")
+                        .param("completed", "false")
+                        .param("createdFrom", "2024-01-01T00:00:00Z")
+                        .param("createdTo", "2024-01-08T00:00:00Z")
+                        .param("sort", "updatedAt")
+                        .param("direction", "desc"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.size()").value(0));
+    }
+
+    @Test
+    void listTasksReturnsOnlyRequestedFields() throws Exception {
+        UUID id = UUID.randomUUID();
+        Set<TaskField> fields = EnumSet.of(TaskField.ID, TaskField.COMPLETED);
+        when(taskService.listTaskFields(eq(TaskFilter.none()), isNull(),
+                eq(TaskService.DEFAULT_PAGE_SIZE), eq(fields)))
+                .thenReturn(new TaskPage<>(List.of(Map.of("id", id, "completed", false)), null));
+
+        mockMvc.perform(get("/tasks").param("fields", "id,completed"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].id").value(id.toString()))
+                .andExpect(jsonPath("$.items[0].completed").value(false))
+                .andExpect(jsonPath("$.items[0].description").doesNotExist());
+    }
+
+    @Test
+    void listTasksReturns400WhenFieldIsUnknown() throws Exception {
+        mockMvc.perform(get("/tasks").param("fields", "id,owner"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void getTaskReturnsOnlyRequestedFields() throws Exception {
+        UUID id = UUID.randomUUID();
+        Task task = new Task("Existing Task");
+        task.setId(id);
+        when(taskService.getTask(id)).thenReturn(task);
+
+        mockMvc.perform(get("/tasks/{id}", id).param("fields", "completed"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.completed").value(false))
+                .andExpect(jsonPath("$.id").doesNotExist())
+                .andExpect(jsonPath("$.description").doesNotExist());
+    }
+
+    @Test
+    void archivedTaskIsServedFromArchivePath() throws Exception {
+        UUID id = UUID.randomUUID();
+        Instant at = Instant.parse("2025-01-01T00:00:00Z");
+        when(taskService.getArchivedTask(id)).thenReturn(new TaskView(id, "Archivada", true, at, at, 4));
+
+        mockMvc.perform(get("/tasks/archive/{id}", id))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"4\""))
+                .andExpect(jsonPath("$.description").value("Archivada"))
+                .andExpect(jsonPath("$.completed").value(true));
+    }
+
+    @Test
+    void listArchivedTasksPassesCursorAndLimit() throws Exception {
+        Instant at = Instant.parse("2025-01-01T00:00:00Z");
+        TaskView task = new TaskView(UUID.randomUUID(), "Archivada", true, at, at, 1);
+        when(taskService.listArchivedTasks("abc", 5)).thenReturn(new TaskPage<>(List.of(task), "def"));
+
+        mockMvc.perform(get("/tasks/archive").param("cursor", "abc").param("limit", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].id").value(task.id().toString()))
+                .andExpect(jsonPath("$.next").value("def"));
+    }
+
+    @Test
+    void taskStatsReturnsCounters() throws Exception {
+        LocalDate today = LocalDate.parse("2025-01-01");
+        when(taskService.taskStats()).thenReturn(new TaskStatsDto(5, 2, 3, null,
+                List.of(new TaskStatsDto.Day(today, 4, 1))));
+
+        mockMvc.perform(get("/tasks/stats"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total").value(5))
+                .andExpect(jsonPath("$.completed").value(2))
+                .andExpect(jsonPath("$.pending").value(3))
+                .andExpect(jsonPath("$.days[0].date").value("2025-01-01"))
+                .andExpect(jsonPath("$.days[0].created").value(4));
+    }
+
+    @Test
+    void searchTasksReturnsMatches() throws Exception {
+        Task task = new Task("Comprar pan");
+        task.setId(UUID.randomUUID());
+        when(taskService.searchTasks("pan", TaskService.DEFAULT_SEARCH_LIMIT))
+                .thenReturn(List.of(TaskView.of(task)));
+
+        mockMvc.perform(get("/tasks/search").param("q", "pan"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.size()").value(1))
+                .andExpect(jsonPath("$[0].description").value("Comprar pan"));
+    }
+
+    @Test
+    void searchTasksReturns400WhenQueryIsBlank() throws Exception {
+        mockMvc.perform(get("/tasks/search").param("q", " "))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void streamTasksResumesFromLastEventId() throws Exception {
+        when(eventStream.subscribe("abc-3")).thenReturn(new SseEmitter());
+
+        mockMvc.perform(get("/tasks/stream")
+                        .header("Last-Event-ID", "abc-3")
+                        .accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(request().asyncStarted());
+
+        verify(eventStream).subscribe("abc-3");
+    }
+
+    @Test
+    void listChangesReturnsChangesAndNextToken() throws Exception {
+        UUID deleted = UUID.randomUUID();
+        when(taskService.listChanges("abc", TaskService.DEFAULT_PAGE_SIZE))
+                .thenReturn(new TaskChanges(List.of(), List.of(deleted), "def", false));
+
+        mockMvc.perform(get("/tasks/changes").param("since", "abc"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.deleted[0]").value(deleted.toString()))
+                .andExpect(jsonPath("$.token").value("def"))
+                .andExpect(jsonPath("$.hasMore").value(false));
+    }
+
+    @Test
+    void listChangesReturns410WhenTokenExpired() throws Exception {
+        when(taskService.listChanges("old", TaskService.DEFAULT_PAGE_SIZE))
+                .thenThrow(new GoneException("Token de cambios expirado: old"));
+
+        mockMvc.perform(get("/tasks/changes").param("since", "old"))
+                .andExpect(status().isGone());
+    }
+
+    @Test
+    void listTasksReturns400WhenSortIsUnknown() throws Exception {
+        mockMvc.perform(get("/tasks").param("sort", "description"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void listTasksReturns400WhenCursorIsInvalid() throws Exception {
+        when(taskService.listTasks(TaskFilter.none(), "bad", TaskService.DEFAULT_PAGE_SIZE))
+                .thenThrow(new BadRequestException("Cursor inválido: bad"));
+
+        mockMvc.perform(get("/tasks").param("cursor", "bad"))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     void updateTaskReturns200WhenUpdated() throws Exception {
         UUID id = UUID.randomUUID();
@@ -121,6 +608,77 @@ class TaskControllerTest {
                 .andExpect(jsonPath("$.completed").value(true));
     }
 
+    @Test
+    void updateTaskPassesIfMatchVersion() throws Exception {
+        UUID id = UUID.randomUUID();
+        Task updated = new Task("Updated description");
+        updated.setId(id);
+        when(taskService.updateTask(id, "Updated description", null, 2L)).thenReturn(updated);
+
+        mockMvc.perform(put("/tasks/{id}", id)
+                        .header("If-Match", "\"2\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"description\":\"Updated description\"}"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("ETag"));
+    }
+
+    @Test
+    void updateTaskAcceptsIfMatchOfABinaryFormat() throws Exception {
+        UUID id = UUID.randomUUID();
+        Task updated = new Task("Updated description");
+        updated.setId(id);
+        when(taskService.updateTask(id, "Updated description", null, 2L)).thenReturn(updated);
+
+        mockMvc.perform(put("/tasks/{id}", id)
+                        .header("If-Match", "\"2-cbor\"")
+                        .accept(MediaType.APPLICATION_CBOR)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"description\":\"Updated description\"}"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"0-cbor\""));
+    }
+
+    @Test
+    void updateTaskReturns412WhenVersionChanged() throws Exception {
+        UUID id = UUID.randomUUID();
+        when(taskService.updateTask(id, "Updated description", null, 2L))
+                .thenThrow(new PreconditionFailedException("La tarea ha cambiado: " + id));
+
+        mockMvc.perform(put("/tasks/{id}", id)
+                        .header("If-Match", "\"2\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"description\":\"Updated description\"}"))
+                .andExpect(status().isPreconditionFailed());
+    }
+
+    @Test
+    void updateTaskReturns412WhenIfMatchIsNotAVersion() throws Exception {
+        mockMvc.perform(put("/tasks/{id}", UUID.randomUUID())
+                        .header("If-Match", "W/\"2\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"description\":\"Updated description\"}"))
+                .andExpect(status().isPreconditionFailed());
+    }
+
+    @Test
+    void completeTaskReturns204() throws Exception {
+        UUID id = UUID.randomUUID();
+        doNothing().when(taskService).markTaskCompleted(id);
+
+        mockMvc.perform(post("/tasks/{id}/complete", id))
+                .andExpect(status().isNoContent());
+    }
+
+    @Test
+    void completeTaskReturns404WhenNotFound() throws Exception {
+        UUID id = UUID.randomUUID();
+        doThrow(new ResourceNotFoundException("Not found")).when(taskService).markTaskCompleted(id);
+
+        mockMvc.perform(post("/tasks/{id}/complete", id))
+                .andExpect(status().isNotFound());
+    }
+
     @Test
     void deleteTaskReturns204WhenDeleted() throws Exception {
         UUID id = UUID.randomUUID();
@@ -138,4 +696,83 @@ class TaskControllerTest {
         mockMvc.perform(delete("/tasks/{id}", id))
                 .andExpect(status().isNotFound());
     }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void exportTasksStreamsOneJsonDocumentPerLine() throws Exception {
+        Task task1 = new Task("Task 1");
+        task1.setId(UUID.randomUUID());
+        Task task2 = new Task("Task 2");
+        task2.setId(UUID.randomUUID());
+        doAnswer(inv -> {
+            Consumer<Task> sink = inv.getArgument(0);
+            sink.accept(task1);
+            sink.accept(task2);
+            return 2L;
+        }).when(taskService).exportTasks(any(Consumer.class));
+
+        MvcResult result = mockMvc.perform(get("/tasks/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String body = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                .andReturn().getResponse().getContentAsString();
+
+        String[] lines = body.split("\n");
+        assertThat(lines).hasSize(2);
+        assertThat(objectMapper.readTree(lines[0]).get("description").asText()).isEqualTo("Task 1");
+        assertThat(objectMapper.readTree(lines[1]).get("description").asText()).isEqualTo("Task 2");
+        assertThat(body).endsWith("\n");
+    }
+
+    @Test
+    void completeTasksByIdsReturnsAffectedCount() throws Exception {
+        UUID id = UUID.randomUUID();
+        when(taskService.completeTasks(List.of(id))).thenReturn(1);
+
+        mockMvc.perform(post("/tasks/bulk/complete")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"ids\": [\"" + id + "\"]}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.affected").value(1));
+    }
+
+    @Test
+    void completeTasksCreatedBeforeReturnsAffectedCount() throws Exception {
+        Instant before = Instant.parse("2024-01-01T00:00:00Z");
+        when(bulkOperations.completeTasksCreatedBefore(before)).thenReturn(5);
+
+        mockMvc.perform(post("/tasks/bulk/complete")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"createdBefore\": \"2024-01-01T00:00:00Z\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.affected").value(5));
+    }
+
+    @Test
+    void completeTasksReturns400WhenFilterIsAmbiguous() throws Exception {
+        mockMvc.perform(post("/tasks/bulk/complete")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void deleteCompletedTasksReturnsAffectedCount() throws Exception {
+        Instant before = Instant.parse("2024-01-01T00:00:00Z");
+        when(bulkOperations.deleteCompletedTasksBefore(before)).thenReturn(4);
+
+        mockMvc.perform(delete("/tasks/completed").param("before", "2024-01-01T00:00:00Z"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.affected").value(4));
+    }
+
+    private static byte[] bytesOf(final UUID id) {
+        return ByteBuffer.allocate(16)
+                .putLong(id.getMostSignificantBits())
+                .putLong(id.getLeastSignificantBits())
+                .array();
+    }
 }
@@ -0,0 +1,227 @@
+package com.codes.tasktracker.demo.controller;
+
+import com.codes.tasktracker.demo.model.Task;
+import com.codes.tasktracker.demo.service.TaskChangedEvent;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TaskEventStreamTest {
+
+    private final ManualExecutor senders = new ManualExecutor();
+
+    private TaskEventStream stream(final int bufferSize,
+            final TaskStreamProperties.OverflowPolicy overflow) {
+        return new TaskEventStream(
+                new TaskStreamProperties(bufferSize, overflow, 4, Duration.ofMinutes(1)),
+                new ObjectMapper().findAndRegisterModules(), senders);
+    }
+
+    private static TaskChangedEvent created(final String description) {
+        Task task = new Task(description);
+        task.setId(UUID.randomUUID());
+        return new TaskChangedEvent(TaskChangedEvent.Type.CREATED, task.getId(), task);
+    }
+
+    @Test
+    void subscribersReceiveEventsInCommitOrder() {
+        TaskEventStream stream = stream(8, TaskStreamProperties.OverflowPolicy.DISCONNECT);
+        RecordingEmitter emitter = new RecordingEmitter();
+        stream.subscribe(null, emitter);
+
+        stream.onTaskChanged(created("Uno"));
+        stream.onTaskChanged(new TaskChangedEvent(TaskChangedEvent.Type.DELETED, UUID.randomUUID(), null));
+        senders.runAll();
+
+        assertThat(emitter.frames).hasSize(2);
+        assertThat(emitter.frames.get(0)).contains("event:created").contains("\"description\":\"Uno\"");
+        assertThat(emitter.frames.get(1)).contains("event:deleted");
+    }
+
+    @Test
+    void slowSubscriberIsDisconnectedWhenBufferFills() {
+        TaskEventStream stream = stream(2, TaskStreamProperties.OverflowPolicy.DISCONNECT);
+        stream.subscribe(null, new RecordingEmitter());
+
+        for (int i = 0; i < 3; i++) {
+            stream.onTaskChanged(created("Tarea " + i));
+        }
+        senders.runAll();
+
+        assertThat(stream.subscriberCount()).isZero();
+        assertThat(stream.droppedCount()).isEqualTo(1);
+    }
+
+    @Test
+    void dropOldestKeepsSubscriberAndSignalsReset() {
+        TaskEventStream stream = stream(2, TaskStreamProperties.OverflowPolicy.DROP_OLDEST);
+        RecordingEmitter emitter = new RecordingEmitter();
+        stream.subscribe(null, emitter);
+
+        for (int i = 0; i < 3; i++) {
+            stream.onTaskChanged(created("Tarea " + i));
+        }
+        senders.runAll();
+
+        assertThat(stream.subscriberCount()).isEqualTo(1);
+        assertThat(emitter.frames).hasSize(3);
+        assertThat(emitter.frames.get(0)).contains("event:" + TaskEventStream.RESET_EVENT);
+        assertThat(emitter.frames.get(1)).contains("Tarea 1");
+        assertThat(emitter.frames.get(2)).contains("Tarea 2");
+    }
+
+    @Test
+    void publishingSchedulesOneDispatchWhateverTheSubscriberCount() {
+        TaskEventStream stream = stream(8, TaskStreamProperties.OverflowPolicy.DISCONNECT);
+        List<RecordingEmitter> emitters = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            RecordingEmitter emitter = new RecordingEmitter();
+            emitters.add(emitter);
+            stream.subscribe(null, emitter);
+        }
+
+        stream.onTaskChanged(created("Uno"));
+        stream.onTaskChanged(created("Dos"));
+
+        assertThat(senders.pending()).isEqualTo(1);
+        assertThat(emitters.get(0).frames).isEmpty();
+
+        senders.runAll();
+
+        assertThat(emitters).allSatisfy(emitter -> assertThat(emitter.frames).hasSize(2));
+    }
+
+    @Test
+    void eventsQueuedBeforeSubscribingAreNotSentTwice() {
+        TaskEventStream stream = stream(8, TaskStreamProperties.OverflowPolicy.DISCONNECT);
+        RecordingEmitter first = new RecordingEmitter();
+        stream.subscribe(null, first);
+        stream.onTaskChanged(created("Uno"));
+        senders.runAll();
+
+        stream.onTaskChanged(created("Dos"));
+        RecordingEmitter resumed = new RecordingEmitter();
+        stream.subscribe(first.ids.get(0), resumed);
+        stream.onTaskChanged(created("Tres"));
+        senders.runAll();
+
+        assertThat(resumed.frames).hasSize(2);
+        assertThat(resumed.frames.get(0)).contains("Dos");
+        assertThat(resumed.frames.get(1)).contains("Tres");
+    }
+
+    @Test
+    void reconnectingClientResumesAfterLastEventId() {
+        TaskEventStream stream = stream(8, TaskStreamProperties.OverflowPolicy.DISCONNECT);
+        RecordingEmitter first = new RecordingEmitter();
+        stream.subscribe(null, first);
+        stream.onTaskChanged(created("Uno"));
+        senders.runAll();
+        String lastEventId = first.ids.get(0);
+
+        stream.onTaskChanged(created("Dos"));
+        stream.onTaskChanged(created("Tres"));
+        RecordingEmitter resumed = new RecordingEmitter();
+        stream.subscribe(lastEventId, resumed);
+        senders.runAll();
+
+        assertThat(resumed.frames).hasSize(2);
+        assertThat(resumed.frames.get(0)).contains("Dos");
+        assertThat(resumed.frames.get(1)).contains("Tres");
+    }
+
+    @Test
+    void unknownOrExpiredLastEventIdGetsReset() {
+        TaskEventStream stream = stream(8, TaskStreamProperties.OverflowPolicy.DISCONNECT);
+        RecordingEmitter emitter = new RecordingEmitter();
+
+        stream.subscribe("otra-instancia-7", emitter);
+        senders.runAll();
+
+        assertThat(emitter.frames).hasSize(1);
+        assertThat(emitter.frames.get(0)).contains("event:" + TaskEventStream.RESET_EVENT);
+    }
+
+    /**
+     * Emitter recording the serialized frames instead of writing them.
+     */
+    private static final class RecordingEmitter extends SseEmitter {
+
+        private final List<String> frames = new ArrayList<>();
+
+        private final List<String> ids = new ArrayList<>();
+
+        @Override
+        public void send(final SseEventBuilder builder) throws IOException {
+            StringBuilder frame = new StringBuilder();
+            builder.build().forEach(part -> frame.append(part.getData()));
+            String text = frame.toString();
+            text.lines().filter(line -> line.startsWith("id:"))
+                    .forEach(line -> ids.add(line.substring(3)));
+            frames.add(text);
+        }
+
+        @Override
+        public void send(final Object object, final MediaType mediaType) throws IOException {
+            throw new UnsupportedOperationException();
+        }
+    }
+
+    /**
+     * Executor running submitted senders only when asked to.
+     */
+    private static final class ManualExecutor extends AbstractExecutorService {
+
+        private final List<Runnable> tasks = new ArrayList<>();
+
+        int pending() {
+            return tasks.size();
+        }
+
+        void runAll() {
+            while (!tasks.isEmpty()) {
+                tasks.remove(0).run();
+            }
+        }
+
+        @Override
+        public void execute(final Runnable command) {
+            tasks.add(command);
+        }
+
+        @Override
+        public void shutdown() {
+        }
+
+        @Override
+        public List<Runnable> shutdownNow() {
+            return List.of();
+        }
+
+        @Override
+        public boolean isShutdown() {
+            return false;
+        }
+
+        @Override
+        public boolean isTerminated() {
+            return false;
+        }
+
+        @Override
+        public boolean awaitTermination(final long timeout, final TimeUnit unit) {
+            return true;
+        }
+    }
+}
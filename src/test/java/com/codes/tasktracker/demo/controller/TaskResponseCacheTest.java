@@ -0,0 +1,132 @@
+package com.codes.tasktracker.demo.controller;
+
+import com.codes.tasktracker.demo.model.Task;
+import com.codes.tasktracker.demo.service.TaskChangedEvent;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.time.Instant;
+import java.util.UUID;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TaskResponseCacheTest {
+
+    private final ObjectMapper mapper = new ObjectMapper()
+            .findAndRegisterModules()
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    private TaskResponseCache cache(final DataSize maxMemory) {
+        return new TaskResponseCache(new TaskResponseCacheProperties(true, maxMemory,
+                true, DataSize.ofKilobytes(1)), this.mapper);
+    }
+
+    private static Task task(final UUID id, final String description, final long version) {
+        Instant now = Instant.parse("2024-01-01T00:00:00Z");
+        return Task.restore(id, description, false, now, now, version);
+    }
+
+    @Test
+    void sameVersionIsServedFromCache() throws IOException {
+        TaskResponseCache cache = cache(DataSize.ofMegabytes(1));
+        Task task = task(UUID.randomUUID(), "Tarea", 3);
+
+        TaskResponseCache.Encoded first = cache.get(task);
+        TaskResponseCache.Encoded second = cache.get(task);
+
+        assertThat(second).isSameAs(first);
+        assertThat(this.mapper.readTree(first.json()).get("description").asText()).isEqualTo("Tarea");
+        assertThat(cache.stats().hits()).isEqualTo(1);
+        assertThat(cache.stats().misses()).isEqualTo(1);
+    }
+
+    @Test
+    void newVersionIsEncodedAgain() throws IOException {
+        TaskResponseCache cache = cache(DataSize.ofMegabytes(1));
+        UUID id = UUID.randomUUID();
+
+        cache.get(task(id, "Antes", 1));
+        TaskResponseCache.Encoded updated = cache.get(task(id, "Después", 2));
+
+        assertThat(updated.version()).isEqualTo(2);
+        assertThat(this.mapper.readTree(updated.json()).get("description").asText()).isEqualTo("Después");
+        assertThat(cache.stats().hits()).isZero();
+    }
+
+    @Test
+    void olderVersionDoesNotReplaceNewerOne() {
+        TaskResponseCache cache = cache(DataSize.ofMegabytes(1));
+        UUID id = UUID.randomUUID();
+
+        cache.get(task(id, "Nueva", 2));
+        cache.get(task(id, "Vieja", 1));
+        cache.get(task(id, "Nueva", 2));
+
+        assertThat(cache.stats().hits()).isEqualTo(1);
+    }
+
+    @Test
+    void mutationEventsInvalidateEntries() {
+        TaskResponseCache cache = cache(DataSize.ofMegabytes(1));
+        Task task = task(UUID.randomUUID(), "Tarea", 0);
+
+        cache.get(task);
+        cache.onTaskChanged(new TaskChangedEvent(TaskChangedEvent.Type.COMPLETED, task.getId(), null));
+        cache.get(task);
+        cache.onTaskChanged(new TaskChangedEvent(TaskChangedEvent.Type.BULK, null, null));
+        cache.get(task);
+
+        assertThat(cache.stats().misses()).isEqualTo(3);
+        assertThat(cache.stats().hits()).isZero();
+    }
+
+    @Test
+    void keepsGzipCopyOfLargeBodiesOnly() throws IOException {
+        TaskResponseCache cache = cache(DataSize.ofMegabytes(1));
+
+        TaskResponseCache.Encoded small = cache.get(task(UUID.randomUUID(), "Tarea", 0));
+        TaskResponseCache.Encoded large = cache.get(task(UUID.randomUUID(), "informe ".repeat(500), 0));
+
+        assertThat(small.gzip()).isNull();
+        assertThat(large.gzip()).isNotNull();
+        assertThat(large.gzip().length).isLessThan(large.json().length);
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(large.gzip()))) {
+            assertThat(in.readAllBytes()).isEqualTo(large.json());
+        }
+    }
+
+    @Test
+    void staysWithinMemoryBudget() {
+        TaskResponseCache cache = cache(DataSize.ofKilobytes(64));
+        for (int i = 0; i < 1000; i++) {
+            cache.get(task(UUID.randomUUID(), "Tarea " + i, 0));
+        }
+
+        assertThat(cache.stats().evictions()).isPositive();
+        assertThat(cache.bytes()).isLessThanOrEqualTo(DataSize.ofKilobytes(64).toBytes());
+    }
+
+    @Test
+    void servesOnlyWhenJsonIsNegotiated() {
+        TaskResponseCache cache = cache(DataSize.ofMegabytes(1));
+
+        assertThat(cache.serves(null)).isTrue();
+        assertThat(cache.serves("*/*")).isTrue();
+        assertThat(cache.serves("application/cbor, */*;q=0.5")).isFalse();
+        assertThat(cache.serves("application")).isFalse();
+    }
+
+    @Test
+    void gzipMustBeAcceptedWithNonZeroQuality() {
+        assertThat(TaskResponseCache.acceptsGzip(null)).isFalse();
+        assertThat(TaskResponseCache.acceptsGzip("gzip, deflate, br")).isTrue();
+        assertThat(TaskResponseCache.acceptsGzip("br;q=1.0, gzip;q=0.8")).isTrue();
+        assertThat(TaskResponseCache.acceptsGzip("gzip;q=0")).isFalse();
+        assertThat(TaskResponseCache.acceptsGzip("identity")).isFalse();
+    }
+}
@@ -0,0 +1,30 @@
+package com.codes.tasktracker.demo.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class WireFormatConfigTest {
+
+    @Test
+    void jsonIsNegotiatedUnlessABinaryFormatRanksHigher() {
+        assertThat(WireFormatConfig.negotiate(null)).isEqualTo(MediaType.APPLICATION_JSON);
+        assertThat(WireFormatConfig.negotiate("*/*")).isEqualTo(MediaType.APPLICATION_JSON);
+        assertThat(WireFormatConfig.negotiate("application/json")).isEqualTo(MediaType.APPLICATION_JSON);
+        assertThat(WireFormatConfig.negotiate("application/cbor, */*;q=0.5"))
+                .isEqualTo(MediaType.APPLICATION_CBOR);
+        assertThat(WireFormatConfig.negotiate("application/x-jackson-smile"))
+                .isEqualTo(WireFormatConfig.APPLICATION_SMILE);
+        assertThat(WireFormatConfig.negotiate("application/cbor;q=0.5, application/json"))
+                .isEqualTo(MediaType.APPLICATION_JSON);
+    }
+
+    @Test
+    void nothingIsNegotiatedForUnsupportedOrMalformedHeaders() {
+        assertThat(WireFormatConfig.negotiate("text/plain")).isNull();
+        assertThat(WireFormatConfig.negotiate("application")).isNull();
+        assertThat(ETags.forFormat("\"5\"", "application")).isEqualTo("\"5\"");
+        assertThat(ETags.forFormat("\"5\"", "application/cbor")).isEqualTo("\"5-cbor\"");
+    }
+}
@@ -0,0 +1,54 @@
+package com.codes.tasktracker.demo.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class StatementCountFilterTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    private final StatementCountFilter filter = new StatementCountFilter(registry);
+
+    private final StatementCounter inspector = new StatementCounter();
+
+    @Test
+    void recordsStatementsPerRequestByUriPattern() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/tasks/1");
+
+        filter.doFilter(request, new MockHttpServletResponse(), (req, res) -> {
+            req.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/tasks/{id}");
+            inspector.inspect("select 1");
+            inspector.inspect("select 2");
+        });
+
+        DistributionSummary summary = registry.get(StatementCountFilter.METRIC)
+                .tags("method", "GET", "uri", "/tasks/{id}")
+                .summary();
+        assertThat(summary.count()).isEqualTo(1);
+        assertThat(summary.totalAmount()).isEqualTo(2.0);
+    }
+
+    @Test
+    void statementsOutsideARequestAreNotCounted() throws Exception {
+        inspector.inspect("select 1");
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/tasks"), new MockHttpServletResponse(),
+                (req, res) -> { });
+
+        assertThat(registry.get(StatementCountFilter.METRIC).summary().totalAmount()).isZero();
+    }
+
+    @Test
+    void otherPathsAreIgnored() throws Exception {
+        filter.doFilter(new MockHttpServletRequest("GET", "/actuator/prometheus"),
+                new MockHttpServletResponse(), (req, res) -> inspector.inspect("select 1"));
+
+        assertThat(registry.find(StatementCountFilter.METRIC).summary()).isNull();
+    }
+}
@@ -0,0 +1,83 @@
+package com.codes.tasktracker.demo.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UuidV7Test {
+
+    /**
+     * Orders UUIDs the way PostgreSQL does: unsigned, byte by byte.
+     */
+    private static final Comparator<UUID> UNSIGNED = Comparator
+            .comparing((UUID u) -> u.getMostSignificantBits(), Long::compareUnsigned)
+            .thenComparing(UUID::getLeastSignificantBits, Long::compareUnsigned);
+
+    @Test
+    void generatesVersion7WithRfcVariant() {
+        UUID uuid = UuidV7.next();
+
+        assertThat(uuid.version()).isEqualTo(7);
+        assertThat(uuid.variant()).isEqualTo(2);
+    }
+
+    @Test
+    void embedsCurrentTimestamp() {
+        long before = System.currentTimeMillis();
+        UUID uuid = UuidV7.next();
+        long after = System.currentTimeMillis();
+
+        assertThat(UuidV7.timestamp(uuid)).isBetween(before, after + 1);
+    }
+
+    @Test
+    void isStrictlyIncreasingWithinAMillisecond() {
+        UUID previous = UuidV7.next();
+        for (int i = 0; i < 100_000; i++) {
+            UUID current = UuidV7.next();
+            assertThat(UNSIGNED.compare(current, previous)).isPositive();
+            previous = current;
+        }
+    }
+
+    @Test
+    void isUniqueAndPerThreadMonotonicAcrossThreads() throws Exception {
+        int threads = 8;
+        int perThread = 20_000;
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<List<UUID>>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                Callable<List<UUID>> job = () -> {
+                    List<UUID> ids = new ArrayList<>(perThread);
+                    for (int i = 0; i < perThread; i++) {
+                        ids.add(UuidV7.next());
+                    }
+                    return ids;
+                };
+                futures.add(pool.submit(job));
+            }
+
+            Set<UUID> all = new HashSet<>();
+            for (Future<List<UUID>> future : futures) {
+                List<UUID> ids = future.get();
+                assertThat(ids).isSortedAccordingTo(UNSIGNED);
+                all.addAll(ids);
+            }
+            assertThat(all).hasSize(threads * perThread);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,219 @@
+package com.codes.tasktracker.demo.repository;
+
+import com.codes.tasktracker.demo.dto.TaskCursor;
+import com.codes.tasktracker.demo.dto.TaskField;
+import com.codes.tasktracker.demo.dto.TaskFilter;
+import com.codes.tasktracker.demo.dto.TaskSort;
+import com.codes.tasktracker.demo.dto.TaskView;
+import com.codes.tasktracker.demo.model.Task;
+import com.codes.tasktracker.demo.model.TaskTombstone;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.OptimisticLockingFailureException;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class InMemoryTaskStoreTest {
+
+    private final InMemoryTaskStore store = new InMemoryTaskStore();
+
+    private static final Instant T0 = Instant.parse("2025-01-01T00:00:00Z");
+
+    @Test
+    void keysetPagesVisitEveryTaskOnceInOrder() {
+        insert(7);
+
+        List<TaskView> seen = new ArrayList<>();
+        List<TaskView> page = store.findPage(TaskFilter.none(), null, 3);
+        while (!page.isEmpty()) {
+            seen.addAll(page);
+            TaskView last = page.get(page.size() - 1);
+            page = store.findPage(TaskFilter.none(), new TaskCursor(last.createdAt(), last.id()), 3);
+        }
+
+        assertThat(seen).hasSize(7);
+        assertThat(seen).extracting(TaskView::id).doesNotHaveDuplicates();
+        assertThat(seen).extracting(TaskView::createdAt).isSorted();
+    }
+
+    @Test
+    void pagesMergeBothStatusesAndApplyFilters() {
+        List<Task> tasks = insert(6);
+        store.completeAllByIdIn(List.of(tasks.get(1).getId(), tasks.get(4).getId()), T0.plusSeconds(60));
+
+        TaskFilter newestFirst = new TaskFilter(null, null, null, null, null, TaskSort.CREATED_AT_DESC);
+        assertThat(store.findPage(newestFirst, null, 10)).extracting(TaskView::id)
+                .containsExactly(tasks.get(5).getId(), tasks.get(4).getId(), tasks.get(3).getId(),
+                        tasks.get(2).getId(), tasks.get(1).getId(), tasks.get(0).getId());
+
+        TaskFilter done = new TaskFilter(true, null, null, null, null, TaskSort.CREATED_AT_ASC);
+        assertThat(store.findPage(done, null, 10)).extracting(TaskView::id)
+                .containsExactly(tasks.get(1).getId(), tasks.get(4).getId());
+
+        TaskFilter pendingWindow = new TaskFilter(false, T0.plusSeconds(1), T0.plusSeconds(5), null, null,
+                TaskSort.CREATED_AT_ASC);
+        assertThat(store.findPage(pendingWindow, null, 10)).extracting(TaskView::id)
+                .containsExactly(tasks.get(2).getId(), tasks.get(3).getId());
+    }
+
+    @Test
+    void countAppliesFiltersOnEitherIndex() {
+        List<Task> tasks = insert(6);
+        store.completeAllByIdIn(List.of(tasks.get(1).getId(), tasks.get(4).getId()), T0.plusSeconds(60));
+
+        assertThat(store.count(TaskFilter.none())).isEqualTo(6);
+        assertThat(store.count(new TaskFilter(true, null, null, null, null, null))).isEqualTo(2);
+        assertThat(store.count(new TaskFilter(null, T0.plusSeconds(1), T0.plusSeconds(5), null, null, null)))
+                .isEqualTo(4);
+        assertThat(store.count(new TaskFilter(true, null, null, T0.plusSeconds(60), T0.plusSeconds(61), null)))
+                .isEqualTo(2);
+    }
+
+    @Test
+    void pageFieldsContainRequestedFieldsAndSortKey() {
+        insert(2);
+
+        List<Map<String, Object>> rows =
+                store.findPageFields(TaskFilter.none(), null, 10, EnumSet.of(TaskField.COMPLETED));
+
+        assertThat(rows).hasSize(2);
+        assertThat(rows.get(0).keySet()).containsExactlyInAnyOrder("id", "completed", "createdAt");
+    }
+
+    @Test
+    void saveRejectsStaleVersion() {
+        Task task = store.save(new Task("Tarea"));
+        Task stale = store.findById(task.getId()).orElseThrow();
+        Task current = store.findById(task.getId()).orElseThrow();
+
+        current.setDescription("Nueva");
+        assertThat(store.save(current).getVersion()).isEqualTo(1L);
+
+        stale.setDescription("Vieja");
+        assertThrows(OptimisticLockingFailureException.class, () -> store.save(stale));
+        assertThat(store.findById(task.getId()).orElseThrow().getDescription()).isEqualTo("Nueva");
+    }
+
+    @Test
+    void loadedTasksAreCopies() {
+        Task task = store.save(new Task("Tarea"));
+
+        store.findById(task.getId()).orElseThrow().setDescription("Sin guardar");
+
+        assertThat(store.findById(task.getId()).orElseThrow().getDescription()).isEqualTo("Tarea");
+    }
+
+    @Test
+    void markCompletedMovesTaskBetweenIndexes() {
+        Task task = insert(1).get(0);
+        Instant now = T0.plusSeconds(60);
+
+        assertThat(store.markCompleted(task.getId(), now)).isEqualTo(1);
+        assertThat(store.markCompleted(task.getId(), now)).isZero();
+
+        TaskFilter pending = new TaskFilter(false, null, null, null, null, null);
+        TaskFilter done = new TaskFilter(true, null, null, null, null, null);
+        assertThat(store.findPage(pending, null, 10)).isEmpty();
+        assertThat(store.findPage(done, null, 10)).extracting(TaskView::updatedAt).containsExactly(now);
+        assertThat(store.findVersionById(task.getId())).contains(1L);
+    }
+
+    @Test
+    void completePendingCreatedBeforeTouchesOnlyOlderPendingTasksInBatches() {
+        List<Task> tasks = insert(4);
+        Instant before = T0.plusSeconds(2);
+        Instant now = T0.plusSeconds(60);
+
+        TaskStore.Batch first = store.completePendingCreatedBefore(before, null, 1, now);
+        TaskStore.Batch second = store.completePendingCreatedBefore(before, first.next(), 1, now);
+        TaskStore.Batch third = store.completePendingCreatedBefore(before, second.next(), 1, now);
+
+        assertThat(first.affected()).isEqualTo(1);
+        assertThat(first.next().id()).isEqualTo(tasks.get(0).getId());
+        assertThat(second.affected()).isEqualTo(1);
+        assertThat(third).isEqualTo(new TaskStore.Batch(0, null));
+        assertThat(store.findById(tasks.get(1).getId()).orElseThrow().isCompleted()).isTrue();
+        assertThat(store.findById(tasks.get(2).getId()).orElseThrow().isCompleted()).isFalse();
+    }
+
+    @Test
+    void deletesLeaveTombstonesUntilPurged() {
+        List<Task> tasks = insert(3);
+        Instant completedAt = T0.plusSeconds(60);
+        store.markCompleted(tasks.get(0).getId(), completedAt);
+        store.markCompleted(tasks.get(1).getId(), completedAt.plusSeconds(60));
+
+        assertThat(store.deleteCompletedUpdatedBefore(completedAt.plusSeconds(1), null, 10, T0.plusSeconds(200)))
+                .isEqualTo(new TaskStore.Batch(1, null));
+        assertThat(store.removeById(tasks.get(2).getId(), T0.plusSeconds(300))).isEqualTo(1);
+        assertThat(store.removeById(tasks.get(2).getId(), T0.plusSeconds(300))).isZero();
+
+        assertThat(store.findAllViews()).extracting(TaskView::id).containsExactly(tasks.get(1).getId());
+        List<TaskTombstone> deleted = store.findDeletedAfter(
+                new TaskCursor(T0, new UUID(0, 0)), T0.plusSeconds(1000), 10);
+        assertThat(deleted).extracting(TaskTombstone::getTaskId)
+                .containsExactly(tasks.get(0).getId(), tasks.get(2).getId());
+
+        assertThat(store.purgeTombstonesBefore(T0.plusSeconds(250))).isEqualTo(1);
+        assertThat(store.findDeletedAfter(new TaskCursor(T0, new UUID(0, 0)), T0.plusSeconds(1000), 10))
+                .extracting(TaskTombstone::getTaskId).containsExactly(tasks.get(2).getId());
+    }
+
+    @Test
+    void changeFeedStopsAtHorizon() {
+        List<Task> tasks = insert(3);
+
+        List<TaskView> changed = store.findChangedAfter(
+                new TaskCursor(T0, tasks.get(0).getId()), T0.plusSeconds(2), 10);
+
+        assertThat(changed).extracting(TaskView::id).containsExactly(tasks.get(1).getId());
+    }
+
+    @Test
+    void archiveMovesOldCompletedTasksInKeysetBatches() {
+        List<Task> tasks = insert(4);
+        for (int i = 0; i < 3; i++) {
+            store.markCompleted(tasks.get(i).getId(), T0.plusSeconds(100 + i));
+        }
+        Instant before = T0.plusSeconds(102);
+        Instant now = T0.plusSeconds(500);
+
+        List<TaskView> first = store.archiveCompletedUpdatedBefore(before, null, 1, now);
+        TaskView last = first.get(0);
+        List<TaskView> second = store.archiveCompletedUpdatedBefore(
+                before, new TaskCursor(last.updatedAt(), last.id()), 10, now);
+
+        assertThat(first).extracting(TaskView::id).containsExactly(tasks.get(0).getId());
+        assertThat(second).extracting(TaskView::id).containsExactly(tasks.get(1).getId());
+        assertThat(store.findAllViews()).extracting(TaskView::id)
+                .containsExactlyInAnyOrder(tasks.get(2).getId(), tasks.get(3).getId());
+        assertThat(store.findArchivedById(tasks.get(1).getId())).contains(second.get(0));
+        assertThat(store.findArchivedPage(null, 10)).extracting(TaskView::id)
+                .containsExactly(tasks.get(0).getId(), tasks.get(1).getId());
+        assertThat(store.findArchivedPage(new TaskCursor(last.updatedAt(), last.id()), 10))
+                .extracting(TaskView::id).containsExactly(tasks.get(1).getId());
+        assertThat(store.findDeletedAfter(new TaskCursor(T0, new UUID(0, 0)), now.plusSeconds(1), 10))
+                .extracting(TaskTombstone::getTaskId)
+                .containsExactlyInAnyOrder(tasks.get(0).getId(), tasks.get(1).getId());
+    }
+
+    /**
+     * Inserts tasks created one second apart from {@link #T0}.
+     */
+    private List<Task> insert(final int count) {
+        List<Task> tasks = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Instant at = T0.plusSeconds(i);
+            tasks.add(Task.restore(null, "Tarea " + i, false, at, at, 0));
+        }
+        store.insertAll(tasks);
+        return tasks;
+    }
+}
@@ -0,0 +1,174 @@
+package com.codes.tasktracker.demo.repository;
+
+import com.codes.tasktracker.demo.dto.TaskCursor;
+import com.codes.tasktracker.demo.dto.TaskView;
+import com.codes.tasktracker.demo.model.Task;
+import com.codes.tasktracker.demo.model.TaskTombstone;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class JournalTaskStoreTest {
+
+    private static final Instant T0 = Instant.parse("2025-01-01T00:00:00Z");
+
+    @TempDir
+    private Path directory;
+
+    @Test
+    void replaysJournalAfterRestart() throws IOException {
+        JournalTaskStore store = open(DataSize.ofMegabytes(1));
+        List<Task> tasks = insert(store, 3);
+        Task updated = store.findById(tasks.get(0).getId()).orElseThrow();
+        updated.setDescription("Cambiada");
+        store.save(updated);
+        store.markCompleted(tasks.get(1).getId(), T0.plusSeconds(60));
+        store.removeById(tasks.get(2).getId(), T0.plusSeconds(120));
+        // Dropped without close(), as in a crash.
+
+        JournalTaskStore reopened = open(DataSize.ofMegabytes(1));
+
+        assertThat(reopened.findById(tasks.get(0).getId()).orElseThrow().getDescription())
+                .isEqualTo("Cambiada");
+        assertThat(reopened.findVersionById(tasks.get(0).getId())).contains(1L);
+        assertThat(reopened.findById(tasks.get(1).getId()).orElseThrow().isCompleted()).isTrue();
+        assertThat(reopened.existsById(tasks.get(2).getId())).isFalse();
+        assertThat(deleted(reopened)).containsExactly(tasks.get(2).getId());
+    }
+
+    @Test
+    void snapshotReplacesOlderSegments() throws IOException {
+        JournalTaskStore store = open(DataSize.ofKilobytes(4));
+        List<Task> before = insert(store, 100);
+        store.removeById(before.get(0).getId(), T0.plusSeconds(500));
+        store.snapshot();
+        Task after = store.save(new Task("Después"));
+
+        assertThat(files("snapshot-")).hasSize(1);
+        assertThat(files("journal-")).hasSize(1);
+
+        JournalTaskStore reopened = open(DataSize.ofKilobytes(4));
+
+        assertThat(reopened.findAllViews()).hasSize(100);
+        assertThat(reopened.existsById(after.getId())).isTrue();
+        assertThat(deleted(reopened)).containsExactly(before.get(0).getId());
+    }
+
+    @Test
+    void snapshotOfSeveralBlocksReloadsInOrder() throws IOException {
+        JournalTaskStore store = open(DataSize.ofMegabytes(1));
+        List<Task> tasks = insert(store, 20_000);
+        Task large = store.save(new Task("x".repeat(2 << 20)));
+        store.removeById(tasks.get(0).getId(), T0.plusSeconds(500));
+        store.snapshot();
+
+        JournalTaskStore reopened = open(DataSize.ofMegabytes(1));
+
+        assertThat(reopened.findAllViews()).hasSize(20_000);
+        assertThat(reopened.findById(large.getId()).orElseThrow().getDescription()).hasSize(2 << 20);
+        assertThat(reopened.findById(tasks.get(19_999).getId()).orElseThrow().getDescription())
+                .isEqualTo("Tarea 19999");
+        assertThat(deleted(reopened)).containsExactly(tasks.get(0).getId());
+    }
+
+    @Test
+    void truncatedSnapshotFailsRecovery() throws IOException {
+        JournalTaskStore store = open(DataSize.ofMegabytes(1));
+        insert(store, 10);
+        store.close();
+
+        Path snapshot = files("snapshot-").get(0);
+        try (FileChannel channel = FileChannel.open(snapshot, StandardOpenOption.WRITE)) {
+            channel.truncate(channel.size() - 1);
+        }
+
+        assertThatThrownBy(() -> open(DataSize.ofMegabytes(1)))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("Instantánea incompleta");
+    }
+
+    @Test
+    void recordsSpanSegments() throws IOException {
+        JournalTaskStore store = open(DataSize.ofKilobytes(1));
+        insert(store, 50);
+        store.save(new Task("x".repeat(4000)));
+
+        assertThat(open(DataSize.ofKilobytes(1)).findAllViews()).hasSize(51);
+    }
+
+    @Test
+    void tornRecordEndsReplay() throws IOException {
+        JournalTaskStore store = open(DataSize.ofMegabytes(1));
+        List<Task> tasks = insert(store, 2);
+
+        Path segment = files("journal-").get(0);
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.READ,
+                StandardOpenOption.WRITE)) {
+            ByteBuffer header = ByteBuffer.allocate(4);
+            channel.read(header, 0);
+            int firstRecord = 8 + header.getInt(0);
+            // Damage the last byte of the second record.
+            ByteBuffer second = ByteBuffer.allocate(4);
+            channel.read(second, firstRecord);
+            channel.write(ByteBuffer.wrap(new byte[] {0x55}), firstRecord + 8 + second.getInt(0) - 1);
+        }
+
+        JournalTaskStore reopened = open(DataSize.ofMegabytes(1));
+
+        assertThat(reopened.findAllViews()).extracting(TaskView::id)
+                .containsExactly(tasks.get(0).getId());
+    }
+
+    @Test
+    void closeLeavesOnlySnapshotToLoad() throws IOException {
+        JournalTaskStore store = open(DataSize.ofMegabytes(1));
+        List<Task> tasks = insert(store, 5);
+        store.close();
+
+        JournalTaskStore reopened = open(DataSize.ofMegabytes(1));
+
+        assertThat(reopened.findAllViews()).hasSize(5);
+        assertThat(reopened.findById(tasks.get(4).getId())).isPresent();
+    }
+
+    private JournalTaskStore open(final DataSize segmentSize) throws IOException {
+        return new JournalTaskStore(new TaskJournalProperties(this.directory, segmentSize, 1_000_000));
+    }
+
+    private static List<Task> insert(final JournalTaskStore store, final int count) {
+        List<Task> tasks = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Instant at = T0.plusSeconds(i);
+            tasks.add(Task.restore(null, "Tarea " + i, false, at, at, 0));
+        }
+        store.insertAll(tasks);
+        return tasks;
+    }
+
+    private static List<UUID> deleted(final JournalTaskStore store) {
+        return store.findDeletedAfter(new TaskCursor(T0, new UUID(0, 0)), T0.plusSeconds(10_000), 10)
+                .stream().map(TaskTombstone::getTaskId).toList();
+    }
+
+    private List<Path> files(final String prefix) throws IOException {
+        try (Stream<Path> files = Files.list(this.directory)) {
+            return files.filter(path -> path.getFileName().toString().startsWith(prefix))
+                    .sorted().toList();
+        }
+    }
+}
@@ -0,0 +1,182 @@
+package com.codes.tasktracker.demo.repository;
+
+import com.codes.tasktracker.demo.dto.TaskCursor;
+import com.codes.tasktracker.demo.dto.TaskView;
+import com.codes.tasktracker.demo.model.Task;
+import com.codes.tasktracker.demo.model.TaskTombstone;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class JpaTaskStoreTest {
+
+    @Mock
+    private TaskRepository repository;
+
+    @Mock
+    private TaskTombstoneRepository tombstoneRepository;
+
+    @Mock
+    private ArchivedTaskRepository archiveRepository;
+
+    @Mock
+    private EntityManager entityManager;
+
+    private JpaTaskStore store;
+
+    @BeforeEach
+    void setUp() {
+        store = new JpaTaskStore(repository, tombstoneRepository, archiveRepository, entityManager);
+    }
+
+    @Test
+    void insertAllFlushesAndClearsPeriodically() {
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < 2500; i++) {
+            tasks.add(new Task("Tarea " + i));
+        }
+
+        store.insertAll(tasks);
+
+        verify(repository, times(2500)).save(any(Task.class));
+        verify(entityManager, times(2)).flush();
+        verify(entityManager, times(2)).clear();
+    }
+
+    @Test
+    void forEachTaskDetachesEveryTask() {
+        Task first = new Task("Tarea 1");
+        Task second = new Task("Tarea 2");
+        when(repository.streamAll()).thenReturn(Stream.of(first, second));
+
+        List<Task> fed = new ArrayList<>();
+        assertThat(store.forEachTask(fed::add)).isEqualTo(2L);
+
+        assertThat(fed).containsExactly(first, second);
+        verify(entityManager).detach(first);
+        verify(entityManager).detach(second);
+    }
+
+    @Test
+    void removeByIdRecordsTombstoneOnlyWhenDeleted() {
+        UUID id = UUID.randomUUID();
+        Instant now = Task.now();
+        when(repository.removeById(id)).thenReturn(1, 0);
+
+        assertThat(store.removeById(id, now)).isEqualTo(1);
+        assertThat(store.removeById(id, now)).isZero();
+
+        verify(entityManager, times(1)).persist(any(TaskTombstone.class));
+    }
+
+    @Test
+    void completePendingCreatedBeforeCompletesOneBatchAndReturnsItsLastTask() {
+        Instant before = Task.now();
+        Instant now = before.plusSeconds(1);
+        TaskCursor after = new TaskCursor(before.minusSeconds(90), UUID.randomUUID());
+        List<TaskCursor> pending = List.of(
+                new TaskCursor(before.minusSeconds(60), UUID.randomUUID()),
+                new TaskCursor(before.minusSeconds(30), UUID.randomUUID()));
+        when(repository.findPendingCreatedBefore(
+                eq(before), eq(after.timestamp()), eq(after.id()), eq(Limit.of(2))))
+                .thenReturn(pending);
+        // One task of the batch was completed concurrently.
+        when(repository.completeAllByIdIn(pending.stream().map(TaskCursor::id).toList(), now))
+                .thenReturn(1);
+
+        TaskStore.Batch batch = store.completePendingCreatedBefore(before, after, 2, now);
+
+        assertThat(batch.affected()).isEqualTo(1);
+        assertThat(batch.next()).isEqualTo(pending.get(1));
+    }
+
+    @Test
+    void completePendingCreatedBeforeEndsOnShortBatch() {
+        Instant before = Task.now();
+        TaskCursor pending = new TaskCursor(before.minusSeconds(60), UUID.randomUUID());
+        when(repository.findPendingCreatedBefore(
+                eq(before), eq(Instant.EPOCH), eq(new UUID(0, 0)), eq(Limit.of(2))))
+                .thenReturn(List.of(pending));
+        when(repository.completeAllByIdIn(List.of(pending.id()), before)).thenReturn(1);
+
+        assertThat(store.completePendingCreatedBefore(before, null, 2, before))
+                .isEqualTo(new TaskStore.Batch(1, null));
+    }
+
+    @Test
+    void deleteCompletedLocksAndTombstonesTheBatchBeforeDeleting() {
+        Instant before = Task.now();
+        Instant now = before.plusSeconds(1);
+        List<Task> locked = List.of(
+                Task.restore(UUID.randomUUID(), "Hecha", true, before, before.minusSeconds(60), 1),
+                Task.restore(UUID.randomUUID(), "Otra", true, before, before.minusSeconds(30), 1));
+        when(repository.lockCompletedUpdatedBefore(
+                eq(before), eq(Instant.EPOCH), eq(new UUID(0, 0)), eq(Limit.of(2))))
+                .thenReturn(locked);
+        when(repository.deleteByIdIn(any())).thenReturn(2);
+
+        TaskStore.Batch batch = store.deleteCompletedUpdatedBefore(before, null, 2, now);
+
+        Task last = locked.get(1);
+        assertThat(batch).isEqualTo(new TaskStore.Batch(2, new TaskCursor(last.getUpdatedAt(), last.getId())));
+        List<UUID> ids = locked.stream().map(Task::getId).toList();
+        InOrder order = inOrder(tombstoneRepository, repository);
+        order.verify(tombstoneRepository).recordByIdIn(ids, now);
+        order.verify(repository).deleteByIdIn(ids);
+        verify(entityManager, never()).persist(any());
+    }
+
+    @Test
+    void archiveCopiesAndRecordsTombstonesBeforeDeleting() {
+        Instant before = Task.now();
+        Instant now = before.plusSeconds(1);
+        Task first = Task.restore(UUID.randomUUID(), "Una", true, before, before, 1);
+        Task second = Task.restore(UUID.randomUUID(), "Otra", true, before, before, 1);
+        TaskCursor after = new TaskCursor(before.minusSeconds(60), UUID.randomUUID());
+        when(repository.lockCompletedUpdatedBefore(
+                eq(before), eq(after.timestamp()), eq(after.id()), any(Limit.class)))
+                .thenReturn(List.of(first, second));
+
+        List<TaskView> archived = store.archiveCompletedUpdatedBefore(before, after, 2, now);
+
+        assertThat(archived).extracting(TaskView::id).containsExactly(first.getId(), second.getId());
+        List<UUID> ids = List.of(first.getId(), second.getId());
+        InOrder order = inOrder(archiveRepository, tombstoneRepository, repository);
+        order.verify(archiveRepository).copyFromTasks(ids, now);
+        order.verify(tombstoneRepository).recordByIdIn(ids, now);
+        order.verify(repository).deleteByIdIn(ids);
+    }
+
+    @Test
+    void archiveOfEmptyBatchWritesNothing() {
+        Instant before = Task.now();
+        when(repository.lockCompletedUpdatedBefore(any(), any(), any(), any(Limit.class)))
+                .thenReturn(List.of());
+
+        assertThat(store.archiveCompletedUpdatedBefore(before, null, 10, before)).isEmpty();
+
+        verify(archiveRepository, never()).copyFromTasks(any(), any());
+        verify(repository, never()).deleteByIdIn(any());
+    }
+}
@@ -0,0 +1,231 @@
+package com.codes.tasktracker.demo.repository;
+
+import com.codes.tasktracker.demo.dto.TaskCursor;
+import com.codes.tasktracker.demo.dto.TaskField;
+import com.codes.tasktracker.demo.dto.TaskFilter;
+import com.codes.tasktracker.demo.dto.TaskSort;
+import com.codes.tasktracker.demo.dto.TaskView;
+import com.codes.tasktracker.demo.model.Task;
+import com.codes.tasktracker.demo.model.TaskTombstone;
+import jakarta.persistence.Tuple;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class TaskRepositoryTest {
+
+    @Autowired
+    private TaskRepository repository;
+
+    @Autowired
+    private TaskTombstoneRepository tombstoneRepository;
+
+    @Autowired
+    private ArchivedTaskRepository archiveRepository;
+
+    @Test
+    void keysetPagesVisitEveryTaskOnceInOrder() {
+        for (int i = 0; i < 7; i++) {
+            repository.save(new Task("Tarea " + i));
+        }
+        repository.flush();
+
+        List<TaskView> seen = new ArrayList<>();
+        List<TaskView> page = repository.findPage(TaskFilter.none(), null, 3);
+        while (!page.isEmpty()) {
+            seen.addAll(page);
+            TaskView last = page.get(page.size() - 1);
+            page = repository.findPage(TaskFilter.none(),
+                    new TaskCursor(last.createdAt(), last.id()), 3);
+        }
+
+        assertThat(seen).hasSize(7);
+        assertThat(seen).extracting(TaskView::id).doesNotHaveDuplicates();
+        assertThat(seen).extracting(TaskView::createdAt).isSorted();
+    }
+
+    @Test
+    void bulkStatementsTouchOnlyMatchingRows() {
+        Task pending = repository.save(new Task("Pendiente"));
+        Task other = repository.save(new Task("Otra"));
+        repository.flush();
+        Instant later = Task.now().plusSeconds(60);
+
+        int completed = repository.completeAllByIdIn(List.of(pending.getId()), later);
+        assertThat(completed).isEqualTo(1);
+        assertThat(repository.completeAllByIdIn(List.of(pending.getId()), later)).isZero();
+
+        Task reloaded = repository.findById(pending.getId()).orElseThrow();
+        assertThat(reloaded.isCompleted()).isTrue();
+        assertThat(reloaded.getUpdatedAt()).isEqualTo(later);
+
+        assertThat(reloaded.getVersion()).isEqualTo(pending.getVersion() + 1);
+        assertThat(repository.findVersionById(pending.getId())).contains(reloaded.getVersion());
+
+        assertThat(repository.deleteByIdIn(List.of(pending.getId()))).isEqualTo(1);
+        assertThat(repository.findAll()).extracting(Task::getId).containsExactly(other.getId());
+    }
+
+    @Test
+    void filtersAndDescendingKeysetReturnOnlyMatchingRows() {
+        List<Task> pending = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            pending.add(repository.save(new Task("Pendiente " + i)));
+        }
+        Task done = new Task("Hecha");
+        done.markCompleted();
+        repository.save(done);
+        repository.flush();
+
+        TaskFilter filter = new TaskFilter(false, Task.now().minusSeconds(3600), null,
+                null, null, TaskSort.CREATED_AT_DESC);
+        List<TaskView> seen = new ArrayList<>();
+        List<TaskView> page = repository.findPage(filter, null, 2);
+        while (!page.isEmpty()) {
+            seen.addAll(page);
+            TaskView last = page.get(page.size() - 1);
+            page = repository.findPage(filter, new TaskCursor(last.createdAt(), last.id()), 2);
+        }
+
+        assertThat(seen).extracting(TaskView::id)
+                .containsExactlyInAnyOrderElementsOf(pending.stream().map(Task::getId).toList());
+        assertThat(seen).extracting(TaskView::createdAt).isSortedAccordingTo(Comparator.reverseOrder());
+    }
+
+    @Test
+    void countsMatchFilters() {
+        Task pending = repository.save(new Task("Pendiente"));
+        Task done = new Task("Hecha");
+        done.markCompleted();
+        repository.save(done);
+        repository.flush();
+
+        assertThat(repository.countMatching(TaskFilter.none())).isEqualTo(2);
+        assertThat(repository.countMatching(new TaskFilter(true, null, null, null, null, null)))
+                .isEqualTo(1);
+        assertThat(repository.countMatching(new TaskFilter(null, null, null,
+                Task.now().plusSeconds(60), null, null))).isZero();
+    }
+
+    @Test
+    void fieldQueriesSelectRequestedColumnsPlusKeyset() {
+        Task saved = repository.save(new Task("Tarea"));
+        repository.flush();
+
+        List<Tuple> rows = repository.findPageFields(TaskFilter.none(), null, 10,
+                EnumSet.of(TaskField.COMPLETED));
+
+        assertThat(rows).hasSize(1);
+        assertThat(rows.get(0).get("completed")).isEqualTo(false);
+        assertThat(rows.get(0).get("id")).isEqualTo(saved.getId());
+        assertThat(rows.get(0).get("createdAt")).isNotNull();
+    }
+
+    @Test
+    void changeFeedSeesUpdatesAndTombstonesBeforeHorizon() {
+        Task done = repository.save(new Task("Hecha"));
+        Task open = repository.save(new Task("Abierta"));
+        repository.flush();
+        Instant later = Task.now().plusSeconds(60);
+        repository.completeAllByIdIn(List.of(done.getId()), later);
+
+        Instant horizon = later.plusSeconds(60);
+        List<TaskView> changed = repository.findChangedAfter(
+                Instant.EPOCH, new UUID(0, 0), horizon, Limit.of(10));
+        assertThat(changed).extracting(TaskView::id).containsExactly(open.getId(), done.getId());
+        assertThat(repository.findChangedAfter(
+                Instant.EPOCH, new UUID(0, 0), later, Limit.of(10)))
+                .extracting(TaskView::id).containsExactly(open.getId());
+
+        assertThat(tombstoneRepository.recordByIdIn(List.of(done.getId()), horizon)).isEqualTo(1);
+        repository.deleteByIdIn(List.of(done.getId()));
+        assertThat(tombstoneRepository.findDeletedAfter(
+                Instant.EPOCH, new UUID(0, 0), horizon.plusSeconds(1), Limit.of(10)))
+                .extracting(TaskTombstone::getTaskId).containsExactly(done.getId());
+        assertThat(tombstoneRepository.purgeDeletedBefore(horizon.plusSeconds(1))).isEqualTo(1);
+    }
+
+    @Test
+    void pendingCreatedBeforeFollowsKeysetAndSkipsCompletedTasks() {
+        List<Task> pending = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            pending.add(repository.save(new Task("Pendiente " + i)));
+        }
+        Task done = new Task("Hecha");
+        done.markCompleted();
+        repository.save(done);
+        repository.flush();
+        Instant before = Task.now().plusSeconds(1);
+
+        List<TaskCursor> first = repository.findPendingCreatedBefore(
+                before, Instant.EPOCH, new UUID(0, 0), Limit.of(2));
+        TaskCursor last = first.get(1);
+        List<TaskCursor> second = repository.findPendingCreatedBefore(
+                before, last.timestamp(), last.id(), Limit.of(2));
+
+        assertThat(first).hasSize(2);
+        assertThat(second).hasSize(1);
+        List<UUID> seen = new ArrayList<>();
+        first.forEach(task -> seen.add(task.id()));
+        second.forEach(task -> seen.add(task.id()));
+        assertThat(seen).containsExactlyInAnyOrderElementsOf(pending.stream().map(Task::getId).toList());
+        assertThat(repository.completeAllByIdIn(seen, Task.now())).isEqualTo(3);
+        assertThat(repository.findPendingCreatedBefore(
+                before, Instant.EPOCH, new UUID(0, 0), Limit.of(10))).isEmpty();
+    }
+
+    @Test
+    void archiveBatchesFollowKeysetAndMoveRowsWithTombstones() {
+        List<Task> done = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            Task task = new Task("Hecha " + i);
+            task.markCompleted();
+            done.add(repository.save(task));
+        }
+        Task pending = repository.save(new Task("Pendiente"));
+        repository.flush();
+        Instant before = Task.now().plusSeconds(1);
+        Instant epoch = Instant.EPOCH;
+
+        List<Task> first = repository.lockCompletedUpdatedBefore(
+                before, epoch, new UUID(0, 0), Limit.of(2));
+        assertThat(first).hasSize(2);
+        Task last = first.get(1);
+        List<Task> second = repository.lockCompletedUpdatedBefore(
+                before, last.getUpdatedAt(), last.getId(), Limit.of(2));
+        assertThat(second).extracting(Task::getId)
+                .doesNotContainAnyElementsOf(first.stream().map(Task::getId).toList());
+
+        List<UUID> ids = first.stream().map(Task::getId).toList();
+        Instant now = Task.now();
+        assertThat(archiveRepository.copyFromTasks(ids, now)).isEqualTo(2);
+        assertThat(tombstoneRepository.recordByIdIn(ids, now)).isEqualTo(2);
+        assertThat(repository.deleteByIdIn(ids)).isEqualTo(2);
+
+        assertThat(repository.findAll()).extracting(Task::getId)
+                .doesNotContainAnyElementsOf(ids)
+                .contains(pending.getId());
+        TaskView archived = archiveRepository.findViewById(ids.get(0)).orElseThrow();
+        assertThat(archived.completed()).isTrue();
+        assertThat(archived.description()).startsWith("Hecha");
+        assertThat(archiveRepository.findPageAfter(epoch, new UUID(0, 0), Limit.of(10)))
+                .extracting(TaskView::id).containsExactlyElementsOf(ids);
+        assertThat(tombstoneRepository.findAllById(ids)).hasSize(2);
+        assertThat(done).extracting(Task::getId).containsAll(ids);
+    }
+}
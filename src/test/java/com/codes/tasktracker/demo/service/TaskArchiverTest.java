@@ -0,0 +1,79 @@
+package com.codes.tasktracker.demo.service;
+
+import com.codes.tasktracker.demo.dto.TaskCursor;
+import com.codes.tasktracker.demo.dto.TaskView;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class TaskArchiverTest {
+
+    private static final Instant T0 = Instant.parse("2025-01-01T00:00:00Z");
+
+    private final TaskService service = mock(TaskService.class);
+
+    private final TaskArchiver archiver = new TaskArchiver(
+            new TaskArchiveProperties(true, Duration.ofDays(30), 2, Duration.ZERO), service);
+
+    private static TaskView archived(final int second) {
+        Instant at = T0.plusSeconds(second);
+        return new TaskView(UUID.randomUUID(), "Tarea " + second, true, at, at, 1);
+    }
+
+    @Test
+    void runContinuesAfterLastTaskUntilShortBatch() {
+        TaskView first = archived(1);
+        TaskView second = archived(2);
+        TaskView third = archived(3);
+        when(service.archiveCompletedTasks(any(Instant.class), isNull(), eq(2)))
+                .thenReturn(List.of(first, second));
+        when(service.archiveCompletedTasks(any(Instant.class),
+                eq(new TaskCursor(second.updatedAt(), second.id())), eq(2)))
+                .thenReturn(List.of(third));
+
+        TaskArchiver.Run run = archiver.archive();
+
+        assertThat(run.rows()).isEqualTo(3);
+        assertThat(run.batches()).isEqualTo(2);
+        assertThat(run.rowsPerSecond()).isPositive();
+        assertThat(archiver.lastRun()).isEqualTo(run);
+        assertThat(archiver.rowCount()).isEqualTo(3);
+        assertThat(archiver.batchCount()).isEqualTo(2);
+    }
+
+    @Test
+    void runArchivesOnlyTasksOlderThanMinimumAge() {
+        when(service.archiveCompletedTasks(any(Instant.class), isNull(), eq(2))).thenReturn(List.of());
+        Instant earliest = Instant.now().minus(Duration.ofDays(30)).minusSeconds(1);
+
+        archiver.archive();
+
+        verify(service).archiveCompletedTasks(
+                argThat(before -> before.isAfter(earliest)
+                        && before.isBefore(Instant.now().minus(Duration.ofDays(29)))),
+                isNull(), eq(2));
+    }
+
+    @Test
+    void disabledJobDoesNothing() {
+        TaskArchiver disabled = new TaskArchiver(
+                new TaskArchiveProperties(false, Duration.ofDays(30), 2, Duration.ZERO), service);
+
+        disabled.archiveIfEnabled();
+
+        verify(service, never()).archiveCompletedTasks(any(), any(), eq(2));
+    }
+}
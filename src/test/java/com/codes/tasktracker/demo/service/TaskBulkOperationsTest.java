@@ -0,0 +1,108 @@
+package com.codes.tasktracker.demo.service;
+
+import com.codes.tasktracker.demo.dto.TaskCursor;
+import com.codes.tasktracker.demo.repository.InMemoryTransactionManager;
+import com.codes.tasktracker.demo.repository.TaskStore;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.transaction.annotation.AnnotationTransactionAttributeSource;
+import org.springframework.transaction.interceptor.TransactionInterceptor;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class TaskBulkOperationsTest {
+
+    private static final Instant BEFORE = Instant.parse("2025-01-01T00:00:00Z");
+
+    private final TaskService service = mock(TaskService.class);
+
+    private static TaskCursor cursor(final int second) {
+        return new TaskCursor(BEFORE.minusSeconds(second), UUID.randomUUID());
+    }
+
+    @Test
+    void completeContinuesAfterEachBatchAndSumsRows() {
+        TaskCursor first = cursor(60);
+        TaskCursor second = cursor(30);
+        when(service.completeTasksCreatedBefore(BEFORE, null, TaskBulkOperations.BATCH_SIZE))
+                .thenReturn(new TaskStore.Batch(TaskBulkOperations.BATCH_SIZE, first));
+        when(service.completeTasksCreatedBefore(BEFORE, first, TaskBulkOperations.BATCH_SIZE))
+                .thenReturn(new TaskStore.Batch(TaskBulkOperations.BATCH_SIZE - 1, second));
+        when(service.completeTasksCreatedBefore(BEFORE, second, TaskBulkOperations.BATCH_SIZE))
+                .thenReturn(new TaskStore.Batch(5, null));
+
+        int affected = new TaskBulkOperations(service).completeTasksCreatedBefore(BEFORE);
+
+        assertThat(affected).isEqualTo(2 * TaskBulkOperations.BATCH_SIZE + 4);
+        verify(service).completeTasksCreatedBefore(BEFORE, second, TaskBulkOperations.BATCH_SIZE);
+    }
+
+    @Test
+    void deleteStopsAfterLastBatch() {
+        when(service.deleteCompletedTasksBefore(eq(BEFORE), isNull(), eq(TaskBulkOperations.BATCH_SIZE)))
+                .thenReturn(new TaskStore.Batch(0, null));
+
+        assertThat(new TaskBulkOperations(service).deleteCompletedTasksBefore(BEFORE)).isZero();
+    }
+
+    @Test
+    void eachBatchCommitsBeforeTheNextStarts() {
+        CountingTransactionManager transactions = new CountingTransactionManager();
+        ProxyFactory factory = new ProxyFactory(service);
+        factory.setProxyTargetClass(true);
+        factory.addAdvice(new TransactionInterceptor(
+                transactions, new AnnotationTransactionAttributeSource()));
+        TaskService transactional = (TaskService) factory.getProxy();
+
+        TaskCursor first = cursor(60);
+        TaskCursor second = cursor(30);
+        List<Integer> commitsSeen = new ArrayList<>();
+        when(service.deleteCompletedTasksBefore(eq(BEFORE), isNull(), eq(TaskBulkOperations.BATCH_SIZE)))
+                .thenAnswer(invocation -> batch(transactions, commitsSeen, first));
+        when(service.deleteCompletedTasksBefore(BEFORE, first, TaskBulkOperations.BATCH_SIZE))
+                .thenAnswer(invocation -> batch(transactions, commitsSeen, second));
+        when(service.deleteCompletedTasksBefore(BEFORE, second, TaskBulkOperations.BATCH_SIZE))
+                .thenAnswer(invocation -> batch(transactions, commitsSeen, null));
+
+        int affected = new TaskBulkOperations(transactional).deleteCompletedTasksBefore(BEFORE);
+
+        assertThat(affected).isEqualTo(3);
+        assertThat(commitsSeen).containsExactly(0, 1, 2);
+        assertThat(transactions.commits.get()).isEqualTo(3);
+    }
+
+    private static TaskStore.Batch batch(
+            final CountingTransactionManager transactions,
+            final List<Integer> commitsSeen,
+            final TaskCursor next) {
+        assertThat(TransactionSynchronizationManager.isActualTransactionActive()).isTrue();
+        commitsSeen.add(transactions.commits.get());
+        return new TaskStore.Batch(1, next);
+    }
+
+    /**
+     * Counts the transactions committed through it.
+     */
+    private static final class CountingTransactionManager extends InMemoryTransactionManager {
+
+        private final AtomicInteger commits = new AtomicInteger();
+
+        @Override
+        protected void doCommit(final DefaultTransactionStatus status) {
+            this.commits.incrementAndGet();
+        }
+    }
+}
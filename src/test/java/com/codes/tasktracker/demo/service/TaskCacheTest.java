@@ -0,0 +1,154 @@
+package com.codes.tasktracker.demo.service;
+
+import com.codes.tasktracker.demo.model.Task;
+import com.codes.tasktracker.demo.repository.InMemoryTaskStore;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TaskCacheTest {
+
+    private static TaskCache cache(final TaskCacheProperties.EvictionPolicy policy, final long size) {
+        return new TaskCache(new TaskCacheProperties(true, policy, size,
+                Duration.ofMinutes(1), Duration.ofMinutes(1)));
+    }
+
+    private static Function<UUID, Optional<Task>> counting(final AtomicInteger loads) {
+        return id -> {
+            loads.incrementAndGet();
+            Task task = new Task("Tarea");
+            task.setId(id);
+            return Optional.of(task);
+        };
+    }
+
+    @ParameterizedTest
+    @EnumSource(TaskCacheProperties.EvictionPolicy.class)
+    void secondLookupIsAHit(final TaskCacheProperties.EvictionPolicy policy) {
+        TaskCache cache = cache(policy, 10);
+        AtomicInteger loads = new AtomicInteger();
+        UUID id = UUID.randomUUID();
+
+        cache.get(id, counting(loads));
+        cache.get(id, counting(loads));
+
+        assertThat(loads).hasValue(1);
+        assertThat(cache.stats().hits()).isEqualTo(1);
+        assertThat(cache.stats().misses()).isEqualTo(1);
+    }
+
+    @ParameterizedTest
+    @EnumSource(TaskCacheProperties.EvictionPolicy.class)
+    void mutationEventsInvalidateEntries(final TaskCacheProperties.EvictionPolicy policy) {
+        TaskCache cache = cache(policy, 10);
+        AtomicInteger loads = new AtomicInteger();
+        UUID id = UUID.randomUUID();
+
+        cache.get(id, counting(loads));
+        cache.onTaskChanged(new TaskChangedEvent(TaskChangedEvent.Type.COMPLETED, id, null));
+        cache.get(id, counting(loads));
+        cache.onTaskChanged(new TaskChangedEvent(TaskChangedEvent.Type.BULK, null, null));
+        cache.get(id, counting(loads));
+
+        assertThat(loads).hasValue(3);
+    }
+
+    @ParameterizedTest
+    @EnumSource(TaskCacheProperties.EvictionPolicy.class)
+    void updateEventsReplaceEntries(final TaskCacheProperties.EvictionPolicy policy) {
+        TaskCache cache = cache(policy, 10);
+        AtomicInteger loads = new AtomicInteger();
+        UUID id = UUID.randomUUID();
+        Task updated = new Task("Nueva");
+        updated.setId(id);
+
+        cache.get(id, counting(loads));
+        cache.onTaskChanged(new TaskChangedEvent(TaskChangedEvent.Type.UPDATED, id, updated));
+
+        assertThat(cache.get(id, counting(loads))).contains(updated);
+        assertThat(loads).hasValue(1);
+    }
+
+    @ParameterizedTest
+    @EnumSource(TaskCacheProperties.EvictionPolicy.class)
+    void updateEventsNeverReplaceANewerVersion(final TaskCacheProperties.EvictionPolicy policy) {
+        TaskCache cache = cache(policy, 10);
+        InMemoryTaskStore store = new InMemoryTaskStore();
+        Task older = store.save(new Task("Antigua"));
+        Task newer = store.findById(older.getId()).orElseThrow();
+        newer.setDescription("Nueva");
+        newer = store.save(newer);
+
+        cache.onTaskChanged(new TaskChangedEvent(TaskChangedEvent.Type.UPDATED, newer.getId(), newer));
+        cache.onTaskChanged(new TaskChangedEvent(TaskChangedEvent.Type.UPDATED, older.getId(), older));
+
+        assertThat(cache.peek(newer.getId()).getVersion()).isEqualTo(newer.getVersion());
+    }
+
+    @Test
+    void loadOverlappingAnInvalidationIsNotCached() {
+        TaskCache cache = cache(TaskCacheProperties.EvictionPolicy.LRU, 10);
+        AtomicInteger loads = new AtomicInteger();
+        UUID id = UUID.randomUUID();
+        Function<UUID, Optional<Task>> loader = counting(loads);
+
+        cache.get(id, key -> {
+            Optional<Task> loaded = loader.apply(key);
+            cache.invalidate(key);
+            return loaded;
+        });
+        cache.get(id, loader);
+
+        assertThat(loads).hasValue(2);
+    }
+
+    @ParameterizedTest
+    @EnumSource(TaskCacheProperties.EvictionPolicy.class)
+    void cacheStaysWithinMaximumSize(final TaskCacheProperties.EvictionPolicy policy) {
+        TaskCache cache = cache(policy, 2);
+        AtomicInteger loads = new AtomicInteger();
+
+        for (int i = 0; i < 50; i++) {
+            cache.get(UUID.randomUUID(), counting(loads));
+        }
+
+        assertThat(cache.stats().evictions()).isPositive();
+    }
+
+    @ParameterizedTest
+    @EnumSource(TaskCacheProperties.EvictionPolicy.class)
+    void disabledCacheAlwaysLoads(final TaskCacheProperties.EvictionPolicy policy) {
+        TaskCache cache = new TaskCache(new TaskCacheProperties(false, policy, 10,
+                Duration.ofMinutes(1), Duration.ofMinutes(1)));
+        AtomicInteger loads = new AtomicInteger();
+        UUID id = UUID.randomUUID();
+
+        cache.get(id, counting(loads));
+        cache.get(id, counting(loads));
+
+        assertThat(loads).hasValue(2);
+        assertThat(cache.stats().misses()).isEqualTo(2);
+    }
+
+    @ParameterizedTest
+    @EnumSource(TaskCacheProperties.EvictionPolicy.class)
+    void peekNeverLoads(final TaskCacheProperties.EvictionPolicy policy) {
+        TaskCache cache = cache(policy, 10);
+        AtomicInteger loads = new AtomicInteger();
+        UUID id = UUID.randomUUID();
+
+        assertThat(cache.peek(id)).isNull();
+        cache.get(id, counting(loads));
+
+        assertThat(cache.peek(id).getId()).isEqualTo(id);
+        assertThat(loads).hasValue(1);
+    }
+}
@@ -0,0 +1,112 @@
+package com.codes.tasktracker.demo.service;
+
+import com.codes.tasktracker.demo.model.Task;
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TaskSearchIndexTest {
+
+    private final TaskSearchIndex index = new TaskSearchIndex();
+
+    @Test
+    void tokenizeFoldsCaseAndAccents() {
+        assertThat(TaskSearchIndex.tokenize("Revisar la Canción, ¡YA! revisar"))
+                .containsExactly("revisar", "la", "cancion", "ya");
+    }
+
+    @Test
+    void everyQueryWordMustMatch() {
+        UUID both = UUID.randomUUID();
+        UUID one = UUID.randomUUID();
+        index.index(both, "Pagar factura de luz", 0);
+        index.index(one, "Pagar alquiler", 0);
+
+        assertThat(index.search("pagar luz", 10)).containsExactly(both);
+        assertThat(index.search("pagar", 10)).containsExactlyInAnyOrder(both, one);
+        assertThat(index.search("pagar agua", 10)).isEmpty();
+    }
+
+    @Test
+    void prefixesMatchButRankBelowExactTerms() {
+        UUID exact = UUID.randomUUID();
+        UUID prefix = UUID.randomUUID();
+        index.index(prefix, "Informe trimestral", 0);
+        index.index(exact, "Info del cliente", 0);
+
+        assertThat(index.search("info", 10)).containsExactly(exact, prefix);
+    }
+
+    @Test
+    void singleCharacterTokensOnlyMatchExactly() {
+        UUID id = UUID.randomUUID();
+        index.index(id, "Plan B", 0);
+        index.index(UUID.randomUUID(), "Backup", 0);
+
+        assertThat(index.search("b", 10)).containsExactly(id);
+    }
+
+    @Test
+    void resultsAreLimited() {
+        for (int i = 0; i < 20; i++) {
+            index.index(UUID.randomUUID(), "Tarea " + i, 0);
+        }
+
+        assertThat(index.search("tarea", 5)).hasSize(5);
+    }
+
+    @Test
+    void reindexingReplacesOldTerms() {
+        UUID id = UUID.randomUUID();
+        index.index(id, "Llamar a Ana", 0);
+        index.index(id, "Escribir a Luis", 1);
+
+        assertThat(index.search("ana", 10)).isEmpty();
+        assertThat(index.search("luis", 10)).containsExactly(id);
+        assertThat(index.size()).isEqualTo(1);
+    }
+
+    @Test
+    void olderVersionNeverReplacesNewerTerms() {
+        UUID id = UUID.randomUUID();
+        index.index(id, "Escribir a Luis", 2);
+        index.index(id, "Llamar a Ana", 1);
+
+        assertThat(index.search("ana", 10)).isEmpty();
+        assertThat(index.search("luis", 10)).containsExactly(id);
+    }
+
+    @Test
+    void removedDocumentNumbersAreReused() {
+        for (int i = 0; i < 100; i++) {
+            UUID id = UUID.randomUUID();
+            index.index(id, "Tarea " + i, 0);
+            index.remove(id);
+        }
+        UUID kept = UUID.randomUUID();
+        index.index(kept, "Tarea final", 0);
+
+        assertThat(index.slots()).isEqualTo(1);
+        assertThat(index.search("tarea", 10)).containsExactly(kept);
+    }
+
+    @Test
+    void committedEventsKeepIndexInStep() {
+        Task task = new Task("Preparar demo");
+        task.setId(UUID.randomUUID());
+
+        index.onTaskChanged(new TaskChangedEvent(TaskChangedEvent.Type.CREATED, task.getId(), task));
+        assertThat(index.search("demo", 10)).containsExactly(task.getId());
+
+        task.setDescription("Preparar charla");
+        index.onTaskChanged(new TaskChangedEvent(TaskChangedEvent.Type.UPDATED, task.getId(), task));
+        assertThat(index.search("demo", 10)).isEmpty();
+        assertThat(index.search("charla", 10)).containsExactly(task.getId());
+
+        index.onTaskChanged(new TaskChangedEvent(TaskChangedEvent.Type.DELETED, task.getId(), null));
+        assertThat(index.search("charla", 10)).isEmpty();
+        assertThat(index.size()).isZero();
+    }
+}
@@ -0,0 +1,93 @@
+package com.codes.tasktracker.demo.service;
+
+import com.codes.tasktracker.demo.dto.TaskStatsDto;
+import com.codes.tasktracker.demo.model.Task;
+import com.codes.tasktracker.demo.repository.InMemoryTaskStore;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TaskStatsTest {
+
+    private final InMemoryTaskStore store = new InMemoryTaskStore();
+
+    private final TaskStats stats = new TaskStats(store, TaskStatsProperties.defaults());
+
+    private static LocalDate today() {
+        return LocalDate.ofInstant(Task.now(), ZoneOffset.UTC);
+    }
+
+    @Test
+    void countsFollowCommittedEvents() {
+        stats.onCountsChanged(TaskCountsChangedEvent.created(3));
+        stats.onCountsChanged(TaskCountsChangedEvent.completed(2));
+        stats.onCountsChanged(TaskCountsChangedEvent.deleted(1, 1));
+
+        TaskStatsDto snapshot = stats.snapshot();
+        assertThat(snapshot.total()).isEqualTo(2);
+        assertThat(snapshot.completed()).isEqualTo(1);
+        assertThat(snapshot.pending()).isEqualTo(1);
+        TaskStatsDto.Day today = snapshot.days().get(snapshot.days().size() - 1);
+        assertThat(today.date()).isEqualTo(today());
+        assertThat(today.created()).isEqualTo(3);
+        assertThat(today.completed()).isEqualTo(2);
+    }
+
+    @Test
+    void seedCountsExistingTasksAndFillsHistograms() {
+        Task done = store.save(new Task("Hecha"));
+        store.save(new Task("Pendiente"));
+        store.markCompleted(done.getId(), Task.now());
+
+        stats.seed();
+
+        TaskStatsDto snapshot = stats.snapshot();
+        assertThat(snapshot.total()).isEqualTo(2);
+        assertThat(snapshot.completed()).isEqualTo(1);
+        assertThat(snapshot.reconciledAt()).isNotNull();
+        assertThat(snapshot.days()).hasSize(TaskStatsProperties.defaults().historyDays());
+        assertThat(snapshot.days().get(0).date()).isEqualTo(today().minusDays(29));
+        TaskStatsDto.Day today = snapshot.days().get(snapshot.days().size() - 1);
+        assertThat(today.created()).isEqualTo(2);
+        assertThat(today.completed()).isEqualTo(1);
+    }
+
+    @Test
+    void seedDoesNotCountTwiceTasksCreatedBeforeTheApplicationIsReady() {
+        Task early = store.save(new Task("Temprana"));
+        stats.onCountsChanged(TaskCountsChangedEvent.created(1));
+        store.markCompleted(early.getId(), Task.now());
+        stats.onCountsChanged(TaskCountsChangedEvent.completed(1));
+
+        stats.seed();
+        stats.onCountsChanged(TaskCountsChangedEvent.created(1));
+
+        TaskStatsDto.Day today = stats.snapshot().days().get(TaskStatsProperties.defaults().historyDays() - 1);
+        assertThat(today.created()).isEqualTo(2);
+        assertThat(today.completed()).isEqualTo(1);
+    }
+
+    @Test
+    void reconcileCorrectsDriftAndKeepsLaterIncrements() {
+        store.save(new Task("Una"));
+        store.save(new Task("Otra"));
+        stats.seed();
+
+        // An event the store never saw: the counts drift by one.
+        stats.onCountsChanged(TaskCountsChangedEvent.created(1));
+        assertThat(stats.total()).isEqualTo(3);
+
+        stats.reconcile();
+        assertThat(stats.total()).isEqualTo(2);
+        assertThat(stats.lastDrift()).isEqualTo(1);
+
+        store.save(new Task("Nueva"));
+        stats.onCountsChanged(TaskCountsChangedEvent.created(1));
+        assertThat(stats.total()).isEqualTo(3);
+        stats.reconcile();
+        assertThat(stats.lastDrift()).isZero();
+    }
+}
@@ -0,0 +1,209 @@
+package com.codes.tasktracker.demo.service;
+
+import com.codes.tasktracker.demo.exception.ResourceNotFoundException;
+import com.codes.tasktracker.demo.exception.ServiceUnavailableException;
+import com.codes.tasktracker.demo.dto.TaskView;
+import com.codes.tasktracker.demo.model.Task;
+import com.codes.tasktracker.demo.repository.InMemoryTaskStore;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.OptimisticLockingFailureException;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.when;
+
+class TaskWritePipelineTest {
+
+    private final TaskService service = mock(TaskService.class);
+
+    /**
+     * Sizes of the batches passed to the service, in order.
+     */
+    private final List<Integer> batchSizes = new CopyOnWriteArrayList<>();
+
+    private TaskWritePipeline pipeline;
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        if (pipeline != null) {
+            pipeline.shutdown();
+        }
+    }
+
+    private TaskWritePipeline start(final int queueCapacity, final Duration linger) {
+        pipeline = new TaskWritePipeline(new TaskWriteProperties(
+                true, queueCapacity, 100, linger, Duration.ofMillis(50)), service);
+        return pipeline;
+    }
+
+    /**
+     * Builds a service over an in-memory store, whose writes are not
+     * undone when a batch fails.
+     */
+    private static TaskService inMemoryService(
+            final InMemoryTaskStore store, final ApplicationEventPublisher events) {
+        return new TaskService(store, new TaskCache(TaskCacheProperties.defaults()),
+                new TaskSearchIndex(), TaskChangesProperties.defaults(),
+                new TaskStats(store, TaskStatsProperties.defaults()), events);
+    }
+
+    private TaskWritePipeline startInMemory(final TaskService taskService) {
+        pipeline = new TaskWritePipeline(new TaskWriteProperties(
+                true, 100, 100, Duration.ofMillis(50), Duration.ofMillis(50)), taskService);
+        return pipeline;
+    }
+
+    private void applyAll(final CountDownLatch entered, final CountDownLatch release) {
+        doAnswer(inv -> {
+            List<TaskWrite> batch = inv.getArgument(0);
+            batchSizes.add(batch.size());
+            entered.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            for (TaskWrite write : batch) {
+                write.applied(new Task(write.description()));
+            }
+            return null;
+        }).when(service).applyWrites(anyList());
+    }
+
+    @Test
+    void writesQueuedDuringACommitShareTheNextBatch() throws Exception {
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        applyAll(entered, release);
+        start(100, Duration.ofMillis(20));
+
+        CompletableFuture<Task> first = pipeline.submit(TaskWrite.create("Primera"));
+        assertThat(entered.await(5, TimeUnit.SECONDS)).isTrue();
+        List<CompletableFuture<Task>> rest = List.of(
+                pipeline.submit(TaskWrite.create("A")),
+                pipeline.submit(TaskWrite.create("B")),
+                pipeline.submit(TaskWrite.create("C")));
+        release.countDown();
+
+        assertThat(first.get(5, TimeUnit.SECONDS).getDescription()).isEqualTo("Primera");
+        for (CompletableFuture<Task> write : rest) {
+            write.get(5, TimeUnit.SECONDS);
+        }
+        assertThat(batchSizes).containsExactly(1, 3);
+        assertThat(pipeline.batchCount()).isEqualTo(2);
+        assertThat(pipeline.writeCount()).isEqualTo(4);
+    }
+
+    @Test
+    void rejectedWritesFailOnlyTheirOwnCaller() {
+        UUID missing = UUID.randomUUID();
+        doAnswer(inv -> {
+            List<TaskWrite> batch = inv.getArgument(0);
+            for (TaskWrite write : batch) {
+                if (missing.equals(write.taskId())) {
+                    write.rejected(new ResourceNotFoundException("Tarea no encontrada: " + missing));
+                } else {
+                    write.applied(new Task(write.description()));
+                }
+            }
+            return null;
+        }).when(service).applyWrites(anyList());
+        start(100, Duration.ZERO);
+
+        assertThrows(ResourceNotFoundException.class,
+                () -> pipeline.updateTask(missing, "Nada", null, null));
+        assertThat(pipeline.createTask("Nueva").getDescription()).isEqualTo("Nueva");
+    }
+
+    @Test
+    void failedBatchIsRetriedOneWriteAtATime() {
+        doThrow(new IllegalStateException("conflicto")).when(service).applyWrites(anyList());
+        when(service.createTask(anyString())).thenAnswer(inv -> new Task(inv.getArgument(0)));
+        start(100, Duration.ZERO);
+
+        assertThat(pipeline.createTask("Reintentada").getDescription()).isEqualTo("Reintentada");
+        assertThat(pipeline.batchCount()).isZero();
+    }
+
+    @Test
+    void fullQueueRejectsWithServiceUnavailable() throws Exception {
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        applyAll(entered, release);
+        start(1, Duration.ZERO);
+
+        pipeline.submit(TaskWrite.create("En curso"));
+        assertThat(entered.await(5, TimeUnit.SECONDS)).isTrue();
+        pipeline.submit(TaskWrite.create("En cola"));
+
+        assertThrows(ServiceUnavailableException.class,
+                () -> pipeline.submit(TaskWrite.create("Sobrante")));
+        assertThat(pipeline.rejectedCount()).isEqualTo(1);
+        release.countDown();
+    }
+
+    @Test
+    void disabledPipelineAcceptsNoWrites() {
+        pipeline = new TaskWritePipeline(TaskWriteProperties.defaults(), service);
+
+        assertThat(pipeline.enabled()).isFalse();
+        assertThrows(ServiceUnavailableException.class,
+                () -> pipeline.submit(TaskWrite.create("Nada")));
+    }
+
+    @Test
+    void failedBatchOnInMemoryStoreDoesNotApplyWritesTwice() throws Exception {
+        InMemoryTaskStore store = new InMemoryTaskStore();
+        ApplicationEventPublisher events = mock(ApplicationEventPublisher.class);
+        doThrow(new IllegalStateException("fallo al publicar"))
+                .when(events).publishEvent(any(TaskCountsChangedEvent.class));
+        startInMemory(inMemoryService(store, events));
+
+        List<CompletableFuture<Task>> writes = List.of(
+                pipeline.submit(TaskWrite.create("A")),
+                pipeline.submit(TaskWrite.create("B")));
+
+        for (CompletableFuture<Task> write : writes) {
+            write.get(5, TimeUnit.SECONDS);
+        }
+        assertThat(store.findAllViews()).extracting(TaskView::description)
+                .containsExactlyInAnyOrder("A", "B");
+    }
+
+    @Test
+    void failedWriteOnInMemoryStoreFailsOnlyItsCaller() throws Exception {
+        InMemoryTaskStore store = spy(new InMemoryTaskStore());
+        Task existing = store.save(new Task("Existente"));
+        doThrow(new OptimisticLockingFailureException("conflicto"))
+                .when(store).save(argThat(task -> existing.getId().equals(task.getId())));
+        startInMemory(inMemoryService(store, mock(ApplicationEventPublisher.class)));
+
+        CompletableFuture<Task> first = pipeline.submit(TaskWrite.create("A"));
+        CompletableFuture<Task> update = pipeline.submit(
+                TaskWrite.update(existing.getId(), "Cambiada", null, null));
+        CompletableFuture<Task> last = pipeline.submit(TaskWrite.create("B"));
+
+        ExecutionException failure = assertThrows(ExecutionException.class,
+                () -> update.get(5, TimeUnit.SECONDS));
+        assertThat(failure.getCause()).isInstanceOf(OptimisticLockingFailureException.class);
+        first.get(5, TimeUnit.SECONDS);
+        last.get(5, TimeUnit.SECONDS);
+        assertThat(store.findAllViews()).extracting(TaskView::description)
+                .containsExactlyInAnyOrder("Existente", "A", "B");
+    }
+}